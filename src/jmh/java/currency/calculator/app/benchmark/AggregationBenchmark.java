@@ -0,0 +1,87 @@
+package currency.calculator.app.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.aggregate.AggregationResult;
+import currency.calculator.app.aggregate.PositionAggregator;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+import currency.calculator.app.util.CurrencyRegistry;
+
+/**
+ * This class contains benchmarks for the total of a book of positions in USD and EUR : every position converted and added up, and the
+ * positions netted per currency by PositionAggregator with every net converted once.
+ * @Operations: convertEveryPosition, aggregatePositions
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationBenchmark {
+
+	@Param({ "100000" })
+	public int positions;
+
+	private int[] currencyIds;
+	private long[] amounts;
+	private BigDecimal[] values;
+	private int usd;
+	private int eur;
+	private PositionAggregator aggregator;
+
+	@Setup
+	public void setup() throws CurrencyException {
+		Logger.getLogger("currency.calculator.app").setLevel(Level.OFF);
+		CurrencyRegistry registry = CurrencyRegistry.getInstance();
+		usd = registry.getCurrencyId("USD");
+		eur = registry.getCurrencyId("EUR");
+		String[] codes = { "AUD", "CAD", "CNY", "CZK", "DKK", "EUR", "GBP", "JPY", "NOK", "NZD", "USD" };
+		Random random = new Random(42L);
+		currencyIds = new int[positions];
+		amounts = new long[positions];
+		values = new BigDecimal[positions];
+		for (int i = 0; i < positions; i++) {
+			currencyIds[i] = registry.getCurrencyId(codes[random.nextInt(codes.length)]);
+			amounts[i] = random.nextInt(2000001) - 1000000L;
+			values[i] = BigDecimal.valueOf(amounts[i], registry.getDecimalPlace(currencyIds[i]));
+		}
+		aggregator = new PositionAggregator(registry);
+	}
+
+	@Benchmark
+	public BigDecimal[] convertEveryPosition() throws CurrencyException {
+		BigDecimal usdTotal = BigDecimal.ZERO;
+		BigDecimal eurTotal = BigDecimal.ZERO;
+		for (int i = 0; i < positions; i++) {
+			usdTotal = usdTotal.add(CurrencyCalculatorUtil.calculateCurrencyValue(currencyIds[i], values[i], usd));
+			eurTotal = eurTotal.add(CurrencyCalculatorUtil.calculateCurrencyValue(currencyIds[i], values[i], eur));
+		}
+		return new BigDecimal[] { usdTotal, eurTotal };
+	}
+
+	@Benchmark
+	public AggregationResult aggregatePositions() throws CurrencyException {
+		aggregator.clear();
+		aggregator.addMinorUnits(currencyIds, amounts, 0, positions);
+		return aggregator.aggregate(usd, eur);
+	}
+}
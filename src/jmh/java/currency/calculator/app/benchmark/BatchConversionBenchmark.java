@@ -0,0 +1,105 @@
+package currency.calculator.app.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyBatchCalculator;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+
+/**
+ * This class contains benchmarks for the batch conversion over primitive arrays for different batch sizes. The reported ops/s are batches
+ * per second, multiply by batchSize for conversions per second. Pairs are either random or grouped by currency pair.
+ * @Operations: calculateCurrencyValuesInMinorUnits, calculateCurrencyValuesAsDouble, calculateCurrencyValueByString
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchConversionBenchmark {
+
+	static final String[] CURRENCIES = { "AUD", "CAD", "CNY", "CZK", "DKK", "EUR", "GBP", "JPY", "NOK", "NZD", "USD" };
+
+	@Param({ "1", "100", "10000", "1000000" })
+	public int batchSize;
+
+	@Param({ "random", "grouped" })
+	public String ordering;
+
+	int[] sourceCurrencyIds;
+	int[] destinationCurrencyIds;
+	long[] minorAmounts;
+	double[] doubleAmounts;
+	long[] minorResults;
+	double[] doubleResults;
+	String[] sourceCurrencies;
+	String[] destinationCurrencies;
+	String[] inputAmounts;
+
+	@Setup
+	public void setup() throws CurrencyException {
+		BenchmarkRunner.quietLogging();
+		Random random = new Random(42);
+		sourceCurrencyIds = new int[batchSize];
+		destinationCurrencyIds = new int[batchSize];
+		minorAmounts = new long[batchSize];
+		doubleAmounts = new double[batchSize];
+		minorResults = new long[batchSize];
+		doubleResults = new double[batchSize];
+		sourceCurrencies = new String[Math.min(batchSize, 10000)];
+		destinationCurrencies = new String[sourceCurrencies.length];
+		inputAmounts = new String[sourceCurrencies.length];
+		for (int i = 0; i < batchSize; i++) {
+			int source = "grouped".equals(ordering) ? (int) ((long) i * CURRENCIES.length / batchSize) : random.nextInt(CURRENCIES.length);
+			int destination = "grouped".equals(ordering) ? (source + 1) % CURRENCIES.length : random.nextInt(CURRENCIES.length);
+			sourceCurrencyIds[i] = CurrencyCalculatorUtil.getCurrencyId(CURRENCIES[source]);
+			destinationCurrencyIds[i] = CurrencyCalculatorUtil.getCurrencyId(CURRENCIES[destination]);
+			minorAmounts[i] = random.nextInt(100000000);
+			doubleAmounts[i] = minorAmounts[i] / 100.0;
+			if(i < sourceCurrencies.length){
+				sourceCurrencies[i] = CURRENCIES[source];
+				destinationCurrencies[i] = CURRENCIES[destination];
+				inputAmounts[i] = Double.toString(doubleAmounts[i]);
+			}
+		}
+	}
+
+	@Benchmark
+	public long[] calculateCurrencyValuesInMinorUnits() throws CurrencyException {
+		CurrencyBatchCalculator.calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, minorAmounts, minorResults);
+		return minorResults;
+	}
+
+	@Benchmark
+	public double[] calculateCurrencyValuesAsDouble() throws CurrencyException {
+		CurrencyBatchCalculator.calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, doubleAmounts, doubleResults);
+		return doubleResults;
+	}
+
+	/*
+	 * Baseline - one String call per element. Measured for at most 10000 elements per batch, compare per conversion.
+	 */
+	@Benchmark
+	public Object calculateCurrencyValueByString() throws CurrencyException {
+		Object result = null;
+		for (int i = 0; i < sourceCurrencies.length; i++) {
+			result = CurrencyCalculatorUtil.calculateCurrencyValue(sourceCurrencies[i], inputAmounts[i], destinationCurrencies[i]);
+		}
+		return result;
+	}
+}
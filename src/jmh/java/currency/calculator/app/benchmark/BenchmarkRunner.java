@@ -0,0 +1,47 @@
+package currency.calculator.app.benchmark;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class is the entry point of the benchmark jar. It accepts the usual JMH command line options and always adds the GC profiler, so that
+ * every result is reported in ops/s together with bytes allocated per operation (gc.alloc.rate.norm).
+ * @Operations: main, quietLogging
+ * @Developer: Singh, Sunny
+ */
+public final class BenchmarkRunner {
+
+	/**
+	 * The private constructor for not to allow creation of object for this class
+	 */
+	private BenchmarkRunner() {
+	}
+
+	/**
+	 * Entry point for benchmarks, e.g. java -jar target/benchmarks.jar ConversionPathBenchmark -f 1
+	 * @Input - args, JMH command line options
+	 * @Response - only print the results to user.
+	 * @Exception - Exception
+	 */
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		Options options = new OptionsBuilder().parent(commandLineOptions).addProfiler(GCProfiler.class).build();
+		new Runner(options).run();
+	}
+
+	/**
+	 * The following operation raises the log level of the application to WARNING. The application logs at INFO on every call, which would
+	 * otherwise measure console output instead of the conversion.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	static void quietLogging() {
+		Logger.getLogger("currency.calculator.app").setLevel(Level.WARNING);
+	}
+}
@@ -0,0 +1,132 @@
+package currency.calculator.app.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.ConversionRequestParser;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+import currency.calculator.app.util.FixedPointCurrencyCalculator;
+import currency.calculator.app.util.FixedPointMath;
+
+/**
+ * This class contains benchmarks for a single conversion on every route type of the currency matrix - direct (D), inverted (I), unity (U),
+ * via USD, via EUR and a nested cross (NOK to JPY goes NOK-EUR-USD-JPY). The recursive cross currency calculation and the fixed point
+ * engine are measured as well, so is parsing of a request line.
+ * @Operations: calculateCurrencyValueByString, calculateCurrencyValueById, calculateRateByCrossCurrency, calculateCurrencyValueFixedPoint,
+ * calculateCurrencyValueFixedPointText, parseRequestLine, parseRequestLineBySplit
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionPathBenchmark {
+
+	@Param({ "AUD/USD/D", "USD/AUD/I", "AUD/AUD/U", "AUD/CAD/USD", "USD/NOK/EUR", "NOK/JPY/USD" })
+	public String route;
+
+	private String sourceCurrency;
+	private String destinationCurrency;
+	private String crossCurrency;
+	private String inputAmount;
+	private int sourceCurrencyId;
+	private int destinationCurrencyId;
+	private BigDecimal amount;
+	private long scaledAmount;
+	private StringBuilder output;
+	private String requestLine;
+	private ConversionRequestParser parser;
+	private CurrencyRegistry registry;
+
+	@Setup
+	public void setup() throws CurrencyException {
+		BenchmarkRunner.quietLogging();
+		String[] parts = route.split("/");
+		sourceCurrency = parts[0];
+		destinationCurrency = parts[1];
+		crossCurrency = parts[2];
+		inputAmount = "1,234.56";
+		amount = new BigDecimal("1234.56");
+		scaledAmount = 123456L;
+		output = new StringBuilder(32);
+		requestLine = sourceCurrency+" "+inputAmount+" in "+destinationCurrency;
+		parser = new ConversionRequestParser();
+		registry = CurrencyRateMatrix.getInstance().getRegistry();
+		sourceCurrencyId = CurrencyCalculatorUtil.getCurrencyId(sourceCurrency);
+		destinationCurrencyId = CurrencyCalculatorUtil.getCurrencyId(destinationCurrency);
+		CurrencyCalculatorUtil.calculateCurrencyValue(sourceCurrency, inputAmount, destinationCurrency);
+	}
+
+	@Benchmark
+	public BigDecimal calculateCurrencyValueByString() throws CurrencyException {
+		return CurrencyCalculatorUtil.calculateCurrencyValue(sourceCurrency, inputAmount, destinationCurrency);
+	}
+
+	@Benchmark
+	public BigDecimal calculateCurrencyValueById() throws CurrencyException {
+		return CurrencyCalculatorUtil.calculateCurrencyValue(sourceCurrencyId, amount, destinationCurrencyId);
+	}
+
+	/*
+	 * The recursive calculation which resolves the currency pair against the property map on every call.
+	 */
+	@Benchmark
+	public BigDecimal calculateRateByCrossCurrency() throws CurrencyException {
+		return CurrencyCalculatorUtil.calculateRateByCrossCurrency(sourceCurrency, destinationCurrency, crossCurrency);
+	}
+
+	@Benchmark
+	public long calculateCurrencyValueFixedPoint() throws CurrencyException {
+		return FixedPointCurrencyCalculator.calculateCurrencyValue(sourceCurrencyId, scaledAmount, 2, destinationCurrencyId);
+	}
+
+	/*
+	 * Fixed point engine from amount text to result text, the same work as calculateCurrencyValueByString without BigDecimal.
+	 */
+	@Benchmark
+	public int calculateCurrencyValueFixedPointText() throws CurrencyException {
+		int scale = FixedPointMath.getScale(inputAmount, 0, inputAmount.length());
+		long value = FixedPointMath.parseDecimal(inputAmount, 0, inputAmount.length(), scale);
+		output.setLength(0);
+		FixedPointMath.appendDecimal(output, FixedPointCurrencyCalculator.calculateCurrencyValue(sourceCurrencyId, value, scale, destinationCurrencyId),
+				CurrencyCalculatorUtil.getDecimalPlace(destinationCurrencyId));
+		return output.length();
+	}
+
+	/*
+	 * Request line to currency ids and scaled amount without creating Strings.
+	 */
+	@Benchmark
+	public long parseRequestLine() {
+		parser.parse(registry, requestLine, 0, requestLine.length());
+		return parser.getAmount() + parser.getSourceCurrencyId() + parser.getDestinationCurrencyId();
+	}
+
+	/*
+	 * The same with split, regular expressions and BigDecimal as the command line path does it.
+	 */
+	@Benchmark
+	public BigDecimal parseRequestLineBySplit() throws CurrencyException {
+		String[] tokens = requestLine.trim().split("\\s+");
+		registry.getCurrencyId(tokens[0].toUpperCase());
+		registry.getCurrencyId(tokens[3].toUpperCase());
+		return new BigDecimal(tokens[1].replaceAll(",", ""));
+	}
+}
@@ -0,0 +1,113 @@
+package currency.calculator.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.ConversionResult;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.FixedPointCurrencyCalculator;
+
+/**
+ * This class contains benchmarks for a batch of conversions of which errorRate percent have no rate : throwing the preallocated stackless
+ * exception of the status, the single call operation which throws an exception filling its stack trace, and the non-throwing
+ * ConversionResult operation.
+ * @Operations: convertThrowingStackless, convertThrowingWithStackTrace, convertWithResult
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorRateBenchmark {
+
+	private static final int BATCH = 1024;
+
+	@Param({ "0", "1", "50" })
+	public int errorRate;
+
+	private CurrencyRateMatrix matrix;
+	private final int[] sourceCurrencyIds = new int[BATCH];
+	private final int[] destinationCurrencyIds = new int[BATCH];
+	private final ConversionResult result = new ConversionResult();
+
+	@Setup
+	public void setup() throws CurrencyException {
+		Logger.getLogger("currency.calculator.app").setLevel(Level.OFF);
+		matrix = CurrencyRateMatrix.getInstance();
+		int aud = CurrencyCalculatorUtil.getCurrencyId("AUD");
+		int usd = CurrencyCalculatorUtil.getCurrencyId("USD");
+		int krw = CurrencyCalculatorUtil.getCurrencyId("KRW");
+		int fjd = CurrencyCalculatorUtil.getCurrencyId("FJD");
+		for (int index = 0; index < BATCH; index++) {
+			boolean error = index * 100 / BATCH < errorRate;
+			sourceCurrencyIds[index] = error ? krw : aud;
+			destinationCurrencyIds[index] = error ? fjd : usd;
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public long convertThrowingStackless() {
+		long total = 0L;
+		for (int index = 0; index < BATCH; index++) {
+			try {
+				if (!FixedPointCurrencyCalculator.convert(matrix, sourceCurrencyIds[index], 123456L, 2, destinationCurrencyIds[index], result)) {
+					/*
+					 * The preallocated exception of the status, as thrown on the server paths.
+					 */
+					throw result.toException();
+				}
+				total += result.getScaledValue();
+			} catch (CurrencyException ex) {
+				total--;
+			}
+		}
+		return total;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public long convertThrowingWithStackTrace() {
+		long total = 0L;
+		for (int index = 0; index < BATCH; index++) {
+			try {
+				total += FixedPointCurrencyCalculator.calculateCurrencyValue(matrix, sourceCurrencyIds[index], 123456L, 2, destinationCurrencyIds[index]);
+			} catch (CurrencyException ex) {
+				total--;
+			}
+		}
+		return total;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public long convertWithResult() {
+		long total = 0L;
+		for (int index = 0; index < BATCH; index++) {
+			if (FixedPointCurrencyCalculator.convert(matrix, sourceCurrencyIds[index], 123456L, 2, destinationCurrencyIds[index], result)) {
+				total += result.getScaledValue();
+			} else {
+				total -= result.getStatus();
+			}
+		}
+		return total;
+	}
+}
@@ -0,0 +1,85 @@
+package currency.calculator.app.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+import currency.calculator.app.util.FixedPointCurrencyCalculator;
+
+/**
+ * This class contains benchmarks for a conversion in the logging modes : verbose logs every conversion at INFO (formatted, not written),
+ * quiet is verbose with the log level at WARNING and production keeps every conversion in the event ring buffer instead. Production should
+ * cost about the same as quiet.
+ * @Operations: calculateCurrencyValueByString, calculateCurrencyValueFixedPoint
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingModeBenchmark {
+
+	@Param({ "verbose", "quiet", "production" })
+	public String mode;
+
+	private int sourceCurrencyId;
+	private int destinationCurrencyId;
+
+	@Setup
+	public void setup() throws CurrencyException {
+		/*
+		 * Every mode runs in its own fork, the logging mode is read when the application classes are loaded by the first conversion.
+		 */
+		System.setProperty(CurrencyCalculatorConstant.LOGGING_MODE_PROPERTY, mode);
+		Logger logger = Logger.getLogger("currency.calculator.app");
+		logger.setUseParentHandlers(false);
+		logger.addHandler(new Handler() {
+			private final SimpleFormatter formatter = new SimpleFormatter();
+			private int length;
+
+			public void publish(LogRecord record) {
+				length += formatter.format(record).length();
+			}
+
+			public void flush() {
+			}
+
+			public void close() {
+			}
+		});
+		logger.setLevel("quiet".equals(mode) ? Level.WARNING : Level.INFO);
+		sourceCurrencyId = CurrencyCalculatorUtil.getCurrencyId("AUD");
+		destinationCurrencyId = CurrencyCalculatorUtil.getCurrencyId("USD");
+	}
+
+	@Benchmark
+	public BigDecimal calculateCurrencyValueByString() throws CurrencyException {
+		return CurrencyCalculatorUtil.calculateCurrencyValue("AUD", "1,234.56", "USD");
+	}
+
+	@Benchmark
+	public long calculateCurrencyValueFixedPoint() throws CurrencyException {
+		return FixedPointCurrencyCalculator.calculateCurrencyValue(sourceCurrencyId, 123456L, 2, destinationCurrencyId);
+	}
+}
@@ -0,0 +1,109 @@
+package currency.calculator.app.benchmark;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.bulk.BulkCurrencyConverter;
+import currency.calculator.app.bulk.ParallelBulkCurrencyConverter;
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+
+/**
+ * This class contains benchmarks for the parallel bulk conversion of 100000 request lines and of 1000000 amounts in arrays by number of
+ * threads, 1 thread is the sequential BulkCurrencyConverter for lines. The reported ops/s are runs per second.
+ * @Operations: convertLines, convertArrays
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelBulkBenchmark {
+
+	private static final int LINES = 100000;
+	private static final int AMOUNTS = 1000000;
+
+	@Param({ "1", "2", "4", "8" })
+	public int threads;
+
+	private String input;
+	private int[] sourceCurrencyIds;
+	private int[] destinationCurrencyIds;
+	private long[] amounts;
+	private long[] results;
+	private byte[] statuses;
+
+	@Setup
+	public void setup() throws CurrencyException {
+		BenchmarkRunner.quietLogging();
+		Random random = new Random(42);
+		StringBuilder lines = new StringBuilder(LINES * 24);
+		for (int index = 0; index < LINES; index++) {
+			lines.append(BatchConversionBenchmark.CURRENCIES[random.nextInt(BatchConversionBenchmark.CURRENCIES.length)]).append(' ')
+					.append(random.nextInt(100000)).append('.').append(random.nextInt(90) + 10).append(" in ")
+					.append(BatchConversionBenchmark.CURRENCIES[random.nextInt(BatchConversionBenchmark.CURRENCIES.length)]).append('\n');
+		}
+		input = lines.toString();
+		sourceCurrencyIds = new int[AMOUNTS];
+		destinationCurrencyIds = new int[AMOUNTS];
+		amounts = new long[AMOUNTS];
+		results = new long[AMOUNTS];
+		statuses = new byte[AMOUNTS];
+		for (int index = 0; index < AMOUNTS; index++) {
+			sourceCurrencyIds[index] = CurrencyCalculatorUtil.getCurrencyId(BatchConversionBenchmark.CURRENCIES[random.nextInt(BatchConversionBenchmark.CURRENCIES.length)]);
+			destinationCurrencyIds[index] = CurrencyCalculatorUtil.getCurrencyId(BatchConversionBenchmark.CURRENCIES[random.nextInt(BatchConversionBenchmark.CURRENCIES.length)]);
+			amounts[index] = random.nextInt(10000000);
+		}
+	}
+
+	@Benchmark
+	public long convertLines() throws CurrencyException {
+		BufferedReader reader = new BufferedReader(new StringReader(input), CurrencyCalculatorConstant.BULK_BUFFER_SIZE);
+		Writer writer = new NullWriter();
+		if (threads == 1) {
+			return new BulkCurrencyConverter(true).convert(reader, writer, writer);
+		}
+		return new ParallelBulkCurrencyConverter(true, threads, CurrencyCalculatorConstant.BULK_DEFAULT_CHUNK_SIZE).convert(reader, writer, writer);
+	}
+
+	@Benchmark
+	public int convertArrays() throws CurrencyException {
+		return new ParallelBulkCurrencyConverter(true, threads, CurrencyCalculatorConstant.BULK_DEFAULT_CHUNK_SIZE * 16).convert(sourceCurrencyIds,
+				destinationCurrencyIds, amounts, results, statuses);
+	}
+
+	/**
+	 * Writer dropping everything, the benchmarks measure the conversion and not the output.
+	 */
+	private static final class NullWriter extends Writer {
+		@Override
+		public void write(char[] buffer, int offset, int length) {
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
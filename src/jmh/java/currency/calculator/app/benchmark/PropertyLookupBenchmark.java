@@ -0,0 +1,67 @@
+package currency.calculator.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+import currency.calculator.app.util.LoadProperty;
+
+/**
+ * This class contains benchmarks for the lookups done before a conversion - the property map of LoadProperty with a concatenated key,
+ * the cross currency value, the quoted rate and the currency registry.
+ * @Operations: getFXPropValue, fetchCrossCurrencyValue, getFXRates, getCurrencyId
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyLookupBenchmark {
+
+	private String sourceCurrency;
+	private String destinationCurrency;
+	private CurrencyRegistry registry;
+
+	@Setup
+	public void setup() throws CurrencyException {
+		BenchmarkRunner.quietLogging();
+		sourceCurrency = "NOK";
+		destinationCurrency = "JPY";
+		registry = CurrencyRateMatrix.getInstance().getRegistry();
+	}
+
+	@Benchmark
+	public String getFXPropValue() throws CurrencyException {
+		return LoadProperty.getFXPropValue().get(sourceCurrency + destinationCurrency);
+	}
+
+	@Benchmark
+	public String fetchCrossCurrencyValue() throws CurrencyException {
+		return CurrencyCalculatorUtil.fetchCrossCurrencyValue(sourceCurrency, destinationCurrency);
+	}
+
+	@Benchmark
+	public double getFXRates() throws CurrencyException {
+		return CurrencyCalculatorUtil.getFXRates("EURNOK");
+	}
+
+	@Benchmark
+	public int getCurrencyId() {
+		return registry.getCurrencyId(sourceCurrency);
+	}
+}
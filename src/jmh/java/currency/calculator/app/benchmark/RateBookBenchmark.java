@@ -0,0 +1,63 @@
+package currency.calculator.app.benchmark;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.LoadProperty;
+
+/**
+ * This class contains benchmarks for a rate book : compiled from scratch with routes resolved again, and compiled on the route plan of the
+ * current matrix with withRates.
+ * @Operations: compileFromScratch, compileOnRoutePlan
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateBookBenchmark {
+
+	private CurrencyRateMatrix matrix;
+	private HashMap<String, String> routes;
+	private HashMap<String, String> allRates;
+	private HashMap<String, String> bookRates;
+
+	@Setup
+	public void setup() throws CurrencyException {
+		Logger.getLogger("currency.calculator.app").setLevel(Level.OFF);
+		matrix = CurrencyRateMatrix.getInstance();
+		routes = LoadProperty.getFXPropValue();
+		bookRates = new HashMap<String, String>();
+		bookRates.put("AUDUSD", "0.9");
+		bookRates.put("EURUSD", "1.1");
+		allRates = new HashMap<String, String>(LoadProperty.getFXRateValue());
+		allRates.putAll(bookRates);
+	}
+
+	@Benchmark
+	public CurrencyRateMatrix compileFromScratch() throws CurrencyException {
+		return CurrencyRateMatrix.compile(matrix.getRegistry(), routes, allRates);
+	}
+
+	@Benchmark
+	public CurrencyRateMatrix compileOnRoutePlan() throws CurrencyException {
+		return matrix.withRates(bookRates);
+	}
+}
@@ -0,0 +1,101 @@
+package currency.calculator.app.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.feed.RateHistory;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+
+/**
+ * This class contains benchmarks for conversions as of a point in time by number of fixings per quoted pair, 2500 are ten years of daily
+ * fixings and 1000000 about ten years of hourly fixings. Trades are replayed at random times over the whole history, hence every lookup is a
+ * full binary search.
+ * @Operations: calculateCurrencyValueAsOf, calculateCurrencyValuesAsOf
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateHistoryBenchmark {
+
+	private static final int TRADES = 1024;
+
+	@Param({ "2500", "1000000" })
+	public int fixingsPerPair;
+
+	private RateHistory history;
+	private final int[] sourceCurrencyIds = new int[TRADES];
+	private final int[] destinationCurrencyIds = new int[TRADES];
+	private final long[] amounts = new long[TRADES];
+	private final long[] times = new long[TRADES];
+	private final long[] results = new long[TRADES];
+	private final byte[] statuses = new byte[TRADES];
+
+	@Setup
+	public void setup() throws CurrencyException {
+		BenchmarkRunner.quietLogging();
+		CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+		CurrencyRegistry registry = matrix.getRegistry();
+		String[] pairs = { "AUDUSD", "EURUSD", "GBPUSD", "USDJPY", "USDCAD" };
+		int length = pairs.length * fixingsPerPair;
+		int[] sources = new int[length];
+		int[] destinations = new int[length];
+		long[] fixingTimes = new long[length];
+		long[] rates = new long[length];
+		Random random = new Random(42);
+		for (int index = 0; index < length; index++) {
+			String pair = pairs[index / fixingsPerPair];
+			sources[index] = registry.getCurrencyId(pair.substring(0, 3));
+			destinations[index] = registry.getCurrencyId(pair.substring(3));
+			fixingTimes[index] = (index % fixingsPerPair) * 1000L;
+			rates[index] = 5000000000L + random.nextInt(1000000000);
+		}
+		history = RateHistory.compile(matrix, sources, destinations, fixingTimes, rates, length);
+		String[] currencies = { "AUD", "EUR", "GBP", "JPY", "CAD", "USD" };
+		for (int index = 0; index < TRADES; index++) {
+			/*
+			 * Only pairs whose route legs are all in the history.
+			 */
+			do {
+				sourceCurrencyIds[index] = registry.getCurrencyId(currencies[random.nextInt(currencies.length)]);
+				destinationCurrencyIds[index] = registry.getCurrencyId(currencies[random.nextInt(currencies.length)]);
+				times[index] = (long) random.nextInt(fixingsPerPair) * 1000L;
+			} while (history.getScaledRate(sourceCurrencyIds[index], destinationCurrencyIds[index], times[index]) == 0L);
+			amounts[index] = random.nextInt(10000000);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TRADES)
+	public long calculateCurrencyValueAsOf() throws CurrencyException {
+		long total = 0L;
+		for (int index = 0; index < TRADES; index++) {
+			total += history.calculateCurrencyValue(sourceCurrencyIds[index], amounts[index], 2, destinationCurrencyIds[index], times[index]);
+		}
+		return total;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TRADES)
+	public int calculateCurrencyValuesAsOf() throws CurrencyException {
+		return history.calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, amounts, times, results, statuses, 0, TRADES);
+	}
+}
@@ -0,0 +1,77 @@
+package currency.calculator.app.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.aggregate.PortfolioRevaluator;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.feed.LiveRateStore;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+
+/**
+ * This class contains benchmarks for a book of positions in 11 currencies valued in USD and EUR when EURNOK ticks : the positions whose
+ * route reads EURNOK revalued by the tick, and all positions revalued.
+ * @Operations: eurNokTick, revalueAll
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+public class RevaluationBenchmark {
+
+	@Param({ "1000000" })
+	public int positions;
+
+	private LiveRateStore store;
+	private PortfolioRevaluator revaluator;
+	private int eur;
+	private int nok;
+	private long tick = 0;
+
+	@Setup
+	public void setup() throws CurrencyException {
+		Logger.getLogger("currency.calculator.app").setLevel(Level.OFF);
+		store = new LiveRateStore(CurrencyRateMatrix.getInstance());
+		CurrencyRegistry registry = store.getRegistry();
+		eur = registry.getCurrencyId("EUR");
+		nok = registry.getCurrencyId("NOK");
+		int usd = registry.getCurrencyId("USD");
+		String[] codes = { "AUD", "CAD", "CNY", "CZK", "DKK", "EUR", "GBP", "JPY", "NOK", "NZD", "USD" };
+		Random random = new Random(42L);
+		revaluator = new PortfolioRevaluator(store);
+		for (int i = 0; i < positions; i++) {
+			revaluator.addPosition(registry.getCurrencyId(codes[random.nextInt(codes.length)]), random.nextInt(100000000), 2, random.nextBoolean() ? usd : eur);
+		}
+		store.addTickListener(revaluator);
+	}
+
+	@Benchmark
+	public long eurNokTick() throws CurrencyException {
+		store.applyTick(eur, nok, 866510000000L + (tick++ % 1000) * 1000000L, tick);
+		return revaluator.getTotal(eur);
+	}
+
+	@Benchmark
+	public long revalueAll() {
+		revaluator.revalueAll();
+		return revaluator.getTotal(eur);
+	}
+}
@@ -0,0 +1,79 @@
+package currency.calculator.app.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.feed.LiveRateStore;
+import currency.calculator.app.util.CurrencyRateMatrix;
+
+/**
+ * This class contains benchmarks for reading the rate of a cross route (CZK to USD via EUR) : from the compiled matrix, from a live rate
+ * store in the heap and from a shared rate store mapped from a file written by a publisher.
+ * @Operations: matrixRate, heapStoreRate, sharedStoreRate
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SharedRateStoreBenchmark {
+
+	private CurrencyRateMatrix matrix;
+	private LiveRateStore heapStore;
+	private LiveRateStore publisher;
+	private LiveRateStore sharedStore;
+	private File storeFile;
+	private int czk;
+	private int usd;
+
+	@Setup
+	public void setup() throws CurrencyException {
+		Logger.getLogger("currency.calculator.app").setLevel(Level.OFF);
+		matrix = CurrencyRateMatrix.getInstance();
+		czk = matrix.getRegistry().getCurrencyId("CZK");
+		usd = matrix.getRegistry().getCurrencyId("USD");
+		heapStore = new LiveRateStore(matrix);
+		storeFile = new File(LiveRateStore.getDefaultSharedFile().getParentFile(), "currency-benchmark-" + System.nanoTime() + ".rates");
+		publisher = LiveRateStore.publishShared(matrix, storeFile);
+		sharedStore = LiveRateStore.openShared(matrix, storeFile);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		publisher.close();
+		storeFile.delete();
+	}
+
+	@Benchmark
+	public long matrixRate() {
+		return matrix.getScaledRate(czk, usd);
+	}
+
+	@Benchmark
+	public long heapStoreRate() {
+		return heapStore.getScaledRate(czk, usd);
+	}
+
+	@Benchmark
+	public long sharedStoreRate() {
+		return sharedStore.getScaledRate(czk, usd);
+	}
+}
@@ -0,0 +1,124 @@
+package currency.calculator.app.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.server.ConversionDaemon;
+
+/**
+ * This class contains the startup benchmark : time from starting the command line to the first result, AUD 100.00 = USD 83.71, per mode.
+ * jvm is java -jar, appcds adds the class data sharing archive of mvn -P appcds package and C1 only, native is the image of mvn -P native
+ * package and client is the thin client of a daemon started by the benchmark. Modes whose build output is missing fail with the command to
+ * build it. Run from the project directory after mvn package, e.g. java -jar target/benchmarks.jar StartupBenchmark
+ * @Operations: firstResult
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StartupBenchmark {
+
+	private static final String APP = "target/CurrencyCalculatorApp";
+	private static final String[] REQUEST = { "AUD", "100.00", "in", "USD" };
+
+	@Param({ "jvm", "appcds", "native", "client" })
+	public String mode;
+
+	private List<String> command;
+	private File errorFile;
+	private ConversionDaemon daemon;
+	private Process process;
+
+	@Setup
+	public void setup() throws IOException, CurrencyException {
+		String java = new File(new File(System.getProperty("java.home"), "bin"), "java").getPath();
+		command = new ArrayList<String>();
+		if ("native".equals(mode)) {
+			command.add(require(new File(APP + (File.separatorChar == '\\' ? ".exe" : "")), "mvn -P native package").getPath());
+		} else {
+			command.add(java);
+			if ("appcds".equals(mode)) {
+				command.add("-XX:SharedArchiveFile=" + require(new File(APP + ".jsa"), "mvn -P appcds package").getPath());
+				command.add("-XX:TieredStopAtLevel=1");
+			}
+			command.add("-jar");
+			command.add(require(new File(APP + ".jar"), "mvn package").getPath());
+		}
+		if ("client".equals(mode)) {
+			BenchmarkRunner.quietLogging();
+			File socketFile = new File(System.getProperty("java.io.tmpdir"), "currency-startup-" + System.nanoTime() + ".sock");
+			daemon = new ConversionDaemon(socketFile.getPath(), false);
+			daemon.start();
+			command.add("--client");
+			command.add(socketFile.getPath());
+		}
+		command.addAll(Arrays.asList(REQUEST));
+		errorFile = File.createTempFile("currency-startup", ".log");
+		errorFile.deleteOnExit();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		if (daemon != null) {
+			daemon.close();
+		}
+	}
+
+	/**
+	 * The following operation fails with the command to build file when it is missing.
+	 * @Input - file, build
+	 * @Response - File
+	 */
+	private static File require(File file, String build) {
+		if (!file.exists()) {
+			throw new IllegalStateException(file + " not found, build it with " + build + " and run from the project directory");
+		}
+		return file;
+	}
+
+	@Benchmark
+	public String firstResult() throws IOException {
+		/*
+		 * The log of the application is written to a file, only the time to the result on standard output is measured.
+		 */
+		process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.to(errorFile)).start();
+		BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()));
+		String result = output.readLine();
+		if (result == null || !result.startsWith("AUD 100.00 = USD")) {
+			throw new IllegalStateException("Unexpected result " + result + ", see " + errorFile);
+		}
+		return result;
+	}
+
+	@TearDown(Level.Invocation)
+	public void waitForExit() throws InterruptedException {
+		if (process != null) {
+			process.waitFor();
+			process = null;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package currency.calculator.app.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+
+/**
+ * This class contains the same conversion run by 1, 2, 4 and all available threads. The ops/s of each benchmark are the total of all threads,
+ * hence linear scaling doubles the result with every step.
+ * @Operations: threads1, threads2, threads4, threadsMax
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThreadScalingBenchmark {
+
+	private int sourceCurrencyId;
+	private int destinationCurrencyId;
+	private BigDecimal amount;
+
+	@Setup
+	public void setup() throws CurrencyException {
+		BenchmarkRunner.quietLogging();
+		sourceCurrencyId = CurrencyCalculatorUtil.getCurrencyId("NOK");
+		destinationCurrencyId = CurrencyCalculatorUtil.getCurrencyId("JPY");
+		amount = new BigDecimal("1234.56");
+	}
+
+	private BigDecimal convert() throws CurrencyException {
+		return CurrencyCalculatorUtil.calculateCurrencyValue(sourceCurrencyId, amount, destinationCurrencyId);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public BigDecimal threads1() throws CurrencyException {
+		return convert();
+	}
+
+	@Benchmark
+	@Threads(2)
+	public BigDecimal threads2() throws CurrencyException {
+		return convert();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public BigDecimal threads4() throws CurrencyException {
+		return convert();
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public BigDecimal threadsMax() throws CurrencyException {
+		return convert();
+	}
+}
@@ -0,0 +1,89 @@
+package currency.calculator.app.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.BatchKernel;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+
+/**
+ * This class contains benchmarks for the inner loop of the batch conversion, one run of AUD to USD amounts once the rate is resolved, with
+ * the scalar kernel and the kernel of the batch conversion. The latter is vectorized only when the jar is built with -P jmh,vector and run
+ * with the module jdk.incubator.vector added, see README.
+ * @Operations: multiplyDivideDown, multiply
+ * @Developer: Singh, Sunny
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorBatchBenchmark {
+
+	@Param({ "1000", "1000000" })
+	public int batchSize;
+
+	@Param({ "scalar", "batch" })
+	public String kernelName;
+
+	private BatchKernel kernel;
+	private long rate;
+	private int exponent;
+	private double doubleRate;
+	private long[] minorAmounts;
+	private long[] minorResults;
+	private double[] doubleAmounts;
+	private double[] doubleResults;
+
+	@Setup
+	public void setup() throws CurrencyException {
+		Logger.getLogger("currency.calculator.app").setLevel(Level.OFF);
+		kernel = "scalar".equals(kernelName) ? BatchKernel.getScalarInstance() : BatchKernel.getInstance();
+		CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+		CurrencyRegistry registry = matrix.getRegistry();
+		int aud = registry.getCurrencyId("AUD");
+		int usd = registry.getCurrencyId("USD");
+		rate = matrix.getScaledRate(aud, usd);
+		exponent = CurrencyCalculatorConstant.RATE_SCALE + registry.getDecimalPlace(aud) - registry.getDecimalPlace(usd);
+		doubleRate = matrix.getRate(aud, usd);
+		Random random = new Random(42);
+		minorAmounts = new long[batchSize];
+		minorResults = new long[batchSize];
+		doubleAmounts = new double[batchSize];
+		doubleResults = new double[batchSize];
+		for (int i = 0; i < batchSize; i++) {
+			minorAmounts[i] = random.nextInt(100000000);
+			doubleAmounts[i] = minorAmounts[i] / 100.0;
+		}
+	}
+
+	@Benchmark
+	public long[] multiplyDivideDown() {
+		kernel.multiplyDivideDown(minorAmounts, minorResults, 0, batchSize, rate, exponent);
+		return minorResults;
+	}
+
+	@Benchmark
+	public double[] multiply() {
+		kernel.multiply(doubleAmounts, doubleResults, 0, batchSize, doubleRate);
+		return doubleResults;
+	}
+}
@@ -1,18 +1,42 @@
 package currency.calculator.app;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.net.InetSocketAddress;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.math.NumberUtils;
+import currency.calculator.app.bulk.BulkCurrencyConverter;
+import currency.calculator.app.bulk.ParallelBulkCurrencyConverter;
 import currency.calculator.app.constant.CurrencyCalculatorConstant;
 import currency.calculator.app.exception.CurrencyException;
 import currency.calculator.app.exception.ExceptionHandler;
+import currency.calculator.app.feed.LiveRateStore;
+import currency.calculator.app.feed.RateTickFeed;
+import currency.calculator.app.metrics.ConversionMetrics;
+import currency.calculator.app.server.BinaryConversionServer;
+import currency.calculator.app.server.ConversionDaemon;
+import currency.calculator.app.server.ConversionDaemonClient;
+import currency.calculator.app.server.ConversionHttpServer;
 import currency.calculator.app.util.CurrencyCalculatorUtil;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.RateFileWatcher;
+import currency.calculator.app.util.RateSnapshotFile;
 
 /**
  * This class contains main methods which takes in argument from command prompt and calculate currency details with the specified rate.
- * @Operations: main
+ * @Operations: main, runBulkMode, runSnapshotMode, runServerMode, runBinaryServerMode, runDaemonMode, runPublishMode, runReplMode, runClientMode
  * @Developer: Singh, Sunny 
  */
 public class CurrencyCalculatorMainApp {
@@ -28,18 +52,79 @@ public class CurrencyCalculatorMainApp {
     	 if(LOG.isLoggable(Level.INFO)){
     		 LOG.info("App->main()-> Input String length is : "+args.length);
     	 }
+    	 /*
+    	  * Bulk mode converts one request per line : --bulk [input file|-] [output file|-]
+    	 */
+    	 if(args.length > 0 && CurrencyCalculatorConstant.BULK_MODE_ARGUMENT.equals(args[0])){
+    		 runBulkMode(args);
+    		 return;
+    	 }
+    	 /*
+    	  * Snapshot mode writes the compiled currency matrix to a binary rate snapshot : --snapshot <snapshot file>
+    	 */
+    	 if(args.length > 0 && CurrencyCalculatorConstant.SNAPSHOT_MODE_ARGUMENT.equals(args[0])){
+    		 runSnapshotMode(args);
+    		 return;
+    	 }
+    	 /*
+    	  * Server mode answers conversions over HTTP until the JVM is stopped : --server [port]
+    	 */
+    	 if(args.length > 0 && CurrencyCalculatorConstant.SERVER_MODE_ARGUMENT.equals(args[0])){
+    		 runServerMode(args);
+    		 return;
+    	 }
+    	 /*
+    	  * Binary server mode answers binary conversion requests over TCP until the JVM is stopped : --binary-server [port]
+    	 */
+    	 if(args.length > 0 && CurrencyCalculatorConstant.BINARY_SERVER_MODE_ARGUMENT.equals(args[0])){
+    		 runBinaryServerMode(args);
+    		 return;
+    	 }
+    	 /*
+    	  * Daemon mode answers conversion lines on a socket file or a loopback port until the JVM is stopped : --daemon [socket file|port]
+    	 */
+    	 if(args.length > 0 && CurrencyCalculatorConstant.DAEMON_MODE_ARGUMENT.equals(args[0])){
+    		 runDaemonMode(args);
+    		 return;
+    	 }
+    	 /*
+    	  * Publish mode writes the ticks of the rate feed into the shared rate store read by other processes : --publish-rates [store file]
+    	 */
+    	 if(args.length > 0 && CurrencyCalculatorConstant.PUBLISH_MODE_ARGUMENT.equals(args[0])){
+    		 runPublishMode(args);
+    		 return;
+    	 }
+    	 /*
+    	  * Repl mode answers conversion lines typed on the console : --repl
+    	 */
+    	 if(args.length > 0 && CurrencyCalculatorConstant.REPL_MODE_ARGUMENT.equals(args[0])){
+    		 runReplMode(args);
+    		 return;
+    	 }
+    	 /*
+    	  * Client mode sends conversion lines to a running daemon : --client [socket file|port] [<ccy1> <amount1> in <ccy2>]
+    	 */
+    	 if(args.length > 0 && CurrencyCalculatorConstant.CLIENT_MODE_ARGUMENT.equals(args[0])){
+    		 runClientMode(args);
+    		 return;
+    	 }
     	 /* 
     	  * Check if the input provided by user is correct and in specified format 
     	  * The correct format is : <ccy1> <amount1> in <ccy2> i.e AUD 100.00 in USD
     	*/
+    	 BigDecimal amount = args.length == CurrencyCalculatorConstant.INPUT_ARGUMENT_LENGTH ? parseAmount(args[1]) : null;
     	 if(args.length > 0 && args.length == CurrencyCalculatorConstant.INPUT_ARGUMENT_LENGTH 
     			 			&& args[0]!= null && !args[0].equals("") 
-    			 			&& args[1]!= null && !args[1].equals("")
-    			 			&& NumberUtils.isNumber(args[1].replaceAll(",", "")) //Removing all the comma separated value before checking for number
+    			 			&& amount != null //The amount is parsed once, it is null when it is not a number
     			 			&& args[2]!= null && !args[2].equals("")
     			 			&& args[2].equalsIgnoreCase(CurrencyCalculatorConstant.INPUT_ARGUMENT_STRING) //This checks if input 3rd argument is "in" or not.
     			 			&& args[3]!= null && !args[3].equals("")){
-    		if(CurrencyCalculatorUtil.isCurrencyAvailable(args[0].toUpperCase()) && CurrencyCalculatorUtil.isCurrencyAvailable(args[3].toUpperCase())){
+    		/*
+    		 * Currency codes are looked up in the currency registry only once. Lookup is case insensitive.
+    		*/
+    		int sourceCurrencyId = CurrencyCalculatorUtil.getCurrencyId(args[0]);
+    		int destinationCurrencyId = CurrencyCalculatorUtil.getCurrencyId(args[3]);
+    		if(CurrencyCalculatorUtil.isRateAvailable(sourceCurrencyId, destinationCurrencyId)){
 		    	try{
 		    		/*
 		    		 * Initializing BigDecimal variable to zero which will be used for storing currency conversion value. 
@@ -47,29 +132,321 @@ public class CurrencyCalculatorMainApp {
 	    			BigDecimal result =  BigDecimal.ZERO;
 	    			/*
 	    			 * Calculate the rate of given currency to the intended currency. 
-	    			 * Just to make sure currency input is provided in upper case so that back end system does not fail. 
 	    			 * */
-		    		result = CurrencyCalculatorUtil.calculateCurrencyValue(args[0].toUpperCase(), args[1], args[3].toUpperCase());
+		    		result = CurrencyCalculatorUtil.calculateCurrencyValue(sourceCurrencyId, amount, destinationCurrencyId);
 		    		/*
 		    		 * Display back the calculated currency value to user. 
 		    		*/
 		    		System.out.println((args[0]+" "+args[1]+" = "+args[3]+" "+result));
 		    	}catch(CurrencyException ex){
-		    		throw ExceptionHandler.generateException(ex.getMessage(), ex.getDetailedMessage(), ex.getSystem());
+		    		throw ex;
 		    	}catch(Exception ex){
 		    		throw ExceptionHandler.generateException(ex);
 		    	}
     		}else {
     			/* 
-    	    	  * Currency provided by user if does not exists then prompt this message to user console
+    	    	  * Currency provided by user if does not exists or no rate can be calculated then prompt this message to user console
     	    	*/
-    			System.out.println(("Unable to find rate for "+args[0]+"/"+args[3]));
+    			System.out.println((CurrencyCalculatorConstant.RATE_NOT_FOUND_MESSAGE+args[0]+"/"+args[3]));
     		}
     	}else {
     		/*
     		 * Display back the error message to user if input provided does not match to the expected input. 
     		*/
-    		System.out.println(("Invalid input arguments provided. Please provide input only in format : <ccy1> <amount1> in <ccy2>"));
+    		System.out.println(CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE);
+    	}
+    }
+    
+	 /**
+	  * The following operation parses the amount as a decimal number, commas aside. A conversion only loads JDK classes, commons-lang is
+	  * compiled for Java 1.3 and its classes can not be kept in a class data sharing archive.
+	  * @Input - amount
+	  * @Response - BigDecimal, null when the amount is missing or not a number
+	*/
+    private static BigDecimal parseAmount(String amount){
+    	if(amount == null || amount.isEmpty()){
+    		return null;
+    	}
+    	try{
+    		return new BigDecimal(amount.indexOf(',') < 0 ? amount : amount.replace(",", ""));
+    	}catch(NumberFormatException ex){
+    		return null;
+    	}
+    }
+    
+	 /**
+	  * Bulk mode of this application. Reads requests line by line from the input file or standard input and writes the results to the output file 
+	  * or standard output. Lines which can not be converted are reported on standard error with their line and column. With -Dcurrency.reload.watch=true
+	  * changes of the rate files are picked up while the requests are converted, with -Dcurrency.fixed.point=true amounts are converted by the
+	  * fixed point engine, with -Dcurrency.bulk.parallelism=<threads> chunks of -Dcurrency.bulk.chunk.size lines are converted in parallel.
+	  * @Input - args, --bulk [input file|-] [output file|-]
+	  * @Response - only print the details to user.
+	  * @Exception - CurrencyException
+	*/
+    public static void runBulkMode(String[] args) throws CurrencyException{
+    	String inputFile = args.length > 1 ? args[1] : CurrencyCalculatorConstant.STANDARD_STREAM_ARGUMENT;
+    	String outputFile = args.length > 2 ? args[2] : CurrencyCalculatorConstant.STANDARD_STREAM_ARGUMENT;
+    	InputStream input = null;
+    	OutputStream output = null;
+    	RateFileWatcher watcher = null;
+    	try{
+    		if(Boolean.getBoolean(CurrencyCalculatorConstant.RELOAD_WATCH_PROPERTY)){
+    			watcher = RateFileWatcher.start();
+    		}
+    		input = CurrencyCalculatorConstant.STANDARD_STREAM_ARGUMENT.equals(inputFile) ? System.in : new FileInputStream(inputFile);
+    		output = CurrencyCalculatorConstant.STANDARD_STREAM_ARGUMENT.equals(outputFile) ? System.out : new FileOutputStream(outputFile);
+    		BufferedReader reader = new BufferedReader(new InputStreamReader(input), CurrencyCalculatorConstant.BULK_BUFFER_SIZE);
+    		Writer writer = new BufferedWriter(new OutputStreamWriter(output), CurrencyCalculatorConstant.BULK_BUFFER_SIZE);
+    		Writer errorWriter = new BufferedWriter(new OutputStreamWriter(System.err));
+    		boolean fixedPoint = Boolean.getBoolean(CurrencyCalculatorConstant.FIXED_POINT_PROPERTY);
+    		/*
+    		 * A parallelism of 0 or less converts with all processors.
+    		 */
+    		int parallelism = Integer.getInteger(CurrencyCalculatorConstant.BULK_PARALLELISM_PROPERTY, 1);
+    		if(parallelism <= 0){
+    			parallelism = Runtime.getRuntime().availableProcessors();
+    		}
+    		long convertedCount;
+    		long failedCount;
+    		if(parallelism > 1){
+    			ParallelBulkCurrencyConverter converter = new ParallelBulkCurrencyConverter(fixedPoint, parallelism,
+    					Integer.getInteger(CurrencyCalculatorConstant.BULK_CHUNK_SIZE_PROPERTY, CurrencyCalculatorConstant.BULK_DEFAULT_CHUNK_SIZE));
+    			converter.convert(reader, writer, errorWriter);
+    			convertedCount = converter.getConvertedCount();
+    			failedCount = converter.getFailedCount();
+    		}else{
+    			BulkCurrencyConverter converter = new BulkCurrencyConverter(fixedPoint);
+    			converter.convert(reader, writer, errorWriter);
+    			convertedCount = converter.getConvertedCount();
+    			failedCount = converter.getFailedCount();
+    		}
+    		errorWriter.append("Converted "+convertedCount+" of "+(convertedCount+failedCount)+" requests\n");
+    		errorWriter.flush();
+    	}catch(IOException ex){
+    		throw ExceptionHandler.generateException(ex);
+    	}finally{
+    		try{
+    			if(watcher != null){
+    				watcher.close();
+    			}
+    			if(input != null && input != System.in){
+    				input.close();
+    			}
+    			if(output != null && output != System.out){
+    				output.close();
+    			}
+    		}catch(IOException ex){
+    			LOG.severe("IOException Exception occured while closing the file "+ex.getMessage());
+    		}
+    	}
+    }
+    
+	 /**
+	  * Snapshot mode of this application. Compiles the currency matrix from the property files and writes it to the snapshot file, which can be
+	  * loaded later on with -Dcurrency.snapshot.file=<snapshot file> instead of compiling the matrix again.
+	  * @Input - args, --snapshot <snapshot file>
+	  * @Response - only print the details to user.
+	  * @Exception - CurrencyException
+	*/
+    public static void runSnapshotMode(String[] args) throws CurrencyException{
+    	if(args.length != 2 || StringUtils.isBlank(args[1])){
+    		System.out.println(CurrencyCalculatorConstant.INVALID_SNAPSHOT_MESSAGE);
+    		return;
+    	}
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.compile();
+    	RateSnapshotFile.write(matrix, new File(args[1]));
+    	System.out.println("Written rate snapshot of "+matrix.getSize()+" currencies to "+args[1]);
+    }
+    
+	 /**
+	  * Server mode of this application. Starts the conversion server on the port, 8080 by default, which keeps running until the JVM is stopped.
+	  * Stopping the JVM lets running requests finish first. The largest request body is set with -Dcurrency.server.max.body=<bytes>, with 
+	  * -Dcurrency.reload.watch=true changes of the rate files are picked up while the server is running. Conversion metrics are served on
+	  * GET /metrics and over JMX.
+	  * @Input - args, --server [port]
+	  * @Response - ConversionHttpServer, the running server
+	  * @Exception - CurrencyException
+	*/
+    public static ConversionHttpServer runServerMode(String[] args) throws CurrencyException{
+    	if(args.length > 2 || (args.length == 2 && !NumberUtils.isDigits(args[1]))){
+    		System.out.println(CurrencyCalculatorConstant.INVALID_SERVER_MESSAGE);
+    		return null;
+    	}
+    	int port = args.length == 2 ? Integer.parseInt(args[1]) : CurrencyCalculatorConstant.SERVER_DEFAULT_PORT;
+    	final RateFileWatcher watcher = Boolean.getBoolean(CurrencyCalculatorConstant.RELOAD_WATCH_PROPERTY) ? RateFileWatcher.start() : null;
+    	final ConversionHttpServer server = new ConversionHttpServer(new InetSocketAddress(port), 
+    			Integer.getInteger(CurrencyCalculatorConstant.SERVER_MAX_BODY_PROPERTY, CurrencyCalculatorConstant.SERVER_DEFAULT_MAX_BODY));
+    	server.start();
+    	if(ConversionMetrics.isEnabled()){
+    		ConversionMetrics.registerMBean();
+    	}
+    	Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+    		public void run() {
+    			server.stop(CurrencyCalculatorConstant.SERVER_SHUTDOWN_SECONDS);
+    			try{
+    				if(watcher != null){
+    					watcher.close();
+    				}
+    			}catch(IOException ex){
+    				LOG.severe("IOException Exception occured while closing the rate file watcher "+ex.getMessage());
+    			}
+    		}
+    	}, "conversion-server-shutdown"));
+    	System.out.println("Conversion server listening on port "+server.getPort());
+    	return server;
+    }
+    
+	 /**
+	  * Binary server mode of this application. Starts the binary conversion server on the port, 8081 by default, which keeps running until 
+	  * the JVM is stopped. The protocol is described in BinaryConversionProtocol, conversion metrics are published over JMX.
+	  * @Input - args, --binary-server [port]
+	  * @Response - BinaryConversionServer, the running server
+	  * @Exception - CurrencyException
+	*/
+    public static BinaryConversionServer runBinaryServerMode(String[] args) throws CurrencyException{
+    	if(args.length > 2 || (args.length == 2 && !NumberUtils.isDigits(args[1]))){
+    		System.out.println(CurrencyCalculatorConstant.INVALID_BINARY_SERVER_MESSAGE);
+    		return null;
+    	}
+    	int port = args.length == 2 ? Integer.parseInt(args[1]) : CurrencyCalculatorConstant.BINARY_SERVER_DEFAULT_PORT;
+    	final BinaryConversionServer server = new BinaryConversionServer(new InetSocketAddress(port));
+    	server.start();
+    	if(ConversionMetrics.isEnabled()){
+    		ConversionMetrics.registerMBean();
+    	}
+    	Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+    		public void run() {
+    			try{
+    				server.close();
+    			}catch(IOException ex){
+    				LOG.severe("IOException Exception occured while closing the conversion server "+ex.getMessage());
+    			}
+    		}
+    	}, "binary-conversion-server-shutdown"));
+    	System.out.println("Binary conversion server listening on port "+server.getPort());
+    	return server;
+    }
+    
+	 /**
+	  * Daemon mode of this application. Starts the conversion daemon on the socket file, currency-calculator.sock in the temporary directory by
+	  * default, or on a port of the loopback address, which keeps running until the JVM is stopped. Scripts send one conversion per line and
+	  * read one line per conversion back, with the client mode or any tool which writes to a socket. With -Dcurrency.reload.watch=true changes
+	  * of the rate files are picked up while the daemon is running, with -Dcurrency.fixed.point=true amounts are converted by the fixed point engine.
+	  * @Input - args, --daemon [socket file|port]
+	  * @Response - ConversionDaemon, the running daemon
+	  * @Exception - CurrencyException
+	*/
+    public static ConversionDaemon runDaemonMode(String[] args) throws CurrencyException{
+    	if(args.length > 2 || (args.length == 2 && StringUtils.isBlank(args[1]))){
+    		System.out.println(CurrencyCalculatorConstant.INVALID_DAEMON_MESSAGE);
+    		return null;
+    	}
+    	String socket = args.length == 2 ? args[1] : ConversionDaemon.getDefaultSocket();
+    	final RateFileWatcher watcher = Boolean.getBoolean(CurrencyCalculatorConstant.RELOAD_WATCH_PROPERTY) ? RateFileWatcher.start() : null;
+    	final ConversionDaemon daemon = new ConversionDaemon(socket, Boolean.getBoolean(CurrencyCalculatorConstant.FIXED_POINT_PROPERTY));
+    	daemon.start();
+    	if(ConversionMetrics.isEnabled()){
+    		ConversionMetrics.registerMBean();
+    	}
+    	Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+    		public void run() {
+    			try{
+    				daemon.close();
+    				if(watcher != null){
+    					watcher.close();
+    				}
+    			}catch(IOException ex){
+    				LOG.severe("IOException Exception occured while closing the conversion daemon "+ex.getMessage());
+    			}
+    		}
+    	}, "conversion-daemon-shutdown"));
+    	System.out.println("Conversion daemon listening on "+socket);
+    	return daemon;
+    }
+    
+	 /**
+	  * Publish mode of this application. Opens the shared rate store file as its publisher with the current rates and applies the ticks of
+	  * the feed of -Dcurrency.tick.feed, or of standard input, until the feed ends. Processes started with -Dcurrency.rate.store.file=<file>
+	  * convert with the rates of the file.
+	  * @Input - args, --publish-rates [store file]
+	  * @Response - long, number of applied ticks, -1 when the arguments are not valid
+	  * @Exception - CurrencyException
+	*/
+    public static long runPublishMode(String[] args) throws CurrencyException{
+    	if(args.length > 2 || (args.length == 2 && StringUtils.isBlank(args[1]))){
+    		System.out.println(CurrencyCalculatorConstant.INVALID_PUBLISH_MESSAGE);
+    		return -1L;
+    	}
+    	File storeFile = args.length == 2 ? new File(args[1]) : LiveRateStore.getDefaultSharedFile();
+    	LiveRateStore store = LiveRateStore.publishShared(CurrencyRateMatrix.getInstance(), storeFile);
+    	try{
+    		String feedSource = System.getProperty(CurrencyCalculatorConstant.TICK_FEED_PROPERTY);
+    		RateTickFeed feed = StringUtils.isBlank(feedSource) ? new RateTickFeed(store, System.in) : RateTickFeed.open(store, feedSource.trim());
+    		System.out.println("Publishing rates to "+storeFile);
+    		feed.run();
+    		System.out.println("Published "+feed.getAppliedCount()+" ticks, "+feed.getRejectedCount()+" rejected");
+    		return feed.getAppliedCount();
+    	}finally{
+    		try{
+    			store.close();
+    		}catch(IOException ex){
+    			LOG.severe("IOException Exception occured while closing the shared rate store "+ex.getMessage());
+    		}
+    	}
+    }
+    
+	 /**
+	  * Repl mode of this application. Answers conversion lines typed on the console, or piped to standard input, with the rates loaded once,
+	  * until quit or the end of the input. The commands of the daemon, reload and book [name], are taken as well.
+	  * @Input - args, --repl
+	  * @Response - only print the details to user.
+	  * @Exception - CurrencyException
+	*/
+    public static void runReplMode(String[] args) throws CurrencyException{
+    	if(args.length != 1){
+    		System.out.println(CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE);
+    		return;
+    	}
+    	CurrencyRateMatrix.getInstance();
+    	try{
+    		ConversionDaemon.serve(new BufferedReader(new InputStreamReader(System.in)), new BufferedWriter(new OutputStreamWriter(System.out)),
+    				System.console() != null, Boolean.getBoolean(CurrencyCalculatorConstant.FIXED_POINT_PROPERTY));
+    	}catch(IOException ex){
+    		throw ExceptionHandler.generateException(ex);
+    	}
+    }
+    
+	 /**
+	  * Client mode of this application. Sends the conversion given as arguments, or every line of standard input, to the running conversion
+	  * daemon and prints its answers. The client loads neither currencies nor rates.
+	  * @Input - args, --client [socket file|port] [<ccy1> <amount1> in <ccy2>]
+	  * @Response - only print the details to user.
+	  * @Exception - CurrencyException
+	*/
+    public static void runClientMode(String[] args) throws CurrencyException{
+    	/*
+    	 * The socket is optional before the request, hence it is given when the number of arguments is odd.
+    	 */
+    	if(args.length != 1 && args.length != 2 && args.length != CurrencyCalculatorConstant.INPUT_ARGUMENT_LENGTH + 1
+    			&& args.length != CurrencyCalculatorConstant.INPUT_ARGUMENT_LENGTH + 2){
+    		System.out.println(CurrencyCalculatorConstant.INVALID_CLIENT_MESSAGE);
+    		return;
+    	}
+    	boolean socketGiven = args.length % 2 == 0;
+    	String socket = socketGiven ? args[1] : ConversionDaemon.getDefaultSocket();
+    	ConversionDaemonClient client = new ConversionDaemonClient(socket);
+    	try{
+    		if(args.length > 2){
+    			System.out.println(client.convert(StringUtils.join(args, ' ', socketGiven ? 2 : 1, args.length)));
+    		}else{
+    			client.convert(new BufferedReader(new InputStreamReader(System.in)), new BufferedWriter(new OutputStreamWriter(System.out)));
+    		}
+    	}finally{
+    		try{
+    			client.close();
+    		}catch(IOException ex){
+    			LOG.severe("IOException Exception occured while closing the conversion daemon client "+ex.getMessage());
+    		}
     	}
     }
 }
@@ -0,0 +1,138 @@
+package currency.calculator.app.aggregate;
+
+import java.math.BigDecimal;
+
+import currency.calculator.app.util.CurrencyRegistry;
+
+/**
+ * This class contains the result of an aggregation : the exact net and number of positions per currency, the converted net per currency
+ * and the total per reporting currency. Currencies are in the order of the currency registry, hence the result does not depend on the order
+ * of the positions. A result is not changed after it is created.
+ * @Operations: getCurrencyIds, getReportingCurrencyIds, getNet, getPositionCount, getConvertedNet, getTotal, toString
+ * @Developer: Singh, Sunny
+ */
+public final class AggregationResult {
+
+	private final CurrencyRegistry registry;
+	private final int[] currencyIds;
+	private final BigDecimal[] nets;
+	private final long[] positionCounts;
+	private final int[] reportingCurrencyIds;
+	private final BigDecimal[][] convertedNets;
+	private final BigDecimal[] totals;
+
+	/**
+	 * The constructor is used by PositionAggregator.aggregate only.
+	 */
+	AggregationResult(CurrencyRegistry registry, int[] currencyIds, BigDecimal[] nets, long[] positionCounts, int[] reportingCurrencyIds,
+			BigDecimal[][] convertedNets, BigDecimal[] totals) {
+		this.registry = registry;
+		this.currencyIds = currencyIds;
+		this.nets = nets;
+		this.positionCounts = positionCounts;
+		this.reportingCurrencyIds = reportingCurrencyIds;
+		this.convertedNets = convertedNets;
+		this.totals = totals;
+	}
+
+	/**
+	 * The following operation returns the currencies with positions, in the order of the currency registry.
+	 * @Input - N/A
+	 * @Response - int[]
+	 */
+	public int[] getCurrencyIds(){
+		return currencyIds.clone();
+	}
+
+	/**
+	 * The following operation returns the reporting currencies in the order they were given.
+	 * @Input - N/A
+	 * @Response - int[]
+	 */
+	public int[] getReportingCurrencyIds(){
+		return reportingCurrencyIds.clone();
+	}
+
+	/**
+	 * The following operation returns the exact net of the currency, zero when it has no positions.
+	 * @Input - currencyId
+	 * @Response - BigDecimal
+	 */
+	public BigDecimal getNet(int currencyId){
+		int index = indexOf(currencyIds, currencyId);
+		return index < 0 ? BigDecimal.ZERO : nets[index];
+	}
+
+	/**
+	 * The following operation returns the number of positions of the currency.
+	 * @Input - currencyId
+	 * @Response - long
+	 */
+	public long getPositionCount(int currencyId){
+		int index = indexOf(currencyIds, currencyId);
+		return index < 0 ? 0L : positionCounts[index];
+	}
+
+	/**
+	 * The following operation returns the net of the currency converted into the reporting currency, truncated to its decimal places.
+	 * @Input - currencyId, reportingCurrencyId
+	 * @Response - BigDecimal, null when the reporting currency was not aggregated
+	 */
+	public BigDecimal getConvertedNet(int currencyId, int reportingCurrencyId){
+		int reporting = indexOf(reportingCurrencyIds, reportingCurrencyId);
+		if(reporting < 0){
+			return null;
+		}
+		int index = indexOf(currencyIds, currencyId);
+		return index < 0 ? BigDecimal.ZERO.setScale(registry.getDecimalPlace(reportingCurrencyId)) : convertedNets[reporting][index];
+	}
+
+	/**
+	 * The following operation returns the total of all nets in the reporting currency, truncated once to its decimal places.
+	 * @Input - reportingCurrencyId
+	 * @Response - BigDecimal, null when the reporting currency was not aggregated
+	 */
+	public BigDecimal getTotal(int reportingCurrencyId){
+		int reporting = indexOf(reportingCurrencyIds, reportingCurrencyId);
+		return reporting < 0 ? null : totals[reporting];
+	}
+
+	/**
+	 * The following operation returns the index of value in values, -1 when it is not there.
+	 * @Input - values, value
+	 * @Response - int
+	 */
+	private static int indexOf(int[] values, int value){
+		for (int index = 0; index < values.length; index++) {
+			if(values[index] == value){
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The following operation returns the result as lines, a line per currency with its net and converted nets and a line per total, e.g.
+	 * AUD 100.00 (2) = USD 83.71
+	 * USD total 83.71
+	 * @Input - N/A
+	 * @Response - String
+	 */
+	@Override
+	public String toString(){
+		StringBuilder builder = new StringBuilder();
+		for (int index = 0; index < currencyIds.length; index++) {
+			builder.append(registry.getCurrencyCode(currencyIds[index])).append(' ').append(nets[index].toPlainString())
+					.append(" (").append(positionCounts[index]).append(") =");
+			for (int reporting = 0; reporting < reportingCurrencyIds.length; reporting++) {
+				builder.append(reporting == 0 ? " " : ", ").append(registry.getCurrencyCode(reportingCurrencyIds[reporting])).append(' ')
+						.append(convertedNets[reporting][index].toPlainString());
+			}
+			builder.append('\n');
+		}
+		for (int reporting = 0; reporting < reportingCurrencyIds.length; reporting++) {
+			builder.append(registry.getCurrencyCode(reportingCurrencyIds[reporting])).append(" total ").append(totals[reporting].toPlainString()).append('\n');
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,369 @@
+package currency.calculator.app.aggregate;
+
+import java.util.Arrays;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.feed.LiveRateStore;
+import currency.calculator.app.feed.RateTickListener;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+import currency.calculator.app.util.FixedPointMath;
+
+/**
+ * This class contains the portfolio revaluator. Positions are registered with their currency and a reporting currency and valued with the
+ * newest rates of a live rate store in minor units of the reporting currency, truncated like the fixed point engine does. Positions are
+ * grouped by conversion pair and every pair is indexed by the quoted rates its route reads, including both legs of a cross route, e.g.
+ * CZKUSD by EURCZK and EURUSD. A tick revalues the positions of the pairs indexed by the ticked rate only and keeps the total per reporting
+ * currency up to date, the positions whose value changed are pushed to the revaluation listeners in batches. Added as tick listener of the
+ * store it follows the feed, the methods are synchronized and listeners are called by the thread of the tick.
+ * @Operations: addPosition, onTick, revalueAll, getValue, getTotal, getPositionCount, getRevaluedCount, getFailedCount, addRevaluationListener, removeRevaluationListener
+ * @Developer: Singh, Sunny
+ */
+public final class PortfolioRevaluator implements RateTickListener {
+
+	private static final Logger LOG = Logger.getLogger(PortfolioRevaluator.class.getName());
+
+	//Number of revalued positions pushed to the listeners at a time
+	public static final int DEFAULT_BATCH_SIZE = 1024;
+
+	private static final int[] NO_IDS = new int[0];
+
+	private final LiveRateStore store;
+	private final CurrencyRateMatrix matrix;
+	private final CurrencyRegistry registry;
+	private final int size;
+
+	//Positions by position id
+	private int[] positionPairs = new int[64];
+	private long[] amounts = new long[64];
+	private int[] scales = new int[64];
+	private long[] values = new long[64];
+	private int positionCount = 0;
+
+	//Positions and last rate by conversion pair, source * size + reporting currency
+	private final int[][] pairPositions;
+	private final int[] pairPositionCounts;
+	private final long[] pairRates;
+
+	//Conversion pairs by quoted rate, source * size + destination currency
+	private final int[][] legPairs;
+	private final int[] legPairCounts;
+
+	//Total by reporting currency in its minor units
+	private final long[] totals;
+
+	private final CopyOnWriteArrayList<RevaluationListener> listeners = new CopyOnWriteArrayList<RevaluationListener>();
+	private final int[] batchIds;
+	private final long[] batchValues;
+	private int batchCount = 0;
+
+	private long revaluedCount = 0;
+	private long failedCount = 0;
+
+	/**
+	 * The constructor creates an empty portfolio valued with the rates of store, changed positions are pushed in batches of DEFAULT_BATCH_SIZE.
+	 * @Input - store
+	 */
+	public PortfolioRevaluator(LiveRateStore store) {
+		this(store, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * The constructor creates an empty portfolio valued with the rates of store, changed positions are pushed in batches of batchSize.
+	 * @Input - store, batchSize
+	 */
+	public PortfolioRevaluator(LiveRateStore store, int batchSize) {
+		this.store = store;
+		matrix = store.getMatrix();
+		registry = store.getRegistry();
+		size = matrix.getSize();
+		pairPositions = new int[size * size][];
+		pairPositionCounts = new int[size * size];
+		pairRates = new long[size * size];
+		legPairs = new int[size * size][];
+		legPairCounts = new int[size * size];
+		totals = new long[size];
+		batchIds = new int[Math.max(1, batchSize)];
+		batchValues = new long[batchIds.length];
+	}
+
+	/**
+	 * The following operation registers a position of amount scaled by 10^scale in the source currency, valued in the reporting currency.
+	 * @Input - sourceCurrencyId, amount, scale - 0 to 18, reportingCurrencyId
+	 * @Response - int, id of the position
+	 * @Exception - CurrencyException when an input is not valid, the pair can not be converted or the value does not fit into a long
+	 */
+	public synchronized int addPosition(int sourceCurrencyId, long amount, int scale, int reportingCurrencyId) throws CurrencyException{
+		if(sourceCurrencyId < 0 || sourceCurrencyId >= size || reportingCurrencyId < 0 || reportingCurrencyId >= size
+				|| scale < 0 || scale > FixedPointMath.MAX_POWER_OF_TEN){
+			LOG.severe("PortfolioRevaluator->addPosition()-> Invalid input provided -> "+sourceCurrencyId+"/"+reportingCurrencyId+" scale : "+scale);
+			throw new CurrencyException("Input field provided is not valid ","PortfolioRevaluator->addPosition()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		int pair = sourceCurrencyId * size + reportingCurrencyId;
+		long rate = pairRates[pair];
+		if(rate == 0L){
+			rate = store.getScaledRate(sourceCurrencyId, reportingCurrencyId);
+			if(rate == 0L){
+				LOG.severe("PortfolioRevaluator->addPosition()-> No rate for "+registry.getCurrencyCode(sourceCurrencyId)+"/"+registry.getCurrencyCode(reportingCurrencyId));
+				throw new CurrencyException("Currency details are not found in currency matrix table","PortfolioRevaluator->addPosition()-> No rate for "
+						+registry.getCurrencyCode(sourceCurrencyId)+"/"+registry.getCurrencyCode(reportingCurrencyId),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+			}
+		}
+		long value;
+		try {
+			value = FixedPointMath.multiplyRescaleDown(amount, rate, getExponent(scale, reportingCurrencyId));
+		} catch (ArithmeticException ex) {
+			LOG.severe("PortfolioRevaluator->addPosition()-> Amount too large : "+amount+" with scale "+scale);
+			throw new CurrencyException("Amount provided is too large","PortfolioRevaluator->addPosition()-> Amount too large",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		if(pairRates[pair] == 0L){
+			pairRates[pair] = rate;
+			indexLegs(pair, sourceCurrencyId, reportingCurrencyId);
+		}
+		if(positionCount == positionPairs.length){
+			int capacity = positionCount * 2;
+			positionPairs = Arrays.copyOf(positionPairs, capacity);
+			amounts = Arrays.copyOf(amounts, capacity);
+			scales = Arrays.copyOf(scales, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+		int positionId = positionCount++;
+		positionPairs[positionId] = pair;
+		amounts[positionId] = amount;
+		scales[positionId] = scale;
+		values[positionId] = value;
+		totals[reportingCurrencyId] += value;
+		int[] positions = pairPositions[pair] == null ? NO_IDS : pairPositions[pair];
+		if(pairPositionCounts[pair] == positions.length){
+			positions = Arrays.copyOf(positions, Math.max(16, positions.length * 2));
+			pairPositions[pair] = positions;
+		}
+		positions[pairPositionCounts[pair]++] = positionId;
+		return positionId;
+	}
+
+	/**
+	 * The following operation indexes the conversion pair by every quoted rate along the route from source to destination.
+	 * @Input - pair, source, destination
+	 * @Response - N/A
+	 */
+	private void indexLegs(int pair, int source, int destination){
+		switch (matrix.getRouteType(source, destination)) {
+		case CurrencyCalculatorConstant.ROUTE_TYPE_DIRECT:
+			addLegPair(source * size + destination, pair);
+			break;
+		case CurrencyCalculatorConstant.ROUTE_TYPE_INVERSION:
+			addLegPair(destination * size + source, pair);
+			break;
+		case CurrencyCalculatorConstant.ROUTE_TYPE_CROSS:
+			int crossCurrencyId = matrix.getCrossCurrencyId(source, destination);
+			indexLegs(pair, source, crossCurrencyId);
+			indexLegs(pair, crossCurrencyId, destination);
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * The following operation adds the conversion pair to the pairs of the quoted rate.
+	 * @Input - leg, pair
+	 * @Response - N/A
+	 */
+	private void addLegPair(int leg, int pair){
+		int count = legPairCounts[leg];
+		int[] pairs = legPairs[leg] == null ? NO_IDS : legPairs[leg];
+		for (int index = 0; index < count; index++) {
+			if(pairs[index] == pair){
+				return;
+			}
+		}
+		if(count == pairs.length){
+			pairs = Arrays.copyOf(pairs, Math.max(4, count * 2));
+			legPairs[leg] = pairs;
+		}
+		pairs[count] = pair;
+		legPairCounts[leg] = count + 1;
+	}
+
+	/**
+	 * The following operation returns the exponent which rescales an amount of scale times a rate to the reporting currency.
+	 * @Input - scale, reportingCurrencyId
+	 * @Response - int
+	 */
+	private int getExponent(int scale, int reportingCurrencyId){
+		return scale + CurrencyCalculatorConstant.RATE_SCALE - registry.getDecimalPlace(reportingCurrencyId);
+	}
+
+	/**
+	 * The following operation revalues the positions of the conversion pairs whose route reads the ticked rate.
+	 * @Input - sourceCurrencyId, destinationCurrencyId, scaledRate, timestamp
+	 * @Response - N/A
+	 */
+	@Override
+	public synchronized void onTick(int sourceCurrencyId, int destinationCurrencyId, long scaledRate, long timestamp){
+		if(sourceCurrencyId < 0 || sourceCurrencyId >= size || destinationCurrencyId < 0 || destinationCurrencyId >= size){
+			return;
+		}
+		int leg = sourceCurrencyId * size + destinationCurrencyId;
+		int[] pairs = legPairs[leg];
+		for (int index = 0; index < legPairCounts[leg]; index++) {
+			revaluePair(pairs[index], false);
+		}
+		flush();
+	}
+
+	/**
+	 * The following operation revalues all positions with the newest rates, e.g. after the rates of the store were set without ticks.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public synchronized void revalueAll(){
+		for (int pair = 0; pair < pairPositionCounts.length; pair++) {
+			if(pairPositionCounts[pair] > 0){
+				revaluePair(pair, true);
+			}
+		}
+		flush();
+	}
+
+	/**
+	 * The following operation revalues the positions of the conversion pair when its rate changed or always when all is true.
+	 * @Input - pair, all
+	 * @Response - N/A
+	 */
+	private void revaluePair(int pair, boolean all){
+		int reportingCurrencyId = pair % size;
+		long rate = store.getScaledRate(pair / size, reportingCurrencyId);
+		if(rate == pairRates[pair] && !all){
+			return;
+		}
+		pairRates[pair] = rate;
+		int[] positions = pairPositions[pair];
+		int count = pairPositionCounts[pair];
+		boolean notify = !listeners.isEmpty();
+		for (int index = 0; index < count; index++) {
+			int positionId = positions[index];
+			long value;
+			try {
+				value = FixedPointMath.multiplyRescaleDown(amounts[positionId], rate, getExponent(scales[positionId], reportingCurrencyId));
+			} catch (ArithmeticException ex) {
+				/*
+				 * The position keeps its last value, it is counted as failed.
+				 */
+				failedCount++;
+				continue;
+			}
+			revaluedCount++;
+			long previous = values[positionId];
+			if(value == previous){
+				continue;
+			}
+			values[positionId] = value;
+			totals[reportingCurrencyId] += value - previous;
+			if(notify){
+				batchIds[batchCount] = positionId;
+				batchValues[batchCount++] = value;
+				if(batchCount == batchIds.length){
+					flush();
+				}
+			}
+		}
+	}
+
+	/**
+	 * The following operation pushes the pending batch of revalued positions to the listeners.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	private void flush(){
+		if(batchCount == 0){
+			return;
+		}
+		for (RevaluationListener listener : listeners) {
+			try {
+				listener.onRevaluation(batchIds, batchValues, batchCount);
+			} catch (RuntimeException ex) {
+				LOG.severe("PortfolioRevaluator->flush()-> Revaluation listener failed : "+ex);
+			}
+		}
+		if(LOG.isLoggable(Level.FINE)){
+			LOG.fine("PortfolioRevaluator->flush()-> Pushed "+batchCount+" revalued positions");
+		}
+		batchCount = 0;
+	}
+
+	/**
+	 * The following operation returns the value of the position in minor units of its reporting currency.
+	 * @Input - positionId
+	 * @Response - long
+	 * @Exception - CurrencyException when the position is not registered
+	 */
+	public synchronized long getValue(int positionId) throws CurrencyException{
+		if(positionId < 0 || positionId >= positionCount){
+			LOG.severe("PortfolioRevaluator->getValue()-> Invalid input provided -> position : "+positionId);
+			throw new CurrencyException("Input field provided is not valid ","PortfolioRevaluator->getValue()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		return values[positionId];
+	}
+
+	/**
+	 * The following operation returns the sum of the values of the positions reported in the currency, in its minor units.
+	 * @Input - reportingCurrencyId
+	 * @Response - long, 0 when no position is reported in the currency
+	 */
+	public synchronized long getTotal(int reportingCurrencyId){
+		return reportingCurrencyId < 0 || reportingCurrencyId >= size ? 0L : totals[reportingCurrencyId];
+	}
+
+	/**
+	 * The following operation returns number of registered positions.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public synchronized int getPositionCount(){
+		return positionCount;
+	}
+
+	/**
+	 * The following operation returns number of position values calculated again since the revaluator was created.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public synchronized long getRevaluedCount(){
+		return revaluedCount;
+	}
+
+	/**
+	 * The following operation returns number of revaluations whose value did not fit into a long, the position kept its last value.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public synchronized long getFailedCount(){
+		return failedCount;
+	}
+
+	/**
+	 * The following operation adds a listener for the positions whose value changed.
+	 * @Input - listener
+	 * @Response - N/A
+	 */
+	public void addRevaluationListener(RevaluationListener listener){
+		if(listener != null){
+			listeners.addIfAbsent(listener);
+		}
+	}
+
+	/**
+	 * The following operation removes a revaluation listener.
+	 * @Input - listener
+	 * @Response - boolean, true when the listener was there
+	 */
+	public boolean removeRevaluationListener(RevaluationListener listener){
+		return listeners.remove(listener);
+	}
+}
@@ -0,0 +1,331 @@
+package currency.calculator.app.aggregate;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.feed.LiveRateStore;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+import currency.calculator.app.util.FixedPointMath;
+
+/**
+ * This class contains the position aggregator. Positions are netted per currency in exact fixed point accumulators, a long per currency
+ * scaled by the largest scale of its positions, which spills into a BigDecimal when it would overflow. Hence the nets do not depend on the
+ * order of the positions and no position is rounded. aggregate converts every net once with the compiled rate of the currency matrix into
+ * one or more reporting currencies. An aggregator is used by one thread at a time, aggregators of several threads are combined with merge.
+ * @Operations: add, addMinorUnits, merge, getNet, getPositionCount, aggregate, clear
+ * @Developer: Singh, Sunny
+ */
+public final class PositionAggregator {
+
+	private static final Logger LOG = Logger.getLogger(PositionAggregator.class.getName());
+
+	private final CurrencyRegistry registry;
+	private final int size;
+	private final long[] sums;
+	private final int[] scales;
+	private final BigDecimal[] spills;
+	private final long[] positionCounts;
+
+	/**
+	 * The constructor creates an empty aggregator for the currencies of the current currency registry.
+	 * @throws CurrencyException
+	 */
+	public PositionAggregator() throws CurrencyException {
+		this(CurrencyRegistry.getInstance());
+	}
+
+	/**
+	 * The constructor creates an empty aggregator for the currencies of the registry.
+	 */
+	public PositionAggregator(CurrencyRegistry registry) {
+		this.registry = registry;
+		size = registry.getSize();
+		sums = new long[size];
+		scales = new int[size];
+		spills = new BigDecimal[size];
+		positionCounts = new long[size];
+	}
+
+	/**
+	 * The following operation adds a position of amount scaled by 10^scale, e.g. 12345 with scale 2 for 123.45, to the net of the currency.
+	 * @Input - currencyId, amount, scale - 0 to 18
+	 * @Response - N/A
+	 * @Exception - CurrencyException when the currency or scale is not valid
+	 */
+	public void add(int currencyId, long amount, int scale) throws CurrencyException{
+		if(currencyId < 0 || currencyId >= size || scale < 0 || scale > FixedPointMath.MAX_POWER_OF_TEN){
+			LOG.severe("PositionAggregator->add()-> Invalid input provided -> currencyId : "+currencyId+", scale : "+scale);
+			throw new CurrencyException("Input field provided is not valid ","PositionAggregator->add()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		accumulate(currencyId, amount, scale);
+	}
+
+	/**
+	 * The following operation adds a position to the net of the currency.
+	 * @Input - currencyId, amount
+	 * @Response - N/A
+	 * @Exception - CurrencyException when the currency or amount is not valid
+	 */
+	public void add(int currencyId, BigDecimal amount) throws CurrencyException{
+		if(currencyId < 0 || currencyId >= size || amount == null){
+			LOG.severe("PositionAggregator->add()-> Invalid input provided -> currencyId : "+currencyId+", amount : "+amount);
+			throw new CurrencyException("Input field provided is not valid ","PositionAggregator->add()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		BigDecimal value = amount.scale() < 0 ? amount.setScale(0) : amount;
+		BigInteger unscaled = value.unscaledValue();
+		if(value.scale() <= FixedPointMath.MAX_POWER_OF_TEN && unscaled.bitLength() < Long.SIZE){
+			accumulate(currencyId, unscaled.longValue(), value.scale());
+		}else{
+			spills[currencyId] = spills[currencyId] == null ? value : spills[currencyId].add(value);
+			positionCounts[currencyId]++;
+		}
+	}
+
+	/**
+	 * The following operation adds positions given in minor units of their currency, e.g. 12345 for AUD 123.45, between offset and
+	 * offset + length of the arrays. The arrays are validated before any position is added.
+	 * @Input - currencyIds, amounts, offset, length
+	 * @Response - N/A
+	 * @Exception - CurrencyException when the arrays are shorter than offset + length or a currency is not valid
+	 */
+	public void addMinorUnits(int[] currencyIds, long[] amounts, int offset, int length) throws CurrencyException{
+		validate(currencyIds, amounts, null, offset, length);
+		for (int index = offset; index < offset + length; index++) {
+			int currencyId = currencyIds[index];
+			accumulate(currencyId, amounts[index], registry.getDecimalPlace(currencyId));
+		}
+	}
+
+	/**
+	 * The following operation adds positions of amounts[i] scaled by 10^scales[i] between offset and offset + length of the arrays. The
+	 * arrays are validated before any position is added.
+	 * @Input - currencyIds, amounts, scales - 0 to 18, offset, length
+	 * @Response - N/A
+	 * @Exception - CurrencyException when the arrays are shorter than offset + length or a currency or scale is not valid
+	 */
+	public void add(int[] currencyIds, long[] amounts, int[] scales, int offset, int length) throws CurrencyException{
+		if(scales == null){
+			LOG.severe("PositionAggregator->add()-> Invalid input provided -> scales are missing");
+			throw new CurrencyException("Input field provided is not valid ","PositionAggregator->add()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		validate(currencyIds, amounts, scales, offset, length);
+		for (int index = offset; index < offset + length; index++) {
+			accumulate(currencyIds[index], amounts[index], scales[index]);
+		}
+	}
+
+	/**
+	 * The following operation checks the arrays of positions before they are added.
+	 * @Input - currencyIds, amounts, scales - null for minor units, offset, length
+	 * @Response - N/A
+	 * @Exception - CurrencyException
+	 */
+	private void validate(int[] currencyIds, long[] amounts, int[] scales, int offset, int length) throws CurrencyException{
+		if(currencyIds == null || amounts == null || offset < 0 || length < 0 || offset + length > currencyIds.length || offset + length > amounts.length
+				|| (scales != null && offset + length > scales.length)){
+			LOG.severe("PositionAggregator->add()-> Invalid input provided -> array is missing or shorter than offset + length");
+			throw new CurrencyException("Input field provided is not valid ","PositionAggregator->add()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		for (int index = offset; index < offset + length; index++) {
+			if(currencyIds[index] < 0 || currencyIds[index] >= size || (scales != null && (scales[index] < 0 || scales[index] > FixedPointMath.MAX_POWER_OF_TEN))){
+				LOG.severe("PositionAggregator->add()-> Invalid input provided -> position "+index);
+				throw new CurrencyException("Input field provided is not valid ","PositionAggregator->add()-> Invalid input provided at position "+index,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+			}
+		}
+	}
+
+	/**
+	 * The following operation adds amount scaled by 10^scale to the accumulator of the currency. The accumulator takes the larger scale of
+	 * both, what does not fit into its long is moved to the spill of the currency.
+	 * @Input - currencyId, amount, scale
+	 * @Response - N/A
+	 */
+	private void accumulate(int currencyId, long amount, int scale){
+		positionCounts[currencyId]++;
+		int sumScale = scales[currencyId];
+		if(scale > sumScale){
+			long sum = sums[currencyId];
+			long multiplier = FixedPointMath.getPowerOfTen(scale - sumScale);
+			long rescaled = sum * multiplier;
+			if(sum != 0L && (rescaled / multiplier != sum)){
+				spill(currencyId);
+				rescaled = 0L;
+			}
+			sums[currencyId] = rescaled;
+			scales[currencyId] = scale;
+		}else if(scale < sumScale){
+			long multiplier = FixedPointMath.getPowerOfTen(sumScale - scale);
+			long rescaled = amount * multiplier;
+			if(rescaled / multiplier != amount){
+				BigDecimal value = BigDecimal.valueOf(amount, scale);
+				spills[currencyId] = spills[currencyId] == null ? value : spills[currencyId].add(value);
+				return;
+			}
+			amount = rescaled;
+		}
+		long sum = sums[currencyId];
+		long total = sum + amount;
+		/*
+		 * The sum overflows when both operands have the same sign and the total has another one.
+		 */
+		if(((sum ^ total) & (amount ^ total)) < 0L){
+			spill(currencyId);
+			total = amount;
+		}
+		sums[currencyId] = total;
+	}
+
+	/**
+	 * The following operation moves the accumulator of the currency into its spill.
+	 * @Input - currencyId
+	 * @Response - N/A
+	 */
+	private void spill(int currencyId){
+		BigDecimal value = BigDecimal.valueOf(sums[currencyId], scales[currencyId]);
+		spills[currencyId] = spills[currencyId] == null ? value : spills[currencyId].add(value);
+		sums[currencyId] = 0L;
+	}
+
+	/**
+	 * The following operation adds the nets of other, e.g. of another thread, to the nets of this aggregator.
+	 * @Input - other
+	 * @Response - N/A
+	 * @Exception - CurrencyException when other is for another number of currencies
+	 */
+	public void merge(PositionAggregator other) throws CurrencyException{
+		if(other == null || other.size != size){
+			LOG.severe("PositionAggregator->merge()-> Invalid input provided -> aggregator of another currency registry");
+			throw new CurrencyException("Input field provided is not valid ","PositionAggregator->merge()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		for (int currencyId = 0; currencyId < size; currencyId++) {
+			if(other.positionCounts[currencyId] == 0L){
+				continue;
+			}
+			long count = positionCounts[currencyId];
+			accumulate(currencyId, other.sums[currencyId], other.scales[currencyId]);
+			if(other.spills[currencyId] != null){
+				spills[currencyId] = spills[currencyId] == null ? other.spills[currencyId] : spills[currencyId].add(other.spills[currencyId]);
+			}
+			positionCounts[currencyId] = count + other.positionCounts[currencyId];
+		}
+	}
+
+	/**
+	 * The following operation returns the exact net of the currency, zero when it has no positions.
+	 * @Input - currencyId
+	 * @Response - BigDecimal
+	 */
+	public BigDecimal getNet(int currencyId){
+		if(currencyId < 0 || currencyId >= size){
+			return BigDecimal.ZERO;
+		}
+		BigDecimal net = BigDecimal.valueOf(sums[currencyId], scales[currencyId]);
+		return spills[currencyId] == null ? net : spills[currencyId].add(net);
+	}
+
+	/**
+	 * The following operation returns number of positions added for the currency.
+	 * @Input - currencyId
+	 * @Response - long
+	 */
+	public long getPositionCount(int currencyId){
+		return currencyId < 0 || currencyId >= size ? 0L : positionCounts[currencyId];
+	}
+
+	/**
+	 * The following operation converts the nets with the rates of the current currency matrix into the reporting currencies.
+	 * @Input - reportingCurrencyIds
+	 * @Response - AggregationResult
+	 * @Exception - CurrencyException
+	 */
+	public AggregationResult aggregate(int... reportingCurrencyIds) throws CurrencyException{
+		return aggregate(CurrencyRateMatrix.getInstance(), reportingCurrencyIds);
+	}
+
+	/**
+	 * The following operation converts every net once with the exact compiled rate of matrix, e.g. a rate book, into every reporting
+	 * currency. The converted net of a currency is truncated to the decimal places of the reporting currency as a conversion is, the total
+	 * is the sum of the exact converted nets truncated once, hence it may be larger than the sum of the converted nets by less than one
+	 * minor unit per currency. Currencies with a net of zero need no rate. With a shared rate store on the routes of matrix the newest rates
+	 * are read from it, as a conversion does.
+	 * @Input - matrix, reportingCurrencyIds
+	 * @Response - AggregationResult
+	 * @Exception - CurrencyException when a reporting currency is not valid or a net can not be converted
+	 */
+	public AggregationResult aggregate(CurrencyRateMatrix matrix, int... reportingCurrencyIds) throws CurrencyException{
+		if(matrix == null || matrix.getSize() != size || reportingCurrencyIds == null || reportingCurrencyIds.length == 0){
+			LOG.severe("PositionAggregator->aggregate()-> Invalid input provided -> reporting currencies or matrix missing");
+			throw new CurrencyException("Input field provided is not valid ","PositionAggregator->aggregate()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		int currencyCount = 0;
+		for (int currencyId = 0; currencyId < size; currencyId++) {
+			if(positionCounts[currencyId] > 0L){
+				currencyCount++;
+			}
+		}
+		int[] currencyIds = new int[currencyCount];
+		BigDecimal[] nets = new BigDecimal[currencyCount];
+		long[] counts = new long[currencyCount];
+		for (int currencyId = 0, index = 0; currencyId < size; currencyId++) {
+			if(positionCounts[currencyId] > 0L){
+				currencyIds[index] = currencyId;
+				nets[index] = getNet(currencyId);
+				counts[index++] = positionCounts[currencyId];
+			}
+		}
+		LiveRateStore shared = LiveRateStore.getSharedInstance(matrix);
+		BigDecimal[][] convertedNets = new BigDecimal[reportingCurrencyIds.length][currencyCount];
+		BigDecimal[] totals = new BigDecimal[reportingCurrencyIds.length];
+		for (int reporting = 0; reporting < reportingCurrencyIds.length; reporting++) {
+			int reportingCurrencyId = reportingCurrencyIds[reporting];
+			if(reportingCurrencyId < 0 || reportingCurrencyId >= size){
+				LOG.severe("PositionAggregator->aggregate()-> Invalid input provided -> reporting currency "+reportingCurrencyId);
+				throw new CurrencyException("Input field provided is not valid ","PositionAggregator->aggregate()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+			}
+			int decimalPlace = registry.getDecimalPlace(reportingCurrencyId);
+			BigDecimal total = BigDecimal.ZERO;
+			for (int index = 0; index < currencyCount; index++) {
+				BigDecimal converted;
+				if(nets[index].signum() == 0){
+					converted = BigDecimal.ZERO;
+				}else{
+					BigDecimal rate = shared == null ? matrix.getExactRate(currencyIds[index], reportingCurrencyId)
+													 : shared.getExactRate(currencyIds[index], reportingCurrencyId);
+					if(rate == null){
+						LOG.severe("PositionAggregator->aggregate()-> No rate for "+registry.getCurrencyCode(currencyIds[index])+"/"+registry.getCurrencyCode(reportingCurrencyId));
+						throw new CurrencyException("Currency details are not found in currency matrix table","PositionAggregator->aggregate()-> No rate for "
+								+registry.getCurrencyCode(currencyIds[index])+"/"+registry.getCurrencyCode(reportingCurrencyId),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+					}
+					converted = nets[index].multiply(rate);
+				}
+				total = total.add(converted);
+				convertedNets[reporting][index] = converted.setScale(decimalPlace, RoundingMode.DOWN);
+			}
+			totals[reporting] = total.setScale(decimalPlace, RoundingMode.DOWN);
+		}
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("PositionAggregator->aggregate()-> Aggregated "+currencyCount+" currencies into "+reportingCurrencyIds.length+" reporting currencies");
+		}
+		return new AggregationResult(registry, currencyIds, nets, counts, reportingCurrencyIds.clone(), convertedNets, totals);
+	}
+
+	/**
+	 * The following operation removes all positions.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public void clear(){
+		for (int currencyId = 0; currencyId < size; currencyId++) {
+			sums[currencyId] = 0L;
+			scales[currencyId] = 0;
+			spills[currencyId] = null;
+			positionCounts[currencyId] = 0L;
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package currency.calculator.app.aggregate;
+
+/**
+ * This interface is implemented by components which show revalued positions, e.g. a risk screen. The portfolio revaluator pushes the
+ * positions whose value changed by a tick in batches.
+ * @Operations: onRevaluation
+ * @Developer: Singh, Sunny
+ */
+public interface RevaluationListener {
+
+	/**
+	 * The following operation is called with a batch of revalued positions. The arrays are reused by the revaluator, they are valid during
+	 * the call only.
+	 * @Input - positionIds, values - in minor units of the reporting currency of the position, count - number of positions of the batch
+	 * @Response - N/A
+	 */
+	void onRevaluation(int[] positionIds, long[] values, int count);
+}
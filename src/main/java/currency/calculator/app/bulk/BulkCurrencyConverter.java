@@ -0,0 +1,223 @@
+package currency.calculator.app.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.ConversionRequestParser;
+import currency.calculator.app.util.ConversionResult;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+import currency.calculator.app.util.FixedPointCurrencyCalculator;
+import currency.calculator.app.util.FixedPointMath;
+
+/**
+ * This class contains the streaming bulk conversion. Requests in format "<ccy1> <amount1> in <ccy2>" are read line by line, converted and
+ * written out in the same format as the console output. Only one line is kept in memory at a time. Lines which can not be converted are
+ * reported with their line number and the column of the error, and the conversion continues with the next line. The fixed point engine can be used instead of BigDecimal,
+ * which gives the same results without creating BigDecimal objects.
+ * @Operations: convert, convertLine, getLineCount, getConvertedCount, getFailedCount
+ * @Developer: Singh, Sunny
+ */
+public class BulkCurrencyConverter {
+
+	private static final Logger LOG = Logger.getLogger(BulkCurrencyConverter.class.getName());
+
+	private long lineCount = 0;
+	private long convertedCount = 0;
+	private long failedCount = 0;
+	private final boolean fixedPoint;
+
+	/**
+	 * The constructor creates converter calculating with BigDecimal.
+	 */
+	public BulkCurrencyConverter() {
+		this(false);
+	}
+
+	/**
+	 * The constructor creates converter calculating with the fixed point engine when fixedPoint is true.
+	 */
+	public BulkCurrencyConverter(boolean fixedPoint) {
+		this.fixedPoint = fixedPoint;
+	}
+
+	/**
+	 * The following operation converts all lines of reader. Results are written to writer, lines which can not be converted are reported to errorWriter.
+	 * Blank lines are skipped.
+	 * @Input - reader, writer, errorWriter
+	 * @Response - long, number of lines which could not be converted
+	 * @Exception - CurrencyException
+	 */
+	public long convert(BufferedReader reader, Writer writer, Writer errorWriter) throws CurrencyException{
+		StringBuilder output = new StringBuilder(128);
+		ConversionResult result = new ConversionResult();
+		ConversionRequestParser parser = new ConversionRequestParser();
+		try {
+			String line;
+			while((line = reader.readLine()) != null){
+				lineCount++;
+				if(line.trim().isEmpty()){
+					continue;
+				}
+				output.setLength(0);
+				/*
+				 * The current matrix is read for every line, hence reloaded rates are used from the next line on. The line is parsed with
+				 * the registry of the same matrix.
+				 */
+				CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+				int errorPosition = convert(matrix, matrix.getRegistry(), line, parser, result, output, fixedPoint);
+				if(errorPosition < 0){
+					convertedCount++;
+					writer.append(output).append('\n');
+				}else{
+					failedCount++;
+					errorWriter.append("Line ").append(Long.toString(lineCount)).append(", column ").append(Integer.toString(errorPosition + 1))
+							.append(": ").append(output).append('\n');
+				}
+			}
+			writer.flush();
+			errorWriter.flush();
+		} catch (IOException ex) {
+			LOG.severe("BulkCurrencyConverter->convert()-> IOException occured at line "+lineCount+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while converting the file",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("BulkCurrencyConverter->convert()-> Lines : "+lineCount+", converted : "+convertedCount+", failed : "+failedCount);
+		}
+		return failedCount;
+	}
+
+	/**
+	 * The following operation converts a single request line. The converted line or the error message is appended to output.
+	 * @Input - registry, line, parser - reusable parser for the line, output
+	 * @Response - boolean, true when the line is converted
+	 * @Exception - CurrencyException
+	 */
+	public static boolean convertLine(CurrencyRegistry registry, String line, ConversionRequestParser parser, StringBuilder output) throws CurrencyException{
+		return convertLine(registry, line, parser, output, false);
+	}
+
+	/**
+	 * The following operation converts a single request line with BigDecimal or with the fixed point engine. The line is parsed without
+	 * creating Strings, only amounts the parser can not handle, e.g. in exponent notation or too large for a long, are parsed by BigDecimal
+	 * and converted with BigDecimal.
+	 * @Input - registry, line, parser - reusable parser for the line, output, fixedPoint
+	 * @Response - boolean, true when the line is converted
+	 * @Exception - CurrencyException
+	 */
+	public static boolean convertLine(CurrencyRegistry registry, String line, ConversionRequestParser parser, StringBuilder output, boolean fixedPoint) throws CurrencyException{
+		return convertLine(registry, line, parser, new ConversionResult(), output, fixedPoint);
+	}
+
+	/**
+	 * The following operation converts a single request line with a reusable parser and result, neither an exception is thrown nor an object
+	 * is created for a line which can not be converted.
+	 * @Input - registry, line, parser - reusable parser for the line, result - reusable result of the conversion, output, fixedPoint
+	 * @Response - boolean, true when the line is converted
+	 * @Exception - CurrencyException
+	 */
+	public static boolean convertLine(CurrencyRegistry registry, String line, ConversionRequestParser parser, ConversionResult result, StringBuilder output, boolean fixedPoint) throws CurrencyException{
+		return convert(CurrencyRateMatrix.getInstance(), registry, line, parser, result, output, fixedPoint) < 0;
+	}
+
+	/**
+	 * The following operation converts a single request line with the currencies and rates of the given matrix, the matrix stays the same
+	 * for the line even when rates are reloaded meanwhile. It does not throw an exception.
+	 * @Input - matrix, line, parser - reusable parser for the line, result - reusable result of the conversion, output, fixedPoint
+	 * @Response - boolean, true when the line is converted
+	 */
+	public static boolean convertLine(CurrencyRateMatrix matrix, String line, ConversionRequestParser parser, ConversionResult result, StringBuilder output, boolean fixedPoint){
+		return convert(matrix, matrix.getRegistry(), line, parser, result, output, fixedPoint) < 0;
+	}
+
+	/**
+	 * The following operation converts a single request line parsed with registry against the rates of matrix. The position of the error
+	 * is the one computed by the parser for a line which can not be parsed, the position of the source currency when there is no rate and
+	 * the position of the amount when the amount can not be converted.
+	 * @Input - matrix, registry, line, parser, result, output, fixedPoint
+	 * @Response - int, -1 when the line is converted, position of the error in the line otherwise
+	 */
+	static int convert(CurrencyRateMatrix matrix, CurrencyRegistry registry, String line, ConversionRequestParser parser, ConversionResult result, StringBuilder output, boolean fixedPoint){
+		/*
+		 * Check if the line is in specified format : <ccy1> <amount1> in <ccy2> i.e AUD 100.00 in USD
+		 */
+		boolean parsed = parser.parse(registry, line, 0, line.length());
+		int errorCode = parser.getErrorCode();
+		if(!parsed && errorCode != ConversionRequestParser.ERROR_INVALID_AMOUNT && errorCode != ConversionRequestParser.ERROR_AMOUNT_TOO_LARGE){
+			output.append(CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE);
+			return parser.getErrorPosition();
+		}
+		int sourceCurrencyId = parser.getSourceCurrencyId();
+		int destinationCurrencyId = parser.getDestinationCurrencyId();
+		BigDecimal amount = null;
+		if(!parsed){
+			String amountText = line.substring(parser.getAmountStart(), parser.getAmountEnd());
+			try {
+				amount = new BigDecimal(amountText.indexOf(',') < 0 ? amountText : amountText.replace(",", ""));
+			} catch (NumberFormatException ex) {
+				output.append(CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE);
+				return parser.getErrorPosition();
+			}
+		}
+		if(sourceCurrencyId < 0 || sourceCurrencyId >= matrix.getSize() || destinationCurrencyId < 0 || destinationCurrencyId >= matrix.getSize()
+				|| matrix.getRouteType(sourceCurrencyId, destinationCurrencyId) == CurrencyCalculatorConstant.ROUTE_TYPE_NONE){
+			output.append(CurrencyCalculatorConstant.RATE_NOT_FOUND_MESSAGE).append(line, parser.getSourceStart(), parser.getSourceEnd())
+					.append('/').append(line, parser.getDestinationStart(), parser.getDestinationEnd());
+			return parser.getSourceStart();
+		}
+		int mark = output.length();
+		output.append(line, parser.getSourceStart(), parser.getSourceEnd()).append(' ').append(line, parser.getAmountStart(), parser.getAmountEnd())
+				.append(" = ").append(line, parser.getDestinationStart(), parser.getDestinationEnd()).append(' ');
+		/*
+		 * Products too large for the fixed point engine are converted with BigDecimal.
+		 */
+		if(parsed && fixedPoint && FixedPointCurrencyCalculator.convert(matrix, sourceCurrencyId, parser.getAmount(), parser.getScale(), destinationCurrencyId, result)){
+			FixedPointMath.appendDecimal(output, result.getScaledValue(), result.getScale());
+			return -1;
+		}
+		if(amount == null){
+			amount = BigDecimal.valueOf(parser.getAmount(), parser.getScale());
+		}
+		if(!CurrencyCalculatorUtil.convert(matrix, sourceCurrencyId, amount, destinationCurrencyId, result)){
+			output.setLength(mark);
+			output.append(result.getMessage());
+			return parser.getAmountStart();
+		}
+		output.append(result.getValue().toPlainString());
+		return -1;
+	}
+
+	/**
+	 * The following operation returns number of lines read.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getLineCount() {
+		return lineCount;
+	}
+
+	/**
+	 * The following operation returns number of lines converted.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getConvertedCount() {
+		return convertedCount;
+	}
+
+	/**
+	 * The following operation returns number of lines which could not be converted.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getFailedCount() {
+		return failedCount;
+	}
+}
@@ -0,0 +1,305 @@
+package currency.calculator.app.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.ConversionRequestParser;
+import currency.calculator.app.util.ConversionResult;
+import currency.calculator.app.util.CurrencyBatchCalculator;
+import currency.calculator.app.util.CurrencyRateMatrix;
+
+/**
+ * This class contains the parallel bulk conversion. Lines are read in chunks of chunkSize lines by the calling thread, every chunk is converted
+ * by a ForkJoinPool of parallelism threads against the currency matrix current when the chunk is read, and the chunks are written in input
+ * order, so the output is the same as the output of BulkCurrencyConverter. At most parallelism * BULK_CHUNKS_PER_THREAD chunks are kept in
+ * memory, chunks which are written are reused. Arrays of amounts are split into chunks the same way and converted against one matrix.
+ * @Operations: convert, getLineCount, getConvertedCount, getFailedCount
+ * @Developer: Singh, Sunny
+ */
+public class ParallelBulkCurrencyConverter {
+
+	private static final Logger LOG = Logger.getLogger(ParallelBulkCurrencyConverter.class.getName());
+
+	private long lineCount = 0;
+	private long convertedCount = 0;
+	private long failedCount = 0;
+	private final boolean fixedPoint;
+	private final int parallelism;
+	private final int chunkSize;
+
+	/**
+	 * Lines of a chunk and their converted lines and errors. A chunk is converted by one thread of the pool, then written and reused by the
+	 * reading thread.
+	 */
+	private static final class LineChunk extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final String[] lines;
+		private final boolean fixedPoint;
+		private final ConversionRequestParser parser = new ConversionRequestParser();
+		private final ConversionResult result = new ConversionResult();
+		private final StringBuilder line = new StringBuilder(128);
+		private final StringBuilder output;
+		private final StringBuilder errors = new StringBuilder(128);
+		private int count;
+		private long firstLineNumber;
+		private CurrencyRateMatrix matrix;
+		private int convertedCount;
+		private int failedCount;
+
+		private LineChunk(int chunkSize, boolean fixedPoint) {
+			this.lines = new String[chunkSize];
+			this.fixedPoint = fixedPoint;
+			this.output = new StringBuilder(chunkSize * 32);
+		}
+
+		@Override
+		protected void compute() {
+			for (int index = 0; index < count; index++) {
+				if(lines[index].trim().isEmpty()){
+					continue;
+				}
+				line.setLength(0);
+				int errorPosition = BulkCurrencyConverter.convert(matrix, matrix.getRegistry(), lines[index], parser, result, line, fixedPoint);
+				if(errorPosition < 0){
+					convertedCount++;
+					output.append(line).append('\n');
+				}else{
+					failedCount++;
+					errors.append("Line ").append(firstLineNumber + index).append(", column ").append(errorPosition + 1).append(": ").append(line).append('\n');
+				}
+			}
+		}
+
+		/**
+		 * The following operation empties the written chunk to be filled with the next lines.
+		 * @Input - N/A
+		 * @Response - N/A
+		 */
+		private void clear() {
+			Arrays.fill(lines, 0, count, null);
+			count = 0;
+			matrix = null;
+			output.setLength(0);
+			errors.setLength(0);
+			convertedCount = 0;
+			failedCount = 0;
+			reinitialize();
+		}
+	}
+
+	/**
+	 * A range of arrays of amounts, split in halves until it is not longer than the chunk size. The result is the number of amounts which
+	 * could not be converted.
+	 */
+	private static final class ArraySlice extends RecursiveTask<Integer> {
+		private static final long serialVersionUID = 1L;
+
+		private final CurrencyRateMatrix matrix;
+		private final int[] sourceCurrencyIds;
+		private final int[] destinationCurrencyIds;
+		private final long[] inputAmounts;
+		private final long[] results;
+		private final byte[] statuses;
+		private final int offset;
+		private final int length;
+		private final int chunkSize;
+
+		private ArraySlice(CurrencyRateMatrix matrix, int[] sourceCurrencyIds, int[] destinationCurrencyIds, long[] inputAmounts, long[] results, byte[] statuses,
+				int offset, int length, int chunkSize) {
+			this.matrix = matrix;
+			this.sourceCurrencyIds = sourceCurrencyIds;
+			this.destinationCurrencyIds = destinationCurrencyIds;
+			this.inputAmounts = inputAmounts;
+			this.results = results;
+			this.statuses = statuses;
+			this.offset = offset;
+			this.length = length;
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		protected Integer compute() {
+			if(length <= chunkSize){
+				try {
+					return CurrencyBatchCalculator.calculateCurrencyValues(matrix, sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results, statuses, offset, length);
+				} catch (CurrencyException ex) {
+					//The arrays are validated before the conversion is started
+					throw new IllegalStateException(ex.getDetailedMessage(), ex);
+				}
+			}
+			int half = length >>> 1;
+			ArraySlice first = new ArraySlice(matrix, sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results, statuses, offset, half, chunkSize);
+			ArraySlice second = new ArraySlice(matrix, sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results, statuses, offset + half, length - half, chunkSize);
+			first.fork();
+			int failed = second.compute();
+			return failed + first.join();
+		}
+	}
+
+	/**
+	 * The constructor creates converter of parallelism threads converting chunks of chunkSize lines or amounts, calculating with the fixed
+	 * point engine when fixedPoint is true. A parallelism or chunkSize below 1 is taken as 1.
+	 */
+	public ParallelBulkCurrencyConverter(boolean fixedPoint, int parallelism, int chunkSize) {
+		this.fixedPoint = fixedPoint;
+		this.parallelism = Math.max(1, parallelism);
+		this.chunkSize = Math.max(1, chunkSize);
+	}
+
+	/**
+	 * The following operation converts all lines of reader in parallel. Results are written to writer in input order, lines which can not
+	 * be converted are reported to errorWriter in input order. Blank lines are skipped. Rates reloaded meanwhile are used from the next chunk on.
+	 * @Input - reader, writer, errorWriter
+	 * @Response - long, number of lines which could not be converted
+	 * @Exception - CurrencyException
+	 */
+	public long convert(BufferedReader reader, Writer writer, Writer errorWriter) throws CurrencyException{
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		ArrayDeque<LineChunk> pending = new ArrayDeque<LineChunk>();
+		ArrayDeque<LineChunk> written = new ArrayDeque<LineChunk>();
+		int maxPending = parallelism * CurrencyCalculatorConstant.BULK_CHUNKS_PER_THREAD;
+		char[] buffer = new char[CurrencyCalculatorConstant.BULK_BUFFER_SIZE];
+		try {
+			LineChunk chunk = null;
+			String line;
+			while((line = reader.readLine()) != null){
+				lineCount++;
+				if(chunk == null){
+					chunk = written.isEmpty() ? new LineChunk(chunkSize, fixedPoint) : written.poll();
+					chunk.firstLineNumber = lineCount;
+				}
+				chunk.lines[chunk.count++] = line;
+				if(chunk.count == chunkSize){
+					submit(pool, chunk, pending);
+					chunk = null;
+					/*
+					 * The oldest chunk is written before more lines are read, which keeps the chunks in memory bounded and the output in order.
+					 */
+					if(pending.size() >= maxPending){
+						written.add(write(pending.poll(), writer, errorWriter, buffer));
+					}
+				}
+			}
+			if(chunk != null){
+				submit(pool, chunk, pending);
+			}
+			while(!pending.isEmpty()){
+				write(pending.poll(), writer, errorWriter, buffer);
+			}
+			writer.flush();
+			errorWriter.flush();
+		} catch (IOException ex) {
+			LOG.severe("ParallelBulkCurrencyConverter->convert()-> IOException occured at line "+lineCount+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while converting the file",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		} finally {
+			pool.shutdownNow();
+		}
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("ParallelBulkCurrencyConverter->convert()-> Lines : "+lineCount+", converted : "+convertedCount+", failed : "+failedCount+", threads : "+parallelism);
+		}
+		return failedCount;
+	}
+
+	/**
+	 * The following operation converts amounts given in minor units of the source currency into minor units of the destination currency in
+	 * parallel, with a status per amount as CurrencyBatchCalculator does it. All amounts are converted with the same currency matrix.
+	 * @Input - sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results, statuses
+	 * @Response - int, number of amounts which could not be converted
+	 * @Exception - CurrencyException when the arrays are missing or shorter than sourceCurrencyIds
+	 */
+	public int convert(int[] sourceCurrencyIds, int[] destinationCurrencyIds, long[] inputAmounts, long[] results, byte[] statuses) throws CurrencyException{
+		int length = sourceCurrencyIds == null ? -1 : sourceCurrencyIds.length;
+		if(length < 0 || destinationCurrencyIds == null || inputAmounts == null || results == null || statuses == null || destinationCurrencyIds.length < length
+				|| inputAmounts.length < length || results.length < length || statuses.length < length){
+			LOG.severe("ParallelBulkCurrencyConverter->convert()-> Invalid input provided -> array is missing or shorter than source currency ids");
+			throw new CurrencyException("Input field provided is not valid ","ParallelBulkCurrencyConverter->convert()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return pool.invoke(new ArraySlice(matrix, sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results, statuses, 0, length, chunkSize));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * The following operation starts the conversion of the chunk with the current currency matrix.
+	 * @Input - pool, chunk, pending - chunks not written yet
+	 * @Response - N/A
+	 * @Exception - CurrencyException
+	 */
+	private static void submit(ForkJoinPool pool, LineChunk chunk, ArrayDeque<LineChunk> pending) throws CurrencyException{
+		chunk.matrix = CurrencyRateMatrix.getInstance();
+		pool.execute(chunk);
+		pending.add(chunk);
+	}
+
+	/**
+	 * The following operation waits for the conversion of the chunk, writes it and empties it.
+	 * @Input - chunk, writer, errorWriter, buffer - to copy converted lines to writer
+	 * @Response - LineChunk, the chunk emptied
+	 * @Exception - IOException
+	 */
+	private LineChunk write(LineChunk chunk, Writer writer, Writer errorWriter, char[] buffer) throws IOException{
+		chunk.join();
+		write(chunk.output, writer, buffer);
+		write(chunk.errors, errorWriter, buffer);
+		convertedCount += chunk.convertedCount;
+		failedCount += chunk.failedCount;
+		chunk.clear();
+		return chunk;
+	}
+
+	/**
+	 * The following operation writes text to writer through buffer, without copying text into a String.
+	 * @Input - text, writer, buffer
+	 * @Response - N/A
+	 * @Exception - IOException
+	 */
+	private static void write(StringBuilder text, Writer writer, char[] buffer) throws IOException{
+		for (int start = 0; start < text.length(); start += buffer.length) {
+			int end = Math.min(text.length(), start + buffer.length);
+			text.getChars(start, end, buffer, 0);
+			writer.write(buffer, 0, end - start);
+		}
+	}
+
+	/**
+	 * The following operation returns number of lines read.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getLineCount() {
+		return lineCount;
+	}
+
+	/**
+	 * The following operation returns number of lines converted.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getConvertedCount() {
+		return convertedCount;
+	}
+
+	/**
+	 * The following operation returns number of lines which could not be converted.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getFailedCount() {
+		return failedCount;
+	}
+}
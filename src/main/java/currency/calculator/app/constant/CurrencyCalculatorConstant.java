@@ -14,6 +14,84 @@ public interface CurrencyCalculatorConstant {
 	//argument string 
 	public static final String INPUT_ARGUMENT_STRING = "in" ;
 	
+	//bulk mode arguments : --bulk [input file|-] [output file|-]
+	public static final String BULK_MODE_ARGUMENT = "--bulk" ;
+	public static final String STANDARD_STREAM_ARGUMENT = "-" ;
+	
+	//snapshot mode argument : --snapshot <snapshot file>
+	public static final String SNAPSHOT_MODE_ARGUMENT = "--snapshot" ;
+	
+	//server mode argument : --server [port]
+	public static final String SERVER_MODE_ARGUMENT = "--server" ;
+	public static final int SERVER_DEFAULT_PORT = 8080 ;
+	
+	//binary server mode argument : --binary-server [port]
+	public static final String BINARY_SERVER_MODE_ARGUMENT = "--binary-server" ;
+	public static final int BINARY_SERVER_DEFAULT_PORT = 8081 ;
+	
+	//daemon, repl and client mode arguments : --daemon [socket file|port], --repl, --client [socket file|port] [<ccy1> <amount1> in <ccy2>]
+	public static final String DAEMON_MODE_ARGUMENT = "--daemon" ;
+	public static final String REPL_MODE_ARGUMENT = "--repl" ;
+	public static final String CLIENT_MODE_ARGUMENT = "--client" ;
+	public static final String DAEMON_DEFAULT_SOCKET_FILE = "currency-calculator.sock" ;
+	
+	//publish mode argument : --publish-rates [shared rate store file], the directory of the file by default, tmpfs when the host has one
+	public static final String PUBLISH_MODE_ARGUMENT = "--publish-rates" ;
+	public static final String SHARED_MEMORY_DIRECTORY = "/dev/shm" ;
+	
+	//Commands of a daemon or repl session next to conversion lines
+	public static final String DAEMON_COMMAND_QUIT = "quit" ;
+	public static final String DAEMON_COMMAND_EXIT = "exit" ;
+	public static final String DAEMON_COMMAND_RELOAD = "reload" ;
+	public static final String DAEMON_COMMAND_BOOK = "book" ;
+	
+	//System property with the largest request body in bytes the conversion server accepts
+	public static final String SERVER_MAX_BODY_PROPERTY = "currency.server.max.body" ;
+	public static final int SERVER_DEFAULT_MAX_BODY = 1024 * 1024 ;
+	
+	//Seconds the conversion server waits for running requests when it is stopped
+	public static final int SERVER_SHUTDOWN_SECONDS = 5 ;
+	
+	//System property naming the rate snapshot file to load the currency matrix from
+	public static final String SNAPSHOT_FILE_PROPERTY = "currency.snapshot.file" ;
+	
+	//System property to reload rates and routes in bulk mode when the rate files change
+	public static final String RELOAD_WATCH_PROPERTY = "currency.reload.watch" ;
+	
+	//System property to convert with the fixed point engine instead of BigDecimal in bulk mode
+	public static final String FIXED_POINT_PROPERTY = "currency.fixed.point" ;
+	
+	//System property to switch off conversion metrics, they are recorded unless set to false
+	public static final String METRICS_PROPERTY = "currency.metrics" ;
+	
+	//System property for the logging mode : verbose (default) logs every conversion at INFO, production keeps recent conversions in memory
+	public static final String LOGGING_MODE_PROPERTY = "currency.logging.mode" ;
+	public static final String LOGGING_MODE_PRODUCTION = "production" ;
+	
+	//Recent conversion events kept per stripe in production logging mode
+	public static final int EVENT_LOG_CAPACITY = 256 ;
+	
+	//Buffer size for bulk input and output
+	public static final int BULK_BUFFER_SIZE = 64 * 1024 ;
+	
+	//System properties for the number of threads converting in bulk mode, 1 (default) converts in the calling thread, and for lines per chunk
+	public static final String BULK_PARALLELISM_PROPERTY = "currency.bulk.parallelism" ;
+	public static final String BULK_CHUNK_SIZE_PROPERTY = "currency.bulk.chunk.size" ;
+	public static final int BULK_DEFAULT_CHUNK_SIZE = 4096 ;
+	
+	//Chunks per thread read ahead of the chunk being written in parallel bulk mode
+	public static final int BULK_CHUNKS_PER_THREAD = 4 ;
+	
+	//Messages shown to user
+	public static final String INVALID_INPUT_MESSAGE = "Invalid input arguments provided. Please provide input only in format : <ccy1> <amount1> in <ccy2>" ;
+	public static final String RATE_NOT_FOUND_MESSAGE = "Unable to find rate for " ;
+	public static final String INVALID_SERVER_MESSAGE = "Invalid input arguments provided. Please provide input only in format : --server [port]" ;
+	public static final String INVALID_BINARY_SERVER_MESSAGE = "Invalid input arguments provided. Please provide input only in format : --binary-server [port]" ;
+	public static final String INVALID_SNAPSHOT_MESSAGE = "Invalid input arguments provided. Please provide input only in format : --snapshot <snapshot file>" ;
+	public static final String INVALID_DAEMON_MESSAGE = "Invalid input arguments provided. Please provide input only in format : --daemon [socket file|port]" ;
+	public static final String INVALID_PUBLISH_MESSAGE = "Invalid input arguments provided. Please provide input only in format : --publish-rates [shared rate store file]" ;
+	public static final String INVALID_CLIENT_MESSAGE = "Invalid input arguments provided. Please provide input only in format : --client [socket file|port] [<ccy1> <amount1> in <ccy2>]" ;
+	
 	//Generic decimal place
 	public static final int GENERIC_DECIMAL_PLACE = 10 ;
 	
@@ -59,7 +137,43 @@ public interface CurrencyCalculatorConstant {
 	public static final String CROSS_REF_KEY_DIRECT = "D";
 	public static final String CROSS_REF_KEY_INVERSION = "I";
 	public static final String CROSS_REF_KEY_UNITY = "U";
+
+	//Route type details for the compiled currency matrix
+	public static final byte ROUTE_TYPE_NONE = 0;
+	public static final byte ROUTE_TYPE_UNITY = 1;
+	public static final byte ROUTE_TYPE_DIRECT = 2;
+	public static final byte ROUTE_TYPE_INVERSION = 3;
+	public static final byte ROUTE_TYPE_CROSS = 4;
+	
+	//Pivot currencies preferred for routes with more than one leg, in order of preference - system property to change them
+	public static final String PREFERRED_PIVOT_CURRENCIES = "USD,EUR";
+	public static final String PREFERRED_PIVOT_PROPERTY = "currency.route.pivots";
 	
+	//Number of decimal places of the fixed point rates in the compiled currency matrix
+	public static final int RATE_SCALE = 10;
+
+	//Live rate tick feed details - system property with the feed source, tcp:<host>:<port>, tail:<file> or a file / named pipe
+	public static final String TICK_FEED_PROPERTY = "currency.tick.feed";
+	public static final String TICK_FEED_TCP_PREFIX = "tcp:";
+	public static final String TICK_FEED_TAIL_PREFIX = "tail:";
+
+	//Shared rate store - system property with the memory mapped rate file read by conversions, and its default file name
+	public static final String SHARED_RATE_STORE_PROPERTY = "currency.rate.store.file";
+	public static final String SHARED_RATE_STORE_FILE = "currency-calculator.rates";
+	//Milliseconds after which conversions try again to open a shared rate store file which could not be opened
+	public static final long SHARED_RATE_STORE_RETRY_MILLIS = 5000L;
+
+	//Vectorized batch kernel - system property to switch it off with false, and its class, compiled only with the vector profile on Java 17 and later
+	public static final String BATCH_VECTOR_PROPERTY = "currency.batch.vector";
+	public static final String BATCH_VECTOR_KERNEL_CLASS = "currency.calculator.app.util.VectorBatchKernel";
+
+	//System property with the rate history file for conversions as of a point in time, one fixing per line : <pair> <rate> <time>
+	public static final String RATE_HISTORY_FILE_PROPERTY = "currency.rate.history.file";
+
+	//Named rate books - system property prefix with the rate file of a book, e.g. -Dcurrency.rate.book.eod=eod.properties, and the name of the current matrix
+	public static final String RATE_BOOK_PROPERTY_PREFIX = "currency.rate.book.";
+	public static final String RATE_BOOK_DEFAULT = "default";
+
 	//FX currency details
 	public static final String CURRENCY_AUDUSD = "AUDUSD";
 	public static final String CURRENCY_CADUSD = "CADUSD";
@@ -24,6 +24,16 @@ public class CurrencyException extends Exception{
 		this.system = system;
 	}
 	
+	/**
+	 * The constructor for exceptions without stack trace, which are cheap to create. The detailed message names the method instead.
+	 */
+	protected CurrencyException(String message, String detailedMessage, String system, boolean writableStackTrace) {
+		super(null, null, false, writableStackTrace);
+		this.message = message;
+		this.detailedMessage = detailedMessage;
+		this.system = system;
+	}
+	
 	public String getMessage() {
 		return message;
 	}
@@ -23,11 +23,7 @@ public final class ExceptionHandler {
 	 * @Exception: none
 	 */
 	public static CurrencyException generateException(String message, String detailedMessage, String system){
-		CurrencyException exception = new CurrencyException(system, system, system);
-		exception.setMessage(message);
-		exception.setSystem(system);
-		exception.setDetailedMessage(detailedMessage);
-		return exception;
+		return new CurrencyException(message, detailedMessage, system);
 	}
 	/**
 	 * This class contains all the logic for generating exception response to be sent
@@ -0,0 +1,59 @@
+package currency.calculator.app.exception;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+
+/**
+ * This class is the CurrencyException without stack trace for invalid input on the bulk, batch and server paths, where creating the stack
+ * trace would cost more than the conversion. A single conversion throws a CurrencyException with stack trace. The detailed message names the method which failed. The preallocated instances for the common errors are shared
+ * and can not be changed, they are thrown where no detail is known beyond the error itself.
+ * @Operations: RATE_NOT_FOUND, INVALID_INPUT, AMOUNT_TOO_LARGE, SYSTEM_ERROR - preallocated instances
+ * @Developer: Singh, Sunny
+ */
+public final class StacklessCurrencyException extends CurrencyException{
+
+	private static final long serialVersionUID = -2934188214519628391L;
+
+	public static final StacklessCurrencyException RATE_NOT_FOUND = new StacklessCurrencyException("Currency details are not found in currency matrix table",
+			"Nothing returned from currency matrix table", true);
+	public static final StacklessCurrencyException INVALID_INPUT = new StacklessCurrencyException("Input field provided is not valid ",
+			"Invalid input provided", true);
+	public static final StacklessCurrencyException AMOUNT_TOO_LARGE = new StacklessCurrencyException("Amount provided is too large",
+			"Amount too large", true);
+	public static final StacklessCurrencyException SYSTEM_ERROR = new StacklessCurrencyException(CurrencyCalculatorConstant.EXCEPTION_GENERIC_MESSAGE,
+			"Currency matrix not available", true);
+
+	private final boolean shared;
+
+	public StacklessCurrencyException(String message, String detailedMessage) {
+		this(message, detailedMessage, false);
+	}
+
+	private StacklessCurrencyException(String message, String detailedMessage, boolean shared) {
+		super(message, detailedMessage, CurrencyCalculatorConstant.EXCEPTION_SYSTEM, false);
+		this.shared = shared;
+	}
+
+	public void setMessage(String message) {
+		checkNotShared();
+		super.setMessage(message);
+	}
+	public void setDetailedMessage(String detailedMessage) {
+		checkNotShared();
+		super.setDetailedMessage(detailedMessage);
+	}
+	public void setSystem(String system) {
+		checkNotShared();
+		super.setSystem(system);
+	}
+
+	/**
+	 * The following operation rejects changes of a preallocated instance.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	private void checkNotShared(){
+		if(shared){
+			throw new UnsupportedOperationException("Preallocated exception can not be changed");
+		}
+	}
+}
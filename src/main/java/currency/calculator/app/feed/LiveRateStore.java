@@ -0,0 +1,592 @@
+package currency.calculator.app.feed;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+import currency.calculator.app.util.FixedPointMath;
+
+/**
+ * This class contains the live rate store. Every currency pair has a versioned slot holding its quoted rate (a long scaled by 10^RATE_SCALE)
+ * and the time of its last update. There is a single writer, the tick feed, and any number of readers. The writer makes the version of a slot
+ * odd, writes the slot and makes the version even again (a sequence lock), a reader retries while the version is odd or has changed. Readers
+ * never block and never block the writer. Rate and time of a pair read together with getQuote are of the same tick.
+ * The routes are taken from the currency matrix, composite rates (inversion and cross) are calculated from the newest quoted rates on every
+ * read with the same rounding as the matrix uses, hence a store without ticks gives exactly the rates of the matrix. The legs of a cross rate
+ * are read one after the other, a tick arriving in between is seen by the later leg only. Tick listeners are called by the writer after
+ * every stored tick.
+ * A store can be backed by a memory mapped file instead (see SharedRateFile), e.g. on tmpfs, which one publisher process writes and the
+ * stores of other processes on the host read. With -Dcurrency.rate.store.file=<file> the conversions of a process take the rates of the
+ * shared store in place of the rates of the current matrix, without loading or reloading rates. With -Dcurrency.tick.feed=<source> instead
+ * they take the rates of a store in this process fed by that feed. After a reload of the rate files the shared store is attached to the
+ * routes of the reloaded matrix, it keeps its rates. When the publisher replaces the file by a file of another layout, the shared store
+ * opens the new file, or is dropped when the new file does not have the currencies of the matrix.
+ * @Operations: startFeed, publishShared, openShared, getDefaultSharedFile, getSharedInstance, setSharedInstance, applyTick, addTickListener, removeTickListener, getQuote, getQuotedRate, getLastUpdate, getScaledRate, getExactRate, calculateCurrencyValue, getMatrix, getTickCount, isShared, isRetired, close
+ * @Developer: Singh, Sunny
+ */
+public final class LiveRateStore implements Closeable {
+
+	private static final Logger LOG = Logger.getLogger(LiveRateStore.class.getName());
+
+	//Rate 1 scaled by 10^RATE_SCALE
+	private static final long UNIT_RATE = FixedPointMath.getPowerOfTen(CurrencyCalculatorConstant.RATE_SCALE);
+
+	private static final AtomicReference<LiveRateStore> SHARED_INSTANCE = new AtomicReference<LiveRateStore>();
+	private static volatile boolean sharedInstanceChecked = false;
+	private static volatile long nextOpenAttempt = 0L;
+
+	private final CurrencyRateMatrix matrix;
+	private final int size;
+	private final AtomicLongArray versions;
+	private final AtomicLongArray scaledRates;
+	private final AtomicLongArray timestamps;
+	private final SharedRateFile sharedFile;
+	private final CopyOnWriteArrayList<RateTickListener> listeners;
+	private final AtomicLong tickCount;
+	private RateTickFeed feed;
+
+	/**
+	 * The constructor takes the routes of the matrix and starts with its quoted rates, the time of their last update is 0.
+	 * @Input - matrix
+	 */
+	public LiveRateStore(CurrencyRateMatrix matrix) {
+		this.matrix = matrix;
+		size = matrix.getSize();
+		versions = new AtomicLongArray(size * size);
+		listeners = new CopyOnWriteArrayList<RateTickListener>();
+		scaledRates = new AtomicLongArray(getQuotedRates(matrix));
+		timestamps = new AtomicLongArray(size * size);
+		sharedFile = null;
+		tickCount = new AtomicLong();
+	}
+
+	/**
+	 * The private constructor takes the routes of the matrix and the rates of the shared file.
+	 */
+	private LiveRateStore(CurrencyRateMatrix matrix, SharedRateFile sharedFile) {
+		this.matrix = matrix;
+		size = matrix.getSize();
+		versions = null;
+		listeners = new CopyOnWriteArrayList<RateTickListener>();
+		scaledRates = null;
+		timestamps = null;
+		this.sharedFile = sharedFile;
+		tickCount = new AtomicLong();
+	}
+
+	/**
+	 * The private constructor takes the routes of the matrix and the rates, ticks and listeners of the store, which must have the same
+	 * currencies. Ticks applied to either store are read by both.
+	 */
+	private LiveRateStore(LiveRateStore store, CurrencyRateMatrix matrix) {
+		this.matrix = matrix;
+		size = store.size;
+		versions = store.versions;
+		scaledRates = store.scaledRates;
+		timestamps = store.timestamps;
+		sharedFile = store.sharedFile;
+		listeners = store.listeners;
+		tickCount = store.tickCount;
+	}
+
+	/**
+	 * The following operation returns the quoted rates of the matrix scaled by 10^RATE_SCALE per currency pair source * size + destination.
+	 * @Input - matrix
+	 * @Response - long[]
+	 */
+	private static long[] getQuotedRates(CurrencyRateMatrix matrix){
+		int size = matrix.getSize();
+		long[] rates = new long[size * size];
+		for (int source = 0; source < size; source++) {
+			for (int destination = 0; destination < size; destination++) {
+				double rate = matrix.getQuotedRate(source, destination);
+				if(rate > 0){
+					rates[source * size + destination] = BigDecimal.valueOf(rate).setScale(CurrencyCalculatorConstant.RATE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValue();
+				}
+			}
+		}
+		return rates;
+	}
+
+	/**
+	 * The following operation creates a store with the quoted rates of the matrix and starts the feed of feedSource (see RateTickFeed.start)
+	 * as its writer. The feed is closed with the store.
+	 * @Input - matrix, feedSource
+	 * @Response - LiveRateStore
+	 * @Exception - CurrencyException when the feed can not be opened
+	 */
+	public static LiveRateStore startFeed(CurrencyRateMatrix matrix, String feedSource) throws CurrencyException{
+		LiveRateStore store = new LiveRateStore(matrix);
+		store.feed = RateTickFeed.start(store, feedSource);
+		return store;
+	}
+
+	/**
+	 * The following operation opens the shared rate store file as its publisher, the single writer of all stores of the file, and starts
+	 * with the quoted rates of the matrix. It is closed by the caller to let another publisher in.
+	 * @Input - matrix, file
+	 * @Response - LiveRateStore
+	 * @Exception - CurrencyException when the file can not be written or has a publisher already
+	 */
+	public static LiveRateStore publishShared(CurrencyRateMatrix matrix, File file) throws CurrencyException{
+		return new LiveRateStore(matrix, SharedRateFile.create(file, matrix.getRegistry(), getQuotedRates(matrix)));
+	}
+
+	/**
+	 * The following operation opens the shared rate store file for reading, ticks are applied by its publisher only. The file must have
+	 * the currencies of the matrix, the routes are taken from the matrix.
+	 * @Input - matrix, file
+	 * @Response - LiveRateStore
+	 * @Exception - CurrencyException when the file can not be read or has other currencies
+	 */
+	public static LiveRateStore openShared(CurrencyRateMatrix matrix, File file) throws CurrencyException{
+		return new LiveRateStore(matrix, SharedRateFile.open(file, matrix.getRegistry()));
+	}
+
+	/**
+	 * The following operation returns the shared rate store file of system property currency.rate.store.file, by default
+	 * currency-calculator.rates in /dev/shm when the host has it and in the temporary directory otherwise.
+	 * @Input - N/A
+	 * @Response - File
+	 */
+	public static File getDefaultSharedFile(){
+		String storeFile = System.getProperty(CurrencyCalculatorConstant.SHARED_RATE_STORE_PROPERTY);
+		if(storeFile != null && !storeFile.trim().isEmpty()){
+			return new File(storeFile.trim());
+		}
+		File sharedMemory = new File(CurrencyCalculatorConstant.SHARED_MEMORY_DIRECTORY);
+		return new File(sharedMemory.isDirectory() && sharedMemory.canWrite() ? sharedMemory : new File(System.getProperty("java.io.tmpdir")),
+				CurrencyCalculatorConstant.SHARED_RATE_STORE_FILE);
+	}
+
+	/**
+	 * The following operation returns the shared store conversions take their rates from, opened on the current matrix on first use from the
+	 * file given by system property currency.rate.store.file, or else fed by the feed given by system property currency.tick.feed.
+	 * @Input - N/A
+	 * @Response - LiveRateStore, null when no shared store is set
+	 * @Exception - CurrencyException when the file or feed can not be opened, conversions try again after SHARED_RATE_STORE_RETRY_MILLIS
+	 */
+	public static LiveRateStore getSharedInstance() throws CurrencyException{
+		LiveRateStore store = SHARED_INSTANCE.get();
+		if(store == null && !sharedInstanceChecked){
+			synchronized (LiveRateStore.class) {
+				store = SHARED_INSTANCE.get();
+				if(store == null && !sharedInstanceChecked){
+					try {
+						String storeFile = System.getProperty(CurrencyCalculatorConstant.SHARED_RATE_STORE_PROPERTY);
+						if(storeFile != null && !storeFile.trim().isEmpty()){
+							store = openShared(CurrencyRateMatrix.getInstance(), new File(storeFile.trim()));
+							SHARED_INSTANCE.set(store);
+						}else{
+							String feedSource = System.getProperty(CurrencyCalculatorConstant.TICK_FEED_PROPERTY);
+							if(feedSource != null && !feedSource.trim().isEmpty()){
+								store = startFeed(CurrencyRateMatrix.getInstance(), feedSource.trim());
+								SHARED_INSTANCE.set(store);
+								if(LOG.isLoggable(Level.INFO)){
+									LOG.info("LiveRateStore->getSharedInstance()-> Converting with the rates of tick feed "+feedSource.trim());
+								}
+							}
+						}
+						sharedInstanceChecked = true;
+					} catch (CurrencyException ex) {
+						nextOpenAttempt = System.currentTimeMillis() + CurrencyCalculatorConstant.SHARED_RATE_STORE_RETRY_MILLIS;
+						throw ex;
+					}
+				}
+			}
+		}
+		return store;
+	}
+
+	/**
+	 * The following operation returns the shared store when conversions with matrix take their rates from it, i.e. when it has the routes
+	 * of matrix or matrix is the current matrix, reloaded since the store was set. The store is attached to the routes of the reloaded
+	 * matrix then. Conversions with a rate book or an older matrix keep the rates of their matrix.
+	 * @Input - matrix
+	 * @Response - LiveRateStore, null when the rates of matrix are used
+	 */
+	public static LiveRateStore getSharedInstance(CurrencyRateMatrix matrix){
+		LiveRateStore store = SHARED_INSTANCE.get();
+		if(store == null){
+			if(sharedInstanceChecked || System.currentTimeMillis() < nextOpenAttempt){
+				return null;
+			}
+			try {
+				store = getSharedInstance();
+			} catch (CurrencyException ex) {
+				//Logged when opening, conversions keep the rates of the matrix until the next attempt
+				return null;
+			}
+			if(store == null){
+				return null;
+			}
+		}
+		if(store.sharedFile != null && store.sharedFile.isRetired()){
+			store = reopenSharedInstance(store);
+			if(store == null){
+				return null;
+			}
+		}
+		if(store.matrix == matrix){
+			return store;
+		}
+		try {
+			if(matrix != CurrencyRateMatrix.getInstance()){
+				return null;
+			}
+		} catch (CurrencyException ex) {
+			return null;
+		}
+		return attachSharedInstance(store, matrix);
+	}
+
+	/**
+	 * The following operation opens the file of the shared store again after its publisher has replaced it. The store is dropped when the
+	 * new file can not be opened with the currencies of the store, the shared store is looked up again after SHARED_RATE_STORE_RETRY_MILLIS.
+	 * @Input - store - with a retired file
+	 * @Response - LiveRateStore, null when the store is dropped
+	 */
+	private static synchronized LiveRateStore reopenSharedInstance(LiveRateStore store){
+		LiveRateStore current = SHARED_INSTANCE.get();
+		if(current != store){
+			return current;
+		}
+		File file = store.sharedFile.getFile();
+		try {
+			LiveRateStore reopened = openShared(store.matrix, file);
+			SHARED_INSTANCE.set(reopened);
+			if(LOG.isLoggable(Level.INFO)){
+				LOG.info("LiveRateStore->reopenSharedInstance()-> Shared rate store reopened after it was replaced : "+file);
+			}
+			return reopened;
+		} catch (CurrencyException ex) {
+			LOG.severe("LiveRateStore->reopenSharedInstance()-> Dropping shared rate store, the replaced file can not be opened : "+file);
+			SHARED_INSTANCE.set(null);
+			sharedInstanceChecked = false;
+			nextOpenAttempt = System.currentTimeMillis() + CurrencyCalculatorConstant.SHARED_RATE_STORE_RETRY_MILLIS;
+			return null;
+		}
+	}
+
+	/**
+	 * The following operation attaches the shared store to the routes of the reloaded current matrix, the rates stay the rates of the store.
+	 * The store is dropped when the matrix has other currencies, conversions take the rates of the matrix then.
+	 * @Input - store, matrix
+	 * @Response - LiveRateStore, null when the store is dropped
+	 */
+	private static synchronized LiveRateStore attachSharedInstance(LiveRateStore store, CurrencyRateMatrix matrix){
+		LiveRateStore current = SHARED_INSTANCE.get();
+		if(current != store){
+			return current != null && current.matrix == matrix ? current : null;
+		}
+		if(!hasCurrencies(store.getRegistry(), matrix.getRegistry())){
+			LOG.severe("LiveRateStore->attachSharedInstance()-> Dropping shared rate store, the reloaded currency matrix has other currencies");
+			SHARED_INSTANCE.set(null);
+			return null;
+		}
+		LiveRateStore attached = new LiveRateStore(store, matrix);
+		SHARED_INSTANCE.set(attached);
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("LiveRateStore->attachSharedInstance()-> Shared rate store attached to the reloaded currency matrix");
+		}
+		return attached;
+	}
+
+	/**
+	 * The following operation returns true when both registries have the same currencies with the same ids.
+	 * @Input - registry, other
+	 * @Response - boolean
+	 */
+	private static boolean hasCurrencies(CurrencyRegistry registry, CurrencyRegistry other){
+		if(registry == other){
+			return true;
+		}
+		if(registry.getSize() != other.getSize()){
+			return false;
+		}
+		for (int id = 0; id < registry.getSize(); id++) {
+			if(!registry.getCurrencyCode(id).equals(other.getCurrencyCode(id))){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The following operation sets the store conversions take their rates from, e.g. a store updated by a tick feed in this process.
+	 * @Input - store, null to use the rates of the matrix
+	 * @Response - LiveRateStore, the store set before
+	 */
+	public static LiveRateStore setSharedInstance(LiveRateStore store){
+		sharedInstanceChecked = true;
+		return SHARED_INSTANCE.getAndSet(store);
+	}
+
+	/**
+	 * The following operation stores a new quoted rate of the currency pair. It must only be called by the single writer of the store. Only
+	 * the rates of pairs with a direct route are read by conversions, a tick for any other pair, e.g. the inverse of a quoted pair or a
+	 * cross, is refused.
+	 * @Input - sourceCurrencyId, destinationCurrencyId, scaledRate - rate scaled by 10^RATE_SCALE, timestamp - time of the tick in milliseconds
+	 * @Response - N/A
+	 * @Exception - CurrencyException when a currency is unknown, the pair is not quoted or the rate is not positive
+	 */
+	public void applyTick(int sourceCurrencyId, int destinationCurrencyId, long scaledRate, long timestamp) throws CurrencyException{
+		if(sourceCurrencyId < 0 || sourceCurrencyId >= size || destinationCurrencyId < 0 || destinationCurrencyId >= size
+				|| sourceCurrencyId == destinationCurrencyId || scaledRate <= 0L){
+			LOG.severe("LiveRateStore->applyTick()-> Invalid tick : "+sourceCurrencyId+"/"+destinationCurrencyId+" "+scaledRate);
+			throw new CurrencyException("Invalid FX rate tick","LiveRateStore->applyTick()-> Invalid tick "+sourceCurrencyId+"/"+destinationCurrencyId,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		if(matrix.getRouteType(sourceCurrencyId, destinationCurrencyId) != CurrencyCalculatorConstant.ROUTE_TYPE_DIRECT){
+			LOG.severe("LiveRateStore->applyTick()-> Tick for a pair which is not quoted : "+sourceCurrencyId+"/"+destinationCurrencyId);
+			throw new CurrencyException("Invalid FX rate tick","LiveRateStore->applyTick()-> Pair is not quoted "+sourceCurrencyId+"/"+destinationCurrencyId,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		if(sharedFile != null && !sharedFile.isPublisher()){
+			LOG.severe("LiveRateStore->applyTick()-> Shared rate store opened for reading : "+sharedFile.getFile());
+			throw new CurrencyException("Shared rate store is read only","LiveRateStore->applyTick()-> Ticks are applied by the publisher of "+sharedFile.getFile(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		int index = sourceCurrencyId * size + destinationCurrencyId;
+		if(sharedFile != null){
+			sharedFile.write(index, scaledRate, timestamp);
+		}else{
+			long version = versions.get(index);
+			versions.set(index, version + 1);
+			scaledRates.set(index, scaledRate);
+			timestamps.set(index, timestamp);
+			versions.set(index, version + 2);
+		}
+		tickCount.lazySet(tickCount.get() + 1L);
+		for (RateTickListener listener : listeners) {
+			try {
+				listener.onTick(sourceCurrencyId, destinationCurrencyId, scaledRate, timestamp);
+			} catch (RuntimeException ex) {
+				/*
+				 * A failing listener must not stop the feed, the tick is stored already.
+				 */
+				LOG.severe("LiveRateStore->applyTick()-> Tick listener failed : "+ex);
+			}
+		}
+	}
+
+	/**
+	 * The following operation adds a listener called after every stored tick.
+	 * @Input - listener
+	 * @Response - N/A
+	 */
+	public void addTickListener(RateTickListener listener){
+		if(listener != null){
+			listeners.addIfAbsent(listener);
+		}
+	}
+
+	/**
+	 * The following operation removes a tick listener.
+	 * @Input - listener
+	 * @Response - boolean, true when the listener was there
+	 */
+	public boolean removeTickListener(RateTickListener listener){
+		return listeners.remove(listener);
+	}
+
+	/**
+	 * The following operation reads newest quoted rate of the currency pair and the time of its last update with the sequence lock, hence
+	 * both are of the same tick. The rate scaled by 10^RATE_SCALE is written into quote[0], 0 when the pair is not quoted, the time in
+	 * milliseconds into quote[1], 0 when no tick has arrived.
+	 * @Input - sourceCurrencyId, destinationCurrencyId, quote - array of at least 2 longs
+	 * @Response - N/A, rate and time are written into quote
+	 */
+	public void getQuote(int sourceCurrencyId, int destinationCurrencyId, long[] quote){
+		int index = sourceCurrencyId * size + destinationCurrencyId;
+		if(sharedFile != null){
+			sharedFile.read(index, quote);
+			return;
+		}
+		while(true){
+			long version = versions.get(index);
+			long rate = scaledRates.get(index);
+			long timestamp = timestamps.get(index);
+			if((version & 1L) == 0L && versions.get(index) == version){
+				quote[0] = rate;
+				quote[1] = timestamp;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * The following operation returns newest quoted rate of the currency pair scaled by 10^RATE_SCALE, 0 when the pair is not quoted. In
+	 * the heap store the rate is a single atomic element, the sequence lock is needed for rate and time together only (see getQuote).
+	 * @Input - sourceCurrencyId, destinationCurrencyId
+	 * @Response - long
+	 */
+	public long getQuotedRate(int sourceCurrencyId, int destinationCurrencyId){
+		int index = sourceCurrencyId * size + destinationCurrencyId;
+		if(sharedFile != null){
+			return sharedFile.getRate(index);
+		}
+		return scaledRates.get(index);
+	}
+
+	/**
+	 * The following operation returns time of the last tick of the currency pair in milliseconds, 0 when no tick has arrived. The rate of
+	 * the same tick is read with getQuote.
+	 * @Input - sourceCurrencyId, destinationCurrencyId
+	 * @Response - long
+	 */
+	public long getLastUpdate(int sourceCurrencyId, int destinationCurrencyId){
+		int index = sourceCurrencyId * size + destinationCurrencyId;
+		if(sharedFile != null){
+			return sharedFile.getTimestamp(index);
+		}
+		return timestamps.get(index);
+	}
+
+	/**
+	 * The following operation returns newest rate of the currency pair along its route scaled by 10^RATE_SCALE, 0 when there is no rate.
+	 * @Input - sourceCurrencyId, destinationCurrencyId
+	 * @Response - long
+	 */
+	public long getScaledRate(int sourceCurrencyId, int destinationCurrencyId){
+		switch (matrix.getRouteType(sourceCurrencyId, destinationCurrencyId)) {
+		case CurrencyCalculatorConstant.ROUTE_TYPE_UNITY:
+			return UNIT_RATE;
+		case CurrencyCalculatorConstant.ROUTE_TYPE_DIRECT:
+			return getQuotedRate(sourceCurrencyId, destinationCurrencyId);
+		case CurrencyCalculatorConstant.ROUTE_TYPE_INVERSION:
+			return invert(getQuotedRate(destinationCurrencyId, sourceCurrencyId));
+		case CurrencyCalculatorConstant.ROUTE_TYPE_CROSS:
+			/*
+			 * Same as the matrix : first.divide(ONE.divide(second, RATE_SCALE, HALF_UP), RATE_SCALE, HALF_UP)
+			 */
+			int crossCurrencyId = matrix.getCrossCurrencyId(sourceCurrencyId, destinationCurrencyId);
+			long first = getScaledRate(sourceCurrencyId, crossCurrencyId);
+			long inverse = invert(getScaledRate(crossCurrencyId, destinationCurrencyId));
+			if(first == 0L || inverse == 0L){
+				return 0L;
+			}
+			return FixedPointMath.multiplyDivideHalfUp(first, UNIT_RATE, inverse);
+		default:
+			return 0L;
+		}
+	}
+
+	/**
+	 * The following operation returns newest rate of the currency pair along its route, null when there is no rate.
+	 * @Input - sourceCurrencyId, destinationCurrencyId
+	 * @Response - BigDecimal, with RATE_SCALE decimal places
+	 */
+	public BigDecimal getExactRate(int sourceCurrencyId, int destinationCurrencyId){
+		if(matrix.getRouteType(sourceCurrencyId, destinationCurrencyId) == CurrencyCalculatorConstant.ROUTE_TYPE_NONE){
+			return null;
+		}
+		return BigDecimal.valueOf(getScaledRate(sourceCurrencyId, destinationCurrencyId), CurrencyCalculatorConstant.RATE_SCALE);
+	}
+
+	/**
+	 * The following operation returns 1 / rate rounded half up, 0 when there is no rate.
+	 * @Input - scaledRate
+	 * @Response - long
+	 */
+	private static long invert(long scaledRate){
+		return scaledRate == 0L ? 0L : FixedPointMath.multiplyDivideHalfUp(UNIT_RATE, UNIT_RATE, scaledRate);
+	}
+
+	/**
+	 * The following operation converts an amount scaled by 10^inputScale into the destination currency with the newest rate. The result is
+	 * scaled by 10^decimal place of the destination currency and truncated like the fixed point engine does.
+	 * @Input - sourceCurrencyId, inputAmount, inputScale, destinationCurrencyId
+	 * @Response - long
+	 * @Exception - CurrencyException
+	 */
+	public long calculateCurrencyValue(int sourceCurrencyId, long inputAmount, int inputScale, int destinationCurrencyId) throws CurrencyException{
+		long rate = sourceCurrencyId < 0 || sourceCurrencyId >= size || destinationCurrencyId < 0 || destinationCurrencyId >= size
+				? 0L : getScaledRate(sourceCurrencyId, destinationCurrencyId);
+		if(rate == 0L){
+			LOG.severe("LiveRateStore->calculateCurrencyValue()->Nothing returned from live rate store ");
+			throw new CurrencyException("Currency details are not found in currency matrix table","LiveRateStore->calculateCurrencyValue()->Nothing returned from live rate store",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		if(inputScale < 0){
+			LOG.severe("LiveRateStore->calculateCurrencyValue()-> Invalid input provided -> Negative scale : "+inputScale);
+			throw new CurrencyException("Input field provided is not valid ","LiveRateStore->calculateCurrencyValue()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		int exponent = inputScale + CurrencyCalculatorConstant.RATE_SCALE - matrix.getRegistry().getDecimalPlace(destinationCurrencyId);
+		try {
+			return FixedPointMath.multiplyRescaleDown(inputAmount, rate, exponent);
+		} catch (ArithmeticException ex) {
+			LOG.severe("LiveRateStore->calculateCurrencyValue()-> Amount too large : "+inputAmount+" with scale "+inputScale);
+			throw new CurrencyException("Amount provided is too large","LiveRateStore->calculateCurrencyValue()-> Amount too large",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+	}
+
+	/**
+	 * The following operation returns the matrix whose routes are used.
+	 * @Input - N/A
+	 * @Response - CurrencyRateMatrix
+	 */
+	public CurrencyRateMatrix getMatrix(){
+		return matrix;
+	}
+
+	/**
+	 * The following operation returns currency registry of the store.
+	 * @Input - N/A
+	 * @Response - CurrencyRegistry
+	 */
+	public CurrencyRegistry getRegistry(){
+		return matrix.getRegistry();
+	}
+
+	/**
+	 * The following operation returns number of applied ticks, of all publishers of the file for a shared store.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getTickCount(){
+		return sharedFile != null ? sharedFile.getTickCount() : tickCount.get();
+	}
+
+	/**
+	 * The following operation returns true when the store is backed by a shared rate store file.
+	 * @Input - N/A
+	 * @Response - boolean
+	 */
+	public boolean isShared(){
+		return sharedFile != null;
+	}
+
+	/**
+	 * The following operation returns true when the store is backed by a shared rate store file which its publisher has replaced, the
+	 * rates of the store are not updated any more. The shared instance is reopened by itself, other stores are opened again by the caller.
+	 * @Input - N/A
+	 * @Response - boolean
+	 */
+	public boolean isRetired(){
+		return sharedFile != null && sharedFile.isRetired();
+	}
+
+	/**
+	 * The following operation releases the shared rate store file of a publisher and closes the feed started with the store, nothing to
+	 * do otherwise.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public void close() throws IOException{
+		if(sharedFile != null){
+			sharedFile.close();
+		}
+		if(feed != null){
+			feed.close();
+		}
+	}
+}
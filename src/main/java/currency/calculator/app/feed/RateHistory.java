@@ -0,0 +1,508 @@
+package currency.calculator.app.feed;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.ConversionResult;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+import currency.calculator.app.util.FixedPointMath;
+
+/**
+ * This class contains the rate history, the quoted rates of every currency pair over time for conversions as of a point in time. The
+ * fixings of all pairs are kept in two primitive columns, times in milliseconds and rates scaled by 10^RATE_SCALE, grouped by currency pair
+ * and sorted by time within a pair, the fixings of a pair start at its offset. The rate as of a time is the newest fixing not after the time,
+ * found by binary search. The routes are taken from the currency matrix and composite rates are calculated from the quoted rates of the
+ * legs as of the same time, with the same rounding as the live rate store. A history is never changed once it is compiled.
+ * @Operations: getInstance, load, compile, publish, getQuotedRate, getScaledRate, calculateCurrencyValue, calculateCurrencyValues, getMatrix, getFixingCount
+ * @Developer: Singh, Sunny
+ */
+public final class RateHistory {
+
+	private static final Logger LOG = Logger.getLogger(RateHistory.class.getName());
+
+	private static final AtomicReference<RateHistory> HISTORY_INSTANCE = new AtomicReference<RateHistory>();
+
+	//Rate 1 scaled by 10^RATE_SCALE
+	private static final long UNIT_RATE = FixedPointMath.getPowerOfTen(CurrencyCalculatorConstant.RATE_SCALE);
+
+	//Fixings a loaded history starts with
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private final CurrencyRateMatrix matrix;
+	private final int size;
+	private final int[] offsets;
+	private final long[] timestamps;
+	private final long[] scaledRates;
+
+	/**
+	 * The private constructor takes the compiled columns, the fixings of pair source * size + destination are between offsets[pair] and offsets[pair + 1].
+	 */
+	private RateHistory(CurrencyRateMatrix matrix, int[] offsets, long[] timestamps, long[] scaledRates) {
+		this.matrix = matrix;
+		this.size = matrix.getSize();
+		this.offsets = offsets;
+		this.timestamps = timestamps;
+		this.scaledRates = scaledRates;
+	}
+
+	/**
+	 * The following operation returns the current history. The first call loads it from the file given by system property
+	 * currency.rate.history.file against the current currency matrix.
+	 * @Input - N/A
+	 * @Response - RateHistory
+	 * @Exception - CurrencyException when no history is published and the system property is not set or the file can not be loaded
+	 */
+	public static RateHistory getInstance() throws CurrencyException{
+		RateHistory history = HISTORY_INSTANCE.get();
+		if(history == null){
+			synchronized (RateHistory.class) {
+				history = HISTORY_INSTANCE.get();
+				if(history == null){
+					String historyFile = System.getProperty(CurrencyCalculatorConstant.RATE_HISTORY_FILE_PROPERTY);
+					if(historyFile == null || historyFile.trim().isEmpty()){
+						LOG.severe("RateHistory->getInstance()-> System property "+CurrencyCalculatorConstant.RATE_HISTORY_FILE_PROPERTY+" is not set");
+						throw new CurrencyException("Rate history is not available","RateHistory->getInstance()-> No rate history file configured",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+					}
+					history = load(CurrencyRateMatrix.getInstance(), new File(historyFile.trim()));
+					HISTORY_INSTANCE.set(history);
+				}
+			}
+		}
+		return history;
+	}
+
+	/**
+	 * The following operation swaps the given history in as current history.
+	 * @Input - history
+	 * @Response - RateHistory, the previous history
+	 */
+	public static RateHistory publish(RateHistory history){
+		synchronized (RateHistory.class) {
+			return HISTORY_INSTANCE.getAndSet(history);
+		}
+	}
+
+	/**
+	 * The following operation loads the history from a file of fixings, see load(matrix, reader).
+	 * @Input - matrix, historyFile
+	 * @Response - RateHistory
+	 * @Exception - CurrencyException
+	 */
+	public static RateHistory load(CurrencyRateMatrix matrix, File historyFile) throws CurrencyException{
+		BufferedReader reader = null;
+		try {
+			reader = new BufferedReader(new InputStreamReader(new FileInputStream(historyFile), "US-ASCII"), CurrencyCalculatorConstant.BULK_BUFFER_SIZE);
+			return load(matrix, reader);
+		} catch (IOException ex) {
+			LOG.severe("RateHistory->load()-> IOException occured while reading "+historyFile+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while reading the rate history",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		} finally {
+			if(reader != null){
+				try {
+					reader.close();
+				} catch (IOException ex) {
+					LOG.severe("IOException Exception occured while closing the file "+ex.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * The following operation loads the history from fixings in the format of rate ticks with a time, one per line : the currency pair, the
+	 * rate and the time in milliseconds, as ISO date (start of the day in UTC) or as ISO instant, i.e. AUDUSD 0.8372 2024-01-02T16:00:00Z.
+	 * Fixings need not be sorted, of fixings of a pair with the same time the last one is kept. Blank lines and lines starting with # are
+	 * skipped, any other invalid line fails the load.
+	 * @Input - matrix, reader
+	 * @Response - RateHistory
+	 * @Exception - CurrencyException
+	 */
+	public static RateHistory load(CurrencyRateMatrix matrix, BufferedReader reader) throws CurrencyException, IOException{
+		CurrencyRegistry registry = matrix.getRegistry();
+		int[] sourceCurrencyIds = new int[INITIAL_CAPACITY];
+		int[] destinationCurrencyIds = new int[INITIAL_CAPACITY];
+		long[] times = new long[INITIAL_CAPACITY];
+		long[] rates = new long[INITIAL_CAPACITY];
+		int count = 0;
+		long lineNumber = 0;
+		String line;
+		while((line = reader.readLine()) != null){
+			lineNumber++;
+			int length = line.length();
+			int start = skipWhitespace(line, 0);
+			if(start == length || line.charAt(start) == '#'){
+				continue;
+			}
+			int pairEnd = skipToken(line, start);
+			int rateStart = skipWhitespace(line, pairEnd);
+			int rateEnd = skipToken(line, rateStart);
+			int timeStart = skipWhitespace(line, rateEnd);
+			int timeEnd = skipToken(line, timeStart);
+			int source = pairEnd - start == 6 ? registry.getCurrencyIdByPackedCode(CurrencyRegistry.packCurrencyCode(line, start)) : -1;
+			int destination = pairEnd - start == 6 ? registry.getCurrencyIdByPackedCode(CurrencyRegistry.packCurrencyCode(line, start + 3)) : -1;
+			try {
+				if(source < 0 || destination < 0 || rateStart == rateEnd || timeStart == timeEnd || skipWhitespace(line, timeEnd) != length
+						|| FixedPointMath.getScale(line, rateStart, rateEnd) > CurrencyCalculatorConstant.RATE_SCALE){
+					throw new NumberFormatException("Invalid fixing");
+				}
+				long rate = FixedPointMath.parseDecimal(line, rateStart, rateEnd, CurrencyCalculatorConstant.RATE_SCALE);
+				long time = parseTime(line.substring(timeStart, timeEnd));
+				if(count == times.length){
+					int capacity = count * 2;
+					sourceCurrencyIds = Arrays.copyOf(sourceCurrencyIds, capacity);
+					destinationCurrencyIds = Arrays.copyOf(destinationCurrencyIds, capacity);
+					times = Arrays.copyOf(times, capacity);
+					rates = Arrays.copyOf(rates, capacity);
+				}
+				sourceCurrencyIds[count] = source;
+				destinationCurrencyIds[count] = destination;
+				times[count] = time;
+				rates[count] = rate;
+				count++;
+			} catch (RuntimeException ex) {
+				LOG.severe("RateHistory->load()-> Invalid fixing at line "+lineNumber+" : "+line);
+				throw new CurrencyException("Invalid FX rate found in rate history","RateHistory->load()-> Invalid fixing at line "+lineNumber,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+			}
+		}
+		return compile(matrix, sourceCurrencyIds, destinationCurrencyIds, times, rates, count);
+	}
+
+	/**
+	 * The following operation parses the time of a fixing, milliseconds since the epoch, an ISO date or an ISO instant.
+	 * @Input - time
+	 * @Response - long, milliseconds since the epoch
+	 * @Exception - NumberFormatException, DateTimeException
+	 */
+	private static long parseTime(String time){
+		if(time.indexOf('-', 1) < 0){
+			return Long.parseLong(time);
+		}
+		if(time.indexOf('T') < 0){
+			return LocalDate.parse(time).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+		}
+		return Instant.parse(time).toEpochMilli();
+	}
+
+	/**
+	 * The following operation compiles the history from fixings given as columns, the bulk load path. The first length elements of every
+	 * array are one fixing each : source and destination currency id of the quoted pair, time in milliseconds and rate scaled by 10^RATE_SCALE.
+	 * The arrays are not changed. Fixings need not be sorted, of fixings of a pair with the same time the last one is kept.
+	 * @Input - matrix, sourceCurrencyIds, destinationCurrencyIds, times, rates, length
+	 * @Response - RateHistory
+	 * @Exception - CurrencyException when an array is shorter than length, a currency is unknown or a rate is not positive
+	 */
+	public static RateHistory compile(CurrencyRateMatrix matrix, int[] sourceCurrencyIds, int[] destinationCurrencyIds, long[] times, long[] rates, int length) throws CurrencyException{
+		if(sourceCurrencyIds == null || destinationCurrencyIds == null || times == null || rates == null || length < 0 || sourceCurrencyIds.length < length
+				|| destinationCurrencyIds.length < length || times.length < length || rates.length < length){
+			LOG.severe("RateHistory->compile()-> Invalid input provided -> array is missing or shorter than length : "+length);
+			throw new CurrencyException("Input field provided is not valid ","RateHistory->compile()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		int size = matrix.getSize();
+		int pairs = size * size;
+		/*
+		 * The fixings are counted per pair and copied to the position of their pair, in input order.
+		 */
+		int[] offsets = new int[pairs + 1];
+		for (int index = 0; index < length; index++) {
+			int source = sourceCurrencyIds[index];
+			int destination = destinationCurrencyIds[index];
+			if(source < 0 || source >= size || destination < 0 || destination >= size || source == destination || rates[index] <= 0L){
+				LOG.severe("RateHistory->compile()-> Invalid fixing at index "+index+" : "+source+"/"+destination+" "+rates[index]);
+				throw new CurrencyException("Invalid FX rate found in rate history","RateHistory->compile()-> Invalid fixing at index "+index,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+			}
+			offsets[source * size + destination + 1]++;
+		}
+		for (int pair = 0; pair < pairs; pair++) {
+			offsets[pair + 1] += offsets[pair];
+		}
+		int[] positions = Arrays.copyOf(offsets, pairs);
+		long[] sortedTimes = new long[length];
+		long[] sortedRates = new long[length];
+		for (int index = 0; index < length; index++) {
+			int position = positions[sourceCurrencyIds[index] * size + destinationCurrencyIds[index]]++;
+			sortedTimes[position] = times[index];
+			sortedRates[position] = rates[index];
+		}
+		/*
+		 * Fixings of a pair are mostly loaded in time order already, only pairs which are not get sorted. The sort is stable, hence the last
+		 * of fixings with the same time is the last one loaded and the one which is kept.
+		 */
+		long[] timeBuffer = null;
+		long[] rateBuffer = null;
+		int kept = 0;
+		for (int pair = 0; pair < pairs; pair++) {
+			int from = offsets[pair];
+			int to = offsets[pair + 1];
+			if(!isSorted(sortedTimes, from, to)){
+				if(timeBuffer == null){
+					timeBuffer = new long[length];
+					rateBuffer = new long[length];
+				}
+				sort(sortedTimes, sortedRates, from, to, timeBuffer, rateBuffer);
+			}
+			offsets[pair] = kept;
+			for (int index = from; index < to; index++) {
+				if(index + 1 < to && sortedTimes[index + 1] == sortedTimes[index]){
+					continue;
+				}
+				sortedTimes[kept] = sortedTimes[index];
+				sortedRates[kept] = sortedRates[index];
+				kept++;
+			}
+		}
+		offsets[pairs] = kept;
+		if(kept < length){
+			sortedTimes = Arrays.copyOf(sortedTimes, kept);
+			sortedRates = Arrays.copyOf(sortedRates, kept);
+		}
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("RateHistory->compile()-> Compiled rate history with "+kept+" fixings of "+length);
+		}
+		return new RateHistory(matrix, offsets, sortedTimes, sortedRates);
+	}
+
+	/**
+	 * The following operation returns true when times between from and to are in ascending order, equal times included.
+	 * @Input - times, from, to
+	 * @Response - boolean
+	 */
+	private static boolean isSorted(long[] times, int from, int to){
+		for (int index = from + 1; index < to; index++) {
+			if(times[index] < times[index - 1]){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The following operation sorts times between from and to with their rates by a stable bottom up merge sort.
+	 * @Input - times, rates, from, to, timeBuffer, rateBuffer - at least as long as to
+	 * @Response - N/A
+	 */
+	private static void sort(long[] times, long[] rates, int from, int to, long[] timeBuffer, long[] rateBuffer){
+		for (int width = 1; width < to - from; width <<= 1) {
+			for (int low = from; low < to; low += width << 1) {
+				int middle = Math.min(low + width, to);
+				int high = Math.min(low + (width << 1), to);
+				int left = low;
+				int right = middle;
+				for (int target = low; target < high; target++) {
+					if(left < middle && (right >= high || times[left] <= times[right])){
+						timeBuffer[target] = times[left];
+						rateBuffer[target] = rates[left++];
+					}else{
+						timeBuffer[target] = times[right];
+						rateBuffer[target] = rates[right++];
+					}
+				}
+			}
+			System.arraycopy(timeBuffer, from, times, from, to - from);
+			System.arraycopy(rateBuffer, from, rates, from, to - from);
+		}
+	}
+
+	/**
+	 * The following operation returns the quoted rate of the currency pair in effect at asOf, i.e. of the newest fixing not after asOf,
+	 * scaled by 10^RATE_SCALE. 0 when the pair has no fixing until asOf.
+	 * @Input - sourceCurrencyId, destinationCurrencyId, asOf - time in milliseconds
+	 * @Response - long
+	 */
+	public long getQuotedRate(int sourceCurrencyId, int destinationCurrencyId, long asOf){
+		int pair = sourceCurrencyId * size + destinationCurrencyId;
+		int first = offsets[pair];
+		int low = first;
+		int high = offsets[pair + 1] - 1;
+		while(low <= high){
+			int middle = (low + high) >>> 1;
+			if(timestamps[middle] <= asOf){
+				low = middle + 1;
+			}else{
+				high = middle - 1;
+			}
+		}
+		return high >= first ? scaledRates[high] : 0L;
+	}
+
+	/**
+	 * The following operation returns rate of the currency pair along its route in effect at asOf scaled by 10^RATE_SCALE, 0 when there is
+	 * no rate.
+	 * @Input - sourceCurrencyId, destinationCurrencyId, asOf - time in milliseconds
+	 * @Response - long
+	 */
+	public long getScaledRate(int sourceCurrencyId, int destinationCurrencyId, long asOf){
+		if(sourceCurrencyId < 0 || sourceCurrencyId >= size || destinationCurrencyId < 0 || destinationCurrencyId >= size){
+			return 0L;
+		}
+		switch (matrix.getRouteType(sourceCurrencyId, destinationCurrencyId)) {
+		case CurrencyCalculatorConstant.ROUTE_TYPE_UNITY:
+			return UNIT_RATE;
+		case CurrencyCalculatorConstant.ROUTE_TYPE_DIRECT:
+			return getQuotedRate(sourceCurrencyId, destinationCurrencyId, asOf);
+		case CurrencyCalculatorConstant.ROUTE_TYPE_INVERSION:
+			return invert(getQuotedRate(destinationCurrencyId, sourceCurrencyId, asOf));
+		case CurrencyCalculatorConstant.ROUTE_TYPE_CROSS:
+			int crossCurrencyId = matrix.getCrossCurrencyId(sourceCurrencyId, destinationCurrencyId);
+			long first = getScaledRate(sourceCurrencyId, crossCurrencyId, asOf);
+			long inverse = invert(getScaledRate(crossCurrencyId, destinationCurrencyId, asOf));
+			if(first == 0L || inverse == 0L){
+				return 0L;
+			}
+			return FixedPointMath.multiplyDivideHalfUp(first, UNIT_RATE, inverse);
+		default:
+			return 0L;
+		}
+	}
+
+	/**
+	 * The following operation returns 1 / rate rounded half up, 0 when there is no rate.
+	 * @Input - scaledRate
+	 * @Response - long
+	 */
+	private static long invert(long scaledRate){
+		return scaledRate == 0L ? 0L : FixedPointMath.multiplyDivideHalfUp(UNIT_RATE, UNIT_RATE, scaledRate);
+	}
+
+	/**
+	 * The following operation converts an amount scaled by 10^inputScale into the destination currency with the rate in effect at asOf. The
+	 * result is scaled by 10^decimal place of the destination currency and truncated like the fixed point engine does.
+	 * @Input - sourceCurrencyId, inputAmount, inputScale, destinationCurrencyId, asOf - time in milliseconds
+	 * @Response - long
+	 * @Exception - CurrencyException
+	 */
+	public long calculateCurrencyValue(int sourceCurrencyId, long inputAmount, int inputScale, int destinationCurrencyId, long asOf) throws CurrencyException{
+		long rate = getScaledRate(sourceCurrencyId, destinationCurrencyId, asOf);
+		if(rate == 0L){
+			LOG.severe("RateHistory->calculateCurrencyValue()->Nothing returned from rate history as of "+asOf);
+			throw new CurrencyException("Currency details are not found in rate history","RateHistory->calculateCurrencyValue()->Nothing returned from rate history as of "+asOf,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		if(inputScale < 0){
+			LOG.severe("RateHistory->calculateCurrencyValue()-> Invalid input provided -> Negative scale : "+inputScale);
+			throw new CurrencyException("Input field provided is not valid ","RateHistory->calculateCurrencyValue()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		try {
+			return multiply(inputAmount, inputScale, rate, destinationCurrencyId);
+		} catch (ArithmeticException ex) {
+			LOG.severe("RateHistory->calculateCurrencyValue()-> Amount too large : "+inputAmount+" with scale "+inputScale);
+			throw new CurrencyException("Amount provided is too large","RateHistory->calculateCurrencyValue()-> Amount too large",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+	}
+
+	/**
+	 * The following operation replays length conversions starting at offset, amounts in minor units of the source currency are converted
+	 * into minor units of the destination currency with the rate in effect at the time of each amount. Nothing is thrown for an amount which
+	 * can not be converted, its status (see ConversionResult) is written into statuses and its result is 0.
+	 * @Input - sourceCurrencyIds, destinationCurrencyIds, inputAmounts, times, results, statuses, offset, length
+	 * @Response - int, number of amounts which could not be converted
+	 * @Exception - CurrencyException when the arrays do not cover offset and length
+	 */
+	public int calculateCurrencyValues(int[] sourceCurrencyIds, int[] destinationCurrencyIds, long[] inputAmounts, long[] times, long[] results, byte[] statuses,
+			int offset, int length) throws CurrencyException{
+		int end = offset + length;
+		if(sourceCurrencyIds == null || destinationCurrencyIds == null || inputAmounts == null || times == null || results == null || statuses == null
+				|| offset < 0 || length < 0 || end > sourceCurrencyIds.length || end > destinationCurrencyIds.length || end > inputAmounts.length
+				|| end > times.length || end > results.length || end > statuses.length){
+			LOG.severe("RateHistory->calculateCurrencyValues()-> Invalid input provided -> array is missing or shorter than offset : "+offset+", length : "+length);
+			throw new CurrencyException("Input field provided is not valid ","RateHistory->calculateCurrencyValues()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		CurrencyRegistry registry = matrix.getRegistry();
+		int failed = 0;
+		for (int index = offset; index < end; index++) {
+			int source = sourceCurrencyIds[index];
+			int destination = destinationCurrencyIds[index];
+			long rate = getScaledRate(source, destination, times[index]);
+			byte status = ConversionResult.STATUS_OK;
+			long result = 0L;
+			if(rate == 0L){
+				status = ConversionResult.STATUS_RATE_NOT_FOUND;
+			}else{
+				try {
+					result = multiply(inputAmounts[index], registry.getDecimalPlace(source), rate, destination);
+				} catch (ArithmeticException ex) {
+					status = ConversionResult.STATUS_AMOUNT_TOO_LARGE;
+				}
+			}
+			results[index] = result;
+			statuses[index] = status;
+			if(status != ConversionResult.STATUS_OK){
+				failed++;
+			}
+		}
+		if(LOG.isLoggable(Level.FINE)){
+			LOG.fine("RateHistory->calculateCurrencyValues()-> Converted "+(length - failed)+" of "+length+" amounts");
+		}
+		return failed;
+	}
+
+	/**
+	 * The following operation multiplies an amount scaled by 10^inputScale with the rate into minor units of the destination currency.
+	 * @Input - inputAmount, inputScale, rate, destinationCurrencyId
+	 * @Response - long
+	 * @Exception - ArithmeticException when the result does not fit into a long
+	 */
+	private long multiply(long inputAmount, int inputScale, long rate, int destinationCurrencyId){
+		int exponent = inputScale + CurrencyCalculatorConstant.RATE_SCALE - matrix.getRegistry().getDecimalPlace(destinationCurrencyId);
+		if(exponent >= 0){
+			return FixedPointMath.multiplyDivideDown(inputAmount, rate, exponent);
+		}
+		long result = Math.multiplyExact(inputAmount, rate);
+		for (; exponent < 0; exponent += FixedPointMath.MAX_POWER_OF_TEN) {
+			result = Math.multiplyExact(result, FixedPointMath.getPowerOfTen(Math.min(-exponent, FixedPointMath.MAX_POWER_OF_TEN)));
+		}
+		return result;
+	}
+
+	/**
+	 * The following operation returns the matrix whose routes and registry are used.
+	 * @Input - N/A
+	 * @Response - CurrencyRateMatrix
+	 */
+	public CurrencyRateMatrix getMatrix(){
+		return matrix;
+	}
+
+	/**
+	 * The following operation returns number of fixings of all pairs.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getFixingCount(){
+		return timestamps.length;
+	}
+
+	/**
+	 * The following operation returns index of the first character from index on which is not a white space.
+	 * @Input - line, index
+	 * @Response - int
+	 */
+	private static int skipWhitespace(String line, int index){
+		while(index < line.length() && Character.isWhitespace(line.charAt(index))){
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * The following operation returns index of the first white space from index on.
+	 * @Input - line, index
+	 * @Response - int
+	 */
+	private static int skipToken(String line, int index){
+		while(index < line.length() && !Character.isWhitespace(line.charAt(index))){
+			index++;
+		}
+		return index;
+	}
+}
@@ -0,0 +1,227 @@
+package currency.calculator.app.feed;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyRegistry;
+import currency.calculator.app.util.FixedPointMath;
+
+/**
+ * This class contains the rate tick feed, the single writer of a live rate store. It reads one tick per line from a TCP socket, a named pipe
+ * or a tailed file and applies it to the store. A tick is the currency pair, the rate and optionally the time of the tick in milliseconds,
+ * i.e. AUDUSD 0.8372 1760000000000 - ticks without time get the time they are applied. Lines which are not valid ticks, including ticks for
+ * pairs which are not quoted in the rate files, are counted and skipped.
+ * @Operations: start, open, run, applyLine, close, getAppliedCount, getRejectedCount
+ * @Developer: Singh, Sunny
+ */
+public final class RateTickFeed implements Runnable, Closeable {
+
+	private static final Logger LOG = Logger.getLogger(RateTickFeed.class.getName());
+
+	private final LiveRateStore store;
+	private final InputStream input;
+	private final Closeable source;
+	private volatile boolean closed = false;
+	private volatile long appliedCount = 0;
+	private volatile long rejectedCount = 0;
+
+	/**
+	 * The constructor takes the store to update and the stream of ticks.
+	 * @Input - store, input
+	 */
+	public RateTickFeed(LiveRateStore store, InputStream input) {
+		this(store, input, input);
+	}
+
+	/**
+	 * The constructor takes the store to update, the stream of ticks and the source to close with the feed, e.g. the socket of the stream.
+	 * @Input - store, input, source
+	 */
+	private RateTickFeed(LiveRateStore store, InputStream input, Closeable source) {
+		this.store = store;
+		this.input = input;
+		this.source = source;
+	}
+
+	/**
+	 * The following operation opens the feed source and starts a daemon thread applying its ticks to the store. The source is
+	 * tcp:<host>:<port> for a socket, tail:<file> for a file which is followed and any other value for a file or named pipe read once.
+	 * @Input - store, feedSource
+	 * @Response - RateTickFeed, to be closed by the caller
+	 * @Exception - CurrencyException
+	 */
+	public static RateTickFeed start(LiveRateStore store, String feedSource) throws CurrencyException{
+		RateTickFeed feed = open(store, feedSource);
+		Thread thread = new Thread(feed, "rate-tick-feed");
+		thread.setDaemon(true);
+		thread.start();
+		return feed;
+	}
+
+	/**
+	 * The following operation opens the feed source without starting to read it.
+	 * @Input - store, feedSource
+	 * @Response - RateTickFeed
+	 * @Exception - CurrencyException
+	 */
+	public static RateTickFeed open(LiveRateStore store, String feedSource) throws CurrencyException{
+		try {
+			if(feedSource.startsWith(CurrencyCalculatorConstant.TICK_FEED_TCP_PREFIX)){
+				String address = feedSource.substring(CurrencyCalculatorConstant.TICK_FEED_TCP_PREFIX.length());
+				int separator = address.lastIndexOf(':');
+				if(separator < 0){
+					LOG.severe("RateTickFeed->open()-> Port missing in feed source : "+feedSource);
+					throw new CurrencyException("Input field provided is not valid ","RateTickFeed->open()-> Port missing in feed source "+feedSource,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+				}
+				Socket socket = new Socket(address.substring(0, separator), Integer.parseInt(address.substring(separator + 1)));
+				return new RateTickFeed(store, socket.getInputStream(), socket);
+			}
+			if(feedSource.startsWith(CurrencyCalculatorConstant.TICK_FEED_TAIL_PREFIX)){
+				return new RateTickFeed(store, new TailInputStream(new File(feedSource.substring(CurrencyCalculatorConstant.TICK_FEED_TAIL_PREFIX.length()))));
+			}
+			return new RateTickFeed(store, new FileInputStream(feedSource));
+		} catch (NumberFormatException ex) {
+			LOG.severe("RateTickFeed->open()-> Invalid port in feed source : "+feedSource);
+			throw new CurrencyException("Input field provided is not valid ","RateTickFeed->open()-> Invalid port in feed source "+feedSource,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		} catch (IOException ex) {
+			LOG.severe("RateTickFeed->open()-> IOException occured while opening "+feedSource+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while opening the rate tick feed",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+	}
+
+	/**
+	 * The following operation applies the ticks of the feed until its end or until the feed is closed.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public void run(){
+		try {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(input, "US-ASCII"));
+			String line;
+			while((line = reader.readLine()) != null){
+				applyLine(line);
+			}
+		} catch (IOException ex) {
+			if(!closed){
+				LOG.severe("RateTickFeed->run()-> IOException occured while reading ticks "+ex.getMessage());
+			}
+		} finally {
+			if(LOG.isLoggable(Level.INFO)){
+				LOG.info("RateTickFeed->run()-> Feed ended after "+appliedCount+" ticks, "+rejectedCount+" rejected");
+			}
+		}
+	}
+
+	/**
+	 * The following operation parses one tick and applies it to the store. Blank lines and lines starting with # are skipped.
+	 * @Input - line
+	 * @Response - boolean, true when the tick is applied
+	 */
+	public boolean applyLine(String line){
+		int length = line.length();
+		int start = skipWhitespace(line, 0);
+		if(start == length || line.charAt(start) == '#'){
+			return false;
+		}
+		int pairEnd = skipToken(line, start);
+		int rateStart = skipWhitespace(line, pairEnd);
+		int rateEnd = skipToken(line, rateStart);
+		int timeStart = skipWhitespace(line, rateEnd);
+		int timeEnd = skipToken(line, timeStart);
+		CurrencyRegistry registry = store.getRegistry();
+		int source = pairEnd - start == 6 ? registry.getCurrencyIdByPackedCode(CurrencyRegistry.packCurrencyCode(line, start)) : -1;
+		int destination = pairEnd - start == 6 ? registry.getCurrencyIdByPackedCode(CurrencyRegistry.packCurrencyCode(line, start + 3)) : -1;
+		try {
+			if(source < 0 || destination < 0 || rateStart == rateEnd || skipWhitespace(line, timeEnd) != length
+					|| FixedPointMath.getScale(line, rateStart, rateEnd) > CurrencyCalculatorConstant.RATE_SCALE){
+				throw new NumberFormatException("Invalid tick");
+			}
+			long rate = FixedPointMath.parseDecimal(line, rateStart, rateEnd, CurrencyCalculatorConstant.RATE_SCALE);
+			long timestamp = timeStart == timeEnd ? System.currentTimeMillis() : Long.parseLong(line.substring(timeStart, timeEnd));
+			store.applyTick(source, destination, rate, timestamp);
+			appliedCount++;
+			return true;
+		} catch (NumberFormatException ex) {
+			rejectTick(line);
+		} catch (ArithmeticException ex) {
+			rejectTick(line);
+		} catch (CurrencyException ex) {
+			rejectTick(line);
+		}
+		return false;
+	}
+
+	/**
+	 * The following operation counts a tick which can not be applied.
+	 * @Input - line
+	 * @Response - N/A
+	 */
+	private void rejectTick(String line){
+		rejectedCount++;
+		if(LOG.isLoggable(Level.FINE)){
+			LOG.fine("RateTickFeed->applyLine()-> Invalid tick skipped : "+line);
+		}
+	}
+
+	/**
+	 * The following operation returns index of the first character from index on which is not a white space.
+	 * @Input - line, index
+	 * @Response - int
+	 */
+	private static int skipWhitespace(String line, int index){
+		while(index < line.length() && Character.isWhitespace(line.charAt(index))){
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * The following operation returns index of the first white space from index on.
+	 * @Input - line, index
+	 * @Response - int
+	 */
+	private static int skipToken(String line, int index){
+		while(index < line.length() && !Character.isWhitespace(line.charAt(index))){
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * The following operation stops the feed and closes its source.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public void close() throws IOException{
+		closed = true;
+		source.close();
+	}
+
+	/**
+	 * The following operation returns number of applied ticks.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getAppliedCount(){
+		return appliedCount;
+	}
+
+	/**
+	 * The following operation returns number of lines which are not valid ticks.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getRejectedCount(){
+		return rejectedCount;
+	}
+}
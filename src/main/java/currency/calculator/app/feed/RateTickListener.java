@@ -0,0 +1,17 @@
+package currency.calculator.app.feed;
+
+/**
+ * This interface is implemented by components which follow the ticks of a live rate store, e.g. the portfolio revaluator. A listener is
+ * called by the single writer of the store after the tick is stored, hence rates read by the listener include the tick.
+ * @Operations: onTick
+ * @Developer: Singh, Sunny
+ */
+public interface RateTickListener {
+
+	/**
+	 * The following operation is called after a tick of the currency pair is stored.
+	 * @Input - sourceCurrencyId, destinationCurrencyId, scaledRate - rate scaled by 10^RATE_SCALE, timestamp - time of the tick in milliseconds
+	 * @Response - N/A
+	 */
+	void onTick(int sourceCurrencyId, int destinationCurrencyId, long scaledRate, long timestamp);
+}
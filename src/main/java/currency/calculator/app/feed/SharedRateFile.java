@@ -0,0 +1,478 @@
+package currency.calculator.app.feed;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyRegistry;
+
+/**
+ * This class contains the memory mapped file of a shared live rate store, e.g. on tmpfs, written by one publisher process and read by any
+ * number of processes on the host straight from the mapping. Every currency pair has a slot written with the sequence lock of the live rate
+ * store : the publisher makes the version odd, writes rate and time and makes the version even again, a reader retries while the version is
+ * odd or has changed. Memory fences keep the order of these writes and reads between processes. The publisher holds a lock on the file,
+ * a second publisher is refused. A file of another layout is replaced by a new file and the replaced file is marked as retired, readers
+ * which have mapped it see that with isRetired and open the new file.
+ *
+ * Layout (little endian) :
+ * header - magic (int), version (int), currency count n (int), rate scale (int), tick count (long), reserved up to 64 bytes
+ * codes  - packed currency codes (int[n]), padded to 64 bytes
+ * slots  - per currency pair source * n + destination : version (long), scaled rate (long), time in milliseconds (long), reserved (long)
+ * @Operations: create, open, read, getRate, getTimestamp, write, getTickCount, isRetired, isPublisher, getFile, close
+ * @Developer: Singh, Sunny
+ */
+final class SharedRateFile implements Closeable {
+
+	private static final Logger LOG = Logger.getLogger(SharedRateFile.class.getName());
+
+	//"CCLR" - currency calculator live rates
+	static final int STORE_MAGIC = 0x524C4343;
+	static final int STORE_VERSION = 1;
+	//Version of a file replaced by a file of another layout
+	static final int STORE_VERSION_RETIRED = -1;
+
+	private static final int HEADER_LENGTH = 64;
+	private static final int TICK_COUNT_OFFSET = 16;
+	private static final int SLOT_LENGTH = 32;
+
+	//Fences ordering the slot accesses, VarHandle on Java 9 and later, Unsafe on Java 8
+	private static final MethodHandle LOAD_FENCE = getFence("acquireFence", "loadFence");
+	private static final MethodHandle STORE_FENCE = getFence("releaseFence", "storeFence");
+
+	private final File file;
+	private final ByteBuffer buffer;
+	private final int slotOffset;
+	private final FileChannel channel;
+	private final FileLock lock;
+	private long tickCount;
+
+	/**
+	 * The private constructor takes the mapping and, for the publisher, the channel and lock held until close.
+	 */
+	private SharedRateFile(File file, ByteBuffer buffer, int size, FileChannel channel, FileLock lock) {
+		this.file = file;
+		this.buffer = buffer;
+		this.slotOffset = getSlotOffset(size);
+		this.channel = channel;
+		this.lock = lock;
+		this.tickCount = buffer.getLong(TICK_COUNT_OFFSET);
+	}
+
+	/**
+	 * The following operation returns the fence of VarHandle, or of Unsafe when VarHandle is not there.
+	 * @Input - varHandleFence, unsafeFence
+	 * @Response - MethodHandle
+	 */
+	private static MethodHandle getFence(String varHandleFence, String unsafeFence){
+		MethodType type = MethodType.methodType(void.class);
+		try {
+			return MethodHandles.publicLookup().findStatic(Class.forName("java.lang.invoke.VarHandle"), varHandleFence, type);
+		} catch (ReflectiveOperationException ex) {
+			//Java 8, the fences of Unsafe are used
+		}
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field field = unsafeClass.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			return MethodHandles.publicLookup().findVirtual(unsafeClass, unsafeFence, type).bindTo(field.get(null));
+		} catch (ReflectiveOperationException ex) {
+			throw new ExceptionInInitializerError(ex);
+		}
+	}
+
+	/**
+	 * The following operation keeps loads before the fence ahead of loads after it.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	private static void loadFence(){
+		try {
+			LOAD_FENCE.invokeExact();
+		} catch (Throwable ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * The following operation keeps stores before the fence ahead of stores after it.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	private static void storeFence(){
+		try {
+			STORE_FENCE.invokeExact();
+		} catch (Throwable ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * The following operation opens the file as publisher and writes the scaled rates into it. A file of the same layout is written in
+	 * place, slot by slot with the sequence lock, hence running readers stay consistent, a changed rate is stamped with the current time
+	 * and an unchanged rate keeps its time. Otherwise a new file is written next to it and
+	 * moved in place.
+	 * @Input - file, registry, scaledRates - rate per currency pair source * size + destination
+	 * @Response - SharedRateFile
+	 * @Exception - CurrencyException when the file can not be written or has a publisher already
+	 */
+	static SharedRateFile create(File file, CurrencyRegistry registry, long[] scaledRates) throws CurrencyException{
+		int size = registry.getSize();
+		long length = getFileLength(size);
+		FileChannel channel = null;
+		FileChannel tempChannel = null;
+		try {
+			if(file.exists()){
+				channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+				FileLock lock = lock(file, channel);
+				if(channel.size() == length){
+					ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+					if(hasLayout(buffer, registry)){
+						SharedRateFile shared = new SharedRateFile(file, buffer, size, channel, lock);
+						long now = System.currentTimeMillis();
+						for (int index = 0; index < scaledRates.length; index++) {
+							if(shared.getRate(index) != scaledRates[index]){
+								shared.write(index, scaledRates[index], now);
+							}
+						}
+						channel = null;
+						logOpened(file, size, "Publishing");
+						return shared;
+					}
+				}
+			}
+			/*
+			 * The file is written completely before it is moved in place, a reader never maps a half written store. The new file is locked
+			 * before it is moved and the lock of the old file is held until the old file is retired, hence no other publisher gets in.
+			 */
+			File tempFile = new File(file.getAbsoluteFile().getParentFile(), file.getName()+".tmp");
+			ByteBuffer content = ByteBuffer.allocate((int) length).order(ByteOrder.LITTLE_ENDIAN);
+			content.putInt(STORE_MAGIC).putInt(STORE_VERSION).putInt(size).putInt(CurrencyCalculatorConstant.RATE_SCALE);
+			content.position(HEADER_LENGTH);
+			for (int id = 0; id < size; id++) {
+				content.putInt(CurrencyRegistry.packCurrencyCode(registry.getCurrencyCode(id)));
+			}
+			int slotOffset = getSlotOffset(size);
+			for (int index = 0; index < scaledRates.length; index++) {
+				content.putLong(slotOffset + index * SLOT_LENGTH + 8, scaledRates[index]);
+			}
+			content.clear();
+			tempChannel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			FileLock lock = lock(tempFile, tempChannel);
+			if(channel == null && file.exists()){
+				/*
+				 * Another publisher has created the file meanwhile.
+				 */
+				channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+				lock(file, channel);
+			}
+			tempChannel.truncate(0L);
+			while(content.hasRemaining()){
+				tempChannel.write(content);
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			if(channel != null){
+				retire(file, channel);
+			}
+			ByteBuffer buffer = tempChannel.map(FileChannel.MapMode.READ_WRITE, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+			SharedRateFile shared = new SharedRateFile(file, buffer, size, tempChannel, lock);
+			tempChannel = null;
+			logOpened(file, size, "Created");
+			return shared;
+		} catch (IOException ex) {
+			LOG.severe("SharedRateFile->create()-> IOException occured while writing "+file+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while writing the shared rate store",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		} finally {
+			close(file, channel);
+			close(file, tempChannel);
+		}
+	}
+
+	/**
+	 * The following operation marks the replaced file as retired, readers which have mapped it open the new file then (see isRetired). The
+	 * version in its header is overwritten, a file which is not a shared rate store is left as it is.
+	 * @Input - file, channel - of the replaced file, holding its lock
+	 * @Response - N/A
+	 * @Exception - IOException
+	 */
+	private static void retire(File file, FileChannel channel) throws IOException{
+		ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+		channel.read(header, 0L);
+		if(header.hasRemaining() || header.getInt(0) != STORE_MAGIC){
+			return;
+		}
+		ByteBuffer version = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+		version.putInt(0, STORE_VERSION_RETIRED);
+		while(version.hasRemaining()){
+			channel.write(version, 4L + version.position());
+		}
+		channel.force(false);
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("SharedRateFile->retire()-> Replaced shared rate store retired "+file);
+		}
+	}
+
+	/**
+	 * The following operation opens the file for reading, its currencies must be the currencies of the registry.
+	 * @Input - file, registry
+	 * @Response - SharedRateFile
+	 * @Exception - CurrencyException when the file can not be read or has another layout
+	 */
+	static SharedRateFile open(File file, CurrencyRegistry registry) throws CurrencyException{
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			long length = getFileLength(registry.getSize());
+			if(channel.size() != length){
+				throw invalidStore(file, "invalid length "+channel.size());
+			}
+			/*
+			 * The mapping stays valid after the channel is closed.
+			 */
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+			if(!hasLayout(buffer, registry)){
+				throw invalidStore(file, "other currencies or version");
+			}
+			logOpened(file, registry.getSize(), "Reading");
+			return new SharedRateFile(file, buffer, registry.getSize(), null, null);
+		} catch (IOException ex) {
+			LOG.severe("SharedRateFile->open()-> IOException occured while reading "+file+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while reading the shared rate store",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		} finally {
+			close(file, channel);
+		}
+	}
+
+	/**
+	 * The following operation locks the file for the publisher.
+	 * @Input - file, channel
+	 * @Response - FileLock
+	 * @Exception - CurrencyException when another publisher holds the lock
+	 */
+	private static FileLock lock(File file, FileChannel channel) throws IOException, CurrencyException{
+		FileLock lock;
+		try {
+			lock = channel.tryLock();
+		} catch (OverlappingFileLockException ex) {
+			lock = null;
+		}
+		if(lock == null){
+			channel.close();
+			LOG.severe("SharedRateFile->create()-> Shared rate store has a publisher already : "+file);
+			throw new CurrencyException("Shared rate store has a publisher already","SharedRateFile->create()-> Locked by another publisher : "+file,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		return lock;
+	}
+
+	/**
+	 * The following operation returns true when the mapped header and currency codes are the layout of the registry.
+	 * @Input - buffer, registry
+	 * @Response - boolean
+	 */
+	private static boolean hasLayout(ByteBuffer buffer, CurrencyRegistry registry){
+		int size = registry.getSize();
+		if(buffer.getInt(0) != STORE_MAGIC || buffer.getInt(4) != STORE_VERSION || buffer.getInt(8) != size
+				|| buffer.getInt(12) != CurrencyCalculatorConstant.RATE_SCALE){
+			return false;
+		}
+		for (int id = 0; id < size; id++) {
+			if(buffer.getInt(HEADER_LENGTH + id * 4) != CurrencyRegistry.packCurrencyCode(registry.getCurrencyCode(id))){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The following operation returns offset of the first slot, the slots start on a cache line.
+	 * @Input - size
+	 * @Response - int
+	 */
+	private static int getSlotOffset(int size){
+		return (HEADER_LENGTH + size * 4 + 63) & ~63;
+	}
+
+	/**
+	 * The following operation returns length of the file for number of currencies.
+	 * @Input - size
+	 * @Response - long
+	 */
+	private static long getFileLength(int size){
+		return getSlotOffset(size) + (long) size * size * SLOT_LENGTH;
+	}
+
+	/**
+	 * The following operation reads rate and time of slot index with one pass of the sequence lock, hence both are of the same tick. The
+	 * rate is written into quote[0] and the time into quote[1].
+	 * @Input - index - source * size + destination, quote - array of at least 2 longs
+	 * @Response - N/A, rate and time are written into quote
+	 */
+	void read(int index, long[] quote){
+		int offset = slotOffset + index * SLOT_LENGTH;
+		while(true){
+			long version = buffer.getLong(offset);
+			loadFence();
+			long rate = buffer.getLong(offset + 8);
+			long timestamp = buffer.getLong(offset + 16);
+			loadFence();
+			if((version & 1L) == 0L && buffer.getLong(offset) == version){
+				quote[0] = rate;
+				quote[1] = timestamp;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * The following operation returns newest rate of slot index, read with the sequence lock.
+	 * @Input - index - source * size + destination
+	 * @Response - long
+	 */
+	long getRate(int index){
+		int offset = slotOffset + index * SLOT_LENGTH;
+		while(true){
+			long version = buffer.getLong(offset);
+			loadFence();
+			long rate = buffer.getLong(offset + 8);
+			loadFence();
+			if((version & 1L) == 0L && buffer.getLong(offset) == version){
+				return rate;
+			}
+		}
+	}
+
+	/**
+	 * The following operation returns time of the newest rate of slot index, read with the sequence lock.
+	 * @Input - index - source * size + destination
+	 * @Response - long
+	 */
+	long getTimestamp(int index){
+		int offset = slotOffset + index * SLOT_LENGTH;
+		while(true){
+			long version = buffer.getLong(offset);
+			loadFence();
+			long timestamp = buffer.getLong(offset + 16);
+			loadFence();
+			if((version & 1L) == 0L && buffer.getLong(offset) == version){
+				return timestamp;
+			}
+		}
+	}
+
+	/**
+	 * The following operation writes rate and time of slot index with the sequence lock. It is called by the publisher only.
+	 * @Input - index - source * size + destination, rate, timestamp
+	 * @Response - N/A
+	 */
+	void write(int index, long rate, long timestamp){
+		int offset = slotOffset + index * SLOT_LENGTH;
+		long version = buffer.getLong(offset);
+		buffer.putLong(offset, version + 1);
+		storeFence();
+		buffer.putLong(offset + 8, rate);
+		buffer.putLong(offset + 16, timestamp);
+		storeFence();
+		buffer.putLong(offset, version + 2);
+		buffer.putLong(TICK_COUNT_OFFSET, ++tickCount);
+	}
+
+	/**
+	 * The following operation returns number of rates written by publishers of the file.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	long getTickCount(){
+		return buffer.getLong(TICK_COUNT_OFFSET);
+	}
+
+	/**
+	 * The following operation returns true when the mapped file has been replaced by a file of another layout, its rates are not
+	 * updated any more.
+	 * @Input - N/A
+	 * @Response - boolean
+	 */
+	boolean isRetired(){
+		return buffer.getInt(4) == STORE_VERSION_RETIRED;
+	}
+
+	/**
+	 * The following operation returns true when the file is opened by its publisher.
+	 * @Input - N/A
+	 * @Response - boolean
+	 */
+	boolean isPublisher(){
+		return lock != null;
+	}
+
+	/**
+	 * The following operation returns the mapped file.
+	 * @Input - N/A
+	 * @Response - File
+	 */
+	File getFile(){
+		return file;
+	}
+
+	/**
+	 * The following operation releases the lock of the publisher. The mapping is released by the garbage collector.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public void close() throws IOException{
+		if(channel != null && channel.isOpen()){
+			lock.release();
+			channel.close();
+		}
+	}
+
+	/**
+	 * The following operation closes a channel not handed over to a SharedRateFile.
+	 * @Input - file, channel
+	 * @Response - N/A
+	 */
+	private static void close(File file, FileChannel channel){
+		if(channel != null){
+			try {
+				channel.close();
+			} catch (IOException ex) {
+				LOG.severe("SharedRateFile->close()-> IOException occured while closing "+file+" "+ex.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * The following operation logs the opened file.
+	 * @Input - file, size, action
+	 * @Response - N/A
+	 */
+	private static void logOpened(File file, int size, String action){
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("SharedRateFile->open()-> "+action+" shared rate store with "+size+" currencies in "+file);
+		}
+	}
+
+	/**
+	 * The following operation creates the exception for a file which can not be read.
+	 * @Input - file, reason
+	 * @Response - CurrencyException
+	 */
+	private static CurrencyException invalidStore(File file, String reason){
+		LOG.severe("SharedRateFile->open()-> Invalid shared rate store "+file+" : "+reason);
+		return new CurrencyException("Shared rate store provided is not valid","SharedRateFile->open()-> Invalid shared rate store : "+reason,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+	}
+}
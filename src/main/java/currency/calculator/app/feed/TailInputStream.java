@@ -0,0 +1,80 @@
+package currency.calculator.app.feed;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+
+/**
+ * This class contains an input stream following a growing file, the same as tail -f. It starts at the end of the file and waits for new
+ * content instead of returning end of stream. When the file is truncated reading starts again from its beginning. End of stream is returned
+ * only after the stream is closed.
+ * @Operations: read, close
+ * @Developer: Singh, Sunny
+ */
+public final class TailInputStream extends InputStream {
+
+	//Time to wait for new content of the file
+	private static final long POLL_MILLIS = 10L;
+
+	private final RandomAccessFile file;
+	private volatile boolean closed = false;
+
+	/**
+	 * The constructor opens the file and moves to its end.
+	 * @throws IOException
+	 */
+	public TailInputStream(File file) throws IOException {
+		this.file = new RandomAccessFile(file, "r");
+		this.file.seek(this.file.length());
+	}
+
+	/**
+	 * The following operation reads one byte, waiting for it when the end of the file is reached.
+	 * @Input - N/A
+	 * @Response - int, -1 after the stream is closed
+	 */
+	public int read() throws IOException{
+		byte[] single = new byte[1];
+		return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+	}
+
+	/**
+	 * The following operation reads available bytes, waiting for at least one when the end of the file is reached.
+	 * @Input - buffer, offset, length
+	 * @Response - int, number of bytes read, -1 after the stream is closed
+	 */
+	public int read(byte[] buffer, int offset, int length) throws IOException{
+		if(length == 0){
+			return 0;
+		}
+		while(!closed){
+			int count = file.read(buffer, offset, length);
+			if(count > 0){
+				return count;
+			}
+			if(file.length() < file.getFilePointer()){
+				file.seek(0L);
+				continue;
+			}
+			try {
+				Thread.sleep(POLL_MILLIS);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for file content");
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The following operation stops waiting for new content and closes the file.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public void close() throws IOException{
+		closed = true;
+		file.close();
+	}
+}
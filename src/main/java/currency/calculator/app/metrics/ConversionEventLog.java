@@ -0,0 +1,238 @@
+package currency.calculator.app.metrics;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyRegistry;
+
+/**
+ * This class contains the production logging mode, switched on with -Dcurrency.logging.mode=production. In this mode conversions do not log
+ * at INFO, instead every conversion is kept as a binary event - time, thread, currency ids, amount and result - in a ring buffer of the
+ * stripe of the thread, hence no String is built and no Logger is called when a conversion succeeds. The time of an event is the
+ * System.nanoTime the conversion has taken for its metrics anyway, it is turned into the time of day when events are dumped. Amounts and results of BigDecimal
+ * conversions are kept by reference, they are immutable. When a conversion fails the recent events of the thread are logged with the error,
+ * all recent events can be dumped on demand over JMX or with dump.
+ * Events are written without locks, an event overwritten while it is dumped is skipped.
+ * @Operations: isProductionMode, isVerbose, recordConversion, recordError, dump
+ * @Developer: Singh, Sunny
+ */
+public final class ConversionEventLog {
+
+	private static final Logger LOG = Logger.getLogger(ConversionEventLog.class.getName());
+
+	private static final boolean PRODUCTION = CurrencyCalculatorConstant.LOGGING_MODE_PRODUCTION.equalsIgnoreCase(
+			System.getProperty(CurrencyCalculatorConstant.LOGGING_MODE_PROPERTY));
+
+	//Event types
+	private static final int EVENT_CONVERSION = 1;
+	private static final int EVENT_ERROR = 2;
+
+	//Events of the thread logged with an error
+	private static final int ERROR_DUMP_EVENTS = 8;
+
+	//Time of day and System.nanoTime when the class is loaded, to turn the time of events into time of day
+	private static final long START_MILLIS = System.currentTimeMillis();
+	private static final long START_NANOS = System.nanoTime();
+
+	//Longs and references per event
+	private static final int EVENT_FIELDS = 5;
+	private static final int EVENT_REFERENCES = 3;
+
+	/**
+	 * Ring buffer of the recent events of a stripe. Per event the fields are time, thread id, type / scale / currency ids, amount and result,
+	 * the references are registry, amount or message and result. The tag of an event is its sequence + 1, 0 while it is written.
+	 */
+	private static final class Ring {
+		private final AtomicLong sequence = new AtomicLong();
+		private final AtomicLongArray tags = new AtomicLongArray(CurrencyCalculatorConstant.EVENT_LOG_CAPACITY);
+		private final long[] fields = new long[CurrencyCalculatorConstant.EVENT_LOG_CAPACITY * EVENT_FIELDS];
+		private final Object[] references = new Object[CurrencyCalculatorConstant.EVENT_LOG_CAPACITY * EVENT_REFERENCES];
+	}
+
+	private static final Ring[] RINGS = newRings();
+
+	/**
+	 * The private constructor for not to allow creation of object for this class
+	 */
+	private ConversionEventLog() {
+	}
+
+	/**
+	 * The following operation creates one ring per processor, rounded up to a power of two.
+	 * @Input - N/A
+	 * @Response - Ring[]
+	 */
+	private static Ring[] newRings(){
+		if(!PRODUCTION){
+			return new Ring[0];
+		}
+		Ring[] rings = new Ring[Integer.highestOneBit(Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), 64)) * 2 - 1)];
+		for (int stripe = 0; stripe < rings.length; stripe++) {
+			rings[stripe] = new Ring();
+		}
+		return rings;
+	}
+
+	/**
+	 * The following operation returns true when the production logging mode is on.
+	 * @Input - N/A
+	 * @Response - boolean
+	 */
+	public static boolean isProductionMode(){
+		return PRODUCTION;
+	}
+
+	/**
+	 * The following operation returns true when a conversion logs at INFO to log, never in production logging mode.
+	 * @Input - log
+	 * @Response - boolean
+	 */
+	public static boolean isVerbose(Logger log){
+		return !PRODUCTION && log.isLoggable(Level.INFO);
+	}
+
+	/**
+	 * The following operation records a BigDecimal conversion in production logging mode.
+	 * @Input - registry, sourceCurrencyId, inputAmount, destinationCurrencyId, result, nanoTime - System.nanoTime of the conversion
+	 * @Response - N/A
+	 */
+	public static void recordConversion(CurrencyRegistry registry, int sourceCurrencyId, BigDecimal inputAmount, int destinationCurrencyId, BigDecimal result, long nanoTime){
+		if(PRODUCTION){
+			record(EVENT_CONVERSION, nanoTime, registry, sourceCurrencyId, destinationCurrencyId, 0L, 0, 0L, inputAmount, result);
+		}
+	}
+
+	/**
+	 * The following operation records a fixed point conversion, amount scaled by 10^inputScale and result in minor units of the destination
+	 * currency, in production logging mode.
+	 * @Input - registry, sourceCurrencyId, inputAmount, inputScale, destinationCurrencyId, result, nanoTime - System.nanoTime of the conversion
+	 * @Response - N/A
+	 */
+	public static void recordConversion(CurrencyRegistry registry, int sourceCurrencyId, long inputAmount, int inputScale, int destinationCurrencyId, long result, long nanoTime){
+		if(PRODUCTION){
+			record(EVENT_CONVERSION, nanoTime, registry, sourceCurrencyId, destinationCurrencyId, inputAmount, inputScale, result, null, null);
+		}
+	}
+
+	/**
+	 * The following operation records a failed conversion in production logging mode and logs it with the recent events of the thread.
+	 * @Input - exception
+	 * @Response - N/A
+	 */
+	public static void recordError(CurrencyException exception){
+		if(!PRODUCTION){
+			return;
+		}
+		record(EVENT_ERROR, System.nanoTime(), null, -1, -1, 0L, 0, 0L, exception.getMessage(), null);
+		StringBuilder output = new StringBuilder(1024);
+		output.append("ConversionEventLog->recordError()-> ").append(exception.getMessage()).append(", recent conversions of thread ")
+				.append(Thread.currentThread().getName()).append(" :");
+		dump(RINGS[LatencyHistogram.getStripe(RINGS.length - 1)], Thread.currentThread().getId(), ERROR_DUMP_EVENTS, output);
+		LOG.severe(output.toString());
+	}
+
+	/**
+	 * The following operation writes the event into the ring of the stripe of the current thread.
+	 * @Input - type, nanoTime, registry, sourceCurrencyId, destinationCurrencyId, amount, scale, result, amountReference, resultReference
+	 * @Response - N/A
+	 */
+	private static void record(int type, long nanoTime, CurrencyRegistry registry, int sourceCurrencyId, int destinationCurrencyId, long amount, int scale, long result,
+			Object amountReference, Object resultReference){
+		Ring ring = RINGS[LatencyHistogram.getStripe(RINGS.length - 1)];
+		long sequence = ring.sequence.getAndIncrement();
+		int slot = (int) sequence & (CurrencyCalculatorConstant.EVENT_LOG_CAPACITY - 1);
+		ring.tags.lazySet(slot, 0L);
+		int field = slot * EVENT_FIELDS;
+		ring.fields[field] = nanoTime;
+		ring.fields[field + 1] = Thread.currentThread().getId();
+		ring.fields[field + 2] = ((long) type << 56) | ((long) (scale & 0xFF) << 48) | ((sourceCurrencyId & 0xFFFFL) << 16) | (destinationCurrencyId & 0xFFFFL);
+		ring.fields[field + 3] = amount;
+		ring.fields[field + 4] = result;
+		int reference = slot * EVENT_REFERENCES;
+		ring.references[reference] = registry;
+		ring.references[reference + 1] = amountReference;
+		ring.references[reference + 2] = resultReference;
+		ring.tags.lazySet(slot, sequence + 1);
+	}
+
+	/**
+	 * The following operation writes the recent events of all threads, one per line, oldest first per stripe. Nothing is written unless
+	 * production logging mode is on.
+	 * @Input - output
+	 * @Response - N/A
+	 */
+	public static void dump(Appendable output) throws IOException{
+		StringBuilder events = new StringBuilder(4096);
+		for (Ring ring : RINGS) {
+			dump(ring, -1L, CurrencyCalculatorConstant.EVENT_LOG_CAPACITY, events);
+		}
+		output.append(events);
+	}
+
+	/**
+	 * The following operation appends up to limit of the most recent events of the ring, of the thread or of all threads when threadId is -1.
+	 * @Input - ring, threadId, limit, output
+	 * @Response - N/A
+	 */
+	private static void dump(Ring ring, long threadId, int limit, StringBuilder output){
+		long last = ring.sequence.get();
+		long first = Math.max(0L, last - CurrencyCalculatorConstant.EVENT_LOG_CAPACITY);
+		/*
+		 * The oldest event of the limit is searched from the newest one backwards.
+		 */
+		long start = last;
+		for (int found = 0; start > first && found < limit; ) {
+			start--;
+			int slot = (int) start & (CurrencyCalculatorConstant.EVENT_LOG_CAPACITY - 1);
+			if(threadId < 0L || ring.fields[slot * EVENT_FIELDS + 1] == threadId){
+				found++;
+			}
+		}
+		for (long sequence = start; sequence < last; sequence++) {
+			int slot = (int) sequence & (CurrencyCalculatorConstant.EVENT_LOG_CAPACITY - 1);
+			if(ring.tags.get(slot) != sequence + 1){
+				continue;
+			}
+			int field = slot * EVENT_FIELDS;
+			int reference = slot * EVENT_REFERENCES;
+			long time = ring.fields[field];
+			long thread = ring.fields[field + 1];
+			long packed = ring.fields[field + 2];
+			long amount = ring.fields[field + 3];
+			long result = ring.fields[field + 4];
+			Object registry = ring.references[reference];
+			Object amountReference = ring.references[reference + 1];
+			Object resultReference = ring.references[reference + 2];
+			if(ring.tags.get(slot) != sequence + 1 || (threadId >= 0L && thread != threadId)){
+				continue;
+			}
+			output.append('\n').append(String.format("%tF %<tT.%<tL", new Date(START_MILLIS + (time - START_NANOS) / 1000000L))).append(" [thread ").append(thread).append("] ");
+			if((int) (packed >>> 56) == EVENT_ERROR){
+				output.append("failed : ").append(amountReference);
+				continue;
+			}
+			CurrencyRegistry currencyRegistry = (CurrencyRegistry) registry;
+			int source = (int) ((packed >>> 16) & 0xFFFFL);
+			int destination = (int) (packed & 0xFFFFL);
+			output.append(currencyRegistry.getCurrencyCode(source)).append(' ');
+			if(amountReference != null){
+				output.append(((BigDecimal) amountReference).toPlainString());
+			}else{
+				output.append(BigDecimal.valueOf(amount, (int) ((packed >>> 48) & 0xFFL)).toPlainString());
+			}
+			output.append(" = ").append(currencyRegistry.getCurrencyCode(destination)).append(' ');
+			if(resultReference != null){
+				output.append(((BigDecimal) resultReference).toPlainString());
+			}else{
+				output.append(BigDecimal.valueOf(result, currencyRegistry.getDecimalPlace(destination)).toPlainString());
+			}
+		}
+	}
+}
@@ -0,0 +1,387 @@
+package currency.calculator.app.metrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+
+/**
+ * This class contains the conversion metrics. Conversions are counted by route - D, I, U, via USD, via EUR or via another currency - and by
+ * currency pair, their latency is kept in a striped histogram per route and failed conversions are counted by the message of the
+ * CurrencyException. Counters are LongAdders and striped histograms, hence recording does not lock, does not allocate once a pair has
+ * been seen and threads do not contend on a shared counter. Metrics are on unless -Dcurrency.metrics=false is set, and are exported as
+ * Prometheus text and as JMX MBean.
+ * @Operations: isEnabled, recordConversion, recordError, getConversionCount, getErrorCount, getLatencyHistogram, dumpConversionEvents, writePrometheus, registerMBean
+ * @Developer: Singh, Sunny
+ */
+public final class ConversionMetrics implements ConversionMetricsMXBean {
+
+	private static final Logger LOG = Logger.getLogger(ConversionMetrics.class.getName());
+
+	//Routes conversions are counted by
+	public static final int ROUTE_UNITY = 0;
+	public static final int ROUTE_DIRECT = 1;
+	public static final int ROUTE_INVERSION = 2;
+	public static final int ROUTE_VIA_USD = 3;
+	public static final int ROUTE_VIA_EUR = 4;
+	public static final int ROUTE_VIA_OTHER = 5;
+	private static final String[] ROUTE_LABELS = { "U", "D", "I", "via-USD", "via-EUR", "via-other" };
+
+	//Distinct error messages kept, further messages are counted as other
+	private static final int MAX_ERROR_MESSAGES = 64;
+	private static final String OTHER_ERROR_MESSAGE = "other";
+
+	public static final String MBEAN_NAME = "currency.calculator.app:type=ConversionMetrics";
+
+	private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(CurrencyCalculatorConstant.METRICS_PROPERTY));
+	private static final ConversionMetrics INSTANCE = new ConversionMetrics();
+
+	private final LongAdder[] routeCounts = new LongAdder[ROUTE_LABELS.length];
+	private final LatencyHistogram[] routeLatencies = new LatencyHistogram[ROUTE_LABELS.length];
+	private volatile AtomicReferenceArray<LongAdder> pairCounts = new AtomicReferenceArray<LongAdder>(0);
+	private volatile CurrencyRegistry pairRegistry;
+	private final ConcurrentHashMap<String, LongAdder> errorCounts = new ConcurrentHashMap<String, LongAdder>();
+	private final LongAdder errorCount = new LongAdder();
+
+	/**
+	 * The private constructor for not to allow creation of object for this class
+	 */
+	private ConversionMetrics() {
+		for (int route = 0; route < ROUTE_LABELS.length; route++) {
+			routeCounts[route] = new LongAdder();
+			routeLatencies[route] = new LatencyHistogram();
+		}
+	}
+
+	/**
+	 * The following operation returns the metrics of this JVM.
+	 * @Input - N/A
+	 * @Response - ConversionMetrics
+	 */
+	public static ConversionMetrics getInstance(){
+		return INSTANCE;
+	}
+
+	/**
+	 * The following operation returns true when metrics are recorded.
+	 * @Input - N/A
+	 * @Response - boolean
+	 */
+	public static boolean isEnabled(){
+		return ENABLED;
+	}
+
+	/**
+	 * The following operation records a conversion of the currency pair of the matrix which took latencyNanos.
+	 * @Input - matrix, sourceCurrencyId, destinationCurrencyId, latencyNanos
+	 * @Response - N/A
+	 */
+	public static void recordConversion(CurrencyRateMatrix matrix, int sourceCurrencyId, int destinationCurrencyId, long latencyNanos){
+		if(!ENABLED){
+			return;
+		}
+		int route = getRoute(matrix, sourceCurrencyId, destinationCurrencyId);
+		INSTANCE.routeCounts[route].increment();
+		INSTANCE.routeLatencies[route].record(latencyNanos);
+		INSTANCE.getPairCount(matrix, sourceCurrencyId, destinationCurrencyId).increment();
+	}
+
+	/**
+	 * The following operation records a conversion which failed with the message of the exception, also in the event log of production
+	 * logging mode, and returns the exception, hence the throw site reads throw ConversionMetrics.recordError(new CurrencyException(...)).
+	 * @Input - exception
+	 * @Response - CurrencyException
+	 */
+	public static CurrencyException recordError(CurrencyException exception){
+		ConversionEventLog.recordError(exception);
+		recordError(exception.getMessage());
+		return exception;
+	}
+
+	/**
+	 * The following operation records a conversion which failed with the message.
+	 * @Input - message
+	 * @Response - N/A
+	 */
+	public static void recordError(String message){
+		if(!ENABLED){
+			return;
+		}
+		INSTANCE.errorCount.increment();
+		String key = message == null ? OTHER_ERROR_MESSAGE : message.trim();
+		LongAdder counter = INSTANCE.errorCounts.get(key);
+		if(counter == null){
+			if(INSTANCE.errorCounts.size() >= MAX_ERROR_MESSAGES){
+				key = OTHER_ERROR_MESSAGE;
+			}
+			counter = INSTANCE.errorCounts.computeIfAbsent(key, k -> new LongAdder());
+		}
+		counter.increment();
+	}
+
+	/**
+	 * The following operation returns route of the currency pair the conversion is counted by.
+	 * @Input - matrix, sourceCurrencyId, destinationCurrencyId
+	 * @Response - int
+	 */
+	private static int getRoute(CurrencyRateMatrix matrix, int sourceCurrencyId, int destinationCurrencyId){
+		switch (matrix.getRouteType(sourceCurrencyId, destinationCurrencyId)) {
+		case CurrencyCalculatorConstant.ROUTE_TYPE_DIRECT:
+			return ROUTE_DIRECT;
+		case CurrencyCalculatorConstant.ROUTE_TYPE_INVERSION:
+			return ROUTE_INVERSION;
+		case CurrencyCalculatorConstant.ROUTE_TYPE_CROSS:
+			String crossCurrency = matrix.getRegistry().getCurrencyCode(matrix.getCrossCurrencyId(sourceCurrencyId, destinationCurrencyId));
+			return "USD".equals(crossCurrency) ? ROUTE_VIA_USD : "EUR".equals(crossCurrency) ? ROUTE_VIA_EUR : ROUTE_VIA_OTHER;
+		default:
+			return ROUTE_UNITY;
+		}
+	}
+
+	/**
+	 * The following operation returns counter of the currency pair, the counter is created when the pair converts for the first time. The
+	 * counters belong to the registry of the matrix, they start again when a matrix with another registry is loaded.
+	 * @Input - matrix, sourceCurrencyId, destinationCurrencyId
+	 * @Response - LongAdder
+	 */
+	private LongAdder getPairCount(CurrencyRateMatrix matrix, int sourceCurrencyId, int destinationCurrencyId){
+		AtomicReferenceArray<LongAdder> counts = pairCounts;
+		if(pairRegistry != matrix.getRegistry()){
+			synchronized (this) {
+				if(pairRegistry != matrix.getRegistry()){
+					pairCounts = new AtomicReferenceArray<LongAdder>(matrix.getSize() * matrix.getSize());
+					pairRegistry = matrix.getRegistry();
+				}
+				counts = pairCounts;
+			}
+		}
+		int index = sourceCurrencyId * matrix.getSize() + destinationCurrencyId;
+		LongAdder counter = counts.get(index);
+		if(counter == null){
+			counts.compareAndSet(index, null, new LongAdder());
+			counter = counts.get(index);
+		}
+		return counter;
+	}
+
+	/**
+	 * The following operation returns number of conversions.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getConversionCount(){
+		long count = 0L;
+		for (LongAdder routeCount : routeCounts) {
+			count += routeCount.sum();
+		}
+		return count;
+	}
+
+	/**
+	 * The following operation returns number of conversions of the route, i.e. ROUTE_DIRECT.
+	 * @Input - route
+	 * @Response - long
+	 */
+	public long getConversionCount(int route){
+		return routeCounts[route].sum();
+	}
+
+	/**
+	 * The following operation returns number of conversions of the currency pair, i.e. AUDUSD.
+	 * @Input - currencyPair
+	 * @Response - long
+	 */
+	public long getConversionCount(String currencyPair){
+		CurrencyRegistry registry = pairRegistry;
+		if(registry == null || currencyPair == null || currencyPair.length() != 6){
+			return 0L;
+		}
+		int source = registry.getCurrencyId(currencyPair.substring(0, 3));
+		int destination = registry.getCurrencyId(currencyPair.substring(3));
+		AtomicReferenceArray<LongAdder> counts = pairCounts;
+		if(source < 0 || destination < 0 || (source * registry.getSize() + destination) >= counts.length()){
+			return 0L;
+		}
+		LongAdder counter = counts.get(source * registry.getSize() + destination);
+		return counter == null ? 0L : counter.sum();
+	}
+
+	/**
+	 * The following operation returns number of failed conversions.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getErrorCount(){
+		return errorCount.sum();
+	}
+
+	/**
+	 * The following operation returns latency histogram of the route.
+	 * @Input - route
+	 * @Response - LatencyHistogram
+	 */
+	public LatencyHistogram getLatencyHistogram(int route){
+		return routeLatencies[route];
+	}
+
+	/**
+	 * The following operation returns number of conversions by route label.
+	 * @Input - N/A
+	 * @Response - Map
+	 */
+	public Map<String, Long> getConversionCountByRoute(){
+		Map<String, Long> counts = new TreeMap<String, Long>();
+		for (int route = 0; route < ROUTE_LABELS.length; route++) {
+			counts.put(ROUTE_LABELS[route], routeCounts[route].sum());
+		}
+		return counts;
+	}
+
+	/**
+	 * The following operation returns number of failed conversions by message.
+	 * @Input - N/A
+	 * @Response - Map
+	 */
+	public Map<String, Long> getErrorCountByMessage(){
+		Map<String, Long> counts = new TreeMap<String, Long>();
+		for (Map.Entry<String, LongAdder> entry : errorCounts.entrySet()) {
+			counts.put(entry.getKey(), entry.getValue().sum());
+		}
+		return counts;
+	}
+
+	/**
+	 * The following operation returns latency of all routes at percentile 50, 99, 99.9 and the largest one, in nanoseconds.
+	 * @Input - N/A
+	 * @Response - Map
+	 */
+	public Map<String, Long> getLatencyPercentileNanos(){
+		long[] buckets = new long[LatencyHistogram.BUCKET_COUNT];
+		for (LatencyHistogram histogram : routeLatencies) {
+			long[] routeBuckets = histogram.getBucketCounts();
+			for (int index = 0; index < buckets.length; index++) {
+				buckets[index] += routeBuckets[index];
+			}
+		}
+		Map<String, Long> percentiles = new TreeMap<String, Long>();
+		percentiles.put("p50", LatencyHistogram.getValueAtPercentile(buckets, 50.0));
+		percentiles.put("p99", LatencyHistogram.getValueAtPercentile(buckets, 99.0));
+		percentiles.put("p999", LatencyHistogram.getValueAtPercentile(buckets, 99.9));
+		percentiles.put("max", LatencyHistogram.getValueAtPercentile(buckets, 100.0));
+		return percentiles;
+	}
+
+	/**
+	 * The following operation returns the recent conversion events of all threads, empty unless production logging mode is on.
+	 * @Input - N/A
+	 * @Response - String
+	 */
+	public String dumpConversionEvents(){
+		StringBuilder output = new StringBuilder();
+		try {
+			ConversionEventLog.dump(output);
+		} catch (IOException ex) {
+			LOG.severe("ConversionMetrics->dumpConversionEvents()-> IOException occured while dumping events "+ex.getMessage());
+		}
+		return output.toString();
+	}
+
+	/**
+	 * The following operation writes all metrics in the Prometheus text format. Latency buckets are written per power of two nanoseconds.
+	 * @Input - output
+	 * @Response - N/A
+	 */
+	public void writePrometheus(Appendable output) throws IOException{
+		output.append("# HELP currency_conversions_total Conversions by route\n# TYPE currency_conversions_total counter\n");
+		for (int route = 0; route < ROUTE_LABELS.length; route++) {
+			output.append("currency_conversions_total{route=\"").append(ROUTE_LABELS[route]).append("\"} ").append(Long.toString(routeCounts[route].sum())).append('\n');
+		}
+		output.append("# HELP currency_conversion_pair_total Conversions by currency pair\n# TYPE currency_conversion_pair_total counter\n");
+		CurrencyRegistry registry = pairRegistry;
+		AtomicReferenceArray<LongAdder> counts = pairCounts;
+		if(registry != null){
+			int size = registry.getSize();
+			for (int index = 0; index < counts.length() && index < size * size; index++) {
+				LongAdder counter = counts.get(index);
+				if(counter != null){
+					output.append("currency_conversion_pair_total{pair=\"").append(registry.getCurrencyCode(index / size)).append(registry.getCurrencyCode(index % size))
+							.append("\"} ").append(Long.toString(counter.sum())).append('\n');
+				}
+			}
+		}
+		output.append("# HELP currency_conversion_latency_seconds Latency of conversions by route\n# TYPE currency_conversion_latency_seconds histogram\n");
+		for (int route = 0; route < ROUTE_LABELS.length; route++) {
+			long[] buckets = routeLatencies[route].getBucketCounts();
+			long cumulative = 0L;
+			long total = 0L;
+			for (long count : buckets) {
+				total += count;
+			}
+			for (int index = 0; index < LatencyHistogram.BUCKET_COUNT; index++) {
+				cumulative += buckets[index];
+				long upperBound = LatencyHistogram.getBucketUpperBound(index);
+				/*
+				 * Only bounds just below a power of two from 128 ns to 2^36 ns (about 69 s) are written.
+				 */
+				if(upperBound >= 127L && upperBound < (1L << 36) && Long.bitCount(upperBound + 1) == 1){
+					output.append("currency_conversion_latency_seconds_bucket{route=\"").append(ROUTE_LABELS[route]).append("\",le=\"")
+							.append(Double.toString((upperBound + 1) / 1e9)).append("\"} ").append(Long.toString(cumulative)).append('\n');
+				}
+			}
+			output.append("currency_conversion_latency_seconds_bucket{route=\"").append(ROUTE_LABELS[route]).append("\",le=\"+Inf\"} ").append(Long.toString(total)).append('\n');
+			output.append("currency_conversion_latency_seconds_sum{route=\"").append(ROUTE_LABELS[route]).append("\"} ").append(Double.toString(routeLatencies[route].getSum() / 1e9)).append('\n');
+			output.append("currency_conversion_latency_seconds_count{route=\"").append(ROUTE_LABELS[route]).append("\"} ").append(Long.toString(total)).append('\n');
+		}
+		output.append("# HELP currency_conversion_errors_total Failed conversions by message\n# TYPE currency_conversion_errors_total counter\n");
+		for (Map.Entry<String, Long> entry : getErrorCountByMessage().entrySet()) {
+			output.append("currency_conversion_errors_total{message=\"");
+			String message = entry.getKey();
+			for (int i = 0; i < message.length(); i++) {
+				char character = message.charAt(i);
+				if(character == '\\' || character == '"'){
+					output.append('\\').append(character);
+				}else if(character == '\n'){
+					output.append("\\n");
+				}else{
+					output.append(character);
+				}
+			}
+			output.append("\"} ").append(Long.toString(entry.getValue())).append('\n');
+		}
+	}
+
+	/**
+	 * The following operation registers the metrics with the platform MBean server, once.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public static synchronized void registerMBean(){
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(MBEAN_NAME);
+			if(!server.isRegistered(name)){
+				server.registerMBean(INSTANCE, name);
+			}
+		} catch (JMException ex) {
+			LOG.severe("ConversionMetrics->registerMBean()-> Metrics not registered with JMX "+ex.getMessage());
+			return;
+		}
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("ConversionMetrics->registerMBean()-> Registered "+MBEAN_NAME);
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package currency.calculator.app.metrics;
+
+import java.util.Map;
+
+/**
+ * This interface contains the conversion metrics published over JMX as currency.calculator.app:type=ConversionMetrics.
+ * @Operations: getConversionCount, getErrorCount, getConversionCountByRoute, getErrorCountByMessage, getLatencyPercentileNanos, dumpConversionEvents
+ * @Developer: Singh, Sunny
+ */
+public interface ConversionMetricsMXBean {
+
+	long getConversionCount();
+
+	long getErrorCount();
+
+	Map<String, Long> getConversionCountByRoute();
+
+	Map<String, Long> getErrorCountByMessage();
+
+	//Latency of conversions of all routes by percentile 50, 99, 99.9 and 100 (max bucket)
+	Map<String, Long> getLatencyPercentileNanos();
+
+	//Recent conversions of all threads in production logging mode
+	String dumpConversionEvents();
+}
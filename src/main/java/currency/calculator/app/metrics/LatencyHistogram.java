@@ -0,0 +1,178 @@
+package currency.calculator.app.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class contains a latency histogram with HDR style buckets : every power of two is split into 8 linear sub buckets, hence the bucket of
+ * a value is found with a few bit operations and is at most 12.5% wider than the value. Buckets are striped - every thread records into one
+ * of several copies chosen by its thread id - so that threads converting at the same time do not contend on the same counters. Recording
+ * does not allocate and does not lock, reading sums up the stripes.
+ * @Operations: record, getCount, getSum, getBucketCounts, getBucketIndex, getBucketUpperBound, getValueAtPercentile
+ * @Developer: Singh, Sunny
+ */
+public final class LatencyHistogram {
+
+	//Sub buckets per power of two, as bits
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	//Number of buckets, covering all positive long values up to exponent 62
+	public static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+	//Per stripe the bucket counts followed by count and sum
+	private static final int COUNT_INDEX = BUCKET_COUNT;
+	private static final int SUM_INDEX = BUCKET_COUNT + 1;
+	//Spacing between stripes so that two stripes never share a cache line
+	private static final int STRIPE_LENGTH = BUCKET_COUNT + 2 + 16;
+
+	private final int stripeMask;
+	private final AtomicLongArray counts;
+
+	/**
+	 * The constructor creates a histogram with one stripe per processor, rounded up to a power of two.
+	 */
+	public LatencyHistogram() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * The constructor creates a histogram with at least the given number of stripes.
+	 * @Input - stripes
+	 */
+	public LatencyHistogram(int stripes) {
+		int size = Integer.highestOneBit(Math.max(1, Math.min(stripes, 64)) * 2 - 1);
+		stripeMask = size - 1;
+		counts = new AtomicLongArray(size * STRIPE_LENGTH);
+	}
+
+	/**
+	 * The following operation returns index of the bucket of value, negative values are counted as 0.
+	 * @Input - value
+	 * @Response - int
+	 */
+	public static int getBucketIndex(long value){
+		if(value < SUB_BUCKET_COUNT){
+			return value < 0L ? 0 : (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1));
+	}
+
+	/**
+	 * The following operation returns the largest value of the bucket.
+	 * @Input - index
+	 * @Response - long
+	 */
+	public static long getBucketUpperBound(int index){
+		if(index < SUB_BUCKET_COUNT){
+			return index;
+		}
+		int exponent = (index >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+		long subBucket = index & (SUB_BUCKET_COUNT - 1);
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		long upperBound = (1L << exponent) + (subBucket + 1) * width - 1;
+		return upperBound < 0L ? Long.MAX_VALUE : upperBound;
+	}
+
+	/**
+	 * The following operation records a value into the stripe of the current thread.
+	 * @Input - value
+	 * @Response - N/A
+	 */
+	public void record(long value){
+		int offset = getStripe(stripeMask) * STRIPE_LENGTH;
+		counts.incrementAndGet(offset + getBucketIndex(value));
+		counts.incrementAndGet(offset + COUNT_INDEX);
+		counts.addAndGet(offset + SUM_INDEX, Math.max(value, 0L));
+	}
+
+	/**
+	 * The following operation returns the stripe of the current thread, stripeMask is number of stripes - 1.
+	 * @Input - stripeMask
+	 * @Response - int
+	 */
+	static int getStripe(int stripeMask){
+		long threadId = Thread.currentThread().getId();
+		return (int) ((threadId ^ (threadId >>> 16)) * 0x9E3779B9L >>> 16) & stripeMask;
+	}
+
+	/**
+	 * The following operation returns number of recorded values.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getCount(){
+		return sumStripes(COUNT_INDEX);
+	}
+
+	/**
+	 * The following operation returns sum of recorded values.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getSum(){
+		return sumStripes(SUM_INDEX);
+	}
+
+	/**
+	 * The following operation returns the counts of all buckets.
+	 * @Input - N/A
+	 * @Response - long[]
+	 */
+	public long[] getBucketCounts(){
+		long[] buckets = new long[BUCKET_COUNT];
+		for (int offset = 0; offset < counts.length(); offset += STRIPE_LENGTH) {
+			for (int index = 0; index < BUCKET_COUNT; index++) {
+				buckets[index] += counts.get(offset + index);
+			}
+		}
+		return buckets;
+	}
+
+	/**
+	 * The following operation returns the upper bound of the bucket holding the value at the percentile, 0 when nothing is recorded.
+	 * @Input - percentile, i.e. 99.9
+	 * @Response - long
+	 */
+	public long getValueAtPercentile(double percentile){
+		return getValueAtPercentile(getBucketCounts(), percentile);
+	}
+
+	/**
+	 * The following operation returns the upper bound of the bucket holding the value at the percentile of the bucket counts, 0 when they
+	 * are empty. Bucket counts of several histograms can be added up before.
+	 * @Input - buckets, percentile, i.e. 99.9
+	 * @Response - long
+	 */
+	public static long getValueAtPercentile(long[] buckets, double percentile){
+		long total = 0L;
+		for (long count : buckets) {
+			total += count;
+		}
+		if(total == 0L){
+			return 0L;
+		}
+		long rank = Math.max(1L, (long) Math.ceil(total * Math.min(percentile, 100.0) / 100.0));
+		long seen = 0L;
+		for (int index = 0; index < buckets.length; index++) {
+			seen += buckets[index];
+			if(seen >= rank){
+				return getBucketUpperBound(index);
+			}
+		}
+		return getBucketUpperBound(buckets.length - 1);
+	}
+
+	/**
+	 * The following operation sums up a counter of all stripes.
+	 * @Input - index
+	 * @Response - long
+	 */
+	private long sumStripes(int index){
+		long sum = 0L;
+		for (int offset = 0; offset < counts.length(); offset += STRIPE_LENGTH) {
+			sum += counts.get(offset + index);
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,132 @@
+package currency.calculator.app.server;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+
+/**
+ * This class contains the client of the binary conversion server. A batch of conversions is sent as pipelined request frames in windows which
+ * fit into the socket buffers, the responses of a window are read after the whole window is sent. A client is used by one thread at a time.
+ * @Operations: convert, close
+ * @Developer: Singh, Sunny
+ */
+public final class BinaryConversionClient implements Closeable {
+
+	private static final Logger LOG = Logger.getLogger(BinaryConversionClient.class.getName());
+
+	//Number of requests sent before their responses are read
+	private static final int PIPELINE_WINDOW = 1024;
+
+	private final SocketChannel channel;
+	private final ByteBuffer requests = ByteBuffer.allocateDirect(PIPELINE_WINDOW * BinaryConversionProtocol.REQUEST_LENGTH);
+	private final ByteBuffer responses = ByteBuffer.allocateDirect(PIPELINE_WINDOW * BinaryConversionProtocol.RESPONSE_LENGTH);
+	private final int[] singleSource = new int[1];
+	private final long[] singleAmount = new long[1];
+	private final int[] singleScale = new int[1];
+	private final int[] singleDestination = new int[1];
+	private final long[] singleResult = new long[1];
+	private final byte[] singleStatus = new byte[1];
+	private long nextRequestId = 0;
+
+	/**
+	 * The constructor connects to the server.
+	 * @throws CurrencyException
+	 */
+	public BinaryConversionClient(InetSocketAddress address) throws CurrencyException {
+		try {
+			channel = SocketChannel.open(address);
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, Boolean.TRUE);
+		} catch (IOException ex) {
+			LOG.severe("BinaryConversionClient->BinaryConversionClient()-> IOException occured while connecting "+address+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while connecting to the conversion server",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+	}
+
+	/**
+	 * The following operation converts a single amount scaled by 10^scale.
+	 * @Input - sourceCurrencyId, amount, scale, destinationCurrencyId
+	 * @Response - long, the result scaled by 10^decimal place of the destination currency
+	 * @Exception - CurrencyException when the server can not convert the amount
+	 */
+	public long convert(int sourceCurrencyId, long amount, int scale, int destinationCurrencyId) throws CurrencyException{
+		singleSource[0] = sourceCurrencyId;
+		singleAmount[0] = amount;
+		singleScale[0] = scale;
+		singleDestination[0] = destinationCurrencyId;
+		convert(singleSource, singleAmount, singleScale, singleDestination, singleResult, singleStatus, 1);
+		byte status = singleStatus[0];
+		if(status != BinaryConversionProtocol.STATUS_OK){
+			LOG.severe("BinaryConversionClient->convert()-> Conversion failed with status "+status);
+			throw new CurrencyException(status == BinaryConversionProtocol.STATUS_RATE_NOT_FOUND ? "Currency details are not found in currency matrix table"
+					: status == BinaryConversionProtocol.STATUS_AMOUNT_TOO_LARGE ? "Amount provided is too large" : "Input field provided is not valid ",
+					"BinaryConversionClient->convert()-> Conversion failed with status "+status,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		return singleResult[0];
+	}
+
+	/**
+	 * The following operation converts count amounts, the i-th amount is scaled by 10^scales[i]. Results and statuses are written to the
+	 * arrays, a result is only valid when its status is STATUS_OK.
+	 * @Input - sourceCurrencyIds, amounts, scales, destinationCurrencyIds, results, statuses, count
+	 * @Response - int, number of conversions with STATUS_OK
+	 * @Exception - CurrencyException when the connection fails
+	 */
+	public int convert(int[] sourceCurrencyIds, long[] amounts, int[] scales, int[] destinationCurrencyIds, long[] results, byte[] statuses, int count) throws CurrencyException{
+		int converted = 0;
+		try {
+			for (int start = 0; start < count; start += PIPELINE_WINDOW) {
+				int end = Math.min(count, start + PIPELINE_WINDOW);
+				long firstRequestId = nextRequestId;
+				requests.clear();
+				for (int i = start; i < end; i++) {
+					BinaryConversionProtocol.putRequest(requests, nextRequestId++, sourceCurrencyIds[i], amounts[i], scales[i], destinationCurrencyIds[i]);
+				}
+				requests.flip();
+				while(requests.hasRemaining()){
+					channel.write(requests);
+				}
+				responses.clear();
+				responses.limit((end - start) * BinaryConversionProtocol.RESPONSE_LENGTH);
+				while(responses.hasRemaining()){
+					if(channel.read(responses) < 0){
+						throw new EOFException("Connection closed by the conversion server");
+					}
+				}
+				responses.flip();
+				for (int i = start; i < end; i++) {
+					long requestId = responses.getLong();
+					if(requestId != firstRequestId + i - start){
+						throw new IOException("Response "+requestId+" out of order");
+					}
+					results[i] = responses.getLong();
+					statuses[i] = responses.get();
+					responses.position(responses.position() + 7);
+					if(statuses[i] == BinaryConversionProtocol.STATUS_OK){
+						converted++;
+					}
+				}
+			}
+		} catch (IOException ex) {
+			LOG.severe("BinaryConversionClient->convert()-> IOException occured while converting "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while converting",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		return converted;
+	}
+
+	/**
+	 * The following operation closes the connection.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public void close() throws IOException{
+		channel.close();
+	}
+}
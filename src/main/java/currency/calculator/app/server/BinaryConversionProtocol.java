@@ -0,0 +1,84 @@
+package currency.calculator.app.server;
+
+import java.nio.ByteBuffer;
+
+import currency.calculator.app.util.ConversionResult;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.FixedPointCurrencyCalculator;
+
+/**
+ * This class contains the binary conversion protocol. Requests and responses are frames of fixed length in network byte order, a client may
+ * send any number of requests without waiting for their responses (pipelining), responses come back in the order of the requests.
+ * Request  (24 bytes) : request id (long), amount scaled by 10^scale (long), source currency id (short), destination currency id (short),
+ *                       scale of the amount (byte), 3 bytes reserved
+ * Response (24 bytes) : request id (long), result scaled by 10^decimal place of the destination currency (long), status (byte),
+ *                       decimal place of the result (byte), 6 bytes reserved
+ * Currency ids are the ids of the currency registry, conversions are the same as calculateCurrencyValue - truncated to the decimal place of
+ * the destination currency - calculated by the fixed point engine.
+ * @Operations: putRequest, processRequest
+ * @Developer: Singh, Sunny
+ */
+public final class BinaryConversionProtocol {
+
+	public static final int REQUEST_LENGTH = 24;
+	public static final int RESPONSE_LENGTH = 24;
+
+	//Status of a response, the status of the ConversionResult
+	public static final byte STATUS_OK = ConversionResult.STATUS_OK;
+	public static final byte STATUS_RATE_NOT_FOUND = ConversionResult.STATUS_RATE_NOT_FOUND;
+	public static final byte STATUS_INVALID_INPUT = ConversionResult.STATUS_INVALID_INPUT;
+	public static final byte STATUS_AMOUNT_TOO_LARGE = ConversionResult.STATUS_AMOUNT_TOO_LARGE;
+
+	/**
+	 * The private constructor for not to allow creation of object for this class
+	 */
+	private BinaryConversionProtocol() {
+	}
+
+	/**
+	 * The following operation writes a request frame to buffer.
+	 * @Input - buffer, requestId, sourceCurrencyId, amount, scale, destinationCurrencyId
+	 * @Response - N/A
+	 */
+	public static void putRequest(ByteBuffer buffer, long requestId, int sourceCurrencyId, long amount, int scale, int destinationCurrencyId){
+		buffer.putLong(requestId);
+		buffer.putLong(amount);
+		buffer.putShort((short) sourceCurrencyId);
+		buffer.putShort((short) destinationCurrencyId);
+		buffer.put((byte) scale);
+		buffer.put((byte) 0).put((byte) 0).put((byte) 0);
+	}
+
+	/**
+	 * The following operation reads a request frame from request, converts it with the matrix and writes the response frame to response.
+	 * @Input - matrix, request - positioned at the start of a complete frame, response - with room for a frame
+	 * @Response - byte, status of the response
+	 */
+	public static byte processRequest(CurrencyRateMatrix matrix, ByteBuffer request, ByteBuffer response){
+		return processRequest(matrix, request, response, new ConversionResult());
+	}
+
+	/**
+	 * The following operation reads a request frame from request, converts it with the matrix into the reusable result and writes the 
+	 * response frame to response.
+	 * @Input - matrix, request - positioned at the start of a complete frame, response - with room for a frame, result
+	 * @Response - byte, status of the response
+	 */
+	public static byte processRequest(CurrencyRateMatrix matrix, ByteBuffer request, ByteBuffer response, ConversionResult result){
+		long requestId = request.getLong();
+		long amount = request.getLong();
+		int sourceCurrencyId = request.getShort();
+		int destinationCurrencyId = request.getShort();
+		int scale = request.get();
+		request.position(request.position() + 3);
+		FixedPointCurrencyCalculator.convert(matrix, sourceCurrencyId, amount, scale, destinationCurrencyId, result);
+		byte status = (byte) result.getStatus();
+		int decimalPlace = status == STATUS_OK || status == STATUS_AMOUNT_TOO_LARGE ? matrix.getRegistry().getDecimalPlace(destinationCurrencyId) : 0;
+		response.putLong(requestId);
+		response.putLong(result.getScaledValue());
+		response.put(status);
+		response.put((byte) decimalPlace);
+		response.putShort((short) 0).putInt(0);
+		return status;
+	}
+}
@@ -0,0 +1,276 @@
+package currency.calculator.app.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.ConversionResult;
+import currency.calculator.app.util.CurrencyRateMatrix;
+
+/**
+ * This class contains the binary conversion server. A single thread runs a non blocking selector loop over all connections, converts every
+ * complete request frame (see BinaryConversionProtocol) as soon as it arrives and writes the responses back in one go. When a client does
+ * not read its responses the server stops reading its requests until the responses are written.
+ * @Operations: start, run, close, getPort, getRequestCount
+ * @Developer: Singh, Sunny
+ */
+public final class BinaryConversionServer implements Runnable, Closeable {
+
+	private static final Logger LOG = Logger.getLogger(BinaryConversionServer.class.getName());
+
+	//Buffer size per connection for requests and for responses
+	private static final int CONNECTION_BUFFER_SIZE = 64 * 1024;
+
+	private final Selector selector;
+	private final ServerSocketChannel serverChannel;
+	private final AtomicLong requestCount = new AtomicLong();
+	//Result of the conversions of the selector thread
+	private final ConversionResult result = new ConversionResult();
+	private volatile boolean closed = false;
+	private Thread thread;
+
+	/**
+	 * Buffers of a connection.
+	 */
+	private static final class Connection {
+		private final ByteBuffer requests = ByteBuffer.allocateDirect(CONNECTION_BUFFER_SIZE);
+		private final ByteBuffer responses = ByteBuffer.allocateDirect(CONNECTION_BUFFER_SIZE);
+	}
+
+	/**
+	 * The constructor loads the currency matrix and binds the server to the address, port 0 binds any free port.
+	 * @throws CurrencyException
+	 */
+	public BinaryConversionServer(InetSocketAddress address) throws CurrencyException {
+		CurrencyRateMatrix.getInstance();
+		try {
+			selector = Selector.open();
+			serverChannel = ServerSocketChannel.open();
+			serverChannel.bind(address);
+			serverChannel.configureBlocking(false);
+			serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		} catch (IOException ex) {
+			LOG.severe("BinaryConversionServer->BinaryConversionServer()-> IOException occured while binding "+address+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while starting the conversion server",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+	}
+
+	/**
+	 * The following operation starts the selector loop on its own thread, which keeps the JVM running until the server is closed.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public synchronized void start(){
+		thread = new Thread(this, "binary-conversion-server");
+		thread.start();
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("BinaryConversionServer->start()-> Listening on port "+getPort());
+		}
+	}
+
+	/**
+	 * The following operation runs the selector loop until the server is closed.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public void run(){
+		try {
+			while(!closed){
+				selector.select();
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while(keys.hasNext()){
+					SelectionKey key = keys.next();
+					keys.remove();
+					try {
+						if(!key.isValid()){
+							continue;
+						}
+						if(key.isAcceptable()){
+							accept();
+						}else{
+							if(key.isWritable()){
+								write(key);
+							}
+							if(key.isValid() && key.isReadable()){
+								read(key);
+							}
+						}
+					} catch (IOException ex) {
+						closeConnection(key);
+					}
+				}
+			}
+		} catch (ClosedSelectorException ex) {
+			if(LOG.isLoggable(Level.INFO)){
+				LOG.info("BinaryConversionServer->run()-> Server closed");
+			}
+		} catch (IOException ex) {
+			LOG.severe("BinaryConversionServer->run()-> IOException occured in selector loop "+ex.getMessage());
+		} finally {
+			closeAll();
+		}
+	}
+
+	/**
+	 * The following operation accepts a new connection.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	private void accept() throws IOException{
+		SocketChannel channel = serverChannel.accept();
+		if(channel == null){
+			return;
+		}
+		channel.configureBlocking(false);
+		channel.setOption(StandardSocketOptions.TCP_NODELAY, Boolean.TRUE);
+		channel.register(selector, SelectionKey.OP_READ, new Connection());
+	}
+
+	/**
+	 * The following operation reads requests of the connection, converts all complete frames and writes their responses.
+	 * @Input - key
+	 * @Response - N/A
+	 */
+	private void read(SelectionKey key) throws IOException{
+		Connection connection = (Connection) key.attachment();
+		SocketChannel channel = (SocketChannel) key.channel();
+		if(channel.read(connection.requests) < 0){
+			closeConnection(key);
+			return;
+		}
+		process(connection);
+		write(key);
+	}
+
+	/**
+	 * The following operation converts the complete request frames for which there is room in the response buffer.
+	 * @Input - connection
+	 * @Response - N/A
+	 */
+	private void process(Connection connection) throws IOException{
+		/*
+		 * The current matrix is read once per batch of frames, hence reloaded rates are used from the next batch on.
+		 */
+		CurrencyRateMatrix matrix;
+		try {
+			matrix = CurrencyRateMatrix.getInstance();
+		} catch (CurrencyException ex) {
+			throw new IOException(ex.getMessage());
+		}
+		ByteBuffer requests = connection.requests;
+		ByteBuffer responses = connection.responses;
+		requests.flip();
+		long processed = 0;
+		while(requests.remaining() >= BinaryConversionProtocol.REQUEST_LENGTH && responses.remaining() >= BinaryConversionProtocol.RESPONSE_LENGTH){
+			BinaryConversionProtocol.processRequest(matrix, requests, responses, result);
+			processed++;
+		}
+		requests.compact();
+		requestCount.addAndGet(processed);
+	}
+
+	/**
+	 * The following operation writes pending responses. Reading is paused while responses are pending and resumed once they are written.
+	 * @Input - key
+	 * @Response - N/A
+	 */
+	private void write(SelectionKey key) throws IOException{
+		Connection connection = (Connection) key.attachment();
+		ByteBuffer responses = connection.responses;
+		responses.flip();
+		((SocketChannel) key.channel()).write(responses);
+		responses.compact();
+		if(responses.position() > 0){
+			key.interestOps(SelectionKey.OP_WRITE);
+		}else{
+			key.interestOps(SelectionKey.OP_READ);
+			if(connection.requests.position() >= BinaryConversionProtocol.REQUEST_LENGTH){
+				/*
+				 * Requests which waited for room in the response buffer are converted now.
+				 */
+				process(connection);
+				write(key);
+			}
+		}
+	}
+
+	/**
+	 * The following operation closes a connection.
+	 * @Input - key
+	 * @Response - N/A
+	 */
+	private static void closeConnection(SelectionKey key){
+		key.cancel();
+		try {
+			key.channel().close();
+		} catch (IOException ex) {
+			LOG.severe("IOException Exception occured while closing the connection "+ex.getMessage());
+		}
+	}
+
+	/**
+	 * The following operation returns port the server is bound to.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getPort(){
+		return serverChannel.socket().getLocalPort();
+	}
+
+	/**
+	 * The following operation returns number of converted requests.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getRequestCount(){
+		return requestCount.get();
+	}
+
+	/**
+	 * The following operation stops the server and waits for the selector loop to close all connections.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public synchronized void close() throws IOException{
+		closed = true;
+		if(thread == null){
+			closeAll();
+			return;
+		}
+		selector.wakeup();
+		try {
+			thread.join(CurrencyCalculatorConstant.SERVER_SHUTDOWN_SECONDS * 1000L);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * The following operation closes the server channel, all connections and the selector.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	private void closeAll(){
+		try {
+			for (SelectionKey key : selector.keys()) {
+				key.channel().close();
+			}
+			selector.close();
+		} catch (IOException ex) {
+			LOG.severe("IOException Exception occured while closing the conversion server "+ex.getMessage());
+		}
+	}
+}
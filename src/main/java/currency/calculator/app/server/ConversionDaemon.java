@@ -0,0 +1,366 @@
+package currency.calculator.app.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.bulk.BulkCurrencyConverter;
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.ConversionRequestParser;
+import currency.calculator.app.util.ConversionResult;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.RateBooks;
+
+/**
+ * This class contains the conversion daemon, a long running JVM keeping the rates loaded for scripts which would otherwise start a JVM per
+ * conversion. It listens on a Unix domain socket file, which needs Java 16 or later, or on a port of the loopback address. Every connection
+ * is a session of its own thread : one request per line in the format <ccy1> <amount1> in <ccy2>, answered with one line in the format of
+ * the command line, e.g. AUD 100.00 = USD 83.71, or with the error message. A session also takes the commands reload, book [name] to
+ * convert with a rate book (see RateBooks) and quit. The repl mode runs the same session on the console.
+ * @Operations: start, run, close, serve, getSocket, getSessionCount, getDefaultSocket, getAddress
+ * @Developer: Singh, Sunny
+ */
+public final class ConversionDaemon implements Runnable, Closeable {
+
+	private static final Logger LOG = Logger.getLogger(ConversionDaemon.class.getName());
+
+	//Prompt of an interactive session
+	private static final String PROMPT = "> ";
+
+	private final String socket;
+	private final File socketFile;
+	private final ServerSocketChannel serverChannel;
+	private final boolean fixedPoint;
+	private final Set<SocketChannel> sessions = ConcurrentHashMap.newKeySet();
+	private final AtomicLong sessionCount = new AtomicLong();
+	private volatile boolean closed = false;
+	private Thread thread;
+
+	/**
+	 * The constructor loads the currency matrix and binds the daemon to the socket, a socket file or a port of the loopback address. A socket
+	 * file left behind by a daemon which is not running any more is replaced.
+	 * @throws CurrencyException when the socket can not be bound or a daemon is running on the socket file
+	 */
+	public ConversionDaemon(String socket, boolean fixedPoint) throws CurrencyException {
+		CurrencyRateMatrix.getInstance();
+		SocketAddress address = getAddress(socket);
+		this.socket = socket;
+		this.socketFile = address instanceof InetSocketAddress ? null : new File(socket);
+		this.fixedPoint = fixedPoint;
+		if(socketFile != null && socketFile.exists()){
+			try {
+				openChannel(address).close();
+				LOG.severe("ConversionDaemon->ConversionDaemon()-> Conversion daemon already running on "+socket);
+				throw new CurrencyException("Conversion daemon already running","ConversionDaemon->ConversionDaemon()-> Conversion daemon already running on "+socket,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+			} catch (IOException ex) {
+				if(LOG.isLoggable(Level.INFO)){
+					LOG.info("ConversionDaemon->ConversionDaemon()-> Replacing stale socket file "+socket);
+				}
+				socketFile.delete();
+			}
+		}
+		try {
+			serverChannel = openServerChannel(address);
+			serverChannel.bind(address);
+		} catch (IOException ex) {
+			LOG.severe("ConversionDaemon->ConversionDaemon()-> IOException occured while binding "+socket+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while starting the conversion daemon",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+	}
+
+	/**
+	 * The following operation starts accepting sessions on its own thread, which keeps the JVM running until the daemon is closed.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public synchronized void start(){
+		thread = new Thread(this, "conversion-daemon");
+		thread.start();
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("ConversionDaemon->start()-> Listening on "+socket);
+		}
+	}
+
+	/**
+	 * The following operation accepts sessions until the daemon is closed, every session runs on a daemon thread of its own.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public void run(){
+		try {
+			while(!closed){
+				final SocketChannel channel = serverChannel.accept();
+				sessions.add(channel);
+				Thread session = new Thread(new Runnable() {
+					public void run() {
+						serve(channel);
+					}
+				}, "conversion-daemon-session-"+sessionCount.incrementAndGet());
+				session.setDaemon(true);
+				session.start();
+			}
+		} catch (AsynchronousCloseException ex) {
+			if(LOG.isLoggable(Level.INFO)){
+				LOG.info("ConversionDaemon->run()-> Daemon closed");
+			}
+		} catch (IOException ex) {
+			LOG.severe("ConversionDaemon->run()-> IOException occured while accepting sessions "+ex.getMessage());
+		}
+	}
+
+	/**
+	 * The following operation runs the session of a connection until the client quits or disconnects.
+	 * @Input - channel
+	 * @Response - N/A
+	 */
+	private void serve(SocketChannel channel){
+		try {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+			Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+			serve(reader, writer, false, fixedPoint);
+		} catch (IOException ex) {
+			if(LOG.isLoggable(Level.INFO)){
+				LOG.info("ConversionDaemon->serve()-> Session ended "+ex.getMessage());
+			}
+		} finally {
+			sessions.remove(channel);
+			try {
+				channel.close();
+			} catch (IOException ex) {
+				LOG.severe("IOException Exception occured while closing the session "+ex.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * The following operation runs a session : every line of reader is a request or a command, answered with one line on writer. Responses
+	 * are flushed when no more requests are buffered, hence requests sent in one go are answered in one go. With prompt a prompt is written
+	 * before every request, for the console.
+	 * @Input - reader, writer, prompt, fixedPoint
+	 * @Response - long, number of requests converted
+	 * @Exception - IOException
+	 */
+	public static long serve(BufferedReader reader, Writer writer, boolean prompt, boolean fixedPoint) throws IOException{
+		ConversionRequestParser parser = new ConversionRequestParser();
+		ConversionResult result = new ConversionResult();
+		StringBuilder output = new StringBuilder(128);
+		String book = null;
+		long convertedCount = 0;
+		if(prompt){
+			writer.write(PROMPT);
+			writer.flush();
+		}
+		String line;
+		while((line = reader.readLine()) != null){
+			String request = line.trim();
+			String command = request.toLowerCase(Locale.ROOT);
+			if(CurrencyCalculatorConstant.DAEMON_COMMAND_QUIT.equals(command) || CurrencyCalculatorConstant.DAEMON_COMMAND_EXIT.equals(command)){
+				break;
+			}
+			output.setLength(0);
+			if(request.isEmpty()){
+				//Blank lines are not answered
+			}else if(CurrencyCalculatorConstant.DAEMON_COMMAND_RELOAD.equals(command)){
+				try {
+					output.append("Reloaded rates of ").append(CurrencyRateMatrix.reload().getSize()).append(" currencies\n");
+				} catch (CurrencyException ex) {
+					output.append(ex.getMessage()).append('\n');
+				}
+			}else if(command.startsWith(CurrencyCalculatorConstant.DAEMON_COMMAND_BOOK) && (command.length() == CurrencyCalculatorConstant.DAEMON_COMMAND_BOOK.length()
+					|| Character.isWhitespace(command.charAt(CurrencyCalculatorConstant.DAEMON_COMMAND_BOOK.length())))){
+				String name = request.substring(CurrencyCalculatorConstant.DAEMON_COMMAND_BOOK.length()).trim();
+				try {
+					RateBooks.getBook(name);
+					book = name.isEmpty() ? null : name;
+					output.append("Using rate book ").append(book == null ? CurrencyCalculatorConstant.RATE_BOOK_DEFAULT : book).append('\n');
+				} catch (CurrencyException ex) {
+					output.append(ex.getMessage()).append(' ').append(name).append('\n');
+				}
+			}else{
+				/*
+				 * The rate book is looked up for every request, hence reloaded rates are used from the next request on.
+				 */
+				try {
+					if(BulkCurrencyConverter.convertLine(RateBooks.getBook(book), request, parser, result, output, fixedPoint)){
+						convertedCount++;
+					}
+				} catch (CurrencyException ex) {
+					output.append(ex.getMessage());
+				}
+				output.append('\n');
+			}
+			writer.append(output);
+			if(prompt){
+				writer.write(PROMPT);
+			}
+			if(!reader.ready()){
+				writer.flush();
+			}
+		}
+		writer.flush();
+		return convertedCount;
+	}
+
+	/**
+	 * The following operation stops accepting sessions, ends the running sessions and removes the socket file.
+	 * @Input - N/A
+	 * @Response - N/A
+	 * @Exception - IOException
+	 */
+	public void close() throws IOException{
+		closed = true;
+		try {
+			serverChannel.close();
+			for (SocketChannel channel : sessions) {
+				channel.close();
+			}
+		} finally {
+			if(socketFile != null){
+				socketFile.delete();
+			}
+		}
+	}
+
+	/**
+	 * The following operation returns the socket, socket file or port, the daemon listens on.
+	 * @Input - N/A
+	 * @Response - String
+	 */
+	public String getSocket(){
+		return socket;
+	}
+
+	/**
+	 * The following operation returns number of sessions accepted.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getSessionCount(){
+		return sessionCount.get();
+	}
+
+	/**
+	 * The following operation returns the default socket file, currency-calculator.sock in the temporary directory.
+	 * @Input - N/A
+	 * @Response - String
+	 */
+	public static String getDefaultSocket(){
+		return new File(System.getProperty("java.io.tmpdir"), CurrencyCalculatorConstant.DAEMON_DEFAULT_SOCKET_FILE).getPath();
+	}
+
+	/**
+	 * The following operation returns the address of the socket : a port of the loopback address when socket is a number, the Unix domain
+	 * socket address of the socket file otherwise.
+	 * @Input - socket
+	 * @Response - SocketAddress
+	 * @Exception - CurrencyException when socket is missing or the JVM has no Unix domain sockets
+	 */
+	public static SocketAddress getAddress(String socket) throws CurrencyException{
+		if(socket == null || socket.trim().isEmpty()){
+			LOG.severe("ConversionDaemon->getAddress()-> Invalid input provided -> socket is missing");
+			throw new CurrencyException("Input field provided is not valid ","ConversionDaemon->getAddress()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		String value = socket.trim();
+		if(isPort(value)){
+			return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(value));
+		}
+		/*
+		 * Unix domain sockets are part of Java 16 and later, they are looked up at runtime to keep running on older JVMs with a port.
+		 */
+		try {
+			return (SocketAddress) Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class).invoke(null, value);
+		} catch (ReflectiveOperationException ex) {
+			LOG.severe("ConversionDaemon->getAddress()-> Unix domain sockets are not available, socket : "+value);
+			throw new CurrencyException("Unix domain sockets are not supported by this JVM, use a port instead","ConversionDaemon->getAddress()-> Unix domain sockets are not available "+ex,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+	}
+
+	/**
+	 * The following operation returns true when socket is a port number.
+	 * @Input - socket
+	 * @Response - boolean
+	 */
+	private static boolean isPort(String socket){
+		if(socket.length() > 5){
+			return false;
+		}
+		for (int i = 0; i < socket.length(); i++) {
+			if(socket.charAt(i) < '0' || socket.charAt(i) > '9'){
+				return false;
+			}
+		}
+		return Integer.parseInt(socket) <= 65535;
+	}
+
+	/**
+	 * The following operation opens a server channel of the protocol family of the address.
+	 * @Input - address
+	 * @Response - ServerSocketChannel
+	 * @Exception - IOException
+	 */
+	private static ServerSocketChannel openServerChannel(SocketAddress address) throws IOException{
+		if(address instanceof InetSocketAddress){
+			return ServerSocketChannel.open();
+		}
+		return (ServerSocketChannel) open(ServerSocketChannel.class);
+	}
+
+	/**
+	 * The following operation opens a channel connected to the address.
+	 * @Input - address
+	 * @Response - SocketChannel
+	 * @Exception - IOException
+	 */
+	static SocketChannel openChannel(SocketAddress address) throws IOException{
+		if(address instanceof InetSocketAddress){
+			return SocketChannel.open(address);
+		}
+		SocketChannel channel = (SocketChannel) open(SocketChannel.class);
+		try {
+			channel.connect(address);
+		} catch (IOException ex) {
+			channel.close();
+			throw ex;
+		}
+		return channel;
+	}
+
+	/**
+	 * The following operation opens a channel of the given class for the Unix protocol family, which is looked up at runtime.
+	 * @Input - channelClass
+	 * @Response - Object, the channel
+	 * @Exception - IOException
+	 */
+	private static Object open(Class<?> channelClass) throws IOException{
+		try {
+			return channelClass.getMethod("open", ProtocolFamily.class).invoke(null, StandardProtocolFamily.valueOf("UNIX"));
+		} catch (InvocationTargetException ex) {
+			throw ex.getCause() instanceof IOException ? (IOException) ex.getCause() : new IOException(ex.getCause());
+		} catch (ReflectiveOperationException | IllegalArgumentException ex) {
+			throw new IOException("Unix domain sockets are not supported by this JVM", ex);
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package currency.calculator.app.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+
+/**
+ * This class contains the thin client of the conversion daemon. It does not load currencies or rates, requests are sent as lines and the
+ * lines of the daemon are returned as they are. Many requests are sent in windows, the responses of a window are read after the whole window
+ * is sent. A client is used by one thread at a time.
+ * @Operations: convert, close
+ * @Developer: Singh, Sunny
+ */
+public final class ConversionDaemonClient implements Closeable {
+
+	private static final Logger LOG = Logger.getLogger(ConversionDaemonClient.class.getName());
+
+	//Number of requests sent before their responses are read
+	private static final int PIPELINE_WINDOW = 256;
+
+	private final SocketChannel channel;
+	private final BufferedReader reader;
+	private final Writer writer;
+
+	/**
+	 * The constructor connects to the daemon on the socket, a socket file or a port of the loopback address.
+	 * @throws CurrencyException
+	 */
+	public ConversionDaemonClient(String socket) throws CurrencyException {
+		try {
+			channel = ConversionDaemon.openChannel(ConversionDaemon.getAddress(socket));
+		} catch (IOException ex) {
+			LOG.severe("ConversionDaemonClient->ConversionDaemonClient()-> IOException occured while connecting "+socket+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while connecting to the conversion daemon",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+		writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * The following operation sends a single request or command and returns the line of the daemon, e.g. AUD 100.00 = USD 83.71.
+	 * @Input - request
+	 * @Response - String, null when the daemon ended the session
+	 * @Exception - CurrencyException when the connection fails
+	 */
+	public String convert(String request) throws CurrencyException{
+		try {
+			writer.write(request.trim());
+			writer.write('\n');
+			writer.flush();
+			return reader.readLine();
+		} catch (IOException ex) {
+			LOG.severe("ConversionDaemonClient->convert()-> IOException occured while converting "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while converting",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+	}
+
+	/**
+	 * The following operation sends every line of requests and writes the line of the daemon per request to responses. Blank lines are
+	 * skipped, quit ends the session.
+	 * @Input - requests, responses
+	 * @Response - long, number of lines written to responses
+	 * @Exception - CurrencyException when the connection fails
+	 */
+	public long convert(BufferedReader requests, Writer responses) throws CurrencyException{
+		long responseCount = 0;
+		try {
+			boolean open = true;
+			while(open){
+				int pending = 0;
+				String request;
+				while(pending < PIPELINE_WINDOW && (request = requests.readLine()) != null){
+					request = request.trim();
+					if(request.isEmpty()){
+						continue;
+					}
+					writer.write(request);
+					writer.write('\n');
+					if(CurrencyCalculatorConstant.DAEMON_COMMAND_QUIT.equalsIgnoreCase(request) || CurrencyCalculatorConstant.DAEMON_COMMAND_EXIT.equalsIgnoreCase(request)){
+						open = false;
+						break;
+					}
+					pending++;
+					/*
+					 * A request typed on the console is answered at once, requests of a file or pipe are sent in windows.
+					 */
+					if(!requests.ready()){
+						break;
+					}
+				}
+				if(pending == 0 && open){
+					open = false;
+				}
+				writer.flush();
+				for (; pending > 0; pending--) {
+					String response = reader.readLine();
+					if(response == null){
+						open = false;
+						break;
+					}
+					responses.write(response);
+					responses.write('\n');
+					responseCount++;
+				}
+				responses.flush();
+			}
+		} catch (IOException ex) {
+			LOG.severe("ConversionDaemonClient->convert()-> IOException occured while converting "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while converting",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		return responseCount;
+	}
+
+	/**
+	 * The following operation closes the connection.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public void close() throws IOException{
+		channel.close();
+	}
+}
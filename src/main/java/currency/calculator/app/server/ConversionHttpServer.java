@@ -0,0 +1,549 @@
+package currency.calculator.app.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.feed.LiveRateStore;
+import currency.calculator.app.metrics.ConversionMetrics;
+import currency.calculator.app.util.ConversionRequestParser;
+import currency.calculator.app.util.ConversionResult;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.FixedPointCurrencyCalculator;
+import currency.calculator.app.util.FixedPointMath;
+import currency.calculator.app.util.RateBooks;
+
+/**
+ * This class contains the conversion server, an embedded HTTP server answering conversions with JSON. Requests are handled on virtual threads
+ * when the JVM has them (Java 21 and later) and on a cached thread pool otherwise. Connections are kept alive between requests, request
+ * bodies larger than the configured limit are rejected and stop waits for running requests before the server goes down.
+ * GET /convert?from=AUD&amount=100.00&to=USD converts a single amount, POST /convert/batch converts one request per line of the body in the
+ * format of bulk mode : <ccy1> <amount1> in <ccy2>. Both convert with the named rate book of the optional query parameter book, e.g.
+ * GET /convert?from=AUD&amount=100.00&to=USD&book=eod (see RateBooks), and with the current matrix otherwise. GET /metrics returns the conversion metrics in the Prometheus text format.
+ * @Operations: start, stop, getPort, convert, appendJsonString
+ * @Developer: Singh, Sunny
+ */
+public final class ConversionHttpServer {
+
+	private static final Logger LOG = Logger.getLogger(ConversionHttpServer.class.getName());
+
+	private static final String CONTENT_TYPE_JSON = "application/json; charset=UTF-8";
+	private static final String CONTENT_TYPE_PROMETHEUS = "text/plain; version=0.0.4; charset=UTF-8";
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final int maxBodySize;
+
+	/**
+	 * The constructor binds the server to the address, port 0 binds any free port.
+	 * @Input - address, maxBodySize - largest request body in bytes
+	 * @throws CurrencyException
+	 */
+	public ConversionHttpServer(InetSocketAddress address, int maxBodySize) throws CurrencyException {
+		this.maxBodySize = maxBodySize;
+		try {
+			server = HttpServer.create(address, 0);
+		} catch (IOException ex) {
+			LOG.severe("ConversionHttpServer->ConversionHttpServer()-> IOException occured while binding "+address+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while starting the conversion server",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		executor = newRequestExecutor();
+		server.setExecutor(executor);
+		server.createContext("/convert", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				handleConvert(exchange);
+			}
+		});
+		server.createContext("/convert/batch", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				handleBatch(exchange);
+			}
+		});
+		server.createContext("/metrics", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				handleMetrics(exchange);
+			}
+		});
+	}
+
+	/**
+	 * The following operation returns an executor starting a virtual thread per request when the JVM supports them, a cached pool of daemon
+	 * threads otherwise.
+	 * @Input - N/A
+	 * @Response - ExecutorService
+	 */
+	private static ExecutorService newRequestExecutor(){
+		try {
+			ExecutorService virtualThreads = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			if(LOG.isLoggable(Level.INFO)){
+				LOG.info("ConversionHttpServer->newRequestExecutor()-> Handling requests on virtual threads");
+			}
+			return virtualThreads;
+		} catch (ReflectiveOperationException ex) {
+			if(LOG.isLoggable(Level.INFO)){
+				LOG.info("ConversionHttpServer->newRequestExecutor()-> Virtual threads not available, handling requests on a thread pool");
+			}
+		}
+		final AtomicInteger threadCount = new AtomicInteger();
+		return Executors.newCachedThreadPool(new ThreadFactory() {
+			public Thread newThread(Runnable task) {
+				Thread thread = new Thread(task, "conversion-server-"+threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * The following operation starts accepting requests.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public void start(){
+		server.start();
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("ConversionHttpServer->start()-> Listening on port "+getPort());
+		}
+	}
+
+	/**
+	 * The following operation stops accepting requests, waits up to delaySeconds for running requests and stops the request threads.
+	 * @Input - delaySeconds
+	 * @Response - N/A
+	 */
+	public void stop(int delaySeconds){
+		server.stop(delaySeconds);
+		executor.shutdown();
+		try {
+			if(!executor.awaitTermination(delaySeconds, TimeUnit.SECONDS)){
+				executor.shutdownNow();
+			}
+		} catch (InterruptedException ex) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("ConversionHttpServer->stop()-> Server stopped");
+		}
+	}
+
+	/**
+	 * The following operation returns port the server is bound to.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getPort(){
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * The following operation handles GET /convert?from=<ccy1>&amount=<amount1>&to=<ccy2>.
+	 * @Input - exchange
+	 * @Response - N/A
+	 */
+	private void handleConvert(HttpExchange exchange) throws IOException{
+		try {
+			if(!"GET".equals(exchange.getRequestMethod())){
+				sendJson(exchange, 405, "{\"error\":\"Method not allowed\"}");
+				return;
+			}
+			String query = exchange.getRequestURI().getRawQuery();
+			String from = getQueryParameter(query, "from");
+			String amount = getQueryParameter(query, "amount");
+			String to = getQueryParameter(query, "to");
+			CurrencyRateMatrix matrix = getRateBook(exchange, getQueryParameter(query, "book"));
+			if(matrix == null){
+				return;
+			}
+			StringBuilder output = new StringBuilder(128);
+			int status = convert(matrix, from, amount, to, output);
+			sendJson(exchange, status, output.toString());
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * The following operation handles GET /metrics with the conversion metrics in the Prometheus text format.
+	 * @Input - exchange
+	 * @Response - N/A
+	 */
+	private void handleMetrics(HttpExchange exchange) throws IOException{
+		try {
+			if(!"GET".equals(exchange.getRequestMethod())){
+				sendJson(exchange, 405, "{\"error\":\"Method not allowed\"}");
+				return;
+			}
+			StringBuilder output = new StringBuilder(8192);
+			ConversionMetrics.getInstance().writePrometheus(output);
+			byte[] response = output.toString().getBytes("UTF-8");
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE_PROMETHEUS);
+			exchange.sendResponseHeaders(200, response.length);
+			OutputStream body = exchange.getResponseBody();
+			body.write(response);
+			body.close();
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * The following operation handles POST /convert/batch with one request per line of the body.
+	 * @Input - exchange
+	 * @Response - N/A
+	 */
+	private void handleBatch(HttpExchange exchange) throws IOException{
+		try {
+			if(!"POST".equals(exchange.getRequestMethod())){
+				sendJson(exchange, 405, "{\"error\":\"Method not allowed\"}");
+				return;
+			}
+			long contentLength = getContentLength(exchange);
+			if(contentLength < -1L){
+				exchange.getResponseHeaders().set("Connection", "close");
+				sendJson(exchange, 400, "{\"error\":\"Content-Length is not valid\"}");
+				return;
+			}
+			String body = contentLength > maxBodySize ? null : readBody(exchange, contentLength);
+			if(body == null){
+				exchange.getResponseHeaders().set("Connection", "close");
+				sendJson(exchange, 413, "{\"error\":\"Request body larger than "+maxBodySize+" bytes\"}");
+				return;
+			}
+			StringBuilder output = new StringBuilder(64 + body.length() * 2);
+			output.append("{\"results\":[");
+			int converted = 0;
+			int failed = 0;
+			ConversionRequestParser parser = new ConversionRequestParser();
+			CurrencyRateMatrix matrix = getRateBook(exchange, getQueryParameter(exchange.getRequestURI().getRawQuery(), "book"));
+			if(matrix == null){
+				return;
+			}
+			for (int lineStart = 0; lineStart < body.length();) {
+				int lineEnd = body.indexOf('\n', lineStart);
+				if(lineEnd < 0){
+					lineEnd = body.length();
+				}
+				int start = lineStart;
+				lineStart = lineEnd + 1;
+				if(isBlank(body, start, lineEnd)){
+					continue;
+				}
+				if(converted + failed > 0){
+					output.append(',');
+				}
+				if(convert(matrix, parser, body, start, lineEnd, output) == 200){
+					converted++;
+				}else{
+					failed++;
+				}
+			}
+			output.append("],\"converted\":").append(converted).append(",\"failed\":").append(failed).append('}');
+			sendJson(exchange, 200, output.toString());
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * The following operation returns the matrix of the rate book of the request, the current matrix when book is not given. When the book
+	 * is not found the error is sent and null is returned.
+	 * @Input - exchange, book
+	 * @Response - CurrencyRateMatrix
+	 */
+	private static CurrencyRateMatrix getRateBook(HttpExchange exchange, String book) throws IOException{
+		try {
+			return RateBooks.getBook(book);
+		} catch (CurrencyException ex) {
+			StringBuilder output = appendJsonString(new StringBuilder("{\"error\":"), ex.getMessage());
+			if(book != null){
+				appendJsonString(output.append(",\"book\":"), book);
+			}
+			sendJson(exchange, book != null ? 404 : 500, output.append('}').toString());
+			return null;
+		}
+	}
+
+	/**
+	 * The following operation converts the request between start and end of text and appends the JSON result to output. The request is
+	 * parsed without creating Strings and converted by the fixed point engine, which gives the same result as calculateCurrencyValue. A
+	 * request which can not be parsed gets the error and its position, i.e. {"error":"..","detail":"Invalid amount at position 4","position":4}
+	 * @Input - matrix, parser, text, start, end, output
+	 * @Response - int, HTTP status of the result
+	 */
+	public static int convert(CurrencyRateMatrix matrix, ConversionRequestParser parser, CharSequence text, int start, int end, StringBuilder output){
+		if(!parser.parse(matrix.getRegistry(), text, start, end)){
+			int errorCode = parser.getErrorCode();
+			if(errorCode == ConversionRequestParser.ERROR_INVALID_AMOUNT || errorCode == ConversionRequestParser.ERROR_AMOUNT_TOO_LARGE){
+				/*
+				 * Amounts in exponent notation or too large for a long are left to BigDecimal.
+				 */
+				int mark = output.length();
+				int status = convert(matrix, text.subSequence(parser.getSourceStart(), parser.getSourceEnd()).toString(), text.subSequence(parser.getAmountStart(), parser.getAmountEnd()).toString(),
+						text.subSequence(parser.getDestinationStart(), parser.getDestinationEnd()).toString(), output);
+				if(status != 400){
+					return status;
+				}
+				output.setLength(mark);
+			}
+			output.append("{\"error\":");
+			appendJsonString(output, CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE);
+			output.append(",\"detail\":");
+			appendJsonString(output, parser.getErrorMessage());
+			output.append(",\"position\":").append(parser.getErrorPosition()).append('}');
+			return 400;
+		}
+		int sourceCurrencyId = parser.getSourceCurrencyId();
+		int destinationCurrencyId = parser.getDestinationCurrencyId();
+		output.append("{\"from\":");
+		appendJsonString(output, text, parser.getSourceStart(), parser.getSourceEnd());
+		output.append(",\"amount\":");
+		appendJsonString(output, text, parser.getAmountStart(), parser.getAmountEnd());
+		output.append(",\"to\":");
+		appendJsonString(output, text, parser.getDestinationStart(), parser.getDestinationEnd());
+		if(sourceCurrencyId < 0 || destinationCurrencyId < 0 || matrix.getRouteType(sourceCurrencyId, destinationCurrencyId) == CurrencyCalculatorConstant.ROUTE_TYPE_NONE){
+			output.append(",\"error\":");
+			StringBuilder error = new StringBuilder(CurrencyCalculatorConstant.RATE_NOT_FOUND_MESSAGE);
+			error.append(text, parser.getSourceStart(), parser.getSourceEnd()).append('/').append(text, parser.getDestinationStart(), parser.getDestinationEnd());
+			appendJsonString(output, error, 0, error.length());
+			output.append('}');
+			return 404;
+		}
+		output.append(",\"result\":\"");
+		ConversionResult result = new ConversionResult();
+		if(FixedPointCurrencyCalculator.convert(matrix, sourceCurrencyId, parser.getAmount(), parser.getScale(), destinationCurrencyId, result)){
+			FixedPointMath.appendDecimal(output, result.getScaledValue(), result.getScale());
+		}else{
+			LiveRateStore shared = LiveRateStore.getSharedInstance(matrix);
+			BigDecimal rate = shared == null ? matrix.getExactRate(sourceCurrencyId, destinationCurrencyId) : shared.getExactRate(sourceCurrencyId, destinationCurrencyId);
+			output.append(rate.multiply(BigDecimal.valueOf(parser.getAmount(), parser.getScale()))
+					.setScale(matrix.getRegistry().getDecimalPlace(destinationCurrencyId), RoundingMode.DOWN).toPlainString());
+		}
+		output.append("\"}");
+		return 200;
+	}
+
+	/**
+	 * The following operation returns true when text between start and end has only white spaces.
+	 * @Input - text, start, end
+	 * @Response - boolean
+	 */
+	private static boolean isBlank(CharSequence text, int start, int end){
+		for (int i = start; i < end; i++) {
+			if(!Character.isWhitespace(text.charAt(i))){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The following operation converts the amount and appends the JSON result to output, i.e. {"from":"AUD","amount":"100.00","to":"USD","result":"83.71"}
+	 * Failures are appended as {"from":..,"amount":..,"to":..,"error":"<message>"}.
+	 * @Input - from, amount, to, output
+	 * @Response - int, HTTP status of the result
+	 */
+	public static int convert(String from, String amount, String to, StringBuilder output){
+		return convert(null, from, amount, to, output);
+	}
+
+	/**
+	 * The following operation converts the amount with the rates of matrix, e.g. a rate book, and appends the JSON result to output as
+	 * convert(from, amount, to, output) does it. The current matrix is used when matrix is null. An amount which is missing, empty or not
+	 * valid gives 400, a pair without rate 404 and only a failure of the calculator 500.
+	 * @Input - matrix, from, amount, to, output
+	 * @Response - int, HTTP status of the result
+	 */
+	public static int convert(CurrencyRateMatrix matrix, String from, String amount, String to, StringBuilder output){
+		output.append("{\"from\":");
+		appendJsonString(output, from);
+		output.append(",\"amount\":");
+		appendJsonString(output, amount);
+		output.append(",\"to\":");
+		appendJsonString(output, to);
+		int status = 200;
+		String error = null;
+		try {
+			if(from == null || amount == null || to == null){
+				status = 400;
+				error = CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE;
+			}else{
+				int sourceCurrencyId = CurrencyCalculatorUtil.getCurrencyId(from);
+				int destinationCurrencyId = CurrencyCalculatorUtil.getCurrencyId(to);
+				BigDecimal inputAmount = amount.isEmpty() ? null : CurrencyCalculatorUtil.convertStringToBigDecimal(amount);
+				if(matrix == null){
+					matrix = CurrencyRateMatrix.getInstance();
+				}
+				if(inputAmount == null){
+					status = 400;
+					error = CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE;
+				}else if(!CurrencyCalculatorUtil.isCurrencyAvailable(sourceCurrencyId) || !CurrencyCalculatorUtil.isCurrencyAvailable(destinationCurrencyId)
+						|| matrix.getRouteType(sourceCurrencyId, destinationCurrencyId) == CurrencyCalculatorConstant.ROUTE_TYPE_NONE){
+					status = 404;
+					error = CurrencyCalculatorConstant.RATE_NOT_FOUND_MESSAGE+from+"/"+to;
+				}else{
+					ConversionResult result = new ConversionResult();
+					if(CurrencyCalculatorUtil.convert(matrix, sourceCurrencyId, inputAmount, destinationCurrencyId, result)){
+						output.append(",\"result\":");
+						appendJsonString(output, result.getValue().toPlainString());
+					}else{
+						status = getStatus(result);
+						error = result.getMessage();
+					}
+				}
+			}
+		} catch (NumberFormatException ex) {
+			status = 400;
+			error = CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE;
+		} catch (CurrencyException ex) {
+			status = 500;
+			error = ex.getMessage();
+		}
+		if(error != null){
+			output.append(",\"error\":");
+			appendJsonString(output, error);
+		}
+		output.append('}');
+		return status;
+	}
+
+	/**
+	 * The following operation returns the HTTP status of a failed conversion, 400 for an input which is not valid or too large, 404 for
+	 * a missing rate and 500 for a failure of the calculator.
+	 * @Input - result
+	 * @Response - int
+	 */
+	private static int getStatus(ConversionResult result){
+		switch (result.getStatus()) {
+		case ConversionResult.STATUS_INVALID_INPUT:
+		case ConversionResult.STATUS_AMOUNT_TOO_LARGE:
+			return 400;
+		case ConversionResult.STATUS_RATE_NOT_FOUND:
+			return 404;
+		default:
+			return 500;
+		}
+	}
+
+	/**
+	 * The following operation appends value as JSON string, null when value is null.
+	 * @Input - output, value
+	 * @Response - StringBuilder
+	 */
+	public static StringBuilder appendJsonString(StringBuilder output, String value){
+		if(value == null){
+			return output.append("null");
+		}
+		return appendJsonString(output, value, 0, value.length());
+	}
+
+	/**
+	 * The following operation appends text between start and end as JSON string.
+	 * @Input - output, text, start, end
+	 * @Response - StringBuilder
+	 */
+	public static StringBuilder appendJsonString(StringBuilder output, CharSequence text, int start, int end){
+		output.append('"');
+		for (int i = start; i < end; i++) {
+			char character = text.charAt(i);
+			if(character == '"' || character == '\\'){
+				output.append('\\').append(character);
+			}else if(character < 0x20){
+				output.append(String.format("\\u%04x", (int) character));
+			}else{
+				output.append(character);
+			}
+		}
+		return output.append('"');
+	}
+
+	/**
+	 * The following operation returns the decoded value of a query parameter, null when it is missing.
+	 * @Input - query, name
+	 * @Response - String
+	 */
+	private static String getQueryParameter(String query, String name) throws UnsupportedEncodingException{
+		if(query == null){
+			return null;
+		}
+		for (String parameter : query.split("&")) {
+			int separator = parameter.indexOf('=');
+			if(separator > 0 && name.equals(parameter.substring(0, separator))){
+				return URLDecoder.decode(parameter.substring(separator + 1), "UTF-8");
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * The following operation returns the Content-Length of the request.
+	 * @Input - exchange
+	 * @Response - long, -1 when the header is missing, -2 when it is negative or not a number
+	 */
+	private static long getContentLength(HttpExchange exchange){
+		String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+		if(contentLength == null){
+			return -1L;
+		}
+		try {
+			long length = Long.parseLong(contentLength.trim());
+			return length < 0L ? -2L : length;
+		} catch (NumberFormatException ex) {
+			return -2L;
+		}
+	}
+
+	/**
+	 * The following operation reads the request body. The buffer is sized by the Content-Length up to the limit, the body read counts,
+	 * not the header.
+	 * @Input - exchange, contentLength - -1 when unknown
+	 * @Response - String, null when the body is larger than the limit
+	 */
+	private String readBody(HttpExchange exchange, long contentLength) throws IOException{
+		InputStream input = exchange.getRequestBody();
+		ByteArrayOutputStream body = new ByteArrayOutputStream(contentLength < 0L ? 1024 : (int) Math.min(contentLength, maxBodySize));
+		byte[] buffer = new byte[8192];
+		int count;
+		while((count = input.read(buffer)) > 0){
+			if(body.size() + count > maxBodySize){
+				return null;
+			}
+			body.write(buffer, 0, count);
+		}
+		return body.toString("UTF-8");
+	}
+
+	/**
+	 * The following operation sends the JSON response with its length, which keeps the connection open for the next request.
+	 * @Input - exchange, status, json
+	 * @Response - N/A
+	 */
+	private static void sendJson(HttpExchange exchange, int status, String json) throws IOException{
+		byte[] response = json.getBytes("UTF-8");
+		exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE_JSON);
+		exchange.sendResponseHeaders(status, response.length);
+		OutputStream output = exchange.getResponseBody();
+		output.write(response);
+		output.close();
+	}
+}
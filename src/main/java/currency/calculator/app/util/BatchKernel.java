@@ -0,0 +1,124 @@
+package currency.calculator.app.util;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+
+/**
+ * This class contains the inner loops of the batch conversion, for a run of amounts of one currency pair once its rate is resolved. This
+ * class is the scalar kernel. A vectorized kernel using jdk.incubator.vector is compiled with the vector profile and loaded by name when
+ * the module is present (java --add-modules jdk.incubator.vector), it gives exactly the same results as the scalar kernel. Otherwise,
+ * e.g. on Java 8, the scalar kernel is used.
+ * @Operations: getInstance, getScalarInstance, getName, getRunEnd, multiplyDivideDown, multiply
+ * @Developer: Singh, Sunny
+ */
+public class BatchKernel {
+
+	private static final Logger LOG = Logger.getLogger(BatchKernel.class.getName());
+
+	private static final BatchKernel SCALAR = new BatchKernel();
+
+	private static final BatchKernel INSTANCE = loadKernel();
+
+	/**
+	 * The constructor for the kernels extending this class
+	 */
+	protected BatchKernel() {
+	}
+
+	/**
+	 * The following operation returns the kernel used by the batch conversion, the vectorized kernel when it is available.
+	 * @Input - N/A
+	 * @Response - BatchKernel
+	 */
+	public static BatchKernel getInstance(){
+		return INSTANCE;
+	}
+
+	/**
+	 * The following operation returns the scalar kernel.
+	 * @Input - N/A
+	 * @Response - BatchKernel
+	 */
+	public static BatchKernel getScalarInstance(){
+		return SCALAR;
+	}
+
+	/**
+	 * The following operation returns the name of the kernel.
+	 * @Input - N/A
+	 * @Response - String, scalar or vector with the number of lanes
+	 */
+	public String getName(){
+		return "scalar";
+	}
+
+	/**
+	 * The following operation returns the end (exclusive) of the run of amounts starting at index from which have the same currency pair.
+	 * @Input - sourceCurrencyIds, destinationCurrencyIds, from, to
+	 * @Response - int
+	 */
+	public int getRunEnd(int[] sourceCurrencyIds, int[] destinationCurrencyIds, int from, int to){
+		int source = sourceCurrencyIds[from];
+		int destination = destinationCurrencyIds[from];
+		int index = from + 1;
+		while(index < to && sourceCurrencyIds[index] == source && destinationCurrencyIds[index] == destination){
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * The following operation calculates values * multiplier / 10^exponent truncated towards zero, as FixedPointMath.multiplyDivideDown
+	 * does it, for the values from index from to index to (exclusive). It stops at the first value whose result does not fit into a long.
+	 * @Input - values, results, from, to, multiplier, exponent
+	 * @Response - int, index of the first value which could not be converted, to when all values are converted
+	 */
+	public int multiplyDivideDown(long[] values, long[] results, int from, int to, long multiplier, int exponent){
+		int index = from;
+		try {
+			for (; index < to; index++) {
+				results[index] = FixedPointMath.multiplyDivideDown(values[index], multiplier, exponent);
+			}
+		} catch (ArithmeticException ex) {
+			return index;
+		}
+		return to;
+	}
+
+	/**
+	 * The following operation calculates values * multiplier for the values from index from to index to (exclusive).
+	 * @Input - values, results, from, to, multiplier
+	 * @Response - N/A, results are written into results
+	 */
+	public void multiply(double[] values, double[] results, int from, int to, double multiplier){
+		for (int index = from; index < to; index++) {
+			results[index] = values[index] * multiplier;
+		}
+	}
+
+	/**
+	 * The following operation loads the vectorized kernel unless it is switched off. The kernel class is missing when the vector profile
+	 * was not built and it can not be linked without the jdk.incubator.vector module or before Java 17, the scalar kernel is used then.
+	 * @Input - N/A
+	 * @Response - BatchKernel
+	 */
+	private static BatchKernel loadKernel(){
+		if("false".equalsIgnoreCase(System.getProperty(CurrencyCalculatorConstant.BATCH_VECTOR_PROPERTY))){
+			return SCALAR;
+		}
+		BatchKernel kernel = SCALAR;
+		try {
+			kernel = (BatchKernel) Class.forName(CurrencyCalculatorConstant.BATCH_VECTOR_KERNEL_CLASS).getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+			if(LOG.isLoggable(Level.FINE)){
+				LOG.fine("BatchKernel->loadKernel()-> Vectorized kernel is not available : "+ex);
+			}
+		}
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("BatchKernel->loadKernel()-> Batch conversion kernel : "+kernel.getName());
+		}
+		return kernel;
+	}
+}
@@ -0,0 +1,357 @@
+package currency.calculator.app.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class contains the parser of conversion requests in the format <ccy1> <amount1> in <ccy2>, i.e. AUD 1,000.25 in USD. It reads the
+ * request straight from a CharSequence, a byte array or a ByteBuffer window (ASCII) without creating Strings : currency codes are looked up
+ * as packed codes and the amount, where commas are ignored, is parsed into a long scaled by 10^number of decimal places. A parser keeps the
+ * result of the last request and is meant to be reused by a single thread.
+ * Currency codes which are not in the registry are not an error of the format, their id is -1. When a request can not be parsed the error
+ * code and the position of the offending character, counted from the start of the request, are kept.
+ * @Operations: parse, getSourceCurrencyId, getDestinationCurrencyId, getAmount, getScale, get...Start / get...End, getErrorCode, getErrorPosition, getErrorMessage
+ * @Developer: Singh, Sunny
+ */
+public final class ConversionRequestParser {
+
+	//Error codes
+	public static final int ERROR_NONE = 0;
+	public static final int ERROR_MISSING_TOKEN = 1;
+	public static final int ERROR_UNEXPECTED_TOKEN = 2;
+	public static final int ERROR_MISSING_IN = 3;
+	public static final int ERROR_INVALID_AMOUNT = 4;
+	public static final int ERROR_AMOUNT_TOO_LARGE = 5;
+
+	private static final String[] ERROR_MESSAGES = { "No error", "Missing input", "Unexpected input", "Expected 'in'", "Invalid amount",
+			"Amount too large" };
+
+	/**
+	 * Reusable view of ASCII bytes as characters.
+	 */
+	private static final class AsciiSequence implements CharSequence {
+		private byte[] bytes;
+		private ByteBuffer buffer;
+		private int offset;
+		private int length;
+
+		public int length() {
+			return length;
+		}
+
+		public char charAt(int index) {
+			return (char) ((bytes != null ? bytes[offset + index] : buffer.get(offset + index)) & 0xFF);
+		}
+
+		public CharSequence subSequence(int start, int end) {
+			return toString().substring(start, end);
+		}
+
+		public String toString() {
+			StringBuilder text = new StringBuilder(length);
+			for (int i = 0; i < length; i++) {
+				text.append(charAt(i));
+			}
+			return text.toString();
+		}
+	}
+
+	private final AsciiSequence ascii = new AsciiSequence();
+	private int sourceCurrencyId;
+	private int destinationCurrencyId;
+	private long amount;
+	private int scale;
+	private int sourceStart;
+	private int sourceEnd;
+	private int amountStart;
+	private int amountEnd;
+	private int destinationStart;
+	private int destinationEnd;
+	private int errorCode;
+	private int errorPosition;
+
+	/**
+	 * The following operation parses the request in bytes between offset and offset + length.
+	 * @Input - registry, bytes, offset, length
+	 * @Response - boolean, true when the request is parsed
+	 */
+	public boolean parse(CurrencyRegistry registry, byte[] bytes, int offset, int length){
+		ascii.bytes = bytes;
+		ascii.buffer = null;
+		ascii.offset = offset;
+		ascii.length = length;
+		return parse(registry, ascii, 0, length);
+	}
+
+	/**
+	 * The following operation parses the request between position and limit of buffer. The position of buffer is not changed.
+	 * @Input - registry, buffer
+	 * @Response - boolean, true when the request is parsed
+	 */
+	public boolean parse(CurrencyRegistry registry, ByteBuffer buffer){
+		if(buffer.hasArray()){
+			return parse(registry, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		}
+		ascii.bytes = null;
+		ascii.buffer = buffer;
+		ascii.offset = buffer.position();
+		ascii.length = buffer.remaining();
+		return parse(registry, ascii, 0, ascii.length);
+	}
+
+	/**
+	 * The following operation parses the request in text between start and end. Token positions are positions in text.
+	 * @Input - registry, text, start, end
+	 * @Response - boolean, true when the request is parsed
+	 */
+	public boolean parse(CurrencyRegistry registry, CharSequence text, int start, int end){
+		sourceCurrencyId = -1;
+		destinationCurrencyId = -1;
+		amount = 0L;
+		scale = 0;
+		sourceStart = sourceEnd = amountStart = amountEnd = destinationStart = destinationEnd = start;
+		int requestStart = start;
+		int index = skipWhitespace(text, start, end);
+		/*
+		 * Source currency
+		 */
+		sourceStart = index;
+		sourceEnd = index = skipToken(text, index, end);
+		if(sourceStart == sourceEnd){
+			return fail(ERROR_MISSING_TOKEN, sourceStart - requestStart);
+		}
+		/*
+		 * Amount
+		 */
+		amountStart = index = skipWhitespace(text, index, end);
+		amountEnd = index = skipToken(text, index, end);
+		if(amountStart == amountEnd){
+			return fail(ERROR_MISSING_TOKEN, amountStart - requestStart);
+		}
+		int inStart = index = skipWhitespace(text, index, end);
+		int inEnd = index = skipToken(text, index, end);
+		if(inStart == inEnd){
+			return fail(ERROR_MISSING_TOKEN, inStart - requestStart);
+		}
+		if(inEnd - inStart != 2 || (text.charAt(inStart) | 0x20) != 'i' || (text.charAt(inStart + 1) | 0x20) != 'n'){
+			return fail(ERROR_MISSING_IN, inStart - requestStart);
+		}
+		destinationStart = index = skipWhitespace(text, index, end);
+		destinationEnd = index = skipToken(text, index, end);
+		if(destinationStart == destinationEnd){
+			return fail(ERROR_MISSING_TOKEN, destinationStart - requestStart);
+		}
+		index = skipWhitespace(text, index, end);
+		if(index != end){
+			return fail(ERROR_UNEXPECTED_TOKEN, index - requestStart);
+		}
+		sourceCurrencyId = sourceEnd - sourceStart == 3 ? registry.getCurrencyIdByPackedCode(CurrencyRegistry.packCurrencyCode(text, sourceStart)) : -1;
+		destinationCurrencyId = destinationEnd - destinationStart == 3 ? registry.getCurrencyIdByPackedCode(CurrencyRegistry.packCurrencyCode(text, destinationStart)) : -1;
+		return parseAmount(text, requestStart);
+	}
+
+	/**
+	 * The following operation parses the amount between amountStart and amountEnd. Commas are ignored, the scale is the number of digits
+	 * after the decimal point.
+	 * @Input - text, requestStart
+	 * @Response - boolean, true when the amount is parsed
+	 */
+	private boolean parseAmount(CharSequence text, int requestStart){
+		int index = amountStart;
+		boolean negative = false;
+		char first = text.charAt(index);
+		if(first == '-' || first == '+'){
+			negative = first == '-';
+			index++;
+		}
+		/*
+		 * The value is accumulated as negative number, which has the larger range.
+		 */
+		long value = 0L;
+		int digits = 0;
+		int fractionDigits = -1;
+		for (; index < amountEnd; index++) {
+			char character = text.charAt(index);
+			if(character == ','){
+				continue;
+			}
+			if(character == '.' && fractionDigits < 0){
+				fractionDigits = 0;
+				continue;
+			}
+			if(character < '0' || character > '9'){
+				return fail(ERROR_INVALID_AMOUNT, index - requestStart);
+			}
+			if(value < Long.MIN_VALUE / 10L || (value = value * 10L) < Long.MIN_VALUE + (character - '0')){
+				return fail(ERROR_AMOUNT_TOO_LARGE, index - requestStart);
+			}
+			value -= character - '0';
+			digits++;
+			if(fractionDigits >= 0){
+				fractionDigits++;
+			}
+		}
+		if(digits == 0){
+			return fail(ERROR_INVALID_AMOUNT, amountStart - requestStart);
+		}
+		if(!negative && value == Long.MIN_VALUE){
+			return fail(ERROR_AMOUNT_TOO_LARGE, amountStart - requestStart);
+		}
+		amount = negative ? value : -value;
+		scale = Math.max(fractionDigits, 0);
+		errorCode = ERROR_NONE;
+		errorPosition = -1;
+		return true;
+	}
+
+	/**
+	 * The following operation keeps the error of the request.
+	 * @Input - code, position
+	 * @Response - boolean, always false
+	 */
+	private boolean fail(int code, int position){
+		errorCode = code;
+		errorPosition = position;
+		return false;
+	}
+
+	/**
+	 * The following operation returns index of the first character from index on which is not a white space.
+	 * @Input - text, index, end
+	 * @Response - int
+	 */
+	private static int skipWhitespace(CharSequence text, int index, int end){
+		while(index < end && Character.isWhitespace(text.charAt(index))){
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * The following operation returns index of the first white space from index on.
+	 * @Input - text, index, end
+	 * @Response - int
+	 */
+	private static int skipToken(CharSequence text, int index, int end){
+		while(index < end && !Character.isWhitespace(text.charAt(index))){
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * The following operation returns currency id of the source currency, -1 when the currency is not in the registry.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getSourceCurrencyId(){
+		return sourceCurrencyId;
+	}
+
+	/**
+	 * The following operation returns currency id of the destination currency, -1 when the currency is not in the registry.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getDestinationCurrencyId(){
+		return destinationCurrencyId;
+	}
+
+	/**
+	 * The following operation returns the amount scaled by 10^getScale().
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getAmount(){
+		return amount;
+	}
+
+	/**
+	 * The following operation returns number of decimal places of the amount.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getScale(){
+		return scale;
+	}
+
+	/**
+	 * The following operation returns start of the source currency in the text.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getSourceStart(){
+		return sourceStart;
+	}
+
+	/**
+	 * The following operation returns end of the source currency in the text.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getSourceEnd(){
+		return sourceEnd;
+	}
+
+	/**
+	 * The following operation returns start of the amount in the text.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getAmountStart(){
+		return amountStart;
+	}
+
+	/**
+	 * The following operation returns end of the amount in the text.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getAmountEnd(){
+		return amountEnd;
+	}
+
+	/**
+	 * The following operation returns start of the destination currency in the text.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getDestinationStart(){
+		return destinationStart;
+	}
+
+	/**
+	 * The following operation returns end of the destination currency in the text.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getDestinationEnd(){
+		return destinationEnd;
+	}
+
+	/**
+	 * The following operation returns error code of the last request, ERROR_NONE when it is parsed.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getErrorCode(){
+		return errorCode;
+	}
+
+	/**
+	 * The following operation returns position of the error counted from the start of the request, -1 when the request is parsed.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getErrorPosition(){
+		return errorPosition;
+	}
+
+	/**
+	 * The following operation returns the error of the last request as text, i.e. "Invalid amount at position 4".
+	 * @Input - N/A
+	 * @Response - String
+	 */
+	public String getErrorMessage(){
+		return errorCode == ERROR_NONE ? ERROR_MESSAGES[ERROR_NONE] : ERROR_MESSAGES[errorCode]+" at position "+errorPosition;
+	}
+}
@@ -0,0 +1,136 @@
+package currency.calculator.app.util;
+
+import java.math.BigDecimal;
+
+import currency.calculator.app.exception.StacklessCurrencyException;
+
+/**
+ * This class contains the result of a conversion for callers which convert many amounts and do not want an exception per invalid amount :
+ * a status and, when the status is STATUS_OK, the value in minor units of the destination currency. A result is meant to be reused by a
+ * single thread, every conversion overwrites it.
+ * @Operations: isOk, getStatus, getScaledValue, getScale, getValue, getMessage, toException
+ * @Developer: Singh, Sunny
+ */
+public final class ConversionResult {
+
+	//Status codes, the same as the status of the binary conversion protocol
+	public static final int STATUS_OK = 0;
+	public static final int STATUS_RATE_NOT_FOUND = 1;
+	public static final int STATUS_INVALID_INPUT = 2;
+	public static final int STATUS_AMOUNT_TOO_LARGE = 3;
+	public static final int STATUS_SYSTEM_ERROR = 4;
+
+	private static final StacklessCurrencyException[] EXCEPTIONS = { null, StacklessCurrencyException.RATE_NOT_FOUND,
+			StacklessCurrencyException.INVALID_INPUT, StacklessCurrencyException.AMOUNT_TOO_LARGE, StacklessCurrencyException.SYSTEM_ERROR };
+
+	private int status = STATUS_INVALID_INPUT;
+	private long scaledValue;
+	private int scale;
+	private BigDecimal value;
+
+	/**
+	 * The following operation keeps a converted value, scaledValue is scaled by 10^scale.
+	 * @Input - scaledValue, scale
+	 * @Response - boolean, always true
+	 */
+	boolean succeed(long scaledValue, int scale){
+		this.status = STATUS_OK;
+		this.scaledValue = scaledValue;
+		this.scale = scale;
+		this.value = null;
+		return true;
+	}
+
+	/**
+	 * The following operation keeps a converted value which is too large for a long.
+	 * @Input - value
+	 * @Response - boolean, always true
+	 */
+	boolean succeed(BigDecimal value){
+		this.status = STATUS_OK;
+		this.scaledValue = 0L;
+		this.scale = value.scale();
+		this.value = value;
+		return true;
+	}
+
+	/**
+	 * The following operation keeps a failed conversion.
+	 * @Input - status
+	 * @Response - boolean, always false
+	 */
+	boolean fail(int status){
+		this.status = status;
+		this.scaledValue = 0L;
+		this.scale = 0;
+		this.value = null;
+		return false;
+	}
+
+	/**
+	 * The following operation returns true when the conversion succeeded.
+	 * @Input - N/A
+	 * @Response - boolean
+	 */
+	public boolean isOk(){
+		return status == STATUS_OK;
+	}
+
+	/**
+	 * The following operation returns status of the conversion.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getStatus(){
+		return status;
+	}
+
+	/**
+	 * The following operation returns the value scaled by 10^getScale(), i.e. in minor units of the destination currency. When the value is
+	 * too large for a long it is only available from getValue.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getScaledValue(){
+		return scaledValue;
+	}
+
+	/**
+	 * The following operation returns number of decimal places of the value.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getScale(){
+		return scale;
+	}
+
+	/**
+	 * The following operation returns the value, null when the conversion failed.
+	 * @Input - N/A
+	 * @Response - BigDecimal
+	 */
+	public BigDecimal getValue(){
+		if(status != STATUS_OK){
+			return null;
+		}
+		return value != null ? value : BigDecimal.valueOf(scaledValue, scale);
+	}
+
+	/**
+	 * The following operation returns the message of the status, the same as the message of the exception the throwing operations throw.
+	 * @Input - N/A
+	 * @Response - String
+	 */
+	public String getMessage(){
+		return status == STATUS_OK ? null : EXCEPTIONS[status].getMessage();
+	}
+
+	/**
+	 * The following operation returns the preallocated exception of the status, null when the conversion succeeded.
+	 * @Input - N/A
+	 * @Response - StacklessCurrencyException
+	 */
+	public StacklessCurrencyException toException(){
+		return EXCEPTIONS[status];
+	}
+}
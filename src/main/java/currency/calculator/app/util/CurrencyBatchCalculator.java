@@ -0,0 +1,275 @@
+package currency.calculator.app.util;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.feed.LiveRateStore;
+
+/**
+ * This class contains batch operations which convert many amounts at once over primitive arrays. Source currency ids, destination currency ids
+ * and amounts are passed as parallel arrays and the result is written into an array provided by the caller. The rate of a currency pair is
+ * resolved only when the pair changes from the previous element, the rest of a long run of the same pair is converted by BatchKernel,
+ * vectorized when available. The loop does not create any object.
+ * @Operations: calculateCurrencyValues - for amounts in minor units (long), with a status per amount and for amounts as double
+ * @Developer: Singh, Sunny
+ */
+public final class CurrencyBatchCalculator {
+
+	private static final Logger LOG = Logger.getLogger(CurrencyBatchCalculator.class.getName());
+
+	//Amounts of one currency pair converted inline before the rest of the run is converted by BatchKernel
+	private static final int KERNEL_MIN_RUN = 16;
+
+	//Rate 1 scaled by 10^RATE_SCALE, for the double rate of a shared rate store
+	private static final double RATE_UNIT = FixedPointMath.getPowerOfTen(CurrencyCalculatorConstant.RATE_SCALE);
+
+	/**
+	 * The private constructor for not to allow creation of object for this class
+	 */
+	private CurrencyBatchCalculator() {
+	}
+
+	/**
+	 * The following operation converts amounts given in minor units of the source currency (e.g. cents) into minor units of the destination
+	 * currency. Every result is truncated the same way as calculateCurrencyValue does it.
+	 * @Input - sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results
+	 * @Response - N/A, results are written into results
+	 * @Exception - CurrencyException
+	 */
+	public static void calculateCurrencyValues(int[] sourceCurrencyIds, int[] destinationCurrencyIds, long[] inputAmounts, long[] results) throws CurrencyException{
+		calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results, 0, sourceCurrencyIds == null ? 0 : sourceCurrencyIds.length);
+	}
+
+	/**
+	 * The following operation converts length amounts starting at offset, given in minor units of the source currency into minor units of the
+	 * destination currency.
+	 * @Input - sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results, offset, length
+	 * @Response - N/A, results are written into results
+	 * @Exception - CurrencyException
+	 */
+	public static void calculateCurrencyValues(int[] sourceCurrencyIds, int[] destinationCurrencyIds, long[] inputAmounts, long[] results, int offset, int length) throws CurrencyException{
+		validateBatch(sourceCurrencyIds, destinationCurrencyIds, inputAmounts == null ? -1 : inputAmounts.length, results == null ? -1 : results.length, offset, length);
+		CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+		LiveRateStore shared = LiveRateStore.getSharedInstance(matrix);
+		CurrencyRegistry registry = matrix.getRegistry();
+		int size = matrix.getSize();
+		BatchKernel kernel = BatchKernel.getInstance();
+		int previousSource = -1;
+		int previousDestination = -1;
+		long rate = 0L;
+		int exponent = 0;
+		int runStart = offset;
+		int index = offset;
+		int end = offset + length;
+		try {
+			for (; index < end; index++) {
+				int source = sourceCurrencyIds[index];
+				int destination = destinationCurrencyIds[index];
+				/*
+				 * Batches are mostly sorted or grouped by currency pair, hence the rate is resolved only when the pair changes.
+				 */
+				if(source != previousSource || destination != previousDestination){
+					if(source < 0 || source >= size || destination < 0 || destination >= size
+							|| matrix.getRouteType(source, destination) == CurrencyCalculatorConstant.ROUTE_TYPE_NONE){
+						throw rateNotFound(index);
+					}
+					rate = shared == null ? matrix.getScaledRate(source, destination) : shared.getScaledRate(source, destination);
+					exponent = CurrencyCalculatorConstant.RATE_SCALE + registry.getDecimalPlace(source) - registry.getDecimalPlace(destination);
+					previousSource = source;
+					previousDestination = destination;
+					runStart = index;
+				}else if(index - runStart == KERNEL_MIN_RUN){
+					/*
+					 * A long run of the same pair, the rest of it is converted by the kernel.
+					 */
+					int runEnd = kernel.getRunEnd(sourceCurrencyIds, destinationCurrencyIds, index, end);
+					int converted = kernel.multiplyDivideDown(inputAmounts, results, index, runEnd, rate, exponent);
+					if(converted == runEnd){
+						index = runEnd - 1;
+						continue;
+					}
+					//The kernel stopped at an amount which is too large, it is converted below to throw
+					index = converted;
+				}
+				results[index] = FixedPointMath.multiplyDivideDown(inputAmounts[index], rate, exponent);
+			}
+		} catch (ArithmeticException ex) {
+			LOG.severe("CurrencyBatchCalculator->calculateCurrencyValues()-> Amount too large at index "+index+" : "+inputAmounts[index]);
+			throw new CurrencyException("Amount provided is too large","CurrencyBatchCalculator->calculateCurrencyValues()-> Amount too large at index "+index,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		if(LOG.isLoggable(Level.FINE)){
+			LOG.fine("CurrencyBatchCalculator->calculateCurrencyValues()-> Converted "+length+" amounts");
+		}
+	}
+
+	/**
+	 * The following operation converts length amounts starting at offset, given in minor units of the source currency into minor units of the
+	 * destination currency, without throwing an exception for an amount which can not be converted : its status is written into statuses,
+	 * the status of ConversionResult, and its result is 0. The conversion goes on with the next amount.
+	 * @Input - sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results, statuses, offset, length
+	 * @Response - int, number of amounts which could not be converted
+	 * @Exception - CurrencyException when the arrays do not cover offset and length
+	 */
+	public static int calculateCurrencyValues(int[] sourceCurrencyIds, int[] destinationCurrencyIds, long[] inputAmounts, long[] results, byte[] statuses, int offset, int length) throws CurrencyException{
+		return calculateCurrencyValues(CurrencyRateMatrix.getInstance(), sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results, statuses, offset, length);
+	}
+
+	/**
+	 * The following operation converts length amounts starting at offset with the rates of the given matrix, with a status per amount. Callers
+	 * converting one batch in many parts, e.g. in parallel, pass the same matrix to every part so that a reload does not change the rates
+	 * in the middle of the batch.
+	 * @Input - matrix, sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results, statuses, offset, length
+	 * @Response - int, number of amounts which could not be converted
+	 * @Exception - CurrencyException when the arrays do not cover offset and length
+	 */
+	public static int calculateCurrencyValues(CurrencyRateMatrix matrix, int[] sourceCurrencyIds, int[] destinationCurrencyIds, long[] inputAmounts, long[] results, byte[] statuses, int offset, int length) throws CurrencyException{
+		validateBatch(sourceCurrencyIds, destinationCurrencyIds, inputAmounts == null ? -1 : inputAmounts.length, Math.min(results == null ? -1 : results.length,
+				statuses == null ? -1 : statuses.length), offset, length);
+		LiveRateStore shared = LiveRateStore.getSharedInstance(matrix);
+		CurrencyRegistry registry = matrix.getRegistry();
+		int size = matrix.getSize();
+		BatchKernel kernel = BatchKernel.getInstance();
+		int previousSource = -1;
+		int previousDestination = -1;
+		byte pairStatus = ConversionResult.STATUS_OK;
+		long rate = 0L;
+		int exponent = 0;
+		int failed = 0;
+		int runStart = offset;
+		int end = offset + length;
+		for (int index = offset; index < end; index++) {
+			int source = sourceCurrencyIds[index];
+			int destination = destinationCurrencyIds[index];
+			if(source != previousSource || destination != previousDestination){
+				if(source < 0 || source >= size || destination < 0 || destination >= size
+						|| matrix.getRouteType(source, destination) == CurrencyCalculatorConstant.ROUTE_TYPE_NONE){
+					pairStatus = ConversionResult.STATUS_RATE_NOT_FOUND;
+				}else{
+					pairStatus = ConversionResult.STATUS_OK;
+					rate = shared == null ? matrix.getScaledRate(source, destination) : shared.getScaledRate(source, destination);
+					exponent = CurrencyCalculatorConstant.RATE_SCALE + registry.getDecimalPlace(source) - registry.getDecimalPlace(destination);
+				}
+				previousSource = source;
+				previousDestination = destination;
+				runStart = index;
+			}else if(index - runStart == KERNEL_MIN_RUN && pairStatus == ConversionResult.STATUS_OK){
+				/*
+				 * The kernel stops at an amount which can not be converted, the run goes on after it.
+				 */
+				int runEnd = kernel.getRunEnd(sourceCurrencyIds, destinationCurrencyIds, index, end);
+				int from = index;
+				while (from < runEnd) {
+					int converted = kernel.multiplyDivideDown(inputAmounts, results, from, runEnd, rate, exponent);
+					Arrays.fill(statuses, from, converted, (byte) ConversionResult.STATUS_OK);
+					if(converted < runEnd){
+						results[converted] = 0L;
+						statuses[converted] = ConversionResult.STATUS_AMOUNT_TOO_LARGE;
+						failed++;
+					}
+					from = converted + 1;
+				}
+				index = runEnd - 1;
+				continue;
+			}
+			byte status = pairStatus;
+			long result = 0L;
+			if(status == ConversionResult.STATUS_OK){
+				try {
+					result = FixedPointMath.multiplyDivideDown(inputAmounts[index], rate, exponent);
+				} catch (ArithmeticException ex) {
+					status = ConversionResult.STATUS_AMOUNT_TOO_LARGE;
+				}
+			}
+			results[index] = result;
+			statuses[index] = status;
+			if(status != ConversionResult.STATUS_OK){
+				failed++;
+			}
+		}
+		if(LOG.isLoggable(Level.FINE)){
+			LOG.fine("CurrencyBatchCalculator->calculateCurrencyValues()-> Converted "+(length - failed)+" of "+length+" amounts");
+		}
+		return failed;
+	}
+
+	/**
+	 * The following operation converts amounts given as double. The results are not truncated to the decimal place of the destination
+	 * currency, this is left to the caller.
+	 * @Input - sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results
+	 * @Response - N/A, results are written into results
+	 * @Exception - CurrencyException
+	 */
+	public static void calculateCurrencyValues(int[] sourceCurrencyIds, int[] destinationCurrencyIds, double[] inputAmounts, double[] results) throws CurrencyException{
+		calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results, 0, sourceCurrencyIds == null ? 0 : sourceCurrencyIds.length);
+	}
+
+	/**
+	 * The following operation converts length amounts starting at offset given as double.
+	 * @Input - sourceCurrencyIds, destinationCurrencyIds, inputAmounts, results, offset, length
+	 * @Response - N/A, results are written into results
+	 * @Exception - CurrencyException
+	 */
+	public static void calculateCurrencyValues(int[] sourceCurrencyIds, int[] destinationCurrencyIds, double[] inputAmounts, double[] results, int offset, int length) throws CurrencyException{
+		validateBatch(sourceCurrencyIds, destinationCurrencyIds, inputAmounts == null ? -1 : inputAmounts.length, results == null ? -1 : results.length, offset, length);
+		CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+		LiveRateStore shared = LiveRateStore.getSharedInstance(matrix);
+		int size = matrix.getSize();
+		BatchKernel kernel = BatchKernel.getInstance();
+		int previousSource = -1;
+		int previousDestination = -1;
+		double rate = 0.0;
+		int runStart = offset;
+		int end = offset + length;
+		for (int index = offset; index < end; index++) {
+			int source = sourceCurrencyIds[index];
+			int destination = destinationCurrencyIds[index];
+			if(source != previousSource || destination != previousDestination){
+				if(source < 0 || source >= size || destination < 0 || destination >= size
+						|| matrix.getRouteType(source, destination) == CurrencyCalculatorConstant.ROUTE_TYPE_NONE){
+					throw rateNotFound(index);
+				}
+				rate = shared == null ? matrix.getRate(source, destination) : shared.getScaledRate(source, destination) / RATE_UNIT;
+				previousSource = source;
+				previousDestination = destination;
+				runStart = index;
+			}else if(index - runStart == KERNEL_MIN_RUN){
+				int runEnd = kernel.getRunEnd(sourceCurrencyIds, destinationCurrencyIds, index, end);
+				kernel.multiply(inputAmounts, results, index, runEnd, rate);
+				index = runEnd - 1;
+				continue;
+			}
+			results[index] = inputAmounts[index] * rate;
+		}
+		if(LOG.isLoggable(Level.FINE)){
+			LOG.fine("CurrencyBatchCalculator->calculateCurrencyValues()-> Converted "+length+" amounts");
+		}
+	}
+
+	/**
+	 * The following operation validates that all arrays of a batch cover the range given by offset and length.
+	 * @Input - sourceCurrencyIds, destinationCurrencyIds, amountLength, resultLength, offset, length
+	 * @Response - N/A
+	 * @Exception - CurrencyException
+	 */
+	private static void validateBatch(int[] sourceCurrencyIds, int[] destinationCurrencyIds, int amountLength, int resultLength, int offset, int length) throws CurrencyException{
+		if(sourceCurrencyIds == null || destinationCurrencyIds == null || amountLength < 0 || resultLength < 0 || offset < 0 || length < 0
+				|| offset + length > sourceCurrencyIds.length || offset + length > destinationCurrencyIds.length
+				|| offset + length > amountLength || offset + length > resultLength){
+			LOG.severe("CurrencyBatchCalculator->validateBatch()-> Invalid input provided -> array is missing or shorter than offset : "+offset+", length : "+length);
+			throw new CurrencyException("Input field provided is not valid ","CurrencyBatchCalculator->validateBatch()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+	}
+
+	/**
+	 * The following operation creates the exception for a currency pair not found in the currency matrix.
+	 * @Input - index
+	 * @Response - CurrencyException
+	 */
+	private static CurrencyException rateNotFound(int index){
+		LOG.severe("CurrencyBatchCalculator->calculateCurrencyValues()->Nothing returned from currency matrix table at index "+index);
+		return new CurrencyException("Currency details are not found in currency matrix table","CurrencyBatchCalculator->calculateCurrencyValues()->Nothing returned from currency matrix table at index "+index,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+	}
+}
@@ -2,16 +2,18 @@ package currency.calculator.app.util;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.HashMap;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 import static java.math.BigDecimal.ONE;
 import currency.calculator.app.constant.CurrencyCalculatorConstant;
 import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.feed.LiveRateStore;
+import currency.calculator.app.feed.RateHistory;
+import currency.calculator.app.metrics.ConversionEventLog;
+import currency.calculator.app.metrics.ConversionMetrics;
 
 /**
  * This class contains all methods which helps calculating exchange rate from property value
- * @Operations: calculateCurrencyValue, convertStringToBigDecimal, isCurrencyAvailable, getDecimalPlace, getFXRates, fetchCrossCurrencyValue, calculateRateFromCrossCurrency and calculateRateByCrossCurrency - utility/helper methods
+ * @Operations: calculateCurrencyValue - now or as of a time, convert, convertStringToBigDecimal, isCurrencyAvailable, getCurrencyId, isRateAvailable, getDecimalPlace, getFXRates, fetchCrossCurrencyValue, calculateRateFromCrossCurrency and calculateRateByCrossCurrency - utility/helper methods
  * @Developer: Singh, Sunny 
  */
 public class CurrencyCalculatorUtil {
@@ -25,7 +27,7 @@ public class CurrencyCalculatorUtil {
 	 * @Exception - CurrencyException
 	 */
 	public static BigDecimal calculateCurrencyValue(String sourceCurrency, String inputAmount, String destinationCurrency) throws CurrencyException{
-		if(LOG.isLoggable(Level.INFO)){
+		if(ConversionEventLog.isVerbose(LOG)){
 			LOG.info("CurrencyCalculatorUtil->calculateCurrencyValue()-> Enters to calculate rate ");
 		}
 		/*
@@ -40,65 +42,160 @@ public class CurrencyCalculatorUtil {
 								 && destinationCurrency!=null && !destinationCurrency.equals("")){
 		
 			/*
-			 * Retrieving cross Currency details for the input currency  
+			 * Retrieving the currency ids from the registry. The rest of the calculation is done against the currency ids of the same matrix, 
+			 * even when a reload swaps in a new matrix meanwhile. 
 			 */
-			String crossCurrency = fetchCrossCurrencyValue(sourceCurrency, destinationCurrency);
-			/*
-			 * Validating input request. Cross Currency must exist in the cross currency matrix table. 
-			 */
-			if(crossCurrency!=null && !crossCurrency.equals("")){
-				/*
-				 * Switch case statement for calculating the intended currency value depending upon the cross currency received 
-				 */
-				switch(crossCurrency){
-					/*
-					 * This case statement calculates the value of currency if the cross currency matches with "D" Direct feed.
-					 */
-				case CurrencyCalculatorConstant.CROSS_REF_KEY_DIRECT:
-					intendedCurrencyValue = BigDecimal.valueOf(getFXRates(sourceCurrency+destinationCurrency));
-					intendedCurrencyValue = intendedCurrencyValue.multiply(convertStringToBigDecimal(inputAmount));
-					break;
-					/*
-					 * This case statement calculates the value of currency if the cross currency matches with "I" Inverted.
-					 */	
-				case CurrencyCalculatorConstant.CROSS_REF_KEY_INVERSION:
-					intendedCurrencyValue = BigDecimal.valueOf(getFXRates(destinationCurrency+sourceCurrency));
-					intendedCurrencyValue = ONE.divide(intendedCurrencyValue, CurrencyCalculatorConstant.GENERIC_DECIMAL_PLACE, RoundingMode.HALF_UP).multiply(convertStringToBigDecimal(inputAmount));
-					break;
-					/*
-					 * This case statement calculates the value of currency if the cross currency matches with "U" Unity.
-					 */	
-				case CurrencyCalculatorConstant.CROSS_REF_KEY_UNITY:
-					intendedCurrencyValue = convertStringToBigDecimal(inputAmount);
-					break;
-				default:
-					if(LOG.isLoggable(Level.INFO)){
-						LOG.info("CurrencyCalculatorUtil->calculateCurrencyValue()-> calling cross currency matrix ");
-					}
-					/*
-					 * If the cross currency does not match in the case then it calls a function where the function fetches the details with the help of 
-					 *  cross currency value.
-					 */
-					intendedCurrencyValue = calculateRateFromCrossCurrency(sourceCurrency, destinationCurrency, inputAmount, crossCurrency );
-				}
+			CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+			int sourceCurrencyId = matrix.getRegistry().getCurrencyId(sourceCurrency);
+			int destinationCurrencyId = matrix.getRegistry().getCurrencyId(destinationCurrency);
+			if(sourceCurrencyId >= 0 && destinationCurrencyId >= 0){
+				intendedCurrencyValue = calculateCurrencyValue(matrix, sourceCurrencyId, convertStringToBigDecimal(inputAmount), destinationCurrencyId);
 			/*
 			 * Validation of input request fails then throw CurrencyException with required information.
 			*/		
 			}else{
 				LOG.severe("CurrencyCalculatorUtil->calculateCurrencyValue()->Nothing returned from currency matrix table ");
-				throw new CurrencyException("Currency details are not found in currency matrix table","CurrencyCalculatorUtil->calculateCurrencyValue()->Nothing returned from currency matrix table",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+				throw ConversionMetrics.recordError(new CurrencyException("Currency details are not found in currency matrix table","CurrencyCalculatorUtil->calculateCurrencyValue()->Nothing returned from currency matrix table",CurrencyCalculatorConstant.EXCEPTION_SYSTEM));
 			}
 		}else{
 			LOG.severe("CurrencyCalculatorUtil->calculateCurrencyValue()-> Invalid input provided -> Null input amount provided , sourceCurrency : "+sourceCurrency+", inputAmount : "+inputAmount+", destinationCurrency : "+destinationCurrency);
-			throw new CurrencyException("Input field provided is not valid ","CurrencyCalculatorUtil->calculateCurrencyValue()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+			throw ConversionMetrics.recordError(new CurrencyException("Input field provided is not valid ","CurrencyCalculatorUtil->calculateCurrencyValue()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM));
 		}
-		if(LOG.isLoggable(Level.INFO)){
+		if(ConversionEventLog.isVerbose(LOG)){
 			LOG.info("CurrencyCalculatorUtil->calculateCurrencyValue()-> Exiting with value "+intendedCurrencyValue);
 		}
+		return intendedCurrencyValue;
+	}
+	/**
+	 * The following operation calculate the currency exchange rate for currency ids of the registry.
+	 * @Input - sourceCurrencyId, inputAmount, destinationCurrencyId
+	 * @Response - BigDecimal
+	 * @Exception - CurrencyException
+	 */
+	public static BigDecimal calculateCurrencyValue(int sourceCurrencyId, BigDecimal inputAmount, int destinationCurrencyId) throws CurrencyException{
+		return calculateCurrencyValue(CurrencyRateMatrix.getInstance(), sourceCurrencyId, inputAmount, destinationCurrencyId);
+	}
+	/**
+	 * The following operation calculate the currency exchange rate with the rates of the named rate book (see RateBooks), the current matrix
+	 * when rateBook is null or empty.
+	 * @Input - rateBook, sourceCurrencyId, inputAmount, destinationCurrencyId
+	 * @Response - BigDecimal
+	 * @Exception - CurrencyException
+	 */
+	public static BigDecimal calculateCurrencyValue(String rateBook, int sourceCurrencyId, BigDecimal inputAmount, int destinationCurrencyId) throws CurrencyException{
+		return calculateCurrencyValue(RateBooks.getBook(rateBook), sourceCurrencyId, inputAmount, destinationCurrencyId);
+	}
+	/**
+	 * The following operation calculate the currency exchange rate with the rate in effect at asOf, taken from the rate history (see RateHistory).
+	 * The conversion is recorded in the metrics and the event log as every conversion is.
+	 * @Input - sourceCurrencyId, inputAmount, destinationCurrencyId, asOf - time in milliseconds
+	 * @Response - BigDecimal
+	 * @Exception - CurrencyException
+	 */
+	public static BigDecimal calculateCurrencyValue(int sourceCurrencyId, BigDecimal inputAmount, int destinationCurrencyId, long asOf) throws CurrencyException{
+		long startTime = ConversionMetrics.isEnabled() || ConversionEventLog.isProductionMode() ? System.nanoTime() : 0L;
+		if(inputAmount == null){
+			LOG.severe("CurrencyCalculatorUtil->calculateCurrencyValue()-> Invalid input provided -> Null input amount provided");
+			throw ConversionMetrics.recordError(new CurrencyException("Input field provided is not valid ","CurrencyCalculatorUtil->calculateCurrencyValue()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM));
+		}
+		RateHistory history = RateHistory.getInstance();
+		long rate = history.getScaledRate(sourceCurrencyId, destinationCurrencyId, asOf);
+		if(rate == 0L){
+			LOG.severe("CurrencyCalculatorUtil->calculateCurrencyValue()->Nothing returned from rate history as of "+asOf);
+			throw ConversionMetrics.recordError(new CurrencyException("Currency details are not found in rate history","CurrencyCalculatorUtil->calculateCurrencyValue()->Nothing returned from rate history as of "+asOf,CurrencyCalculatorConstant.EXCEPTION_SYSTEM));
+		}
+		CurrencyRateMatrix matrix = history.getMatrix();
+		BigDecimal result = BigDecimal.valueOf(rate, CurrencyCalculatorConstant.RATE_SCALE).multiply(inputAmount)
+				.setScale(matrix.getRegistry().getDecimalPlace(destinationCurrencyId), RoundingMode.DOWN);
+		if(startTime != 0L){
+			long endTime = System.nanoTime();
+			ConversionMetrics.recordConversion(matrix, sourceCurrencyId, destinationCurrencyId, endTime - startTime);
+			ConversionEventLog.recordConversion(matrix.getRegistry(), sourceCurrencyId, inputAmount, destinationCurrencyId, result, endTime);
+		}
+		if(ConversionEventLog.isVerbose(LOG)){
+			LOG.info("CurrencyCalculatorUtil->calculateCurrencyValue()-> Exiting with value "+result+" as of "+asOf);
+		}
+		return result;
+	}
+	/**
+	 * The following operation calculate the currency exchange rate for currency ids of the registry of the given matrix.
+	 * @Input - matrix, sourceCurrencyId, inputAmount, destinationCurrencyId
+	 * @Response - BigDecimal
+	 * @Exception - CurrencyException
+	 */
+	private static BigDecimal calculateCurrencyValue(CurrencyRateMatrix matrix, int sourceCurrencyId, BigDecimal inputAmount, int destinationCurrencyId) throws CurrencyException{
+		BigDecimal result = multiply(matrix, sourceCurrencyId, inputAmount, destinationCurrencyId);
 		/*
-		 * Returning currency conversion value after calculation. The decimal place to which precision is required - is fetched against each intended currency from file. 
+		 * Validating input request. Currency pair must exist in the cross currency matrix table. 
 		 */
-		return intendedCurrencyValue.setScale(getDecimalPlace(destinationCurrency), BigDecimal.ROUND_DOWN);
+		if(result == null){
+			LOG.severe("CurrencyCalculatorUtil->calculateCurrencyValue()->Nothing returned from currency matrix table ");
+			throw ConversionMetrics.recordError(new CurrencyException("Currency details are not found in currency matrix table","CurrencyCalculatorUtil->calculateCurrencyValue()->Nothing returned from currency matrix table",CurrencyCalculatorConstant.EXCEPTION_SYSTEM));
+		}
+		return result;
+	}
+	/**
+	 * The following operation calculate the currency exchange rate for currency ids of the registry without throwing an exception and 
+	 * without logging when it fails, the status is kept in result instead.
+	 * @Input - sourceCurrencyId, inputAmount, destinationCurrencyId, result
+	 * @Response - boolean, true when the amount is converted
+	 */
+	public static boolean convert(int sourceCurrencyId, BigDecimal inputAmount, int destinationCurrencyId, ConversionResult result){
+		CurrencyRateMatrix matrix;
+		try {
+			matrix = CurrencyRateMatrix.getInstance();
+		} catch (CurrencyException ex) {
+			result.fail(ConversionResult.STATUS_SYSTEM_ERROR);
+			ConversionMetrics.recordError(result.toException());
+			return false;
+		}
+		return convert(matrix, sourceCurrencyId, inputAmount, destinationCurrencyId, result);
+	}
+	/**
+	 * The following operation calculate the currency exchange rate with the rates of the given matrix without throwing an exception, the 
+	 * status is kept in result.
+	 * @Input - matrix, sourceCurrencyId, inputAmount, destinationCurrencyId, result
+	 * @Response - boolean, true when the amount is converted
+	 */
+	public static boolean convert(CurrencyRateMatrix matrix, int sourceCurrencyId, BigDecimal inputAmount, int destinationCurrencyId, ConversionResult result){
+		BigDecimal value = multiply(matrix, sourceCurrencyId, inputAmount, destinationCurrencyId);
+		if(value == null){
+			result.fail(inputAmount == null ? ConversionResult.STATUS_INVALID_INPUT : ConversionResult.STATUS_RATE_NOT_FOUND);
+			ConversionMetrics.recordError(result.toException());
+			return false;
+		}
+		return result.succeed(value);
+	}
+	/**
+	 * The following operation multiplies the amount with the compiled rate of the currency ids, null when the matrix has no rate for them.
+	 * @Input - matrix, sourceCurrencyId, inputAmount, destinationCurrencyId
+	 * @Response - BigDecimal
+	 */
+	private static BigDecimal multiply(CurrencyRateMatrix matrix, int sourceCurrencyId, BigDecimal inputAmount, int destinationCurrencyId){
+		long startTime = ConversionMetrics.isEnabled() || ConversionEventLog.isProductionMode() ? System.nanoTime() : 0L;
+		/*
+		 * Retrieving the compiled rate for the input currency. The whole cross currency matrix is resolved once at load time, 
+		 * hence this is only an array read against the currency ids. With a shared rate store the newest rate is read from it.
+		 */
+		BigDecimal rate = null;
+		if(inputAmount != null && sourceCurrencyId >= 0 && sourceCurrencyId < matrix.getSize()
+							   && destinationCurrencyId >= 0 && destinationCurrencyId < matrix.getSize()){
+			LiveRateStore shared = LiveRateStore.getSharedInstance(matrix);
+			rate = shared == null ? matrix.getExactRate(sourceCurrencyId, destinationCurrencyId) : shared.getExactRate(sourceCurrencyId, destinationCurrencyId);
+		}
+		if(rate == null){
+			return null;
+		}
+		/*
+		 * Returning currency conversion value after calculation. The decimal place to which precision is required - is fetched against each intended currency from registry. 
+		 */
+		BigDecimal result = rate.multiply(inputAmount).setScale(matrix.getRegistry().getDecimalPlace(destinationCurrencyId), RoundingMode.DOWN);
+		if(startTime != 0L){
+			long endTime = System.nanoTime();
+			ConversionMetrics.recordConversion(matrix, sourceCurrencyId, destinationCurrencyId, endTime - startTime);
+			ConversionEventLog.recordConversion(matrix.getRegistry(), sourceCurrencyId, inputAmount, destinationCurrencyId, result, endTime);
+		}
+		return result;
 	}
 	/**
 	 * The following operation convert String To BigDecimal.
@@ -112,19 +209,19 @@ public class CurrencyCalculatorUtil {
 		 * Validating the input provided for this method
 		 */
 		if(inputAmount != null && !inputAmount.equals("")){
-			result = new BigDecimal(inputAmount.replaceAll(",", ""));
+			result = new BigDecimal(inputAmount.indexOf(',') < 0 ? inputAmount : inputAmount.replace(",", ""));
 		}else {
 			LOG.severe("CurrencyCalculatorUtil->convertStringToBigDecimal()-> Invalid input provided -> Null input amount provided , Amount : "+inputAmount);
 			throw new CurrencyException("Input field provided is not valid ","CurrencyCalculatorUtil->convertStringToBigDecimal()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
 		}
-	      if(LOG.isLoggable(Level.INFO)){
+	      if(ConversionEventLog.isVerbose(LOG)){
 	        	LOG.info("CurrencyCalculatorUtil->convertStringToBigDecimal()-> Exiting with value "+result);
 	      }
 	       return result;
 	}
 	
 	/**
-	 * The following operation returns decimal place against each currency provided.
+	 * The following operation returns decimal place against each currency provided. The decimal place is read from the currency registry.
 	 * @Input - currency
 	 * @Response - int
 	 * @Exception - CurrencyException
@@ -135,62 +232,34 @@ public class CurrencyCalculatorUtil {
 		 * Validating the input provided for this method
 		 */
 		if(currency != null && !currency.equals("")){
+			int currencyId = CurrencyRateMatrix.getInstance().getRegistry().getCurrencyId(currency);
 			/*
-			 * Switch case statement for calculating the decimal places with the provided currency. 
-			*/	
-			switch(currency.trim()){
-				case CurrencyCalculatorConstant.CURRENCY_AUD:
-					result =  CurrencyCalculatorConstant.AUD_DECIMAL_PLACE;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_CAD:
-					result =  CurrencyCalculatorConstant.CAD_DECIMAL_PLACE;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_CNY:
-					result =  CurrencyCalculatorConstant.CNY_DECIMAL_PLACE;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_CZK:
-					result =  CurrencyCalculatorConstant.CZK_DECIMAL_PLACE;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_DKK:
-					result =  CurrencyCalculatorConstant.DKK_DECIMAL_PLACE;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_EUR:
-					result =  CurrencyCalculatorConstant.EUR_DECIMAL_PLACE;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_GBP:
-					result =  CurrencyCalculatorConstant.GBP_DECIMAL_PLACE;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_JPY:
-					result =  CurrencyCalculatorConstant.JPY_DECIMAL_PLACE;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_NOK:
-					result =  CurrencyCalculatorConstant.NOK_DECIMAL_PLACE;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_NZD:
-					result =  CurrencyCalculatorConstant.NZD_DECIMAL_PLACE;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_USD:
-					result =  CurrencyCalculatorConstant.USD_DECIMAL_PLACE;
-					break;
-				default:
-					/*
-					 * In case nothing matches with the property value this method returns with generic decimal place provided. If needed, can be specified as per requirement. 
-					*/
-					result = CurrencyCalculatorConstant.GENERIC_DECIMAL_PLACE ;
-					if(LOG.isLoggable(Level.INFO)){
-						LOG.info("Unable to find decimal place in table for "+currency);
-					}
+			 * In case currency is not found in the registry this method returns with generic decimal place provided. 
+			*/
+			result = getDecimalPlace(currencyId);
+			if(currencyId < 0 && ConversionEventLog.isVerbose(LOG)){
+				LOG.info("Unable to find decimal place in table for "+currency);
 			}
 		}else {
 			LOG.severe("CurrencyCalculatorUtil->getDecimalPlace()-> Invalid input provided -> Null currency provided , Currency : "+currency);
 			throw new CurrencyException("Input field provided is not valid ","CurrencyCalculatorUtil->getDecimalPlace()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
 		}
-		if(LOG.isLoggable(Level.INFO)){
+		if(ConversionEventLog.isVerbose(LOG)){
 			LOG.info("CurrencyCalculatorUtil->getDecimalPlace()-> Exiting with value "+result);
 		}
 		return result;
 	}
 	
+	/**
+	 * The following operation returns decimal place against currency id, the generic decimal place when the id is not in the registry.
+	 * @Input - currencyId
+	 * @Response - int
+	 * @Exception - CurrencyException
+	 */
+	public static int getDecimalPlace(int currencyId)throws CurrencyException{
+		return CurrencyRateMatrix.getInstance().getRegistry().getDecimalPlace(currencyId);
+	}
+	
 	/**
 	 * The following operation currency rate when currency details are provided
 	 * @Input - inputCurrency
@@ -204,60 +273,35 @@ public class CurrencyCalculatorUtil {
 		 */
 		if(inputCurrency != null && !inputCurrency.equals("")){
 			/*
-			 * Switch case statement for getting exchange rate. This takes in currency as a parameter.
+			 * The currency pair is packed into an integer and searched in the quoted rate table. 
+			 * In case nothing matches with the table this method returns exchange rate as zero. 
 			*/
-			switch(inputCurrency.replaceAll("\\s+","")){
-				case CurrencyCalculatorConstant.CURRENCY_AUDUSD :
-					result = CurrencyCalculatorConstant.CURRENCY_RATE_AUDUSD;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_CADUSD :
-					result = CurrencyCalculatorConstant.CURRENCY_RATE_CADUSD;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_USDCNY :
-					result = CurrencyCalculatorConstant.CURRENCY_RATE_USDCNY;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_EURUSD :
-					result = CurrencyCalculatorConstant.CURRENCY_RATE_EURUSD;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_GBPUSD :
-					result = CurrencyCalculatorConstant.CURRENCY_RATE_GBPUSD;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_NZDUSD :
-					result = CurrencyCalculatorConstant.CURRENCY_RATE_NZDUSD;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_USDJPY :
-					result = CurrencyCalculatorConstant.CURRENCY_RATE_USDJPY;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_EURCZK :
-					result = CurrencyCalculatorConstant.CURRENCY_RATE_EURCZK;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_EURDKK :
-					result = CurrencyCalculatorConstant.CURRENCY_RATE_EURDKK;
-					break;
-				case CurrencyCalculatorConstant.CURRENCY_EURNOK :
-					result = CurrencyCalculatorConstant.CURRENCY_RATE_EURNOK;
-					break;
-				default:
-					/*
-					 * In case nothing matches with the property value this method returns exchange rate as zero. 
-					*/
-					result = 0.0;
-					if(LOG.isLoggable(Level.INFO)){
-						LOG.info("CurrencyCalculatorUtil->getFXRates()-> Unable to find rate for "+inputCurrency);
-					}
+			result = CurrencyRateMatrix.getInstance().getQuotedRate(CurrencyRegistry.packCurrencyPair(inputCurrency));
+			if(result == 0.0 && ConversionEventLog.isVerbose(LOG)){
+				LOG.info("CurrencyCalculatorUtil->getFXRates()-> Unable to find rate for "+inputCurrency);
 			}
 		}else{
 			LOG.severe("CurrencyCalculatorUtil->getFXRates()-> Invalid input provided -> Null currency provided , Currency : "+inputCurrency);
 			throw new CurrencyException("Input field provided is not valid ","CurrencyCalculatorUtil->getFXRates()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
 		}
-		if(LOG.isLoggable(Level.INFO)){
+		if(ConversionEventLog.isVerbose(LOG)){
 			LOG.info("CurrencyCalculatorUtil->getFXRates()-> Exiting with value "+result);
 		}
 		return result;
 	}
 	
 	/**
-	 * The following operation checks if the input currency by user exists or not
+	 * The following operation returns quoted currency rate of the currency pair given by currency ids, zero when the pair is not quoted.
+	 * @Input - sourceCurrencyId, destinationCurrencyId
+	 * @Response - double
+	 * @Exception - CurrencyException
+	 */
+	public static double getFXRates(int sourceCurrencyId, int destinationCurrencyId) throws CurrencyException {
+		return CurrencyRateMatrix.getInstance().getQuotedRate(sourceCurrencyId, destinationCurrencyId);
+	}
+	
+	/**
+	 * The following operation checks if the input currency by user exists or not. The currency exists when it is found in the currency registry.
 	 * @Input - currency
 	 * @Response - boolean
 	 * @Exception - CurrencyException
@@ -268,63 +312,52 @@ public class CurrencyCalculatorUtil {
 		 * Validating the input provided for this method
 		 */
 		if(currency != null && !currency.equals("")){
-			/*
-			 * Switch case statement for checking currency availability. If found, it return boolean value back to caller.
-			*/
-			switch(currency.trim()){
-			case CurrencyCalculatorConstant.CURRENCY_AUD:
-				flag = true;
-				break;
-			case CurrencyCalculatorConstant.CURRENCY_CAD:
-				flag = true;
-				break;
-			case CurrencyCalculatorConstant.CURRENCY_CNY:
-				flag = true;
-				break;
-			case CurrencyCalculatorConstant.CURRENCY_CZK:
-				flag = true;
-				break;
-			case CurrencyCalculatorConstant.CURRENCY_DKK:
-				flag = true;
-				break;
-			case CurrencyCalculatorConstant.CURRENCY_EUR:
-				flag = true;
-				break;
-			case CurrencyCalculatorConstant.CURRENCY_GBP:
-				flag = true;
-				break;
-			case CurrencyCalculatorConstant.CURRENCY_JPY:
-				flag = true;
-				break;
-			case CurrencyCalculatorConstant.CURRENCY_NOK:
-				flag = true;
-				break;
-			case CurrencyCalculatorConstant.CURRENCY_NZD:
-				flag = true;
-				break;
-			case CurrencyCalculatorConstant.CURRENCY_USD:
-				flag = true;
-				break;
-			default:
-				/*
-				 * In case nothing matches with the property value this method returns currency availability as false. 
-				*/
-				flag = false;
-				if(LOG.isLoggable(Level.INFO)){
-					LOG.info("CurrencyCalculatorUtil->isCurrencyAvailable()-> Unable to find currency "+currency+" in the table.");
-				}
+			flag = isCurrencyAvailable(CurrencyRateMatrix.getInstance().getRegistry().getCurrencyId(currency));
+			if(!flag && ConversionEventLog.isVerbose(LOG)){
+				LOG.info("CurrencyCalculatorUtil->isCurrencyAvailable()-> Unable to find currency "+currency+" in the table.");
 			}
 		}else {
 			LOG.severe("CurrencyCalculatorUtil->isCurrencyAvailable()-> Invalid input provided -> Null currency provided , Currency : "+currency);
 			throw new CurrencyException("Input field provided is not valid ","CurrencyCalculatorUtil->isCurrencyAvailable()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
 		}	
 		
-		if(LOG.isLoggable(Level.INFO)){
+		if(ConversionEventLog.isVerbose(LOG)){
 			LOG.info("CurrencyCalculatorUtil->isCurrencyAvailable()-> Exiting with value "+flag);
 		}
 		return flag;
 	}
 	
+	/**
+	 * The following operation checks if the currency id exists in the currency registry.
+	 * @Input - currencyId
+	 * @Response - boolean
+	 * @Exception - CurrencyException
+	 */
+	public static boolean isCurrencyAvailable(int currencyId) throws CurrencyException {
+		return currencyId >= 0 && currencyId < CurrencyRateMatrix.getInstance().getRegistry().getSize();
+	}
+	
+	/**
+	 * The following operation returns currency id of the currency code from the currency registry, -1 when the currency is not found.
+	 * @Input - currency
+	 * @Response - int
+	 * @Exception - CurrencyException
+	 */
+	public static int getCurrencyId(String currency) throws CurrencyException {
+		return CurrencyRateMatrix.getInstance().getRegistry().getCurrencyId(currency);
+	}
+	
+	/**
+	 * The following operation checks if a rate can be calculated from source currency to destination currency.
+	 * @Input - sourceCurrencyId, destinationCurrencyId
+	 * @Response - boolean
+	 * @Exception - CurrencyException
+	 */
+	public static boolean isRateAvailable(int sourceCurrencyId, int destinationCurrencyId) throws CurrencyException {
+		return isCurrencyAvailable(sourceCurrencyId) && isCurrencyAvailable(destinationCurrencyId)
+				&& CurrencyRateMatrix.getInstance().getRouteType(sourceCurrencyId, destinationCurrencyId) != CurrencyCalculatorConstant.ROUTE_TYPE_NONE;
+	}
+	
 	/**
 	 * The following operation fetches value from map against given Key
 	 * @Input - sourceCurrency, destinationCurrency
@@ -339,25 +372,41 @@ public class CurrencyCalculatorUtil {
 		if( sourceCurrency!=null && !sourceCurrency.equals("")
 								 && destinationCurrency!=null && !destinationCurrency.equals("")){
 			/*
-			 * This is a call being made to load property file into memory. The property value is stored into map collections for further use. 
+			 * The value is read back from the current currency matrix, hence it always belongs to the same rates and routes as the conversion. 
 			*/
-			HashMap<String, String> mapCurrency = LoadProperty.getFXPropValue();
-			String key = sourceCurrency.trim()+destinationCurrency.trim();
+			CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+			int source = matrix.getRegistry().getCurrencyId(sourceCurrency);
+			int destination = matrix.getRegistry().getCurrencyId(destinationCurrency);
 			
 			/*
-			 * This checks if map contains the key provided.If found, return the value of corresponding key. 
+			 * This checks if matrix contains the currency pair provided.If found, return the value of corresponding pair. 
 			*/
-			if(!mapCurrency.isEmpty() && mapCurrency.containsKey(key.toUpperCase())){
-				value = mapCurrency.get(key.toUpperCase());
-				if(LOG.isLoggable(Level.INFO)){
-					LOG.info("CurrencyCalculatorUtil->fetchValueFromCrossMatrixKey()-> Value : "+ value + " found against key : "+key);
+			if(source >= 0 && destination >= 0){
+				switch(matrix.getRouteType(source, destination)){
+					case CurrencyCalculatorConstant.ROUTE_TYPE_DIRECT:
+						value = CurrencyCalculatorConstant.CROSS_REF_KEY_DIRECT;
+						break;
+					case CurrencyCalculatorConstant.ROUTE_TYPE_INVERSION:
+						value = CurrencyCalculatorConstant.CROSS_REF_KEY_INVERSION;
+						break;
+					case CurrencyCalculatorConstant.ROUTE_TYPE_UNITY:
+						value = CurrencyCalculatorConstant.CROSS_REF_KEY_UNITY;
+						break;
+					case CurrencyCalculatorConstant.ROUTE_TYPE_CROSS:
+						value = matrix.getRegistry().getCurrencyCode(matrix.getCrossCurrencyId(source, destination));
+						break;
+					default:
+						value = null;
+				}
+				if(value != null && ConversionEventLog.isVerbose(LOG)){
+					LOG.info("CurrencyCalculatorUtil->fetchValueFromCrossMatrixKey()-> Value : "+ value + " found against key : "+sourceCurrency.trim()+destinationCurrency.trim());
 				}
 			}
 		}else {
 			LOG.severe("CurrencyCalculatorUtil->fetchValueFromCrossMatrixKey()-> Invalid input provided -> Null input provided , sourceCurrency : "+sourceCurrency+", destinationCurrency : "+destinationCurrency);
 			throw new CurrencyException("Input field provided is not valid ","CurrencyCalculatorUtil->fetchValueFromCrossMatrixKey()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
 		}
-		if(LOG.isLoggable(Level.INFO)){
+		if(ConversionEventLog.isVerbose(LOG)){
 			LOG.info("CurrencyCalculatorUtil->fetchValueFromCrossMatrixKey()-> Exiting with value "+value);
 		}
 		return value;
@@ -374,13 +423,14 @@ public class CurrencyCalculatorUtil {
 		 * Validating the input provided for this method
 		 */
 		if( sourceCurrency!=null && !sourceCurrency.equals("") && destinationCurrency!=null && !destinationCurrency.equals("")){
-			if(LOG.isLoggable(Level.INFO)){
-				LOG.info("CurrencyCalculatorUtil->fetchCrossCurrencyValue()-> Exiting with value  "+fetchValueFromCrossMatrixKey(sourceCurrency, destinationCurrency));
-			}
 			/*
 			 * This calls a method with key to find out the corresponding value in the map loaded into memory. 
 			*/
-			return fetchValueFromCrossMatrixKey(sourceCurrency, destinationCurrency);
+			String value = fetchValueFromCrossMatrixKey(sourceCurrency, destinationCurrency);
+			if(ConversionEventLog.isVerbose(LOG)){
+				LOG.info("CurrencyCalculatorUtil->fetchCrossCurrencyValue()-> Exiting with value  "+value);
+			}
+			return value;
 		}else {
 			LOG.severe("CurrencyCalculatorUtil->fetchCrossCurrencyValue()-> Invalid input provided -> Null input provided , sourceCurrency : "+sourceCurrency+", destinationCurrency : "+destinationCurrency);
 			throw new CurrencyException("Input field provided is not valid ","CurrencyCalculatorUtil->fetchCrossCurrencyValue()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
@@ -421,7 +471,7 @@ public class CurrencyCalculatorUtil {
 			*/
 			if(firstPartCrossRefCurrency != null && !firstPartCrossRefCurrency.equals("")){
 				firstPartFXResult = calculateRateByCrossCurrency(sourceCurrency, crossCurrency, firstPartCrossRefCurrency);
-				if(LOG.isLoggable(Level.INFO)){
+				if(ConversionEventLog.isVerbose(LOG)){
 					LOG.info("CurrencyCalculatorUtil->calculateRateFromCrossCurrency()->  "+firstPartFXResult);
 				}   
 			}
@@ -431,7 +481,7 @@ public class CurrencyCalculatorUtil {
 			*/
 			if(secondPartCrossRefCurrency != null && !secondPartCrossRefCurrency.equals("")){
 				secondPartFXResult = calculateRateByCrossCurrency(crossCurrency,destinationCurrency, secondPartCrossRefCurrency);
-				if(LOG.isLoggable(Level.INFO)){
+				if(ConversionEventLog.isVerbose(LOG)){
 					LOG.info("CurrencyCalculatorUtil->calculateRateFromCrossCurrency()->  "+secondPartFXResult);
 				}
 			}
@@ -452,7 +502,7 @@ public class CurrencyCalculatorUtil {
 		*/
 		finalFXResult = finalFXResult.multiply(convertStringToBigDecimal(inputAmount));
 		
-		if(LOG.isLoggable(Level.INFO)){
+		if(ConversionEventLog.isVerbose(LOG)){
 			LOG.info("CurrencyCalculatorUtil->calculateRateFromCrossCurrency()-> Exiting with value "+finalFXResult);
 		}
 		return finalFXResult;
@@ -511,7 +561,7 @@ public class CurrencyCalculatorUtil {
 					*/
 					if(firstPartCrossRefCurrency != null && !firstPartCrossRefCurrency.equals("")){
 						firstPartFXResult = calculateRateByCrossCurrency(sourceCurrency,crossRefCurrency, firstPartCrossRefCurrency);
-						if(LOG.isLoggable(Level.INFO)){
+						if(ConversionEventLog.isVerbose(LOG)){
 							LOG.info("CurrencyCalculatorUtil->calculateRateByCrossCurrency()-> "+firstPartFXResult);
 						}
 					}
@@ -520,7 +570,7 @@ public class CurrencyCalculatorUtil {
 					*/
 					if(secondPartCrossRefCurrency != null && !secondPartCrossRefCurrency.equals("")){
 						secondPartFXResult = calculateRateByCrossCurrency(crossRefCurrency,destinationCurrency, secondPartCrossRefCurrency);
-						if(LOG.isLoggable(Level.INFO)){
+						if(ConversionEventLog.isVerbose(LOG)){
 							LOG.info("CurrencyCalculatorUtil->calculateRateByCrossCurrency()-> "+secondPartFXResult);
 						}
 					}
@@ -530,7 +580,7 @@ public class CurrencyCalculatorUtil {
 					if(firstPartFXResult.compareTo(BigDecimal.ZERO) != 0  && secondPartFXResult.compareTo(BigDecimal.ZERO) != 0 ){
 						secondPartFXResult = ONE.divide(secondPartFXResult, CurrencyCalculatorConstant.GENERIC_DECIMAL_PLACE, RoundingMode.HALF_UP);
 						resultFX = firstPartFXResult.divide(secondPartFXResult,CurrencyCalculatorConstant.GENERIC_DECIMAL_PLACE, RoundingMode.HALF_UP);
-						if(LOG.isLoggable(Level.INFO)){
+						if(ConversionEventLog.isVerbose(LOG)){
 							LOG.info("CurrencyCalculatorUtil->calculateRateByCrossCurrency()-> "+resultFX);
 						}
 					}
@@ -543,7 +593,7 @@ public class CurrencyCalculatorUtil {
 			throw new CurrencyException("Input field provided is not valid ","CurrencyCalculatorUtil->calculateRateByCrossCurrency()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
 		}	
 		
-		if(LOG.isLoggable(Level.INFO)){
+		if(ConversionEventLog.isVerbose(LOG)){
 			LOG.info("CurrencyCalculatorUtil->calculateRateByCrossCurrency()-> Exiting with value "+resultFX);
 		}
 		return resultFX;
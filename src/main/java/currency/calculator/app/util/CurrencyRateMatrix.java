@@ -0,0 +1,565 @@
+package currency.calculator.app.util;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import static java.math.BigDecimal.ONE;
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+
+/**
+ * This class contains the compiled currency matrix. The routes of all currency pairs are resolved from the quoted pairs (see CurrencyRouteResolver),
+ * entries of the property file override them. All D/I/U and cross currency routes are resolved once against the FX rates into flat arrays
+ * indexed by currency id of the registry, so that a conversion is a single array read and a single multiply.
+ * The matrix only holds primitive arrays, hence it can be written to and loaded from a binary rate snapshot (see RateSnapshotFile).
+ * A matrix is never changed once it is created. Reloading rates and routes compiles a new matrix and swaps it in through a single atomic
+ * reference, hence readers never take a lock and always see one complete matrix.
+ * @Operations: getInstance, compile, reload, publish, getRegistry, getSize, getRouteType, getCrossCurrencyId, getRate, getExactRate, getScaledRate, getQuotedRate
+ * @Developer: Singh, Sunny
+ */
+public final class CurrencyRateMatrix {
+
+	private static final Logger LOG = Logger.getLogger(CurrencyRateMatrix.class.getName());
+
+	private static final AtomicReference<CurrencyRateMatrix> MATRIX_INSTANCE = new AtomicReference<CurrencyRateMatrix>();
+
+	private final CurrencyRegistry registry;
+	private final int size;
+	private final byte[] routeTypes;
+	private final int[] crossCurrencyIds;
+	private final double[] rates;
+	private final long[] scaledRates;
+	private final int[] quotedPairs;
+	private final double[] quotedRates;
+
+	/**
+	 * Quoted FX rates sorted by the currency pair packed into an integer (see CurrencyRegistry.packCurrencyPair).
+	 */
+	private static final class QuotedRates {
+		private final int[] pairs;
+		private final double[] rates;
+
+		private QuotedRates(int[] pairs, double[] rates) {
+			this.pairs = pairs;
+			this.rates = rates;
+		}
+	}
+
+	/**
+	 * The private constructor compiles the matrix from the cross currency map and the quoted rate map loaded from property files.
+	 * @throws CurrencyException
+	 */
+	private CurrencyRateMatrix(CurrencyRegistry registry, HashMap<String, String> mapCurrency, HashMap<String, String> mapRates) throws CurrencyException{
+		this.registry = registry;
+		QuotedRates quoted = parseQuotedRates(mapRates);
+		quotedPairs = quoted.pairs;
+		quotedRates = quoted.rates;
+
+		size = registry.getSize();
+		byte[] plannedRouteTypes = new byte[size * size];
+		crossCurrencyIds = new int[size * size];
+		rates = new double[size * size];
+		scaledRates = new long[size * size];
+
+		/*
+		 * First pass - the routes of all currency pairs are resolved from the quoted pairs.
+		 */
+		CurrencyRouteResolver resolver = new CurrencyRouteResolver(registry, quotedPairs, getPreferredPivots());
+		for (int source = 0; source < size; source++) {
+			for (int destination = 0; destination < size; destination++) {
+				plannedRouteTypes[source * size + destination] = resolver.getRouteType(source, destination);
+				crossCurrencyIds[source * size + destination] = resolver.getCrossCurrencyId(source, destination);
+			}
+		}
+
+		/*
+		 * Every key of the property file is a pair of two currency codes. The value overrides the resolved route of the pair.
+		 */
+		for (Map.Entry<String, String> entry : mapCurrency.entrySet()) {
+			String pair = entry.getKey().trim();
+			int source = pair.length() == 6 ? registry.getCurrencyIdByPackedCode(CurrencyRegistry.packCurrencyCode(pair, 0)) : -1;
+			int destination = pair.length() == 6 ? registry.getCurrencyIdByPackedCode(CurrencyRegistry.packCurrencyCode(pair, 3)) : -1;
+			String crossCurrency = entry.getValue() == null ? "" : entry.getValue().trim();
+			if(source < 0 || destination < 0 || crossCurrency.equals("")){
+				if(LOG.isLoggable(Level.INFO)){
+					LOG.info("CurrencyRateMatrix->CurrencyRateMatrix()-> Ignoring entry not found in currency registry : "+entry.getKey());
+				}
+				continue;
+			}
+			int index = source * size + destination;
+			switch(crossCurrency){
+				case CurrencyCalculatorConstant.CROSS_REF_KEY_DIRECT:
+					plannedRouteTypes[index] = CurrencyCalculatorConstant.ROUTE_TYPE_DIRECT;
+					break;
+				case CurrencyCalculatorConstant.CROSS_REF_KEY_INVERSION:
+					plannedRouteTypes[index] = CurrencyCalculatorConstant.ROUTE_TYPE_INVERSION;
+					break;
+				case CurrencyCalculatorConstant.CROSS_REF_KEY_UNITY:
+					plannedRouteTypes[index] = CurrencyCalculatorConstant.ROUTE_TYPE_UNITY;
+					break;
+				default:
+					int cross = registry.getCurrencyId(crossCurrency);
+					if(cross >= 0){
+						plannedRouteTypes[index] = CurrencyCalculatorConstant.ROUTE_TYPE_CROSS;
+						crossCurrencyIds[index] = cross;
+					}
+			}
+			if(plannedRouteTypes[index] != CurrencyCalculatorConstant.ROUTE_TYPE_CROSS){
+				crossCurrencyIds[index] = -1;
+			}
+		}
+
+		routeTypes = compileRates(plannedRouteTypes, false);
+	}
+
+	/**
+	 * The private constructor compiles a rate book, the quoted rates of plan with the given quoted rates overriding them on the routes of plan.
+	 * The registry and the route arrays of plan are shared, only the rate arrays are new. The route types are copied only when the book
+	 * can not calculate a rate plan can.
+	 * @throws CurrencyException
+	 */
+	private CurrencyRateMatrix(CurrencyRateMatrix plan, HashMap<String, String> mapRates) throws CurrencyException{
+		this.registry = plan.registry;
+		this.size = plan.size;
+		QuotedRates quoted = mergeQuotedRates(plan.quotedPairs, plan.quotedRates, parseQuotedRates(mapRates));
+		quotedPairs = quoted.pairs;
+		quotedRates = quoted.rates;
+		crossCurrencyIds = plan.crossCurrencyIds;
+		rates = new double[size * size];
+		scaledRates = new long[size * size];
+		routeTypes = compileRates(plan.routeTypes, true);
+	}
+
+	/**
+	 * The following operation parses the quoted rate map, e.g. AUDUSD=0.8371, into quoted rates sorted by packed currency pair. Keys which
+	 * are not a currency pair are ignored.
+	 * @Input - mapRates
+	 * @Response - QuotedRates
+	 * @Exception - CurrencyException when a rate is not a positive number or has more than RATE_SCALE decimal places
+	 */
+	private static QuotedRates parseQuotedRates(HashMap<String, String> mapRates) throws CurrencyException{
+		/*
+		 * Quoted FX rates are sorted by the currency pair packed into an integer, which replaces string comparison against every quoted pair.
+		 */
+		long[] sortable = new long[mapRates.size()];
+		double[] parsedRates = new double[mapRates.size()];
+		int quoted = 0;
+		for (Map.Entry<String, String> entry : mapRates.entrySet()) {
+			int packedPair = CurrencyRegistry.packCurrencyPair(entry.getKey());
+			if(packedPair < 0){
+				if(LOG.isLoggable(Level.INFO)){
+					LOG.info("CurrencyRateMatrix->CurrencyRateMatrix()-> Ignoring rate which is not a currency pair : "+entry.getKey());
+				}
+				continue;
+			}
+			String value = entry.getValue().trim();
+			try {
+				parsedRates[quoted] = Double.parseDouble(value);
+				/*
+				 * Rates are held with RATE_SCALE decimal places, a quoted rate with more of them would be rounded by every conversion.
+				 */
+				if(new BigDecimal(value).stripTrailingZeros().scale() > CurrencyCalculatorConstant.RATE_SCALE){
+					LOG.severe("CurrencyRateMatrix->CurrencyRateMatrix()-> FX rate for "+entry.getKey()+" has more than "+CurrencyCalculatorConstant.RATE_SCALE+" decimal places");
+					parsedRates[quoted] = 0.0;
+				}
+			} catch (NumberFormatException ex) {
+				parsedRates[quoted] = 0.0;
+			}
+			if(!(parsedRates[quoted] > 0.0) || Double.isInfinite(parsedRates[quoted])){
+				LOG.severe("CurrencyRateMatrix->CurrencyRateMatrix()-> Invalid FX rate for "+entry.getKey()+" : "+entry.getValue());
+				throw new CurrencyException("Invalid FX rate found in rate file","CurrencyRateMatrix->CurrencyRateMatrix()-> Invalid FX rate for "+entry.getKey(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+			}
+			sortable[quoted] = ((long) packedPair << 32) | quoted;
+			quoted++;
+		}
+		Arrays.sort(sortable, 0, quoted);
+		int[] pairs = new int[quoted];
+		double[] rates = new double[quoted];
+		for (int i = 0; i < quoted; i++) {
+			pairs[i] = (int) (sortable[i] >>> 32);
+			rates[i] = parsedRates[(int) sortable[i]];
+		}
+		return new QuotedRates(pairs, rates);
+	}
+
+	/**
+	 * The following operation merges two sets of quoted rates sorted by packed currency pair, a pair of overrides replaces the same pair of base.
+	 * @Input - basePairs, baseRates, overrides
+	 * @Response - QuotedRates
+	 */
+	private static QuotedRates mergeQuotedRates(int[] basePairs, double[] baseRates, QuotedRates overrides){
+		int[] pairs = new int[basePairs.length + overrides.pairs.length];
+		double[] rates = new double[pairs.length];
+		int base = 0;
+		int override = 0;
+		int merged = 0;
+		while(base < basePairs.length || override < overrides.pairs.length){
+			if(override == overrides.pairs.length || (base < basePairs.length && basePairs[base] < overrides.pairs[override])){
+				pairs[merged] = basePairs[base];
+				rates[merged++] = baseRates[base++];
+			}else{
+				if(base < basePairs.length && basePairs[base] == overrides.pairs[override]){
+					base++;
+				}
+				pairs[merged] = overrides.pairs[override];
+				rates[merged++] = overrides.rates[override++];
+			}
+		}
+		return new QuotedRates(Arrays.copyOf(pairs, merged), Arrays.copyOf(rates, merged));
+	}
+
+	/**
+	 * The following operation calculates the rates of all routes of plannedRouteTypes from the quoted rates of this matrix. A pair whose rate
+	 * can not be calculated gets ROUTE_TYPE_NONE, in a copy of plannedRouteTypes when it is shared.
+	 * @Input - plannedRouteTypes, shared - true when plannedRouteTypes belongs to another matrix
+	 * @Response - byte[], the route types of this matrix
+	 * @Exception - CurrencyException
+	 */
+	private byte[] compileRates(byte[] plannedRouteTypes, boolean shared) throws CurrencyException{
+		/*
+		 * Second pass - the composite rate is calculated with the same precision and rounding as the recursive lookup, hence the result of a conversion does not change.
+		 * Every pair is calculated once, a pair which is reached again while it is calculated is part of a cycle.
+		 */
+		byte[] compiledRouteTypes = plannedRouteTypes;
+		BigDecimal[] resolvedRates = new BigDecimal[size * size];
+		byte[] states = new byte[size * size];
+		int compiled = 0;
+		for (int index = 0; index < plannedRouteTypes.length; index++) {
+			if(plannedRouteTypes[index] == CurrencyCalculatorConstant.ROUTE_TYPE_NONE){
+				continue;
+			}
+			BigDecimal rate = resolveRate(plannedRouteTypes, index / size, index % size, resolvedRates, states);
+			if(rate == null){
+				if(LOG.isLoggable(Level.INFO)){
+					LOG.info("CurrencyRateMatrix->CurrencyRateMatrix()-> Unable to resolve rate for "+registry.getCurrencyCode(index / size)+"/"+registry.getCurrencyCode(index % size));
+				}
+				if(shared && compiledRouteTypes == plannedRouteTypes){
+					compiledRouteTypes = plannedRouteTypes.clone();
+				}
+				compiledRouteTypes[index] = CurrencyCalculatorConstant.ROUTE_TYPE_NONE;
+				continue;
+			}
+			rates[index] = rate.doubleValue();
+			/*
+			 * Composite rates carry at most ten decimal places, hence the fixed point rate is exact for all of them. 
+			 */
+			scaledRates[index] = rate.setScale(CurrencyCalculatorConstant.RATE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValue();
+			compiled++;
+		}
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("CurrencyRateMatrix->CurrencyRateMatrix()-> Compiled currency matrix with "+compiled+" currency pairs");
+		}
+		return compiledRouteTypes;
+	}
+
+	/**
+	 * The constructor creates matrix from already compiled arrays, e.g. read from a rate snapshot. The arrays are used as they are.
+	 */
+	CurrencyRateMatrix(CurrencyRegistry registry, byte[] routeTypes, int[] crossCurrencyIds, double[] rates, long[] scaledRates, int[] quotedPairs, double[] quotedRates){
+		this.registry = registry;
+		this.size = registry.getSize();
+		this.routeTypes = routeTypes;
+		this.crossCurrencyIds = crossCurrencyIds;
+		this.rates = rates;
+		this.scaledRates = scaledRates;
+		this.quotedPairs = quotedPairs;
+		this.quotedRates = quotedRates;
+	}
+
+	/**
+	 * The following operation resolves the rate of one currency pair. Cross currency entries are resolved recursively, every pair only once.
+	 * A cyclic entry in the property file is reported and none of the pairs of the cycle gets a rate.
+	 * @Input - plannedRouteTypes, source, destination, resolvedRates, states - 0 not resolved, 1 being resolved, 2 resolved
+	 * @Response - BigDecimal, null when no rate can be resolved
+	 * @Exception - CurrencyException
+	 */
+	private BigDecimal resolveRate(byte[] plannedRouteTypes, int source, int destination, BigDecimal[] resolvedRates, byte[] states) throws CurrencyException{
+		int index = source * size + destination;
+		if(states[index] == 2){
+			return resolvedRates[index];
+		}
+		if(states[index] == 1){
+			LOG.severe("CurrencyRateMatrix->resolveRate()-> Cyclic route found for "+registry.getCurrencyCode(source)+"/"+registry.getCurrencyCode(destination));
+			return null;
+		}
+		states[index] = 1;
+		BigDecimal rate = null;
+		double fxRate = 0.0;
+		switch(plannedRouteTypes[index]){
+			case CurrencyCalculatorConstant.ROUTE_TYPE_DIRECT:
+				fxRate = getQuotedRate(source, destination);
+				if(fxRate != 0.0){
+					rate = BigDecimal.valueOf(fxRate);
+				}
+				break;
+			case CurrencyCalculatorConstant.ROUTE_TYPE_INVERSION:
+				fxRate = getQuotedRate(destination, source);
+				if(fxRate != 0.0){
+					rate = ONE.divide(BigDecimal.valueOf(fxRate), CurrencyCalculatorConstant.GENERIC_DECIMAL_PLACE, RoundingMode.HALF_UP);
+				}
+				break;
+			case CurrencyCalculatorConstant.ROUTE_TYPE_UNITY:
+				rate = ONE;
+				break;
+			case CurrencyCalculatorConstant.ROUTE_TYPE_CROSS:
+				/*
+				 * For e.g AUDJPY via USD, the first part is AUDUSD and the second part is USDJPY. Both parts are combined the same way
+				 * as calculateRateFromCrossCurrency does it.
+				 */
+				int cross = crossCurrencyIds[index];
+				if(cross == source || cross == destination){
+					break;
+				}
+				BigDecimal firstPartFXResult = resolveRate(plannedRouteTypes, source, cross, resolvedRates, states);
+				BigDecimal secondPartFXResult = resolveRate(plannedRouteTypes, cross, destination, resolvedRates, states);
+				if(firstPartFXResult != null && secondPartFXResult != null){
+					secondPartFXResult = ONE.divide(secondPartFXResult, CurrencyCalculatorConstant.GENERIC_DECIMAL_PLACE, RoundingMode.HALF_UP);
+					rate = firstPartFXResult.divide(secondPartFXResult, CurrencyCalculatorConstant.GENERIC_DECIMAL_PLACE, RoundingMode.HALF_UP);
+				}
+				break;
+			default:
+				rate = null;
+		}
+		resolvedRates[index] = rate;
+		states[index] = 2;
+		return rate;
+	}
+
+	/**
+	 * The following operation returns the preferred pivot currencies for routes needing more than one leg, given by system property
+	 * currency.route.pivots or PREFERRED_PIVOT_CURRENCIES.
+	 * @Input - N/A
+	 * @Response - String[]
+	 */
+	private static String[] getPreferredPivots(){
+		return System.getProperty(CurrencyCalculatorConstant.PREFERRED_PIVOT_PROPERTY, CurrencyCalculatorConstant.PREFERRED_PIVOT_CURRENCIES).split(",");
+	}
+
+	/**
+	 * The following operation returns the current matrix. The first call loads the matrix, from the rate snapshot when the system property
+	 * currency.snapshot.file is set and compiled from the property values otherwise. Later calls are a single read of the atomic reference.
+	 * @Input - N/A
+	 * @Response - CurrencyRateMatrix
+	 * @Exception - CurrencyException
+	 */
+	public static CurrencyRateMatrix getInstance() throws CurrencyException{
+		CurrencyRateMatrix matrix = MATRIX_INSTANCE.get();
+		if(matrix == null){
+			synchronized (CurrencyRateMatrix.class) {
+				matrix = MATRIX_INSTANCE.get();
+				if(matrix == null){
+					matrix = load();
+					MATRIX_INSTANCE.set(matrix);
+				}
+			}
+		}
+		return matrix;
+	}
+
+	/**
+	 * The following operation compiles a new matrix from the currency registry and the property values.
+	 * @Input - N/A
+	 * @Response - CurrencyRateMatrix
+	 * @Exception - CurrencyException
+	 */
+	public static CurrencyRateMatrix compile() throws CurrencyException{
+		return compile(CurrencyRegistry.getInstance(), LoadProperty.getFXPropValue(), LoadProperty.getFXRateValue());
+	}
+
+	/**
+	 * The following operation compiles a new matrix from the given registry, route entries (e.g. AUDJPY=USD) and quoted rates (e.g. AUDUSD=0.8371).
+	 * @Input - registry, mapCurrency, mapRates
+	 * @Response - CurrencyRateMatrix
+	 * @Exception - CurrencyException
+	 */
+	public static CurrencyRateMatrix compile(CurrencyRegistry registry, HashMap<String, String> mapCurrency, HashMap<String, String> mapRates) throws CurrencyException{
+		return new CurrencyRateMatrix(registry, mapCurrency, mapRates);
+	}
+
+	/**
+	 * The following operation reads rates and routes again, from the rate snapshot or the property files, and swaps the new matrix in.
+	 * Readers keep using the matrix they already hold, the current matrix stays in place when the new one can not be loaded.
+	 * @Input - N/A
+	 * @Response - CurrencyRateMatrix, the new matrix
+	 * @Exception - CurrencyException
+	 */
+	public static CurrencyRateMatrix reload() throws CurrencyException{
+		synchronized (CurrencyRateMatrix.class) {
+			if(getSnapshotFile() == null){
+				LoadProperty.reloadPropertyValues();
+			}
+			CurrencyRateMatrix matrix = load();
+			MATRIX_INSTANCE.set(matrix);
+			if(LOG.isLoggable(Level.INFO)){
+				LOG.info("CurrencyRateMatrix->reload()-> Published reloaded currency matrix");
+			}
+			return matrix;
+		}
+	}
+
+	/**
+	 * The following operation swaps the given matrix in as current matrix.
+	 * @Input - matrix
+	 * @Response - CurrencyRateMatrix, the previous matrix
+	 */
+	public static CurrencyRateMatrix publish(CurrencyRateMatrix matrix){
+		synchronized (CurrencyRateMatrix.class) {
+			return MATRIX_INSTANCE.getAndSet(matrix);
+		}
+	}
+
+	/**
+	 * The following operation compiles a rate book on the route plan of this matrix : the quoted rates of this matrix with the given quoted
+	 * rates (e.g. AUDUSD=0.8371) replacing them. The book shares the registry and the routes of this matrix, only its rates are compiled,
+	 * hence many books cost one rate array each. Pairs which are not quoted in this matrix are added, routes are not changed by them.
+	 * @Input - mapRates
+	 * @Response - CurrencyRateMatrix
+	 * @Exception - CurrencyException when a rate is not a positive number
+	 */
+	public CurrencyRateMatrix withRates(HashMap<String, String> mapRates) throws CurrencyException{
+		return new CurrencyRateMatrix(this, mapRates);
+	}
+
+	/**
+	 * The following operation returns true when this matrix uses the route plan of the given matrix, i.e. it is a rate book of plan or of a
+	 * book of plan and every route of plan is resolved with its rates.
+	 * @Input - plan
+	 * @Response - boolean
+	 */
+	public boolean hasRoutePlanOf(CurrencyRateMatrix plan){
+		return plan != null && crossCurrencyIds == plan.crossCurrencyIds && routeTypes == plan.routeTypes;
+	}
+
+	/**
+	 * The following operation loads a new matrix from the rate snapshot when it is configured and compiles it from the property values otherwise.
+	 * @Input - N/A
+	 * @Response - CurrencyRateMatrix
+	 * @Exception - CurrencyException
+	 */
+	private static CurrencyRateMatrix load() throws CurrencyException{
+		File snapshotFile = getSnapshotFile();
+		return snapshotFile != null ? RateSnapshotFile.load(snapshotFile) : compile();
+	}
+
+	/**
+	 * The following operation returns the rate snapshot file given by system property currency.snapshot.file, null when it is not set.
+	 * @Input - N/A
+	 * @Response - File
+	 */
+	public static File getSnapshotFile(){
+		String snapshotFile = System.getProperty(CurrencyCalculatorConstant.SNAPSHOT_FILE_PROPERTY);
+		return snapshotFile == null || snapshotFile.trim().isEmpty() ? null : new File(snapshotFile.trim());
+	}
+
+	/**
+	 * The following operation returns the currency registry the matrix is indexed by.
+	 * @Input - N/A
+	 * @Response - CurrencyRegistry
+	 */
+	public CurrencyRegistry getRegistry(){
+		return registry;
+	}
+
+	/**
+	 * The following operation returns number of currencies in the matrix.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getSize(){
+		return size;
+	}
+
+	/**
+	 * The following operation returns route type of the currency pair, ROUTE_TYPE_NONE when the pair can not be converted.
+	 * @Input - source, destination
+	 * @Response - byte
+	 */
+	public byte getRouteType(int source, int destination){
+		return routeTypes[source * size + destination];
+	}
+
+	/**
+	 * The following operation returns currency id of the cross currency for a cross route, -1 otherwise.
+	 * @Input - source, destination
+	 * @Response - int
+	 */
+	public int getCrossCurrencyId(int source, int destination){
+		return routeTypes[source * size + destination] == CurrencyCalculatorConstant.ROUTE_TYPE_CROSS ? crossCurrencyIds[source * size + destination] : -1;
+	}
+
+	/**
+	 * The following operation returns the compiled rate of the currency pair as primitive, 0.0 when the pair can not be converted.
+	 * @Input - source, destination
+	 * @Response - double
+	 */
+	public double getRate(int source, int destination){
+		return rates[source * size + destination];
+	}
+
+	/**
+	 * The following operation returns the compiled rate of the currency pair, null when the pair can not be converted. The rate is created
+	 * from the fixed point rate, which is exact for all compiled rates.
+	 * @Input - source, destination
+	 * @Response - BigDecimal
+	 */
+	public BigDecimal getExactRate(int source, int destination){
+		int index = source * size + destination;
+		return routeTypes[index] == CurrencyCalculatorConstant.ROUTE_TYPE_NONE ? null : BigDecimal.valueOf(scaledRates[index], CurrencyCalculatorConstant.RATE_SCALE);
+	}
+
+	/**
+	 * The following operation returns the compiled rate of the currency pair as fixed point value with RATE_SCALE decimal places, 0 when the pair can not be converted.
+	 * @Input - source, destination
+	 * @Response - long
+	 */
+	public long getScaledRate(int source, int destination){
+		return scaledRates[source * size + destination];
+	}
+
+	/**
+	 * The following operation returns the quoted FX rate of a currency pair packed by CurrencyRegistry.packCurrencyPair, 0.0 when the pair is not quoted.
+	 * @Input - packedPair
+	 * @Response - double
+	 */
+	public double getQuotedRate(int packedPair){
+		int index = packedPair < 0 ? -1 : Arrays.binarySearch(quotedPairs, packedPair);
+		return index < 0 ? 0.0 : quotedRates[index];
+	}
+
+	/**
+	 * The following operation returns the quoted FX rate of the currency pair given by currency ids, 0.0 when the pair is not quoted.
+	 * @Input - source, destination
+	 * @Response - double
+	 */
+	public double getQuotedRate(int source, int destination){
+		if(source < 0 || source >= size || destination < 0 || destination >= size){
+			return 0.0;
+		}
+		return getQuotedRate((CurrencyRegistry.packCurrencyCode(registry.getCurrencyCode(source), 0) << 15)
+							| CurrencyRegistry.packCurrencyCode(registry.getCurrencyCode(destination), 0));
+	}
+
+	/**
+	 * The following operation returns the packed currency pairs of the quoted rates in ascending order.
+	 * @Input - N/A
+	 * @Response - int[], not to be changed by the caller
+	 */
+	int[] getQuotedPairs(){
+		return quotedPairs;
+	}
+
+	/**
+	 * The following operation returns the quoted rates in the order of getQuotedPairs.
+	 * @Input - N/A
+	 * @Response - double[], not to be changed by the caller
+	 */
+	double[] getQuotedRates(){
+		return quotedRates;
+	}
+}
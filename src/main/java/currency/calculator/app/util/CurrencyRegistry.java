@@ -0,0 +1,259 @@
+package currency.calculator.app.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+
+/**
+ * This class contains the ISO 4217 currency registry loaded from data file in a singleton pattern. Every currency gets a compact integer id,
+ * which is found by packing the three letters of the currency code into an integer and reading a lookup table - without creating any object.
+ * @Operations: getInstance, packCurrencyCode, packCurrencyPair, getCurrencyId, getCurrencyIdByPackedCode, getCurrencyCode, getDecimalPlace, getSize
+ * @Developer: Singh, Sunny
+ */
+public final class CurrencyRegistry {
+
+	private static final Logger LOG = Logger.getLogger(CurrencyRegistry.class.getName());
+
+	private static volatile CurrencyRegistry registryInstance = null;
+	private static String REGISTRY_FILE_NAME = "iso4217.properties";
+
+	//Three letters of five bits each
+	private static final int PACKED_CODE_SPACE = 1 << 15;
+
+	private final String[] currencyCodes;
+	private final int[] decimalPlaces;
+	private final short[] currencyIds;
+
+	/**
+	 * The private constructor for not to allow creation of object for this class
+	 * @throws CurrencyException
+	 */
+	private CurrencyRegistry(Properties properties) throws CurrencyException{
+		/*
+		 * Currency ids are given in alphabetical order of the currency code so that the id of a currency does not depend on the file order.
+		 */
+		TreeSet<String> codes = new TreeSet<String>();
+		for (String code : properties.stringPropertyNames()) {
+			if(packCurrencyCode(code) < 0){
+				LOG.severe("CurrencyRegistry->CurrencyRegistry()-> Invalid currency code in registry : "+code);
+				throw new CurrencyException("Invalid currency code found in currency registry","CurrencyRegistry->CurrencyRegistry()-> Invalid currency code : "+code,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+			}
+			codes.add(code.trim().toUpperCase());
+		}
+		String[] currencyCodes = codes.toArray(new String[codes.size()]);
+		int[] decimalPlaces = new int[currencyCodes.length];
+		for (int id = 0; id < currencyCodes.length; id++) {
+			String decimalPlace = properties.getProperty(currencyCodes[id]);
+			if(decimalPlace == null){
+				decimalPlace = properties.getProperty(currencyCodes[id].toLowerCase());
+			}
+			try {
+				decimalPlaces[id] = Integer.parseInt(decimalPlace.trim());
+			} catch (NumberFormatException ex) {
+				LOG.severe("CurrencyRegistry->CurrencyRegistry()-> Invalid decimal place in registry for "+currencyCodes[id]);
+				throw new CurrencyException("Invalid decimal place found in currency registry","CurrencyRegistry->CurrencyRegistry()-> Invalid decimal place for "+currencyCodes[id],CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+			}
+		}
+		this.currencyCodes = currencyCodes;
+		this.decimalPlaces = decimalPlaces;
+		this.currencyIds = buildCurrencyIds(currencyCodes);
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("CurrencyRegistry->CurrencyRegistry()-> Size of currency registry is : "+currencyCodes.length);
+		}
+	}
+
+	/**
+	 * The constructor creates registry from currency codes sorted in id order and their decimal places, e.g. read from a rate snapshot.
+	 */
+	CurrencyRegistry(String[] currencyCodes, int[] decimalPlaces){
+		this.currencyCodes = currencyCodes;
+		this.decimalPlaces = decimalPlaces;
+		this.currencyIds = buildCurrencyIds(currencyCodes);
+	}
+
+	/**
+	 * The following operation builds lookup table from packed currency code to currency id.
+	 * @Input - currencyCodes
+	 * @Response - short[]
+	 */
+	private static short[] buildCurrencyIds(String[] currencyCodes){
+		short[] currencyIds = new short[PACKED_CODE_SPACE];
+		Arrays.fill(currencyIds, (short) -1);
+		for (int id = 0; id < currencyCodes.length; id++) {
+			currencyIds[packCurrencyCode(currencyCodes[id])] = (short) id;
+		}
+		return currencyIds;
+	}
+
+	/**
+	 * The following operation returns the registry to caller. It is loaded only once from the data file.
+	 * @Input - N/A
+	 * @Response - CurrencyRegistry
+	 * @Exception - CurrencyException
+	 */
+	public static CurrencyRegistry getInstance() throws CurrencyException{
+		CurrencyRegistry registry = registryInstance;
+		if(registry == null){
+			synchronized (CurrencyRegistry.class) {
+				registry = registryInstance;
+				if(registry == null){
+					registry = new CurrencyRegistry(loadRegistryFile());
+					registryInstance = registry;
+				}
+			}
+		}
+		return registry;
+	}
+
+	/**
+	 * The following operation reads the registry data file.
+	 * @Input - N/A
+	 * @Response - Properties
+	 * @Exception - CurrencyException
+	 */
+	private static Properties loadRegistryFile() throws CurrencyException{
+		Properties properties = new Properties();
+		FileInputStream fileInput = null;
+		try {
+			fileInput = new FileInputStream(new File(REGISTRY_FILE_NAME));
+			properties.load(fileInput);
+		}catch (FileNotFoundException ex) {
+			LOG.severe(" FileNotFoundException Exception occured while reading the file "+ex.getMessage());
+			throw new CurrencyException("FileNotFoundException Exception occured while reading the file",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}catch (IOException ex) {
+			LOG.severe("IOException Exception occured while reading the file "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while reading the file",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}finally{
+			try {
+				if(fileInput!=null){
+					fileInput.close();
+				}
+			} catch (IOException ex) {
+				LOG.severe("IOException Exception occured while closing the file "+ex.getMessage());
+				throw new CurrencyException("IOException Exception occured while closing the file",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+			}
+		}
+		return properties;
+	}
+
+	/**
+	 * The following operation packs the three letters of currency code starting at offset into an integer. Letters are case insensitive.
+	 * @Input - code, offset
+	 * @Response - int, -1 when the characters are not three letters
+	 */
+	public static int packCurrencyCode(CharSequence code, int offset){
+		if(code == null || offset < 0 || offset + 3 > code.length()){
+			return -1;
+		}
+		int packed = 0;
+		for (int i = offset; i < offset + 3; i++) {
+			int letter = code.charAt(i) | 0x20;
+			if(letter < 'a' || letter > 'z'){
+				return -1;
+			}
+			packed = (packed << 5) | (letter - 'a' + 1);
+		}
+		return packed;
+	}
+
+	/**
+	 * The following operation packs currency code into an integer. Leading and trailing spaces are ignored.
+	 * @Input - code
+	 * @Response - int, -1 when the code is not three letters
+	 */
+	public static int packCurrencyCode(CharSequence code){
+		if(code == null){
+			return -1;
+		}
+		int start = 0;
+		int end = code.length();
+		while(start < end && Character.isWhitespace(code.charAt(start))){
+			start++;
+		}
+		while(end > start && Character.isWhitespace(code.charAt(end - 1))){
+			end--;
+		}
+		return end - start == 3 ? packCurrencyCode(code, start) : -1;
+	}
+
+	/**
+	 * The following operation packs six letters of a currency pair into an integer, the same as two packed currency codes. White spaces
+	 * anywhere in the pair are ignored.
+	 * @Input - currencyPair
+	 * @Response - int, -1 when the pair does not contain exactly six letters
+	 */
+	public static int packCurrencyPair(CharSequence currencyPair){
+		int packed = 0;
+		int letters = 0;
+		for (int i = 0; i < currencyPair.length(); i++) {
+			char character = currencyPair.charAt(i);
+			if(Character.isWhitespace(character)){
+				continue;
+			}
+			int letter = character | 0x20;
+			if(letter < 'a' || letter > 'z' || ++letters > 6){
+				return -1;
+			}
+			packed = (packed << 5) | (letter - 'a' + 1);
+		}
+		return letters == 6 ? packed : -1;
+	}
+
+	/**
+	 * The following operation returns currency id of the code, -1 when the currency is not found in the registry.
+	 * @Input - code
+	 * @Response - int
+	 */
+	public int getCurrencyId(CharSequence code){
+		int packed = packCurrencyCode(code);
+		return packed < 0 ? -1 : currencyIds[packed];
+	}
+
+	/**
+	 * The following operation returns currency id of the code packed by packCurrencyCode, -1 when the currency is not found in the registry.
+	 * @Input - packedCode
+	 * @Response - int
+	 */
+	public int getCurrencyIdByPackedCode(int packedCode){
+		return packedCode < 0 || packedCode >= PACKED_CODE_SPACE ? -1 : currencyIds[packedCode];
+	}
+
+	/**
+	 * The following operation returns currency code of the id.
+	 * @Input - currencyId
+	 * @Response - String
+	 */
+	public String getCurrencyCode(int currencyId){
+		return currencyCodes[currencyId];
+	}
+
+	/**
+	 * The following operation returns decimal place of the currency id, the generic decimal place when the id is not in the registry.
+	 * @Input - currencyId
+	 * @Response - int
+	 */
+	public int getDecimalPlace(int currencyId){
+		if(currencyId < 0 || currencyId >= decimalPlaces.length){
+			return CurrencyCalculatorConstant.GENERIC_DECIMAL_PLACE;
+		}
+		return decimalPlaces[currencyId];
+	}
+
+	/**
+	 * The following operation returns number of currencies in the registry.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getSize(){
+		return currencyCodes.length;
+	}
+}
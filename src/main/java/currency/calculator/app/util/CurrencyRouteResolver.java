@@ -0,0 +1,194 @@
+package currency.calculator.app.util;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+
+/**
+ * This class contains the route resolver. It takes only the directly quoted currency pairs and computes the conversion route of every currency
+ * pair once. Quoted pairs are the edges of a graph, the number of legs of every pair is found by a breadth first search from every currency
+ * (all pairs shortest path for a graph without weights). A pair which needs more than one leg is split at a pivot currency lying on a shortest
+ * path, preferred pivots (e.g. USD, EUR) first, and both parts are split again until only quoted legs remain. The result is a route plan in
+ * the same form as the currency property file - unity, direct, inversion or cross via a currency - and can not contain a cycle, since every
+ * part of a route has less legs than the route itself.
+ * @Operations: getSize, getRouteType, getCrossCurrencyId, getLegCount, getUnreachableCount
+ * @Developer: Singh, Sunny
+ */
+public final class CurrencyRouteResolver {
+
+	private static final Logger LOG = Logger.getLogger(CurrencyRouteResolver.class.getName());
+
+	//Leg count of a pair without any route
+	public static final int UNREACHABLE = -1;
+
+	private final int size;
+	private final byte[] routeTypes;
+	private final int[] crossCurrencyIds;
+	private final int[] legCounts;
+	private final int unreachableCount;
+
+	/**
+	 * The constructor resolves the routes of all currency pairs of the registry.
+	 * @Input - registry, quotedPairs - packed currency pairs (see CurrencyRegistry.packCurrencyPair) which have a rate, preferredPivots - currency codes in order of preference
+	 */
+	public CurrencyRouteResolver(CurrencyRegistry registry, int[] quotedPairs, String[] preferredPivots){
+		size = registry.getSize();
+		routeTypes = new byte[size * size];
+		crossCurrencyIds = new int[size * size];
+		legCounts = new int[size * size];
+		Arrays.fill(crossCurrencyIds, -1);
+		Arrays.fill(legCounts, UNREACHABLE);
+
+		/*
+		 * Quoted pairs are edges which can be used in both directions, in the quoted direction as direct and in the other one as inversion.
+		 */
+		boolean[] quoted = new boolean[size * size];
+		int[] degrees = new int[size];
+		for (int packedPair : quotedPairs) {
+			int source = registry.getCurrencyIdByPackedCode(packedPair >>> 15);
+			int destination = registry.getCurrencyIdByPackedCode(packedPair & 0x7FFF);
+			if(source < 0 || destination < 0 || source == destination){
+				continue;
+			}
+			if(!quoted[source * size + destination] && !quoted[destination * size + source]){
+				degrees[source]++;
+				degrees[destination]++;
+			}
+			quoted[source * size + destination] = true;
+		}
+		int[][] neighbours = new int[size][];
+		for (int id = 0; id < size; id++) {
+			neighbours[id] = new int[degrees[id]];
+			degrees[id] = 0;
+		}
+		for (int source = 0; source < size; source++) {
+			for (int destination = source + 1; destination < size; destination++) {
+				if(quoted[source * size + destination] || quoted[destination * size + source]){
+					neighbours[source][degrees[source]++] = destination;
+					neighbours[destination][degrees[destination]++] = source;
+				}
+			}
+		}
+
+		/*
+		 * Breadth first search from every currency gives the least number of legs for all pairs.
+		 */
+		int[] queue = new int[size];
+		for (int source = 0; source < size; source++) {
+			int offset = source * size;
+			legCounts[offset + source] = 0;
+			int head = 0;
+			int tail = 0;
+			queue[tail++] = source;
+			while(head < tail){
+				int current = queue[head++];
+				for (int next : neighbours[current]) {
+					if(legCounts[offset + next] == UNREACHABLE){
+						legCounts[offset + next] = legCounts[offset + current] + 1;
+						queue[tail++] = next;
+					}
+				}
+			}
+		}
+
+		/*
+		 * Pivot rank - preferred pivots in the given order, all other currencies in order of their id.
+		 */
+		int[] pivots = new int[size];
+		int ranked = 0;
+		boolean[] isRanked = new boolean[size];
+		for (String pivot : preferredPivots) {
+			int id = registry.getCurrencyId(pivot);
+			if(id >= 0 && !isRanked[id]){
+				pivots[ranked++] = id;
+				isRanked[id] = true;
+			}
+		}
+		for (int id = 0; id < size; id++) {
+			if(!isRanked[id]){
+				pivots[ranked++] = id;
+			}
+		}
+
+		int unreachable = 0;
+		for (int source = 0; source < size; source++) {
+			for (int destination = 0; destination < size; destination++) {
+				int index = source * size + destination;
+				int legs = legCounts[index];
+				if(legs == UNREACHABLE){
+					unreachable++;
+				}else if(legs == 0){
+					routeTypes[index] = CurrencyCalculatorConstant.ROUTE_TYPE_UNITY;
+				}else if(quoted[index]){
+					routeTypes[index] = CurrencyCalculatorConstant.ROUTE_TYPE_DIRECT;
+				}else if(legs == 1){
+					routeTypes[index] = CurrencyCalculatorConstant.ROUTE_TYPE_INVERSION;
+				}else{
+					/*
+					 * The pivot lies on a shortest path, hence both parts have less legs than the pair itself.
+					 */
+					for (int pivot : pivots) {
+						int first = legCounts[source * size + pivot];
+						int second = legCounts[pivot * size + destination];
+						if(first > 0 && second > 0 && first + second == legs){
+							routeTypes[index] = CurrencyCalculatorConstant.ROUTE_TYPE_CROSS;
+							crossCurrencyIds[index] = pivot;
+							break;
+						}
+					}
+				}
+			}
+		}
+		unreachableCount = unreachable;
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("CurrencyRouteResolver->CurrencyRouteResolver()-> Resolved routes of "+(size * size - unreachable)+" currency pairs, "+unreachable+" pairs are unreachable");
+		}
+	}
+
+	/**
+	 * The following operation returns number of currencies.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getSize(){
+		return size;
+	}
+
+	/**
+	 * The following operation returns route type of the currency pair, ROUTE_TYPE_NONE when the pair is unreachable.
+	 * @Input - source, destination
+	 * @Response - byte
+	 */
+	public byte getRouteType(int source, int destination){
+		return routeTypes[source * size + destination];
+	}
+
+	/**
+	 * The following operation returns pivot currency id of a cross route, -1 otherwise.
+	 * @Input - source, destination
+	 * @Response - int
+	 */
+	public int getCrossCurrencyId(int source, int destination){
+		return crossCurrencyIds[source * size + destination];
+	}
+
+	/**
+	 * The following operation returns least number of quoted legs from source to destination, UNREACHABLE when there is no route.
+	 * @Input - source, destination
+	 * @Response - int
+	 */
+	public int getLegCount(int source, int destination){
+		return legCounts[source * size + destination];
+	}
+
+	/**
+	 * The following operation returns number of currency pairs without route.
+	 * @Input - N/A
+	 * @Response - int
+	 */
+	public int getUnreachableCount(){
+		return unreachableCount;
+	}
+}
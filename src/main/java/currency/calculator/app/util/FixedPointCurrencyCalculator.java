@@ -0,0 +1,139 @@
+package currency.calculator.app.util;
+
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.feed.LiveRateStore;
+import currency.calculator.app.metrics.ConversionEventLog;
+import currency.calculator.app.metrics.ConversionMetrics;
+
+/**
+ * This class contains the fixed point conversion engine. Amounts are scaled longs and rates are the fixed point rates of the compiled currency
+ * matrix, the product is kept in 128 bits and truncated to the decimal place of the destination currency. No object is created per conversion
+ * and the result is the same value as calculateCurrencyValue with BigDecimal returns, digit for digit.
+ * @Operations: calculateCurrencyValue - for amounts with any number of decimal places and for amounts in minor units, convert - without exception
+ * @Developer: Singh, Sunny
+ */
+public final class FixedPointCurrencyCalculator {
+
+	private static final Logger LOG = Logger.getLogger(FixedPointCurrencyCalculator.class.getName());
+
+	/**
+	 * The private constructor for not to allow creation of object for this class
+	 */
+	private FixedPointCurrencyCalculator() {
+	}
+
+	/**
+	 * The following operation converts an amount given in minor units of the source currency into minor units of the destination currency.
+	 * @Input - sourceCurrencyId, inputAmount, destinationCurrencyId
+	 * @Response - long, minor units of the destination currency
+	 * @Exception - CurrencyException
+	 */
+	public static long calculateCurrencyValue(int sourceCurrencyId, long inputAmount, int destinationCurrencyId) throws CurrencyException{
+		CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+		return calculateCurrencyValue(matrix, sourceCurrencyId, inputAmount, matrix.getRegistry().getDecimalPlace(sourceCurrencyId), destinationCurrencyId);
+	}
+
+	/**
+	 * The following operation converts an amount scaled by 10^inputScale, e.g. 10025 with scale 2 for 100.25, into the destination currency.
+	 * The result is scaled by 10^decimal place of the destination currency.
+	 * @Input - sourceCurrencyId, inputAmount, inputScale, destinationCurrencyId
+	 * @Response - long
+	 * @Exception - CurrencyException
+	 */
+	public static long calculateCurrencyValue(int sourceCurrencyId, long inputAmount, int inputScale, int destinationCurrencyId) throws CurrencyException{
+		return calculateCurrencyValue(CurrencyRateMatrix.getInstance(), sourceCurrencyId, inputAmount, inputScale, destinationCurrencyId);
+	}
+
+	/**
+	 * The following operation converts an amount scaled by 10^inputScale with the rates of the given matrix.
+	 * @Input - matrix, sourceCurrencyId, inputAmount, inputScale, destinationCurrencyId
+	 * @Response - long
+	 * @Exception - CurrencyException
+	 */
+	public static long calculateCurrencyValue(CurrencyRateMatrix matrix, int sourceCurrencyId, long inputAmount, int inputScale, int destinationCurrencyId) throws CurrencyException{
+		long startTime = ConversionMetrics.isEnabled() || ConversionEventLog.isProductionMode() ? System.nanoTime() : 0L;
+		if(!isRateAvailable(matrix, sourceCurrencyId, destinationCurrencyId)){
+			LOG.severe("FixedPointCurrencyCalculator->calculateCurrencyValue()->Nothing returned from currency matrix table ");
+			throw ConversionMetrics.recordError(new CurrencyException("Currency details are not found in currency matrix table","FixedPointCurrencyCalculator->calculateCurrencyValue()->Nothing returned from currency matrix table",CurrencyCalculatorConstant.EXCEPTION_SYSTEM));
+		}
+		if(inputScale < 0){
+			LOG.severe("FixedPointCurrencyCalculator->calculateCurrencyValue()-> Invalid input provided -> Negative scale : "+inputScale);
+			throw ConversionMetrics.recordError(new CurrencyException("Input field provided is not valid ","FixedPointCurrencyCalculator->calculateCurrencyValue()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM));
+		}
+		try {
+			long result = multiply(matrix, sourceCurrencyId, inputAmount, inputScale, destinationCurrencyId);
+			if(startTime != 0L){
+				long endTime = System.nanoTime();
+				ConversionMetrics.recordConversion(matrix, sourceCurrencyId, destinationCurrencyId, endTime - startTime);
+				ConversionEventLog.recordConversion(matrix.getRegistry(), sourceCurrencyId, inputAmount, inputScale, destinationCurrencyId, result, endTime);
+			}
+			return result;
+		} catch (ArithmeticException ex) {
+			LOG.severe("FixedPointCurrencyCalculator->calculateCurrencyValue()-> Amount too large : "+inputAmount+" with scale "+inputScale);
+			throw ConversionMetrics.recordError(new CurrencyException("Amount provided is too large","FixedPointCurrencyCalculator->calculateCurrencyValue()-> Amount too large",CurrencyCalculatorConstant.EXCEPTION_SYSTEM));
+		}
+	}
+
+	/**
+	 * The following operation converts an amount scaled by 10^inputScale with the rates of the given matrix without throwing an exception
+	 * and without logging when it fails, the status is kept in result instead. The value in result is in minor units of the destination
+	 * currency.
+	 * @Input - matrix, sourceCurrencyId, inputAmount, inputScale, destinationCurrencyId, result
+	 * @Response - boolean, true when the amount is converted
+	 */
+	public static boolean convert(CurrencyRateMatrix matrix, int sourceCurrencyId, long inputAmount, int inputScale, int destinationCurrencyId, ConversionResult result){
+		long startTime = ConversionMetrics.isEnabled() || ConversionEventLog.isProductionMode() ? System.nanoTime() : 0L;
+		if(!isRateAvailable(matrix, sourceCurrencyId, destinationCurrencyId)){
+			result.fail(ConversionResult.STATUS_RATE_NOT_FOUND);
+		}else if(inputScale < 0){
+			result.fail(ConversionResult.STATUS_INVALID_INPUT);
+		}else{
+			try {
+				result.succeed(multiply(matrix, sourceCurrencyId, inputAmount, inputScale, destinationCurrencyId), matrix.getRegistry().getDecimalPlace(destinationCurrencyId));
+			} catch (ArithmeticException ex) {
+				result.fail(ConversionResult.STATUS_AMOUNT_TOO_LARGE);
+			}
+		}
+		if(!result.isOk()){
+			ConversionMetrics.recordError(result.toException());
+			return false;
+		}
+		if(startTime != 0L){
+			long endTime = System.nanoTime();
+			ConversionMetrics.recordConversion(matrix, sourceCurrencyId, destinationCurrencyId, endTime - startTime);
+			ConversionEventLog.recordConversion(matrix.getRegistry(), sourceCurrencyId, inputAmount, inputScale, destinationCurrencyId, result.getScaledValue(), endTime);
+		}
+		return true;
+	}
+
+	/**
+	 * The following operation returns true when the matrix has a rate for the currency ids.
+	 * @Input - matrix, sourceCurrencyId, destinationCurrencyId
+	 * @Response - boolean
+	 */
+	private static boolean isRateAvailable(CurrencyRateMatrix matrix, int sourceCurrencyId, int destinationCurrencyId){
+		int size = matrix.getSize();
+		return sourceCurrencyId >= 0 && sourceCurrencyId < size && destinationCurrencyId >= 0 && destinationCurrencyId < size
+				&& matrix.getRouteType(sourceCurrencyId, destinationCurrencyId) != CurrencyCalculatorConstant.ROUTE_TYPE_NONE;
+	}
+
+	/**
+	 * The following operation multiplies the amount with the rate. amount * 10^-inputScale * rate * 10^-RATE_SCALE gives the exact product,
+	 * which is truncated to the decimal place of the destination currency.
+	 * @Input - matrix, sourceCurrencyId, inputAmount, inputScale, destinationCurrencyId
+	 * @Response - long
+	 * @Exception - ArithmeticException when the result does not fit into a long
+	 */
+	private static long multiply(CurrencyRateMatrix matrix, int sourceCurrencyId, long inputAmount, int inputScale, int destinationCurrencyId){
+		int exponent = inputScale + CurrencyCalculatorConstant.RATE_SCALE - matrix.getRegistry().getDecimalPlace(destinationCurrencyId);
+		/*
+		 * With a shared rate store the newest rate is read from it.
+		 */
+		LiveRateStore shared = LiveRateStore.getSharedInstance(matrix);
+		long rate = shared == null ? matrix.getScaledRate(sourceCurrencyId, destinationCurrencyId) : shared.getScaledRate(sourceCurrencyId, destinationCurrencyId);
+		return FixedPointMath.multiplyRescaleDown(inputAmount, rate, exponent);
+	}
+}
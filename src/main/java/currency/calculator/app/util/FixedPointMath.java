@@ -0,0 +1,289 @@
+package currency.calculator.app.util;
+
+/**
+ * This class contains fixed point arithmetic on scaled long values. The product of two longs is kept in 128 bits before it is divided,
+ * hence no precision is lost and no object is created. Decimal text is parsed into and formatted from scaled longs without BigDecimal.
+ * @Operations: multiplyDivideDown, multiplyRescaleDown, multiplyDivideHalfUp, multiplyHighUnsigned, divideUnsigned, getPowerOfTen, getScale, parseDecimal, appendDecimal
+ * @Developer: Singh, Sunny
+ */
+public final class FixedPointMath {
+
+	//Largest power of ten which fits into a long
+	public static final int MAX_POWER_OF_TEN = 18;
+
+	private static final long[] POWERS_OF_TEN = new long[MAX_POWER_OF_TEN + 1];
+
+	static {
+		POWERS_OF_TEN[0] = 1L;
+		for (int i = 1; i <= MAX_POWER_OF_TEN; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+		}
+	}
+
+	/**
+	 * The private constructor for not to allow creation of object for this class
+	 */
+	private FixedPointMath() {
+	}
+
+	/**
+	 * The following operation returns ten to the power of exponent.
+	 * @Input - exponent, 0 to 18
+	 * @Response - long
+	 */
+	public static long getPowerOfTen(int exponent){
+		return POWERS_OF_TEN[exponent];
+	}
+
+	/**
+	 * The following operation calculates value * multiplier / 10^exponent, where the result is truncated towards zero. This is the same
+	 * as BigDecimal multiply followed by setScale with ROUND_DOWN.
+	 * @Input - value, multiplier, exponent
+	 * @Response - long
+	 * @Exception - ArithmeticException when the result does not fit into a long
+	 */
+	public static long multiplyDivideDown(long value, long multiplier, int exponent){
+		if(value == 0L || multiplier == 0L){
+			return 0L;
+		}
+		if(value == Long.MIN_VALUE || multiplier == Long.MIN_VALUE || exponent < 0){
+			throw new ArithmeticException("long overflow");
+		}
+		boolean negative = (value < 0L) != (multiplier < 0L);
+		long first = Math.abs(value);
+		long second = Math.abs(multiplier);
+		long high = multiplyHighUnsigned(first, second);
+		long low = first * second;
+		/*
+		 * Most of the products fit into 63 bits, for which a single long division is enough.
+		 */
+		if(high == 0L && low >= 0L && exponent <= MAX_POWER_OF_TEN){
+			long quotient = low / POWERS_OF_TEN[exponent];
+			return negative ? -quotient : quotient;
+		}
+		/*
+		 * Dividing step by step by at most 10^18 gives the same truncated result as a single division by 10^exponent.
+		 */
+		while(exponent > 0){
+			int step = Math.min(exponent, MAX_POWER_OF_TEN);
+			long divisor = POWERS_OF_TEN[step];
+			long highQuotient = Long.divideUnsigned(high, divisor);
+			low = divideUnsigned(Long.remainderUnsigned(high, divisor), low, divisor);
+			high = highQuotient;
+			exponent -= step;
+		}
+		if(high != 0L || low < 0L){
+			throw new ArithmeticException("long overflow");
+		}
+		return negative ? -low : low;
+	}
+
+	/**
+	 * The following operation calculates value * multiplier * 10^-exponent for any exponent, where the result is truncated towards zero,
+	 * e.g. an amount times a scaled rate rescaled to the decimal place of the destination currency.
+	 * @Input - value, multiplier, exponent
+	 * @Response - long
+	 * @Exception - ArithmeticException when the result does not fit into a long
+	 */
+	public static long multiplyRescaleDown(long value, long multiplier, int exponent){
+		if(exponent >= 0){
+			return multiplyDivideDown(value, multiplier, exponent);
+		}
+		long result = Math.multiplyExact(value, multiplier);
+		for (; exponent < 0; exponent += MAX_POWER_OF_TEN) {
+			result = Math.multiplyExact(result, POWERS_OF_TEN[Math.min(-exponent, MAX_POWER_OF_TEN)]);
+		}
+		return result;
+	}
+
+	/**
+	 * The following operation calculates value * multiplier / divisor for non negative values, where the result is rounded half up. This is
+	 * the same as BigDecimal divide with HALF_UP of two fixed point values.
+	 * @Input - value, multiplier, divisor
+	 * @Response - long
+	 * @Exception - ArithmeticException when a value is negative, the divisor is zero or the result does not fit into a long
+	 */
+	public static long multiplyDivideHalfUp(long value, long multiplier, long divisor){
+		if(value < 0L || multiplier < 0L || divisor <= 0L){
+			throw new ArithmeticException(divisor == 0L ? "/ by zero" : "negative value");
+		}
+		long high = multiplyHighUnsigned(value, multiplier);
+		long low = value * multiplier;
+		if(Long.compareUnsigned(high, divisor) >= 0){
+			throw new ArithmeticException("long overflow");
+		}
+		long quotient = divideUnsigned(high, low, divisor);
+		/*
+		 * The remainder is less than the divisor, hence its lower 64 bits are the whole remainder.
+		 */
+		long remainder = low - quotient * divisor;
+		if(remainder >= divisor - remainder){
+			quotient++;
+		}
+		if(quotient < 0L){
+			throw new ArithmeticException("long overflow");
+		}
+		return quotient;
+	}
+
+	/**
+	 * The following operation returns the upper 64 bits of the unsigned 128 bit product of two longs.
+	 * @Input - first, second
+	 * @Response - long
+	 */
+	public static long multiplyHighUnsigned(long first, long second){
+		long firstLow = first & 0xFFFFFFFFL;
+		long firstHigh = first >>> 32;
+		long secondLow = second & 0xFFFFFFFFL;
+		long secondHigh = second >>> 32;
+		long lowLow = firstLow * secondLow;
+		long highLow = firstHigh * secondLow;
+		long lowHigh = firstLow * secondHigh;
+		long highHigh = firstHigh * secondHigh;
+		long middle = (lowLow >>> 32) + (highLow & 0xFFFFFFFFL) + (lowHigh & 0xFFFFFFFFL);
+		return highHigh + (highLow >>> 32) + (lowHigh >>> 32) + (middle >>> 32);
+	}
+
+	/**
+	 * The following operation divides the unsigned 128 bit value high:low by divisor and returns the 64 bit quotient. The upper part must
+	 * be less than the divisor so that the quotient fits into 64 bits (Knuth, algorithm D with two 32 bit digits).
+	 * @Input - high, low, divisor
+	 * @Response - long, unsigned
+	 */
+	public static long divideUnsigned(long high, long low, long divisor){
+		final long base = 1L << 32;
+		if(high == 0L){
+			return Long.divideUnsigned(low, divisor);
+		}
+		int shift = Long.numberOfLeadingZeros(divisor);
+		divisor <<= shift;
+		long divisorHigh = divisor >>> 32;
+		long divisorLow = divisor & 0xFFFFFFFFL;
+		long numerator32 = shift == 0 ? high : (high << shift) | (low >>> (64 - shift));
+		long numerator10 = low << shift;
+		long numerator1 = numerator10 >>> 32;
+		long numerator0 = numerator10 & 0xFFFFFFFFL;
+
+		long quotient1 = Long.divideUnsigned(numerator32, divisorHigh);
+		long remainder = numerator32 - quotient1 * divisorHigh;
+		while(Long.compareUnsigned(quotient1, base) >= 0 || Long.compareUnsigned(quotient1 * divisorLow, base * remainder + numerator1) > 0){
+			quotient1--;
+			remainder += divisorHigh;
+			if(Long.compareUnsigned(remainder, base) >= 0){
+				break;
+			}
+		}
+		long numerator21 = numerator32 * base + numerator1 - quotient1 * divisor;
+		long quotient0 = Long.divideUnsigned(numerator21, divisorHigh);
+		remainder = numerator21 - quotient0 * divisorHigh;
+		while(Long.compareUnsigned(quotient0, base) >= 0 || Long.compareUnsigned(quotient0 * divisorLow, base * remainder + numerator0) > 0){
+			quotient0--;
+			remainder += divisorHigh;
+			if(Long.compareUnsigned(remainder, base) >= 0){
+				break;
+			}
+		}
+		return quotient1 * base + quotient0;
+	}
+
+	/**
+	 * The following operation returns number of digits after the decimal point of the decimal text between start and end.
+	 * @Input - text, start, end
+	 * @Response - int
+	 */
+	public static int getScale(CharSequence text, int start, int end){
+		for (int i = start; i < end; i++) {
+			if(text.charAt(i) == '.'){
+				int scale = 0;
+				for (int j = i + 1; j < end; j++) {
+					if(text.charAt(j) != ','){
+						scale++;
+					}
+				}
+				return scale;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * The following operation parses the decimal text between start and end, e.g. "-1,000.25", into a long scaled by 10^scale. Commas are
+	 * ignored the same way as convertStringToBigDecimal does it. The text must not have more digits after the decimal point than scale.
+	 * @Input - text, start, end, scale
+	 * @Response - long
+	 * @Exception - NumberFormatException when the text is not a plain decimal number, ArithmeticException when the value does not fit into a long
+	 */
+	public static long parseDecimal(CharSequence text, int start, int end, int scale){
+		int index = start;
+		boolean negative = false;
+		if(index < end && (text.charAt(index) == '-' || text.charAt(index) == '+')){
+			negative = text.charAt(index) == '-';
+			index++;
+		}
+		long value = 0L;
+		int digits = 0;
+		int fractionDigits = -1;
+		for (; index < end; index++) {
+			char character = text.charAt(index);
+			if(character == ','){
+				continue;
+			}
+			if(character == '.' && fractionDigits < 0){
+				fractionDigits = 0;
+				continue;
+			}
+			if(character < '0' || character > '9'){
+				throw new NumberFormatException("Invalid decimal number");
+			}
+			if(fractionDigits >= 0){
+				fractionDigits++;
+			}
+			digits++;
+			/*
+			 * The value is accumulated as negative number, which has the larger range.
+			 */
+			value = Math.subtractExact(Math.multiplyExact(value, 10L), character - '0');
+		}
+		if(digits == 0 || fractionDigits > scale){
+			throw new NumberFormatException("Invalid decimal number");
+		}
+		int missing = scale - Math.max(fractionDigits, 0);
+		while(missing > 0){
+			int step = Math.min(missing, MAX_POWER_OF_TEN);
+			value = Math.multiplyExact(value, POWERS_OF_TEN[step]);
+			missing -= step;
+		}
+		return negative ? value : Math.negateExact(value);
+	}
+
+	/**
+	 * The following operation appends value scaled by 10^scale as decimal text, the same text as BigDecimal.toPlainString.
+	 * @Input - output, value, scale
+	 * @Response - StringBuilder
+	 */
+	public static StringBuilder appendDecimal(StringBuilder output, long value, int scale){
+		if(value < 0L){
+			output.append('-');
+		}
+		int start = output.length();
+		/*
+		 * Digits are appended from the lowest one and reversed afterwards. The remainder is taken on negative values so that Long.MIN_VALUE works too.
+		 */
+		long remaining = value < 0L ? value : -value;
+		int digits = 0;
+		while(remaining != 0L || digits <= scale){
+			if(digits == scale && scale > 0){
+				output.append('.');
+			}
+			output.append((char) ('0' - remaining % 10L));
+			remaining /= 10L;
+			digits++;
+		}
+		for (int left = start, right = output.length() - 1; left < right; left++, right--) {
+			char character = output.charAt(left);
+			output.setCharAt(left, output.charAt(right));
+			output.setCharAt(right, character);
+		}
+		return output;
+	}
+}
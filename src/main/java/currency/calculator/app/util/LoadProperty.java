@@ -15,7 +15,8 @@ import currency.calculator.app.exception.CurrencyException;
 
 /**
  * This class contains operation to fetch property value and store it into a collection (MAP) in a singleton pattern.
- * @Operations: getFXPropValue
+ * A map is published only after it is completely loaded and is never changed afterwards, a reload publishes new maps.
+ * @Operations: getFXPropValue, getFXRateValue, reloadPropertyValues, readRateFile
  * @Developer: Singh, Sunny 
  */
 
@@ -23,29 +24,63 @@ public final class LoadProperty {
 	
 	private static final Logger LOG = Logger.getLogger(LoadProperty.class.getName());
 	
-	private static HashMap<String, String> propInstance = null;
-	private static String PROPERTY_FILE_NAME = "currency.properties";
-	private File file = null;
-	private Properties properties = null;
-	private FileInputStream fileInput = null;
+	private static volatile HashMap<String, String> propInstance = null;
+	private static volatile HashMap<String, String> rateInstance = null;
+	static final String PROPERTY_FILE_NAME = "currency.properties";
+	static final String RATE_FILE_NAME = "fxrates.properties";
 	
 	/**
 	 * The private constructor for not to allow creation of object for this class
 	 * @throws CurrencyException 
 	 */
 	private LoadProperty() throws CurrencyException{
+		/*
+		 * Routes are resolved from the quoted pairs, hence the route file is optional and only overrides resolved routes.
+		*/
+		File propertyFile = new File(PROPERTY_FILE_NAME);
+		HashMap<String, String> propValues = propertyFile.exists() ? readPropertyFile(propertyFile) : new HashMap<String, String>();
+		/*
+		 * Quoted rates default to the rates of the constant file, the rate file is optional and overrides them.
+		*/
+		HashMap<String, String> rateValues = new HashMap<String, String>();
+		rateValues.put(CurrencyCalculatorConstant.CURRENCY_AUDUSD, Double.toString(CurrencyCalculatorConstant.CURRENCY_RATE_AUDUSD));
+		rateValues.put(CurrencyCalculatorConstant.CURRENCY_CADUSD, Double.toString(CurrencyCalculatorConstant.CURRENCY_RATE_CADUSD));
+		rateValues.put(CurrencyCalculatorConstant.CURRENCY_USDCNY, Double.toString(CurrencyCalculatorConstant.CURRENCY_RATE_USDCNY));
+		rateValues.put(CurrencyCalculatorConstant.CURRENCY_EURUSD, Double.toString(CurrencyCalculatorConstant.CURRENCY_RATE_EURUSD));
+		rateValues.put(CurrencyCalculatorConstant.CURRENCY_GBPUSD, Double.toString(CurrencyCalculatorConstant.CURRENCY_RATE_GBPUSD));
+		rateValues.put(CurrencyCalculatorConstant.CURRENCY_NZDUSD, Double.toString(CurrencyCalculatorConstant.CURRENCY_RATE_NZDUSD));
+		rateValues.put(CurrencyCalculatorConstant.CURRENCY_USDJPY, Double.toString(CurrencyCalculatorConstant.CURRENCY_RATE_USDJPY));
+		rateValues.put(CurrencyCalculatorConstant.CURRENCY_EURCZK, Double.toString(CurrencyCalculatorConstant.CURRENCY_RATE_EURCZK));
+		rateValues.put(CurrencyCalculatorConstant.CURRENCY_EURDKK, Double.toString(CurrencyCalculatorConstant.CURRENCY_RATE_EURDKK));
+		rateValues.put(CurrencyCalculatorConstant.CURRENCY_EURNOK, Double.toString(CurrencyCalculatorConstant.CURRENCY_RATE_EURNOK));
+		File rateFile = new File(RATE_FILE_NAME);
+		if(rateFile.exists()){
+			rateValues.putAll(readPropertyFile(rateFile));
+		}
+		propInstance = propValues;
+		rateInstance = rateValues;
+	}
+	
+	/**
+	 * The following operation reads property file into a new map.
+	 * @Input - propertyFile
+	 * @Response - HashMap<String, String>
+	 * @Exception - CurrencyException
+	 */
+	private static HashMap<String, String> readPropertyFile(File propertyFile) throws CurrencyException{
+		HashMap<String, String> values = new HashMap<String, String>();
+		File file = propertyFile;
+		Properties properties = new Properties();
+		FileInputStream fileInput = null;
 		try {
-			propInstance = new HashMap<String, String>();
-			file = new File(PROPERTY_FILE_NAME);
-			properties = new Properties();
 			fileInput = new FileInputStream(file);
 			properties.load(fileInput);
 			Set<String> propertyNames = properties.stringPropertyNames();
 			if(LOG.isLoggable(Level.INFO)){
-				LOG.info("Size of property MAP is : "+propertyNames.size());
+				LOG.info("Size of property MAP is : "+propertyNames.size()+" for "+file.getName());
 			}
 			for (String currencyProperty : propertyNames) {
-				propInstance.put(currencyProperty, properties.getProperty(currencyProperty));
+				values.put(currencyProperty, properties.getProperty(currencyProperty));
 			}
 		}catch (FileNotFoundException ex) {
 			LOG.severe(" FileNotFoundException Exception occured while reading the file "+ex.getMessage());
@@ -63,7 +98,19 @@ public final class LoadProperty {
 				throw new CurrencyException("IOException Exception occured while closing the file",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
 			}
 		}
+		return values;
 	}
+
+	/**
+	 * The following operation reads a file of quoted FX rates per currency pair, e.g. AUDUSD=0.8371, as a rate book into a new map.
+	 * @Input - rateFile
+	 * @Response - HashMap<String, String>
+	 * @Exception - CurrencyException
+	 */
+	public static HashMap<String, String> readRateFile(File rateFile) throws CurrencyException{
+		return readPropertyFile(rateFile);
+	}
+
 	/**
 	 * The following operation returns map of property values to caller
 	 * @Input - N/A
@@ -76,10 +123,46 @@ public final class LoadProperty {
 		 * This is just to make sure only one instance of this class exists throughout 
 		 * the application life cycle to ensure singleton pattern.  
 		*/
-		
-		 if(propInstance == null) {
-			 	new LoadProperty();
-	        }
-	       return propInstance;
-	    }
+		HashMap<String, String> propValues = propInstance;
+		if(propValues == null) {
+			synchronized (LoadProperty.class) {
+				if(propInstance == null){
+					new LoadProperty();
+				}
+				propValues = propInstance;
+			}
+		}
+		return propValues;
+	}
+	
+	/**
+	 * The following operation returns map of quoted FX rates per currency pair, e.g. AUDUSD=0.8371, to caller
+	 * @Input - N/A
+	 * @Response - HashMap<String, String>
+	 * @Exception - CurrencyException
+	 */
+	public static HashMap<String, String> getFXRateValue() throws CurrencyException{
+		HashMap<String, String> rateValues = rateInstance;
+		if(rateValues == null) {
+			synchronized (LoadProperty.class) {
+				if(rateInstance == null){
+					new LoadProperty();
+				}
+				rateValues = rateInstance;
+			}
+		}
+		return rateValues;
+	}
+	
+	/**
+	 * The following operation reads the property files again and publishes the new maps. Maps returned before stay unchanged.
+	 * @Input - N/A
+	 * @Response - N/A
+	 * @Exception - CurrencyException, the current maps are kept when the files can not be read
+	 */
+	public static void reloadPropertyValues() throws CurrencyException{
+		synchronized (LoadProperty.class) {
+			new LoadProperty();
+		}
+	}
 }
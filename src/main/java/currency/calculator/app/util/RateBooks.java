@@ -0,0 +1,160 @@
+package currency.calculator.app.util;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+
+/**
+ * This class contains the named rate books, e.g. an end of day book next to the live rates. A book is a set of quoted rates replacing the
+ * quoted rates of the current matrix, it is compiled on the route plan of the current matrix (see CurrencyRateMatrix.withRates), hence all
+ * books share one registry and one set of routes and cost one rate array each. When the current matrix is reloaded a book is compiled again
+ * on the new plan the next time it is used. A book is added by addBook or, on first use, from the rate file given by the system property
+ * currency.rate.book.<name>. The name default, an empty name and null stand for the current matrix.
+ * @Operations: getBook, addBook, dropBook, getBookNames
+ * @Developer: Singh, Sunny
+ */
+public final class RateBooks {
+
+	private static final Logger LOG = Logger.getLogger(RateBooks.class.getName());
+
+	private static final ConcurrentHashMap<String, Book> BOOKS = new ConcurrentHashMap<String, Book>();
+
+	/**
+	 * The quoted rates of a book and the book compiled on the route plan of plan.
+	 */
+	private static final class Book {
+		private final HashMap<String, String> rates;
+		private final CurrencyRateMatrix plan;
+		private final CurrencyRateMatrix matrix;
+
+		private Book(HashMap<String, String> rates, CurrencyRateMatrix plan) throws CurrencyException {
+			this.rates = rates;
+			this.plan = plan;
+			this.matrix = plan.withRates(rates);
+		}
+	}
+
+	/**
+	 * The private constructor for not to allow creation of object for this class
+	 */
+	private RateBooks() {
+	}
+
+	/**
+	 * The following operation returns the matrix of the named rate book, compiled on the route plan of the current matrix.
+	 * @Input - name
+	 * @Response - CurrencyRateMatrix
+	 * @Exception - CurrencyException when the book is not found or its rate file can not be read
+	 */
+	public static CurrencyRateMatrix getBook(String name) throws CurrencyException{
+		CurrencyRateMatrix plan = CurrencyRateMatrix.getInstance();
+		if(isDefault(name)){
+			return plan;
+		}
+		Book book = BOOKS.get(name);
+		if(book == null){
+			book = loadBook(name, plan);
+		}
+		if(book.plan != plan){
+			/*
+			 * The current matrix was reloaded since the book was compiled, the book follows the new routes. A book compiled again meanwhile by another thread is kept.
+			 */
+			Book recompiled = new Book(book.rates, plan);
+			book = BOOKS.replace(name, book, recompiled) ? recompiled : getBook(name, recompiled);
+		}
+		return book.matrix;
+	}
+
+	/**
+	 * The following operation returns the book of name when it is still there, the given book otherwise.
+	 * @Input - name, book
+	 * @Response - Book
+	 */
+	private static Book getBook(String name, Book book){
+		Book current = BOOKS.get(name);
+		return current != null ? current : book;
+	}
+
+	/**
+	 * The following operation loads the named rate book from the rate file of system property currency.rate.book.<name>.
+	 * @Input - name, plan
+	 * @Response - Book
+	 * @Exception - CurrencyException when the property is not set or the rate file can not be read
+	 */
+	private static Book loadBook(String name, CurrencyRateMatrix plan) throws CurrencyException{
+		String rateFile = System.getProperty(CurrencyCalculatorConstant.RATE_BOOK_PROPERTY_PREFIX + name);
+		if(rateFile == null || rateFile.trim().isEmpty()){
+			LOG.severe("RateBooks->getBook()-> Rate book not found : "+name);
+			throw new CurrencyException("Rate book not found","RateBooks->getBook()-> Rate book not found : "+name,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		Book book = new Book(LoadProperty.readRateFile(new File(rateFile.trim())), plan);
+		Book existing = BOOKS.putIfAbsent(name, book);
+		if(LOG.isLoggable(Level.INFO) && existing == null){
+			LOG.info("RateBooks->getBook()-> Loaded rate book "+name+" from "+rateFile.trim());
+		}
+		return existing != null ? existing : book;
+	}
+
+	/**
+	 * The following operation adds or replaces the named rate book with the given quoted rates, e.g. AUDUSD=0.8371, compiled on the route
+	 * plan of the current matrix. Quoted rates of the current matrix not in rates are kept.
+	 * @Input - name, rates
+	 * @Response - CurrencyRateMatrix, the matrix of the book
+	 * @Exception - CurrencyException when name is the default book or a rate is not a positive number
+	 */
+	public static CurrencyRateMatrix addBook(String name, HashMap<String, String> rates) throws CurrencyException{
+		if(isDefault(name) || rates == null){
+			LOG.severe("RateBooks->addBook()-> Invalid input provided -> rate book : "+name);
+			throw new CurrencyException("Input field provided is not valid ","RateBooks->addBook()-> Invalid input provided ",CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+		Book book = new Book(new HashMap<String, String>(rates), CurrencyRateMatrix.getInstance());
+		BOOKS.put(name, book);
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("RateBooks->addBook()-> Added rate book "+name+" with "+rates.size()+" rates");
+		}
+		return book.matrix;
+	}
+
+	/**
+	 * The following operation adds or replaces the named rate book with the quoted rates of the rate file.
+	 * @Input - name, rateFile
+	 * @Response - CurrencyRateMatrix, the matrix of the book
+	 * @Exception - CurrencyException
+	 */
+	public static CurrencyRateMatrix addBook(String name, File rateFile) throws CurrencyException{
+		return addBook(name, LoadProperty.readRateFile(rateFile));
+	}
+
+	/**
+	 * The following operation removes the named rate book. A book of system property currency.rate.book.<name> is loaded again on next use.
+	 * @Input - name
+	 * @Response - boolean, true when the book was there
+	 */
+	public static boolean dropBook(String name){
+		return name != null && BOOKS.remove(name) != null;
+	}
+
+	/**
+	 * The following operation returns the names of the rate books added or loaded, in alphabetical order.
+	 * @Input - N/A
+	 * @Response - String[]
+	 */
+	public static String[] getBookNames(){
+		return new TreeSet<String>(BOOKS.keySet()).toArray(new String[0]);
+	}
+
+	/**
+	 * The following operation returns true when name stands for the current matrix.
+	 * @Input - name
+	 * @Response - boolean
+	 */
+	private static boolean isDefault(String name){
+		return name == null || name.trim().isEmpty() || CurrencyCalculatorConstant.RATE_BOOK_DEFAULT.equals(name);
+	}
+}
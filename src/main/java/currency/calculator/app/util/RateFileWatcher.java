@@ -0,0 +1,169 @@
+package currency.calculator.app.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+
+/**
+ * This class contains the rate file watcher. It watches the directory of the rate files and reloads the currency matrix when one of them
+ * changes, so that new rates and routes are used without a restart. Events arriving shortly after each other are handled by a single reload.
+ * A reload which fails keeps the current matrix.
+ * @Operations: start, run, close, getReloadCount, getFailedReloadCount
+ * @Developer: Singh, Sunny
+ */
+public final class RateFileWatcher implements Runnable, Closeable {
+
+	private static final Logger LOG = Logger.getLogger(RateFileWatcher.class.getName());
+
+	//Time to wait for further events of the same change before reloading
+	private static final long SETTLE_MILLIS = 200L;
+
+	private final WatchService watchService;
+	private final Set<String> fileNames;
+	private final AtomicLong reloadCount = new AtomicLong();
+	private final AtomicLong failedReloadCount = new AtomicLong();
+
+	/**
+	 * The constructor registers the directory with a new watch service. Only changes of the given file names cause a reload.
+	 * @throws CurrencyException
+	 */
+	public RateFileWatcher(File directory, String... fileNames) throws CurrencyException{
+		this.fileNames = new HashSet<String>(Arrays.asList(fileNames));
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+			directory.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException ex) {
+			LOG.severe("RateFileWatcher->RateFileWatcher()-> IOException occured while watching "+directory+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while watching the rate files",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		}
+	}
+
+	/**
+	 * The following operation starts a daemon thread watching the rate snapshot file when it is configured and the property files in the
+	 * working directory otherwise.
+	 * @Input - N/A
+	 * @Response - RateFileWatcher, to be closed by the caller
+	 * @Exception - CurrencyException
+	 */
+	public static RateFileWatcher start() throws CurrencyException{
+		File snapshotFile = CurrencyRateMatrix.getSnapshotFile();
+		RateFileWatcher watcher;
+		if(snapshotFile != null){
+			watcher = new RateFileWatcher(snapshotFile.getAbsoluteFile().getParentFile(), snapshotFile.getName());
+		}else{
+			watcher = new RateFileWatcher(new File(".").getAbsoluteFile(), LoadProperty.PROPERTY_FILE_NAME, LoadProperty.RATE_FILE_NAME);
+		}
+		Thread thread = new Thread(watcher, "rate-file-watcher");
+		thread.setDaemon(true);
+		thread.start();
+		return watcher;
+	}
+
+	/**
+	 * The following operation waits for changes of the rate files and reloads the currency matrix until the watcher is closed.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public void run(){
+		try {
+			while(true){
+				WatchKey key = watchService.take();
+				boolean changed = pollEvents(key);
+				/*
+				 * Editors and copy commands write a file in several steps, hence further events are collected until the file settles.
+				 */
+				while(changed && (key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null){
+					pollEvents(key);
+				}
+				if(changed){
+					reload();
+				}
+			}
+		} catch (ClosedWatchServiceException ex) {
+			if(LOG.isLoggable(Level.INFO)){
+				LOG.info("RateFileWatcher->run()-> Watcher closed");
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * The following operation takes the events of the key and resets it.
+	 * @Input - key
+	 * @Response - boolean, true when one of the rate files changed
+	 */
+	private boolean pollEvents(WatchKey key){
+		boolean changed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			Object context = event.context();
+			if(context instanceof Path && fileNames.contains(((Path) context).getFileName().toString())){
+				changed = true;
+			}
+		}
+		key.reset();
+		return changed;
+	}
+
+	/**
+	 * The following operation reloads the currency matrix. A failure is logged and the current matrix stays in place.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	private void reload(){
+		try {
+			CurrencyRateMatrix.reload();
+			reloadCount.incrementAndGet();
+		} catch (CurrencyException ex) {
+			failedReloadCount.incrementAndGet();
+			LOG.severe("RateFileWatcher->reload()-> Keeping current rates, reload failed : "+ex.getMessage()+" "+ex.getDetailedMessage());
+		} catch (RuntimeException ex) {
+			failedReloadCount.incrementAndGet();
+			LOG.severe("RateFileWatcher->reload()-> Keeping current rates, reload failed : "+ex);
+		}
+	}
+
+	/**
+	 * The following operation stops the watcher.
+	 * @Input - N/A
+	 * @Response - N/A
+	 */
+	public void close() throws IOException{
+		watchService.close();
+	}
+
+	/**
+	 * The following operation returns number of successful reloads.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getReloadCount(){
+		return reloadCount.get();
+	}
+
+	/**
+	 * The following operation returns number of failed reloads.
+	 * @Input - N/A
+	 * @Response - long
+	 */
+	public long getFailedReloadCount(){
+		return failedReloadCount.get();
+	}
+}
@@ -0,0 +1,290 @@
+package currency.calculator.app.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+
+/**
+ * This class contains the binary rate snapshot of a compiled currency matrix. The snapshot is written once from the property values and
+ * loaded by memory mapping the file, where every section is copied into the arrays of the matrix by a single bulk read. Nothing is parsed
+ * and no object is created per currency pair.
+ *
+ * Layout (little endian) :
+ * header  - magic (int), version (int), currency count n (int), quoted rate count q (int), rate scale (int), reserved (int),
+ *           CRC32 of everything after the header (long)
+ * payload - packed currency codes (int[n]), decimal places (int[n]), route types (byte[n*n], padded to 8 bytes),
+ *           cross currency ids (int[n*n], padded to 8 bytes), fixed point rates (long[n*n]), rates (double[n*n]),
+ *           packed quoted currency pairs (int[q], padded to 8 bytes), quoted rates (double[q])
+ * @Operations: write, load
+ * @Developer: Singh, Sunny
+ */
+public final class RateSnapshotFile {
+
+	private static final Logger LOG = Logger.getLogger(RateSnapshotFile.class.getName());
+
+	//"CCRS" - currency calculator rate snapshot
+	public static final int SNAPSHOT_MAGIC = 0x53524343;
+	public static final int SNAPSHOT_VERSION = 2;
+	public static final int HEADER_LENGTH = 32;
+
+	private static final int CHECKSUM_OFFSET = 24;
+
+	/**
+	 * The private constructor for not to allow creation of object for this class
+	 */
+	private RateSnapshotFile() {
+	}
+
+	/**
+	 * The following operation writes the matrix into the snapshot file. The file is written next to the target and moved in place, hence
+	 * a reader never maps a half written snapshot.
+	 * @Input - matrix, file
+	 * @Response - N/A
+	 * @Exception - CurrencyException
+	 */
+	public static void write(CurrencyRateMatrix matrix, File file) throws CurrencyException{
+		CurrencyRegistry registry = matrix.getRegistry();
+		int size = matrix.getSize();
+		int pairs = size * size;
+		int[] quotedPairs = matrix.getQuotedPairs();
+		double[] quotedRates = matrix.getQuotedRates();
+		int quoted = quotedPairs.length;
+		ByteBuffer buffer = ByteBuffer.allocate((int) getSnapshotLength(size, quoted)).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putInt(size).putInt(quoted).putInt(CurrencyCalculatorConstant.RATE_SCALE).putInt(0).putLong(0L);
+		for (int id = 0; id < size; id++) {
+			buffer.putInt(CurrencyRegistry.packCurrencyCode(registry.getCurrencyCode(id)));
+		}
+		for (int id = 0; id < size; id++) {
+			buffer.putInt(registry.getDecimalPlace(id));
+		}
+		for (int index = 0; index < pairs; index++) {
+			buffer.put(matrix.getRouteType(index / size, index % size));
+		}
+		buffer.position((int) align(buffer.position()));
+		for (int index = 0; index < pairs; index++) {
+			buffer.putInt(matrix.getCrossCurrencyId(index / size, index % size));
+		}
+		buffer.position((int) align(buffer.position()));
+		for (int index = 0; index < pairs; index++) {
+			buffer.putLong(matrix.getScaledRate(index / size, index % size));
+		}
+		for (int index = 0; index < pairs; index++) {
+			buffer.putDouble(matrix.getRate(index / size, index % size));
+		}
+		for (int index = 0; index < quoted; index++) {
+			buffer.putInt(quotedPairs[index]);
+		}
+		buffer.position((int) align(buffer.position()));
+		for (int index = 0; index < quoted; index++) {
+			buffer.putDouble(quotedRates[index]);
+		}
+		buffer.putLong(CHECKSUM_OFFSET, checksum(buffer, buffer.limit()));
+		buffer.rewind();
+
+		File temporaryFile = new File(file.getAbsolutePath() + ".tmp");
+		FileOutputStream fileOutput = null;
+		try {
+			fileOutput = new FileOutputStream(temporaryFile);
+			FileChannel channel = fileOutput.getChannel();
+			while(buffer.hasRemaining()){
+				channel.write(buffer);
+			}
+			channel.force(true);
+			fileOutput.close();
+			fileOutput = null;
+			Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException ex) {
+			LOG.severe("RateSnapshotFile->write()-> IOException occured while writing "+file+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while writing the rate snapshot",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		} finally {
+			if(fileOutput != null){
+				try {
+					fileOutput.close();
+				} catch (IOException ex) {
+					LOG.severe("RateSnapshotFile->write()-> IOException occured while closing "+temporaryFile+" "+ex.getMessage());
+				}
+			}
+		}
+		if(LOG.isLoggable(Level.INFO)){
+			LOG.info("RateSnapshotFile->write()-> Written rate snapshot with "+size+" currencies to "+file);
+		}
+	}
+
+	/**
+	 * The following operation loads the matrix from the snapshot file. The header and the checksum are verified before the sections are copied.
+	 * @Input - file
+	 * @Response - CurrencyRateMatrix
+	 * @Exception - CurrencyException
+	 */
+	public static CurrencyRateMatrix load(File file) throws CurrencyException{
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			long length = channel.size();
+			if(length < 4 || length > Integer.MAX_VALUE){
+				throw invalidSnapshot(file, "invalid length "+length);
+			}
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+			ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+			if(buffer.getInt(0) != SNAPSHOT_MAGIC){
+				throw invalidSnapshot(file, "not a rate snapshot");
+			}
+			if(length < HEADER_LENGTH){
+				throw invalidSnapshot(file, "invalid length "+length);
+			}
+			if(buffer.getInt(4) != SNAPSHOT_VERSION){
+				throw invalidSnapshot(file, "unsupported version "+buffer.getInt(4));
+			}
+			int size = buffer.getInt(8);
+			int quoted = buffer.getInt(12);
+			if(size <= 0 || size > Short.MAX_VALUE || quoted < 0 || getSnapshotLength(size, quoted) != length){
+				throw invalidSnapshot(file, "invalid currency count "+size+" or quoted rate count "+quoted);
+			}
+			if(buffer.getInt(16) != CurrencyCalculatorConstant.RATE_SCALE){
+				throw invalidSnapshot(file, "unsupported rate scale "+buffer.getInt(16));
+			}
+			if(buffer.getLong(CHECKSUM_OFFSET) != checksum(buffer, (int) length)){
+				throw invalidSnapshot(file, "checksum mismatch");
+			}
+			int pairs = size * size;
+			int[] packedCodes = new int[size];
+			int[] decimalPlaces = new int[size];
+			byte[] routeTypes = new byte[pairs];
+			int[] crossCurrencyIds = new int[pairs];
+			long[] scaledRates = new long[pairs];
+			double[] rates = new double[pairs];
+			int[] quotedPairs = new int[quoted];
+			double[] quotedRates = new double[quoted];
+			int position = HEADER_LENGTH;
+			section(buffer, position, size * 4).asIntBuffer().get(packedCodes);
+			position += size * 4;
+			section(buffer, position, size * 4).asIntBuffer().get(decimalPlaces);
+			position += size * 4;
+			section(buffer, position, pairs).get(routeTypes);
+			position = (int) align(position + pairs);
+			section(buffer, position, pairs * 4).asIntBuffer().get(crossCurrencyIds);
+			position = (int) align(position + pairs * 4);
+			section(buffer, position, pairs * 8).asLongBuffer().get(scaledRates);
+			position += pairs * 8;
+			section(buffer, position, pairs * 8).asDoubleBuffer().get(rates);
+			position += pairs * 8;
+			section(buffer, position, quoted * 4).asIntBuffer().get(quotedPairs);
+			position = (int) align(position + quoted * 4);
+			section(buffer, position, quoted * 8).asDoubleBuffer().get(quotedRates);
+
+			String[] currencyCodes = new String[size];
+			for (int id = 0; id < size; id++) {
+				currencyCodes[id] = unpackCurrencyCode(packedCodes[id]);
+				if(currencyCodes[id] == null || (id > 0 && currencyCodes[id].compareTo(currencyCodes[id - 1]) <= 0)){
+					throw invalidSnapshot(file, "invalid currency code at id "+id);
+				}
+			}
+			for (int index = 1; index < quoted; index++) {
+				if(quotedPairs[index] <= quotedPairs[index - 1]){
+					throw invalidSnapshot(file, "quoted rates are not sorted at "+index);
+				}
+			}
+			if(LOG.isLoggable(Level.INFO)){
+				LOG.info("RateSnapshotFile->load()-> Loaded rate snapshot with "+size+" currencies from "+file);
+			}
+			return new CurrencyRateMatrix(new CurrencyRegistry(currencyCodes, decimalPlaces), routeTypes, crossCurrencyIds, rates, scaledRates, quotedPairs, quotedRates);
+		} catch (IOException ex) {
+			LOG.severe("RateSnapshotFile->load()-> IOException occured while reading "+file+" "+ex.getMessage());
+			throw new CurrencyException("IOException Exception occured while reading the rate snapshot",ex.getMessage(),CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+		} finally {
+			if(channel != null){
+				try {
+					channel.close();
+				} catch (IOException ex) {
+					LOG.severe("RateSnapshotFile->load()-> IOException occured while closing "+file+" "+ex.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * The following operation returns length of the snapshot file for number of currencies and number of quoted rates.
+	 * @Input - size, quoted
+	 * @Response - long
+	 */
+	private static long getSnapshotLength(int size, int quoted){
+		long pairs = (long) size * size;
+		return align(align(align(HEADER_LENGTH + size * 8L + pairs) + pairs * 4) + pairs * 16 + quoted * 4L) + quoted * 8L;
+	}
+
+	/**
+	 * The following operation rounds position up to the next multiple of eight.
+	 * @Input - position
+	 * @Response - long
+	 */
+	private static long align(long position){
+		return (position + 7) & ~7L;
+	}
+
+	/**
+	 * The following operation returns a little endian view of length bytes starting at position.
+	 * @Input - buffer, position, length
+	 * @Response - ByteBuffer
+	 */
+	private static ByteBuffer section(ByteBuffer buffer, int position, int length){
+		ByteBuffer section = buffer.duplicate();
+		section.position(position);
+		section.limit(position + length);
+		return section.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * The following operation calculates CRC32 of all bytes after the header up to length.
+	 * @Input - buffer, length
+	 * @Response - long
+	 */
+	private static long checksum(ByteBuffer buffer, int length){
+		CRC32 crc = new CRC32();
+		ByteBuffer payload = buffer.duplicate();
+		payload.position(HEADER_LENGTH);
+		payload.limit(length);
+		crc.update(payload);
+		return crc.getValue();
+	}
+
+	/**
+	 * The following operation unpacks a currency code packed by CurrencyRegistry.packCurrencyCode.
+	 * @Input - packedCode
+	 * @Response - String, null when the value is not a packed currency code
+	 */
+	private static String unpackCurrencyCode(int packedCode){
+		char[] code = new char[3];
+		for (int i = 2; i >= 0; i--) {
+			int letter = packedCode & 0x1F;
+			if(letter < 1 || letter > 26){
+				return null;
+			}
+			code[i] = (char) ('A' + letter - 1);
+			packedCode >>>= 5;
+		}
+		return packedCode == 0 ? new String(code) : null;
+	}
+
+	/**
+	 * The following operation creates the exception for a snapshot file which can not be loaded.
+	 * @Input - file, reason
+	 * @Response - CurrencyException
+	 */
+	private static CurrencyException invalidSnapshot(File file, String reason){
+		LOG.severe("RateSnapshotFile->load()-> Invalid rate snapshot "+file+" : "+reason);
+		return new CurrencyException("Rate snapshot provided is not valid","RateSnapshotFile->load()-> Invalid rate snapshot : "+reason,CurrencyCalculatorConstant.EXCEPTION_SYSTEM);
+	}
+}
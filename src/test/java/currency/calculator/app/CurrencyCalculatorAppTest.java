@@ -1,13 +1,20 @@
 package currency.calculator.app;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
 import java.util.HashMap;
 import org.junit.Test;
 import org.junit.Rule;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.util.CurrencyBatchCalculator;
 import currency.calculator.app.util.CurrencyCalculatorUtil;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+import currency.calculator.app.util.FixedPointMath;
 import currency.calculator.app.util.LoadProperty;
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
@@ -192,6 +199,13 @@ public class CurrencyCalculatorAppTest extends TestCase
     	CurrencyCalculatorMainApp.main(args);
     }
     @Test
+    public void testCurrencyCalculatorMainAppAmounts() throws CurrencyException{
+    	CurrencyCalculatorMainApp.main(new String[] { "AUD", "1,000.50", "in", "USD" });
+    	CurrencyCalculatorMainApp.main(new String[] { "AUD", "1e2", "in", "USD" });
+    	CurrencyCalculatorMainApp.main(new String[] { "AUD", "0x10", "in", "USD" });
+    	CurrencyCalculatorMainApp.main(new String[] { "AUD", "10L", "in", "USD" });
+    }
+    @Test
     public void testCurrencyCalculatorMainAppWithInvalidInput() throws CurrencyException{
     	String[] args = { "AUD", "AUD", "in", "CAD" };
     	try{
@@ -417,4 +431,161 @@ public class CurrencyCalculatorAppTest extends TestCase
     		assertThat(e.getMessage(), is("Input field provided is not valid "));
         }
     }
+
+    //Test cases for CurrencyRateMatrix
+    
+    @Test
+    public void testCurrencyRateMatrixRouteTypes() throws CurrencyException{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	CurrencyRegistry registry = matrix.getRegistry();
+    	assertEquals(registry.getSize(), matrix.getSize());
+    	assertEquals(CurrencyCalculatorConstant.ROUTE_TYPE_DIRECT, matrix.getRouteType(registry.getCurrencyId("AUD"), registry.getCurrencyId("USD")));
+    	assertEquals(CurrencyCalculatorConstant.ROUTE_TYPE_INVERSION, matrix.getRouteType(registry.getCurrencyId("DKK"), registry.getCurrencyId("EUR")));
+    	assertEquals(CurrencyCalculatorConstant.ROUTE_TYPE_UNITY, matrix.getRouteType(registry.getCurrencyId("CAD"), registry.getCurrencyId("CAD")));
+    	assertEquals(CurrencyCalculatorConstant.ROUTE_TYPE_CROSS, matrix.getRouteType(registry.getCurrencyId("NOK"), registry.getCurrencyId("JPY")));
+    	assertEquals("USD", registry.getCurrencyCode(matrix.getCrossCurrencyId(registry.getCurrencyId("NOK"), registry.getCurrencyId("JPY"))));
+    	assertEquals(CurrencyCalculatorConstant.ROUTE_TYPE_NONE, matrix.getRouteType(registry.getCurrencyId("KRW"), registry.getCurrencyId("FJD")));
+    }
+    @Test
+    public void testCurrencyRateMatrixMatchesCrossCurrencyCalculation() throws CurrencyException{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	for (int source = 0; source < matrix.getSize(); source++) {
+    		for (int destination = 0; destination < matrix.getSize(); destination++) {
+    			if(matrix.getRouteType(source, destination) == CurrencyCalculatorConstant.ROUTE_TYPE_CROSS){
+    				CurrencyRegistry registry = matrix.getRegistry();
+    				BigDecimal expected = CurrencyCalculatorUtil.calculateRateFromCrossCurrency(registry.getCurrencyCode(source), registry.getCurrencyCode(destination), "100", registry.getCurrencyCode(matrix.getCrossCurrencyId(source, destination)));
+    				assertEquals(0, expected.compareTo(matrix.getExactRate(source, destination).multiply(new BigDecimal("100"))));
+    				assertEquals(expected.doubleValue() / 100, matrix.getRate(source, destination), 1e-12);
+    			}
+    		}
+    	}
+    }
+    @Test
+    public void testCalculateCurrencyValueWithLowerCase() throws CurrencyException{
+    	BigDecimal big = CurrencyCalculatorUtil.calculateCurrencyValue("aud", "100", "usd");
+    	assertEquals("83.71", big.toPlainString());
+    }
+    @Test
+    public void testCalculateCurrencyValueWithCNY() throws CurrencyException{
+    	BigDecimal big = CurrencyCalculatorUtil.calculateCurrencyValue("USD", "100", "CNY");
+    	assertEquals("617.15", big.toPlainString());
+    }
+    @Test
+    public void testCurrencyRateMatrixWithTooManyDecimalPlaces() throws CurrencyException{
+    	HashMap<String, String> rates = new HashMap<String, String>(LoadProperty.getFXRateValue());
+    	rates.put("AUDUSD", "0.83710000000");
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.compile(CurrencyRegistry.getInstance(), LoadProperty.getFXPropValue(), rates);
+    	assertEquals(8371000000L, matrix.getScaledRate(matrix.getRegistry().getCurrencyId("AUD"), matrix.getRegistry().getCurrencyId("USD")));
+    	rates.put("AUDUSD", "0.83710000001");
+    	try{
+    		CurrencyRateMatrix.compile(CurrencyRegistry.getInstance(), LoadProperty.getFXPropValue(), rates);
+    		fail("Invalid FX rate found in rate file");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Invalid FX rate found in rate file"));
+    	}
+    }
+
+    //Test cases for CurrencyRegistry
+    
+    @Test
+    public void testCurrencyRegistry() throws CurrencyException{
+    	CurrencyRegistry registry = CurrencyRegistry.getInstance();
+    	assertTrue(registry.getSize() > 150);
+    	int currencyId = registry.getCurrencyId("KWD");
+    	assertEquals("KWD", registry.getCurrencyCode(currencyId));
+    	assertEquals(3, registry.getDecimalPlace(currencyId));
+    	assertEquals(currencyId, registry.getCurrencyId(" kwd "));
+    	assertEquals(currencyId, registry.getCurrencyIdByPackedCode(CurrencyRegistry.packCurrencyCode("xKWDx", 1)));
+    	assertEquals(-1, registry.getCurrencyId("WSD"));
+    	assertEquals(-1, registry.getCurrencyId("US1"));
+    	assertEquals(-1, registry.getCurrencyId("USDX"));
+    }
+    @Test
+    public void testCalculateCurrencyValueWithCurrencyId() throws CurrencyException{
+    	int sourceCurrencyId = CurrencyCalculatorUtil.getCurrencyId("AUD");
+    	int destinationCurrencyId = CurrencyCalculatorUtil.getCurrencyId("DKK");
+    	assertTrue(CurrencyCalculatorUtil.isCurrencyAvailable(sourceCurrencyId));
+    	assertTrue(CurrencyCalculatorUtil.isRateAvailable(sourceCurrencyId, destinationCurrencyId));
+    	assertEquals("505.76", CurrencyCalculatorUtil.calculateCurrencyValue(sourceCurrencyId, new BigDecimal("100"), destinationCurrencyId).toPlainString());
+    	assertEquals(0.8371, CurrencyCalculatorUtil.getFXRates(sourceCurrencyId, CurrencyCalculatorUtil.getCurrencyId("USD")));
+    	assertEquals(0, CurrencyCalculatorUtil.getDecimalPlace(CurrencyCalculatorUtil.getCurrencyId("JPY")));
+    }
+    @Test
+    public void testIsRateAvailableWithoutRoute() throws CurrencyException{
+    	assertTrue(CurrencyCalculatorUtil.isCurrencyAvailable("KRW"));
+    	assertFalse(CurrencyCalculatorUtil.isRateAvailable(CurrencyCalculatorUtil.getCurrencyId("KRW"), CurrencyCalculatorUtil.getCurrencyId("FJD")));
+    }
+
+    //Test cases for FixedPointMath
+    
+    @Test
+    public void testMultiplyDivideDown() {
+    	Random random = new Random(4217);
+    	for (int i = 0; i < 20000; i++) {
+    		long value = random.nextLong() >> random.nextInt(63);
+    		long multiplier = random.nextLong() >> random.nextInt(63);
+    		int exponent = random.nextInt(30);
+    		BigInteger expected = BigInteger.valueOf(value).multiply(BigInteger.valueOf(multiplier)).divide(BigInteger.TEN.pow(exponent));
+    		if(expected.bitLength() < 64){
+    			assertEquals(expected.longValue(), FixedPointMath.multiplyDivideDown(value, multiplier, exponent));
+    		}else{
+    			try{
+    				FixedPointMath.multiplyDivideDown(value, multiplier, exponent);
+    				fail("long overflow");
+    			}catch (ArithmeticException e) {
+    				assertThat(e.getMessage(), is("long overflow"));
+    			}
+    		}
+    	}
+    }
+    
+    //Test cases for CurrencyBatchCalculator
+    
+    @Test
+    public void testCalculateCurrencyValuesInMinorUnits() throws CurrencyException{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	CurrencyRegistry registry = matrix.getRegistry();
+    	Random random = new Random(11);
+    	int[] sourceCurrencyIds = new int[5000];
+    	int[] destinationCurrencyIds = new int[5000];
+    	long[] amounts = new long[5000];
+    	long[] results = new long[5000];
+    	String[] currencies = { "AUD", "CAD", "CNY", "CZK", "DKK", "EUR", "GBP", "JPY", "NOK", "NZD", "USD" };
+    	for (int i = 0; i < amounts.length; i++) {
+    		sourceCurrencyIds[i] = registry.getCurrencyId(currencies[random.nextInt(currencies.length)]);
+    		destinationCurrencyIds[i] = registry.getCurrencyId(currencies[random.nextInt(currencies.length)]);
+    		amounts[i] = random.nextLong() % 1000000000000000L;
+    	}
+    	CurrencyBatchCalculator.calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, amounts, results);
+    	for (int i = 0; i < amounts.length; i++) {
+    		BigDecimal expected = CurrencyCalculatorUtil.calculateCurrencyValue(sourceCurrencyIds[i], BigDecimal.valueOf(amounts[i], registry.getDecimalPlace(sourceCurrencyIds[i])), destinationCurrencyIds[i]);
+    		assertEquals(expected.unscaledValue().longValue(), results[i]);
+    	}
+    }
+    @Test
+    public void testCalculateCurrencyValuesAsDouble() throws CurrencyException{
+    	int[] sourceCurrencyIds = { CurrencyCalculatorUtil.getCurrencyId("AUD"), CurrencyCalculatorUtil.getCurrencyId("NOK") };
+    	int[] destinationCurrencyIds = { CurrencyCalculatorUtil.getCurrencyId("USD"), CurrencyCalculatorUtil.getCurrencyId("JPY") };
+    	double[] results = new double[2];
+    	CurrencyBatchCalculator.calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, new double[] { 100, 100 }, results);
+    	assertEquals(83.71, results[0], 1e-9);
+    	assertEquals(1704, Math.floor(results[1]), 0.0);
+    }
+    @Test
+    public void testCalculateCurrencyValuesWithoutRate() throws CurrencyException{
+    	int[] sourceCurrencyIds = { CurrencyCalculatorUtil.getCurrencyId("AUD"), CurrencyCalculatorUtil.getCurrencyId("KRW") };
+    	int[] destinationCurrencyIds = { CurrencyCalculatorUtil.getCurrencyId("USD"), CurrencyCalculatorUtil.getCurrencyId("FJD") };
+    	try{
+    		CurrencyBatchCalculator.calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, new long[2], new long[2]);
+    		fail("Currency details are not found in currency matrix table");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Currency details are not found in currency matrix table"));
+    	}
+    	try{
+    		CurrencyBatchCalculator.calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, new long[2], new long[1]);
+    		fail("Input field provided is not valid ");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Input field provided is not valid "));
+    	}
+    }
 }
@@ -0,0 +1,135 @@
+package currency.calculator.app.aggregate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.feed.LiveRateStore;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for PortfolioRevaluator.
+ * @Developer: Singh, Sunny
+ */
+public class PortfolioRevaluatorTest extends TestCase
+{
+    public PortfolioRevaluatorTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for PortfolioRevaluator
+    @Test
+    public void testPortfolioRevaluator() throws CurrencyException{
+    	LiveRateStore store = new LiveRateStore(CurrencyRateMatrix.getInstance());
+    	CurrencyRegistry registry = store.getRegistry();
+    	PortfolioRevaluator revaluator = new PortfolioRevaluator(store, 7);
+    	store.addTickListener(revaluator);
+    	String[] codes = { "AUD", "CAD", "CNY", "CZK", "DKK", "EUR", "GBP", "JPY", "NOK", "NZD", "USD" };
+    	int usd = registry.getCurrencyId("USD");
+    	int eur = registry.getCurrencyId("EUR");
+    	int nok = registry.getCurrencyId("NOK");
+    	int[] sources = new int[codes.length * 20];
+    	int[] reportings = new int[sources.length];
+    	for (int i = 0; i < sources.length; i++) {
+    		sources[i] = registry.getCurrencyId(codes[i % codes.length]);
+    		reportings[i] = i % 2 == 0 ? usd : eur;
+    		assertEquals(i, revaluator.addPosition(sources[i], 100000L + i, 2, reportings[i]));
+    	}
+    	final List<Integer> pushed = new ArrayList<Integer>();
+    	final int[] batches = new int[1];
+    	revaluator.addRevaluationListener(new RevaluationListener() {
+    		public void onRevaluation(int[] positionIds, long[] values, int count) {
+    			assertTrue(count <= 7);
+    			batches[0]++;
+    			for (int i = 0; i < count; i++) {
+    				pushed.add(positionIds[i]);
+    			}
+    		}
+    	});
+    	/*
+    	 * EURNOK is read by NOK to USD and NOK to EUR only, NOKUSD routes via EUR.
+    	 */
+    	store.applyTick(eur, nok, 870000000000L, 1L);
+    	int affected = 0;
+    	for (int i = 0; i < sources.length; i++) {
+    		if(sources[i] == nok){
+    			affected++;
+    			assertTrue(pushed.contains(i));
+    		}
+    	}
+    	assertEquals(affected, pushed.size());
+    	assertEquals((long) affected, revaluator.getRevaluedCount());
+    	assertTrue(batches[0] >= affected / 7);
+    	/*
+    	 * Revalued values and totals are the same as valued from scratch with the newest rates.
+    	 */
+    	store.applyTick(registry.getCurrencyId("EUR"), usd, 1250000000000L, 2L);
+    	store.applyTick(registry.getCurrencyId("EUR"), registry.getCurrencyId("CZK"), 270000000000L, 3L);
+    	assertTrue(revaluator.getRevaluedCount() < 3L * sources.length);
+    	long usdTotal = 0L;
+    	long eurTotal = 0L;
+    	for (int i = 0; i < sources.length; i++) {
+    		long value = store.calculateCurrencyValue(sources[i], 100000L + i, 2, reportings[i]);
+    		assertEquals(value, revaluator.getValue(i));
+    		if(reportings[i] == usd){
+    			usdTotal += value;
+    		}else{
+    			eurTotal += value;
+    		}
+    	}
+    	assertEquals(usdTotal, revaluator.getTotal(usd));
+    	assertEquals(eurTotal, revaluator.getTotal(eur));
+    	long revalued = revaluator.getRevaluedCount();
+    	try{
+    		store.applyTick(registry.getCurrencyId("KRW"), registry.getCurrencyId("FJD"), 10000000000L, 4L);
+    		fail("Invalid FX rate tick");
+    	}catch (CurrencyException e) {
+    		assertEquals("Invalid FX rate tick", e.getMessage());
+    	}
+    	assertEquals(revalued, revaluator.getRevaluedCount());
+    	revaluator.revalueAll();
+    	assertEquals(revalued + sources.length, revaluator.getRevaluedCount());
+    	assertEquals(usdTotal, revaluator.getTotal(usd));
+    	assertTrue(store.removeTickListener(revaluator));
+    	assertEquals(0L, revaluator.getFailedCount());
+    }
+    @Test
+    public void testPortfolioRevaluatorWithInvalidArgs() throws CurrencyException{
+    	LiveRateStore store = new LiveRateStore(CurrencyRateMatrix.getInstance());
+    	CurrencyRegistry registry = store.getRegistry();
+    	PortfolioRevaluator revaluator = new PortfolioRevaluator(store);
+    	try{
+    		revaluator.addPosition(registry.getCurrencyId("AUD"), 1L, 19, registry.getCurrencyId("USD"));
+    		fail("Input field provided is not valid ");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Input field provided is not valid "));
+    	}
+    	try{
+    		revaluator.addPosition(registry.getCurrencyId("KRW"), 1L, 0, registry.getCurrencyId("FJD"));
+    		fail("Currency details are not found in currency matrix table");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Currency details are not found in currency matrix table"));
+    	}
+    	try{
+    		revaluator.addPosition(registry.getCurrencyId("USD"), Long.MAX_VALUE, 0, registry.getCurrencyId("JPY"));
+    		fail("Amount provided is too large");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Amount provided is too large"));
+    	}
+    	try{
+    		revaluator.getValue(0);
+    		fail("Input field provided is not valid ");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Input field provided is not valid "));
+    	}
+    	assertEquals(0, revaluator.getPositionCount());
+    }
+}
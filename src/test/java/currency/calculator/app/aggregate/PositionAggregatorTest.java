@@ -0,0 +1,159 @@
+package currency.calculator.app.aggregate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.feed.LiveRateStore;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+import currency.calculator.app.util.CurrencyRateMatrix;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for PositionAggregator and AggregationResult.
+ * @Developer: Singh, Sunny
+ */
+public class PositionAggregatorTest extends TestCase
+{
+    public PositionAggregatorTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for PositionAggregator and AggregationResult
+    @Test
+    public void testPositionAggregator() throws CurrencyException{
+    	int aud = CurrencyCalculatorUtil.getCurrencyId("AUD");
+    	int usd = CurrencyCalculatorUtil.getCurrencyId("USD");
+    	int jpy = CurrencyCalculatorUtil.getCurrencyId("JPY");
+    	int[] currencyIds = new int[1000];
+    	long[] amounts = new long[1000];
+    	for (int i = 0; i < 1000; i++) {
+    		currencyIds[i] = i % 2 == 0 ? aud : jpy;
+    		amounts[i] = i % 2 == 0 ? 1001L : -(i + 1L);
+    	}
+    	PositionAggregator aggregator = new PositionAggregator();
+    	aggregator.addMinorUnits(currencyIds, amounts, 0, 1000);
+    	aggregator.add(usd, new BigDecimal("0.005"));
+    	aggregator.add(usd, 1L, 3);
+    	AggregationResult result = aggregator.aggregate(usd, aud);
+    	assertEquals(new BigDecimal("5005.00"), result.getNet(aud));
+    	assertEquals(new BigDecimal("-250500"), result.getNet(jpy));
+    	assertEquals(new BigDecimal("0.006"), result.getNet(usd));
+    	assertEquals(500L, result.getPositionCount(jpy));
+    	assertEquals(2L, result.getPositionCount(usd));
+    	assertEquals(CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("5005.00"), usd), result.getConvertedNet(aud, usd));
+    	assertEquals(new BigDecimal("0.00"), result.getConvertedNet(usd, usd));
+    	assertEquals(new BigDecimal("5005.00"), result.getConvertedNet(aud, aud));
+    	assertEquals(null, result.getTotal(jpy));
+    	/*
+    	 * Every net is converted once and truncated once, converting every position truncates each of them.
+    	 */
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	BigDecimal exactTotal = new BigDecimal("5005.00").multiply(matrix.getExactRate(aud, usd)).add(new BigDecimal("-250500").multiply(matrix.getExactRate(jpy, usd)))
+    			.add(new BigDecimal("0.006")).setScale(2, RoundingMode.DOWN);
+    	assertEquals(exactTotal, result.getTotal(usd));
+    	BigDecimal rowTotal = BigDecimal.ZERO;
+    	for (int i = 0; i < 1000; i++) {
+    		rowTotal = rowTotal.add(CurrencyCalculatorUtil.calculateCurrencyValue(currencyIds[i], BigDecimal.valueOf(amounts[i], i % 2 == 0 ? 2 : 0), usd));
+    	}
+    	assertFalse(exactTotal.equals(rowTotal));
+    	/*
+    	 * The result does not depend on the order of the positions or on how they are split between aggregators.
+    	 */
+    	PositionAggregator reversed = new PositionAggregator();
+    	PositionAggregator other = new PositionAggregator();
+    	for (int i = 999; i >= 0; i--) {
+    		(i < 500 ? reversed : other).add(currencyIds[i], BigDecimal.valueOf(amounts[i], i % 2 == 0 ? 2 : 0));
+    	}
+    	other.add(usd, 1L, 3);
+    	other.add(usd, 5L, 3);
+    	reversed.merge(other);
+    	AggregationResult reversedResult = reversed.aggregate(usd, aud);
+    	assertEquals(result.toString(), reversedResult.toString());
+    	assertEquals(result.getTotal(aud), reversedResult.getTotal(aud));
+    	assertThat(result.toString(), containsString("USD total "+exactTotal.toPlainString()));
+    	aggregator.clear();
+    	assertEquals(0, aggregator.aggregate(usd).getCurrencyIds().length);
+    	assertEquals(new BigDecimal("0.00"), aggregator.aggregate(usd).getTotal(usd));
+    }
+    @Test
+    public void testPositionAggregatorOverflow() throws CurrencyException{
+    	int aud = CurrencyCalculatorUtil.getCurrencyId("AUD");
+    	int usd = CurrencyCalculatorUtil.getCurrencyId("USD");
+    	PositionAggregator aggregator = new PositionAggregator();
+    	aggregator.add(aud, Long.MAX_VALUE, 2);
+    	aggregator.add(aud, Long.MAX_VALUE, 2);
+    	aggregator.add(aud, 1L, 18);
+    	aggregator.add(aud, new BigDecimal("1E+30"));
+    	aggregator.add(aud, -1L, 0);
+    	BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE, 2).multiply(new BigDecimal(2)).add(new BigDecimal("1E-18"))
+    			.add(new BigDecimal("1E+30")).subtract(BigDecimal.ONE);
+    	assertEquals(0, expected.compareTo(aggregator.getNet(aud)));
+    	assertEquals(5L, aggregator.getPositionCount(aud));
+    	assertEquals(expected.multiply(CurrencyRateMatrix.getInstance().getExactRate(aud, usd)).setScale(2, RoundingMode.DOWN), aggregator.aggregate(usd).getTotal(usd));
+    }
+    @Test
+    public void testPositionAggregatorWithSharedRateStore() throws CurrencyException{
+    	int aud = CurrencyCalculatorUtil.getCurrencyId("AUD");
+    	int usd = CurrencyCalculatorUtil.getCurrencyId("USD");
+    	PositionAggregator aggregator = new PositionAggregator();
+    	aggregator.add(aud, new BigDecimal("100.00"));
+    	LiveRateStore store = new LiveRateStore(CurrencyRateMatrix.getInstance());
+    	store.applyTick(aud, usd, 9000000000L, 1L);
+    	LiveRateStore previous = LiveRateStore.setSharedInstance(store);
+    	try{
+    		assertEquals(new BigDecimal("90.00"), aggregator.aggregate(usd).getTotal(usd));
+    		assertEquals(CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), usd), aggregator.aggregate(usd).getConvertedNet(aud, usd));
+    	}finally{
+    		LiveRateStore.setSharedInstance(previous);
+    	}
+    	assertEquals(new BigDecimal("83.71"), aggregator.aggregate(usd).getTotal(usd));
+    }
+    @Test
+    public void testPositionAggregatorWithInvalidArgs() throws CurrencyException{
+    	int aud = CurrencyCalculatorUtil.getCurrencyId("AUD");
+    	int usd = CurrencyCalculatorUtil.getCurrencyId("USD");
+    	PositionAggregator aggregator = new PositionAggregator();
+    	try{
+    		aggregator.add(aud, 1L, 19);
+    		fail("Input field provided is not valid ");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Input field provided is not valid "));
+    	}
+    	try{
+    		aggregator.addMinorUnits(new int[] { aud, -1 }, new long[] { 1L, 1L }, 0, 2);
+    		fail("Input field provided is not valid ");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Input field provided is not valid "));
+    	}
+    	assertEquals(0L, aggregator.getPositionCount(aud));
+    	try{
+    		aggregator.aggregate();
+    		fail("Input field provided is not valid ");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Input field provided is not valid "));
+    	}
+    	/*
+    	 * A net of zero needs no rate, KRW/FJD has no route.
+    	 */
+    	int krw = CurrencyCalculatorUtil.getCurrencyId("KRW");
+    	int fjd = CurrencyCalculatorUtil.getCurrencyId("FJD");
+    	aggregator.add(krw, 100L, 0);
+    	aggregator.add(krw, -100L, 0);
+    	assertEquals(new BigDecimal("0.00"), aggregator.aggregate(fjd).getTotal(fjd));
+    	aggregator.add(krw, 100L, 0);
+    	try{
+    		aggregator.aggregate(CurrencyRateMatrix.getInstance(), fjd);
+    		fail("Currency details are not found in currency matrix table");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Currency details are not found in currency matrix table"));
+    	}
+    }
+}
@@ -0,0 +1,87 @@
+package currency.calculator.app.bulk;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.CurrencyCalculatorMainApp;
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+
+/**
+ * This class contains test cases for BulkCurrencyConverter and the bulk mode of Currency Calculator Application.
+ * @Developer: Singh, Sunny
+ */
+public class BulkCurrencyConverterTest extends TestCase
+{
+    public BulkCurrencyConverterTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for bulk mode
+    @Test
+    public void testBulkCurrencyConverter() throws CurrencyException{
+    	String input = "AUD 100.00 in USD\n\nAUD 100.00 in DKK\nAUD AUD in CAD\nKRW 1000.00 in FJD\nJPY 100 in USD\nNOK 1,000 in JPY extra\n";
+    	StringWriter writer = new StringWriter();
+    	StringWriter errorWriter = new StringWriter();
+    	BulkCurrencyConverter converter = new BulkCurrencyConverter();
+    	long failed = converter.convert(new BufferedReader(new StringReader(input)), writer, errorWriter);
+    	assertEquals(3, failed);
+    	assertEquals(7, converter.getLineCount());
+    	assertEquals(3, converter.getConvertedCount());
+    	assertEquals("AUD 100.00 = USD 83.71\nAUD 100.00 = DKK 505.76\nJPY 100 = USD 0.83\n", writer.toString());
+    	assertEquals("Line 4, column 5: "+CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE+"\n"
+    				+"Line 5, column 1: Unable to find rate for KRW/FJD\n"
+    				+"Line 7, column 18: "+CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE+"\n", errorWriter.toString());
+    }
+    @Test
+    public void testCurrencyCalculatorMainAppBulkMode() throws Exception{
+    	File input = File.createTempFile("bulk", ".txt");
+    	File output = File.createTempFile("bulk", ".out");
+    	input.deleteOnExit();
+    	output.deleteOnExit();
+    	FileWriter fileWriter = new FileWriter(input);
+    	fileWriter.write("NOK 100 in JPY\nnok -100 in jpy\n");
+    	fileWriter.close();
+    	CurrencyCalculatorMainApp.main(new String[] { "--bulk", input.getPath(), output.getPath() });
+    	BufferedReader reader = new BufferedReader(new FileReader(output));
+    	assertEquals("NOK 100 = JPY 1704", reader.readLine());
+    	assertEquals("nok -100 = jpy -1704", reader.readLine());
+    	assertNull(reader.readLine());
+    	reader.close();
+    }
+
+    //Test cases for fixed point bulk mode
+    @Test
+    public void testBulkCurrencyConverterFixedPoint() throws CurrencyException{
+    	String input = "AUD 100.00 in USD\nAUD 1,000.505 in DKK\nJPY 100 in USD\nNOK -100 in JPY\nUSD 1E3 in CAD\nUSD 92233720368547758070 in EUR\nKRW 1000.00 in FJD\nUSD 1.2.3 in EUR\n";
+    	StringWriter bigDecimalWriter = new StringWriter();
+    	StringWriter bigDecimalErrorWriter = new StringWriter();
+    	new BulkCurrencyConverter().convert(new BufferedReader(new StringReader(input)), bigDecimalWriter, bigDecimalErrorWriter);
+    	StringWriter fixedPointWriter = new StringWriter();
+    	StringWriter fixedPointErrorWriter = new StringWriter();
+    	new BulkCurrencyConverter(true).convert(new BufferedReader(new StringReader(input)), fixedPointWriter, fixedPointErrorWriter);
+    	assertEquals(bigDecimalWriter.toString(), fixedPointWriter.toString());
+    	assertEquals(bigDecimalErrorWriter.toString(), fixedPointErrorWriter.toString());
+    	assertEquals("Line 7, column 1: Unable to find rate for KRW/FJD\n"
+    				+"Line 8, column 8: "+CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE+"\n", fixedPointErrorWriter.toString());
+    	assertTrue(fixedPointWriter.toString().contains("USD 1E3 = CAD "));
+    }
+
+    //Test cases for the fallback of the fixed point bulk mode
+    @Test
+    public void testBulkCurrencyConverterFallsBackToBigDecimal() throws CurrencyException{
+    	String input = "AUD 1E2 in USD\nAUD 100000000000000000000.00 in USD\n";
+    	StringWriter writer = new StringWriter();
+    	BulkCurrencyConverter converter = new BulkCurrencyConverter(true);
+    	assertEquals(0, converter.convert(new BufferedReader(new StringReader(input)), writer, new StringWriter()));
+    	assertEquals("AUD 1E2 = USD 83.71\nAUD 100000000000000000000.00 = USD 83710000000000000000.00\n", writer.toString());
+    }
+}
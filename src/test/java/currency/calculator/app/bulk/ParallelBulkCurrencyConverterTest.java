@@ -0,0 +1,85 @@
+package currency.calculator.app.bulk;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyBatchCalculator;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * This class contains test cases for ParallelBulkCurrencyConverter.
+ * @Developer: Singh, Sunny
+ */
+public class ParallelBulkCurrencyConverterTest extends TestCase
+{
+    public ParallelBulkCurrencyConverterTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for ParallelBulkCurrencyConverter
+    @Test
+    public void testParallelBulkCurrencyConverter() throws CurrencyException{
+    	String[] lines = { "AUD 100.00 in USD", "", "AUD 1,000.505 in DKK", "AUD AUD in CAD", "KRW 1000.00 in FJD", "JPY 100 in USD", "NOK -100 in JPY",
+    			"USD 1E3 in CAD", "USD 92233720368547758070 in EUR" };
+    	Random random = new Random(17);
+    	StringBuilder input = new StringBuilder();
+    	for (int i = 0; i < 5000; i++) {
+    		input.append(lines[random.nextInt(lines.length)]).append('\n');
+    	}
+    	for (boolean fixedPoint : new boolean[] { false, true }) {
+    		StringWriter writer = new StringWriter();
+    		StringWriter errorWriter = new StringWriter();
+    		BulkCurrencyConverter converter = new BulkCurrencyConverter(fixedPoint);
+    		long failed = converter.convert(new BufferedReader(new StringReader(input.toString())), writer, errorWriter);
+    		StringWriter parallelWriter = new StringWriter();
+    		StringWriter parallelErrorWriter = new StringWriter();
+    		ParallelBulkCurrencyConverter parallelConverter = new ParallelBulkCurrencyConverter(fixedPoint, 4, 7);
+    		assertEquals(failed, parallelConverter.convert(new BufferedReader(new StringReader(input.toString())), parallelWriter, parallelErrorWriter));
+    		assertEquals(5000, parallelConverter.getLineCount());
+    		assertEquals(converter.getConvertedCount(), parallelConverter.getConvertedCount());
+    		assertEquals(writer.toString(), parallelWriter.toString());
+    		assertEquals(errorWriter.toString(), parallelErrorWriter.toString());
+    	}
+    }
+    @Test
+    public void testParallelBulkCurrencyConverterArrays() throws CurrencyException{
+    	CurrencyRegistry registry = CurrencyRateMatrix.getInstance().getRegistry();
+    	Random random = new Random(19);
+    	String[] currencies = { "AUD", "CAD", "CNY", "EUR", "GBP", "JPY", "KRW", "FJD", "USD" };
+    	int[] sourceCurrencyIds = new int[10000];
+    	int[] destinationCurrencyIds = new int[10000];
+    	long[] amounts = new long[10000];
+    	for (int i = 0; i < amounts.length; i++) {
+    		sourceCurrencyIds[i] = registry.getCurrencyId(currencies[random.nextInt(currencies.length)]);
+    		destinationCurrencyIds[i] = registry.getCurrencyId(currencies[random.nextInt(currencies.length)]);
+    		amounts[i] = random.nextInt(100) == 0 ? Long.MAX_VALUE : random.nextLong() % 1000000000000L;
+    	}
+    	long[] results = new long[10000];
+    	byte[] statuses = new byte[10000];
+    	int failed = CurrencyBatchCalculator.calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, amounts, results, statuses, 0, 10000);
+    	long[] parallelResults = new long[10000];
+    	byte[] parallelStatuses = new byte[10000];
+    	assertEquals(failed, new ParallelBulkCurrencyConverter(true, 4, 100).convert(sourceCurrencyIds, destinationCurrencyIds, amounts, parallelResults, parallelStatuses));
+    	assertThat(failed > 0, is(true));
+    	assertArrayEquals(results, parallelResults);
+    	assertArrayEquals(statuses, parallelStatuses);
+    	try{
+    		new ParallelBulkCurrencyConverter(true, 4, 100).convert(sourceCurrencyIds, destinationCurrencyIds, amounts, new long[10], parallelStatuses);
+    		fail("Input field provided is not valid ");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Input field provided is not valid "));
+    	}
+    }
+}
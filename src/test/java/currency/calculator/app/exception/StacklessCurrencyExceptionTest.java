@@ -0,0 +1,50 @@
+package currency.calculator.app.exception;
+
+import java.math.BigDecimal;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.util.ConversionResult;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for StacklessCurrencyException.
+ * @Developer: Singh, Sunny
+ */
+public class StacklessCurrencyExceptionTest extends TestCase
+{
+    public StacklessCurrencyExceptionTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for StacklessCurrencyException
+    @Test
+    public void testStacklessCurrencyException() throws CurrencyException{
+    	try{
+    		CurrencyCalculatorUtil.calculateCurrencyValue("KRW", "100", "FJD");
+    		fail("Currency details are not found in currency matrix table");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Currency details are not found in currency matrix table"));
+    		assertFalse(e instanceof StacklessCurrencyException);
+    		assertTrue(e.getStackTrace().length > 0);
+    	}
+    	ConversionResult result = new ConversionResult();
+    	assertFalse(CurrencyCalculatorUtil.convert(CurrencyCalculatorUtil.getCurrencyId("KRW"), new BigDecimal("100"), CurrencyCalculatorUtil.getCurrencyId("FJD"), result));
+    	assertSame(StacklessCurrencyException.RATE_NOT_FOUND, result.toException());
+    	assertEquals(0, StacklessCurrencyException.RATE_NOT_FOUND.getStackTrace().length);
+    	try{
+    		StacklessCurrencyException.RATE_NOT_FOUND.setMessage("changed");
+    		fail("Expected UnsupportedOperationException");
+    	}catch (UnsupportedOperationException e) {
+    		assertThat(StacklessCurrencyException.RATE_NOT_FOUND.getMessage(), is("Currency details are not found in currency matrix table"));
+    	}
+    	StacklessCurrencyException exception = new StacklessCurrencyException("message", "detail");
+    	exception.setMessage("changed");
+    	assertThat(exception.getMessage(), is("changed"));
+    }
+}
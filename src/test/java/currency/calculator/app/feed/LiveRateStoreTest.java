@@ -0,0 +1,187 @@
+package currency.calculator.app.feed;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+import currency.calculator.app.util.FixedPointCurrencyCalculator;
+import currency.calculator.app.util.LoadProperty;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for LiveRateStore.
+ * @Developer: Singh, Sunny
+ */
+public class LiveRateStoreTest extends TestCase
+{
+    public LiveRateStoreTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for LiveRateStore
+    @Test
+    public void testLiveRateStoreMatchesMatrix() throws CurrencyException{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	LiveRateStore store = new LiveRateStore(matrix);
+    	for (int source = 0; source < matrix.getSize(); source++) {
+    		for (int destination = 0; destination < matrix.getSize(); destination++) {
+    			assertEquals(matrix.getScaledRate(source, destination), store.getScaledRate(source, destination));
+    		}
+    	}
+    	assertEquals(0L, store.getLastUpdate(matrix.getRegistry().getCurrencyId("AUD"), matrix.getRegistry().getCurrencyId("USD")));
+    }
+    @Test
+    public void testLiveRateStoreAppliesTicks() throws CurrencyException{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	CurrencyRegistry registry = matrix.getRegistry();
+    	LiveRateStore store = new LiveRateStore(matrix);
+    	RateTickFeed feed = new RateTickFeed(store, new ByteArrayInputStream(new byte[0]));
+    	assertEquals(true, feed.applyLine("AUDUSD 0.9 1700000000000"));
+    	assertEquals(true, feed.applyLine("  usdjpy   120.5  "));
+    	assertFalse(feed.applyLine("# comment"));
+    	assertFalse(feed.applyLine("AUDXXX 0.9"));
+    	assertFalse(feed.applyLine("AUDUSD abc"));
+    	assertFalse(feed.applyLine("AUDUSD -0.9"));
+    	assertFalse(feed.applyLine("AUDUSD 0.12345678901"));
+    	assertFalse(feed.applyLine("AUDUSD 0.9 1 2"));
+    	assertEquals(2L, feed.getAppliedCount());
+    	assertEquals(5L, feed.getRejectedCount());
+    	assertEquals(2L, store.getTickCount());
+    	int aud = registry.getCurrencyId("AUD");
+    	int usd = registry.getCurrencyId("USD");
+    	assertEquals(9000000000L, store.getQuotedRate(aud, usd));
+    	assertEquals(1700000000000L, store.getLastUpdate(aud, usd));
+    	assertEquals(9000L, store.calculateCurrencyValue(aud, 10000L, 2, usd));
+    	/*
+    	 * Composite rates follow the ticks the same way a matrix compiled with the new rates does.
+    	 */
+    	HashMap<String, String> rates = new HashMap<String, String>(LoadProperty.getFXRateValue());
+    	rates.put("AUDUSD", "0.9");
+    	rates.put("USDJPY", "120.5");
+    	CurrencyRateMatrix expected = CurrencyRateMatrix.compile(registry, LoadProperty.getFXPropValue(), rates);
+    	for (int source = 0; source < matrix.getSize(); source++) {
+    		for (int destination = 0; destination < matrix.getSize(); destination++) {
+    			assertEquals(expected.getScaledRate(source, destination), store.getScaledRate(source, destination));
+    		}
+    	}
+    }
+    @Test
+    public void testLiveRateStoreRejectsTicksOfPairsNotQuoted() throws CurrencyException{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	CurrencyRegistry registry = matrix.getRegistry();
+    	LiveRateStore store = new LiveRateStore(matrix);
+    	final int[] listened = new int[1];
+    	store.addTickListener(new RateTickListener() {
+    		public void onTick(int sourceCurrencyId, int destinationCurrencyId, long scaledRate, long timestamp) {
+    			listened[0]++;
+    		}
+    	});
+    	int aud = registry.getCurrencyId("AUD");
+    	int usd = registry.getCurrencyId("USD");
+    	int jpy = registry.getCurrencyId("JPY");
+    	long inverse = store.getScaledRate(usd, aud);
+    	long cross = store.getScaledRate(aud, jpy);
+    	RateTickFeed feed = new RateTickFeed(store, new ByteArrayInputStream(new byte[0]));
+    	/*
+    	 * USDAUD is the inverse of the quoted AUDUSD, AUDJPY a cross via USD.
+    	 */
+    	assertFalse(feed.applyLine("USDAUD 2.0"));
+    	assertFalse(feed.applyLine("AUDJPY 500"));
+    	assertFalse(feed.applyLine("KRWFJD 1"));
+    	assertEquals(0L, feed.getAppliedCount());
+    	assertEquals(3L, feed.getRejectedCount());
+    	assertEquals(0L, store.getTickCount());
+    	assertEquals(0, listened[0]);
+    	assertEquals(inverse, store.getScaledRate(usd, aud));
+    	assertEquals(cross, store.getScaledRate(aud, jpy));
+    	assertEquals(0L, store.getLastUpdate(usd, aud));
+    	try{
+    		store.applyTick(usd, aud, 20000000000L, 1L);
+    		fail("Invalid FX rate tick");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Invalid FX rate tick"));
+    	}
+    	assertTrue(feed.applyLine("AUDUSD 0.5"));
+    	assertEquals(1, listened[0]);
+    	assertEquals(20000000000L, store.getScaledRate(usd, aud));
+    }
+    @Test
+    public void testLiveRateStoreWhileReading() throws Exception{
+    	final CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	final LiveRateStore store = new LiveRateStore(matrix);
+    	final int aud = matrix.getRegistry().getCurrencyId("AUD");
+    	final int usd = matrix.getRegistry().getCurrencyId("USD");
+    	final AtomicBoolean running = new AtomicBoolean(true);
+    	final AtomicReference<String> failure = new AtomicReference<String>();
+    	Thread reader = new Thread(new Runnable() {
+    		public void run() {
+    			long[] quote = new long[2];
+    			while(running.get()){
+    				long rate = store.getQuotedRate(aud, usd);
+    				long inverse = store.getScaledRate(usd, aud);
+    				if(rate != 8371000000L && (rate <= 8000000000L || rate > 8100000000L || rate % 1000L != 0L)){
+    					failure.set("Unexpected rate "+rate);
+    				}
+    				if(inverse <= 0L){
+    					failure.set("Unexpected inverse rate "+inverse);
+    				}
+    				/*
+    				 * Tick n has rate 8000000000 + n * 1000 and time n, rate and time read together are of one tick.
+    				 */
+    				store.getQuote(aud, usd, quote);
+    				if(quote[1] == 0L ? quote[0] != 8371000000L : quote[0] != 8000000000L + quote[1] * 1000L){
+    					failure.set("Rate "+quote[0]+" and time "+quote[1]+" of different ticks");
+    				}
+    			}
+    		}
+    	});
+    	reader.start();
+    	for (int tick = 1; tick <= 100000; tick++) {
+    		store.applyTick(aud, usd, 8000000000L + tick * 1000L, tick);
+    	}
+    	running.set(false);
+    	reader.join();
+    	assertEquals(null, failure.get());
+    	assertEquals(100000L, store.getTickCount());
+    	assertEquals(100000L, store.getLastUpdate(aud, usd));
+    }
+    @Test
+    public void testConversionsFollowTickFeed() throws Exception{
+    	File file = File.createTempFile("ticks", ".txt");
+    	file.deleteOnExit();
+    	FileWriter writer = new FileWriter(file);
+    	int aud = CurrencyCalculatorUtil.getCurrencyId("AUD");
+    	int usd = CurrencyCalculatorUtil.getCurrencyId("USD");
+    	LiveRateStore store = LiveRateStore.startFeed(CurrencyRateMatrix.getInstance(), CurrencyCalculatorConstant.TICK_FEED_TAIL_PREFIX + file.getPath());
+    	LiveRateStore previous = LiveRateStore.setSharedInstance(store);
+    	try{
+    		assertEquals("83.71", CurrencyCalculatorUtil.calculateCurrencyValue("AUD", "100.00", "USD").toPlainString());
+    		writer.write("AUDUSD 0.9 1\n");
+    		writer.flush();
+    		for (int wait = 0; wait < 500 && store.getTickCount() < 1L; wait++) {
+    			Thread.sleep(10L);
+    		}
+    		assertEquals("90.00", CurrencyCalculatorUtil.calculateCurrencyValue("AUD", "100.00", "USD").toPlainString());
+    		assertEquals(9000L, FixedPointCurrencyCalculator.calculateCurrencyValue(aud, 10000L, usd));
+    	}finally{
+    		LiveRateStore.setSharedInstance(previous);
+    		store.close();
+    		writer.close();
+    	}
+    	assertEquals("83.71", CurrencyCalculatorUtil.calculateCurrencyValue("AUD", "100.00", "USD").toPlainString());
+    }
+}
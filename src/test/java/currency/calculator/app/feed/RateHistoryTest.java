@@ -0,0 +1,144 @@
+package currency.calculator.app.feed;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.HashMap;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.metrics.ConversionMetrics;
+import currency.calculator.app.util.ConversionResult;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+import currency.calculator.app.util.LoadProperty;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for RateHistory.
+ * @Developer: Singh, Sunny
+ */
+public class RateHistoryTest extends TestCase
+{
+    public RateHistoryTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for RateHistory
+    @Test
+    public void testRateHistoryAsOf() throws Exception{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	CurrencyRegistry registry = matrix.getRegistry();
+    	/*
+    	 * The history starts with the rates of the matrix on 2024-01-01, AUDUSD and USDJPY change later. Fixings are not in time order.
+    	 */
+    	StringBuilder fixings = new StringBuilder("# pair rate time\n");
+    	fixings.append("AUDUSD 0.9 2024-01-03T12:00:00Z\n\n");
+    	for (int source = 0; source < matrix.getSize(); source++) {
+    		for (int destination = 0; destination < matrix.getSize(); destination++) {
+    			double rate = matrix.getQuotedRate(source, destination);
+    			if(rate > 0){
+    				fixings.append(registry.getCurrencyCode(source)).append(registry.getCurrencyCode(destination)).append(' ')
+    						.append(BigDecimal.valueOf(rate).toPlainString()).append(" 2024-01-01\n");
+    			}
+    		}
+    	}
+    	fixings.append("USDJPY 120.5 1704240000000\nAUDUSD 0.95 2024-01-02\nAUDUSD 0.8 2024-01-02\n");
+    	RateHistory history = RateHistory.load(matrix, new BufferedReader(new StringReader(fixings.toString())));
+    	int aud = registry.getCurrencyId("AUD");
+    	int usd = registry.getCurrencyId("USD");
+    	int jpy = registry.getCurrencyId("JPY");
+    	long day = 24L * 60L * 60L * 1000L;
+    	long january1 = 1704067200000L;
+    	assertEquals(0L, history.getQuotedRate(aud, usd, january1 - 1L));
+    	assertEquals(8371000000L, history.getQuotedRate(aud, usd, january1));
+    	assertEquals(8000000000L, history.getQuotedRate(aud, usd, january1 + day));
+    	assertEquals(8000000000L, history.getQuotedRate(aud, usd, january1 + 2 * day + 12 * 60 * 60 * 1000L - 1L));
+    	assertEquals(9000000000L, history.getQuotedRate(aud, usd, Long.MAX_VALUE));
+    	/*
+    	 * As of the first day every rate is the rate of the matrix, later composite rates follow the fixings.
+    	 */
+    	HashMap<String, String> rates = new HashMap<String, String>(LoadProperty.getFXRateValue());
+    	rates.put("AUDUSD", "0.9");
+    	rates.put("USDJPY", "120.5");
+    	CurrencyRateMatrix later = CurrencyRateMatrix.compile(registry, LoadProperty.getFXPropValue(), rates);
+    	for (int source = 0; source < matrix.getSize(); source++) {
+    		for (int destination = 0; destination < matrix.getSize(); destination++) {
+    			assertEquals(matrix.getScaledRate(source, destination), history.getScaledRate(source, destination, january1 + day - 1L));
+    			assertEquals(later.getScaledRate(source, destination), history.getScaledRate(source, destination, january1 + 3 * day));
+    		}
+    	}
+    	assertEquals(8371L, history.calculateCurrencyValue(aud, 10000L, 2, usd, january1));
+    	assertEquals(9000L, history.calculateCurrencyValue(aud, 10000L, 2, usd, january1 + 3 * day));
+    	try{
+    		history.calculateCurrencyValue(aud, 10000L, 2, jpy, january1 - 1L);
+    		fail("Currency details are not found in rate history");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Currency details are not found in rate history"));
+    	}
+    	/*
+    	 * Trades replayed with the rate at their time.
+    	 */
+    	long[] results = new long[3];
+    	byte[] statuses = new byte[3];
+    	assertEquals(1, history.calculateCurrencyValues(new int[] { aud, aud, aud }, new int[] { usd, usd, jpy }, new long[] { 10000L, 10000L, 10000L },
+    			new long[] { january1, january1 + 3 * day, january1 - 1L }, results, statuses, 0, 3));
+    	assertEquals(8371L, results[0]);
+    	assertEquals(9000L, results[1]);
+    	assertEquals(ConversionResult.STATUS_RATE_NOT_FOUND, statuses[2]);
+    	/*
+    	 * The BigDecimal conversion as of a time uses the published history.
+    	 */
+    	RateHistory previous = RateHistory.publish(history);
+    	try{
+    		long conversions = ConversionMetrics.getInstance().getConversionCount("AUDUSD");
+    		assertEquals(new BigDecimal("83.71"), CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), usd, january1));
+    		assertEquals(new BigDecimal("90.00"), CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), usd, january1 + 3 * day));
+    		assertEquals(conversions + 2, ConversionMetrics.getInstance().getConversionCount("AUDUSD"));
+    		assertEquals(CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), jpy),
+    				CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), jpy, january1));
+    	}finally{
+    		RateHistory.publish(previous);
+    	}
+    }
+    @Test
+    public void testRateHistoryWithInvalidArgs() throws Exception{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	int aud = CurrencyCalculatorUtil.getCurrencyId("AUD");
+    	int usd = CurrencyCalculatorUtil.getCurrencyId("USD");
+    	try{
+    		RateHistory.load(matrix, new BufferedReader(new StringReader("AUDUSD 0.9 2024-01-01\nAUDUSD 0.9\n")));
+    		fail("Invalid FX rate found in rate history");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Invalid FX rate found in rate history"));
+    		assertThat(e.getDetailedMessage(), containsString("line 2"));
+    	}
+    	try{
+    		RateHistory.compile(matrix, new int[] { aud }, new int[] { usd }, new long[] { 0L }, new long[] { 0L }, 1);
+    		fail("Invalid FX rate found in rate history");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Invalid FX rate found in rate history"));
+    	}
+    	try{
+    		RateHistory.compile(matrix, new int[] { aud }, new int[] { usd }, new long[] { 0L }, new long[] { 1L }, 2);
+    		fail("Input field provided is not valid ");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Input field provided is not valid "));
+    	}
+    	/*
+    	 * Fixings of a pair with the same time, the last one is kept.
+    	 */
+    	RateHistory history = RateHistory.compile(matrix, new int[] { aud, aud, aud, aud }, new int[] { usd, usd, usd, usd }, new long[] { 20L, 10L, 20L, 10L },
+    			new long[] { 1L, 2L, 3L, 4L }, 4);
+    	assertEquals(2, history.getFixingCount());
+    	assertEquals(4L, history.getQuotedRate(aud, usd, 15L));
+    	assertEquals(3L, history.getQuotedRate(aud, usd, 20L));
+    }
+}
@@ -0,0 +1,48 @@
+package currency.calculator.app.feed;
+
+import java.io.File;
+import java.io.FileWriter;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.util.CurrencyRateMatrix;
+
+/**
+ * This class contains test cases for RateTickFeed.
+ * @Developer: Singh, Sunny
+ */
+public class RateTickFeedTest extends TestCase
+{
+    public RateTickFeedTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for RateTickFeed
+    @Test
+    public void testRateTickFeedTailsFile() throws Exception{
+    	File file = File.createTempFile("ticks", ".txt");
+    	file.deleteOnExit();
+    	FileWriter writer = new FileWriter(file);
+    	writer.write("AUDUSD 0.5 1\n");
+    	writer.flush();
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	LiveRateStore store = new LiveRateStore(matrix);
+    	RateTickFeed feed = RateTickFeed.start(store, CurrencyCalculatorConstant.TICK_FEED_TAIL_PREFIX + file.getPath());
+    	try{
+    		writer.write("AUDUSD 0.91 2\nEURUSD 1.25 3\n");
+    		writer.flush();
+    		for (int wait = 0; wait < 500 && feed.getAppliedCount() < 2; wait++) {
+    			Thread.sleep(10L);
+    		}
+    		assertEquals(2L, feed.getAppliedCount());
+    		assertEquals(9100000000L, store.getQuotedRate(matrix.getRegistry().getCurrencyId("AUD"), matrix.getRegistry().getCurrencyId("USD")));
+    		assertEquals(3L, store.getLastUpdate(matrix.getRegistry().getCurrencyId("EUR"), matrix.getRegistry().getCurrencyId("USD")));
+    	}finally{
+    		feed.close();
+    		writer.close();
+    	}
+    }
+}
@@ -0,0 +1,220 @@
+package currency.calculator.app.feed;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.util.HashMap;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.CurrencyCalculatorMainApp;
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.FixedPointCurrencyCalculator;
+import currency.calculator.app.util.RateBooks;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for the shared rate store of LiveRateStore and the publish mode of Currency Calculator Application.
+ * @Developer: Singh, Sunny
+ */
+public class SharedRateStoreTest extends TestCase
+{
+    public SharedRateStoreTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for the shared rate store
+    @Test
+    public void testSharedRateStore() throws Exception{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	int aud = CurrencyCalculatorUtil.getCurrencyId("AUD");
+    	int usd = CurrencyCalculatorUtil.getCurrencyId("USD");
+    	int czk = CurrencyCalculatorUtil.getCurrencyId("CZK");
+    	File storeFile = new File(System.getProperty("java.io.tmpdir"), "currency-rates-"+System.nanoTime()+".store");
+    	storeFile.deleteOnExit();
+    	LiveRateStore publisher = LiveRateStore.publishShared(matrix, storeFile);
+    	try{
+    		LiveRateStore reader = LiveRateStore.openShared(matrix, storeFile);
+    		assertTrue(reader.isShared());
+    		for (int source = 0; source < matrix.getSize(); source += 7) {
+    			for (int destination = 0; destination < matrix.getSize(); destination += 3) {
+    				assertEquals(matrix.getScaledRate(source, destination), reader.getScaledRate(source, destination));
+    			}
+    		}
+    		/*
+    		 * A tick of the publisher is read from the mapping by every reader, cross rates included.
+    		 */
+    		long ticks = reader.getTickCount();
+    		publisher.applyTick(aud, usd, 9000000000L, 5L);
+    		assertEquals(9000000000L, reader.getQuotedRate(aud, usd));
+    		assertEquals(5L, reader.getLastUpdate(aud, usd));
+    		long[] quote = new long[2];
+    		reader.getQuote(aud, usd, quote);
+    		assertEquals(9000000000L, quote[0]);
+    		assertEquals(5L, quote[1]);
+    		assertEquals(ticks + 1, reader.getTickCount());
+    		publisher.applyTick(CurrencyCalculatorUtil.getCurrencyId("EUR"), usd, 12000000000L, 6L);
+    		LiveRateStore heap = new LiveRateStore(matrix);
+    		heap.applyTick(CurrencyCalculatorUtil.getCurrencyId("EUR"), usd, 12000000000L, 6L);
+    		assertEquals(heap.getScaledRate(czk, usd), reader.getScaledRate(czk, usd));
+    		try{
+    			reader.applyTick(aud, usd, 1L, 7L);
+    			fail("Shared rate store is read only");
+    		}catch (CurrencyException e) {
+    			assertThat(e.getMessage(), is("Shared rate store is read only"));
+    		}
+    		try{
+    			LiveRateStore.publishShared(matrix, storeFile);
+    			fail("Shared rate store has a publisher already");
+    		}catch (CurrencyException e) {
+    			assertThat(e.getMessage(), is("Shared rate store has a publisher already"));
+    		}
+    		/*
+    		 * Conversions take the rates of the shared store, conversions with a rate book keep theirs.
+    		 */
+    		LiveRateStore previous = LiveRateStore.setSharedInstance(reader);
+    		try{
+    			assertEquals(new BigDecimal("90.00"), CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), usd));
+    			assertEquals(9000L, FixedPointCurrencyCalculator.calculateCurrencyValue(aud, 10000L, usd));
+    			HashMap<String, String> rates = new HashMap<String, String>();
+    			rates.put("AUDUSD", "0.5");
+    			RateBooks.addBook("testShared", rates);
+    			assertEquals(new BigDecimal("50.00"), CurrencyCalculatorUtil.calculateCurrencyValue("testShared", aud, new BigDecimal("100.00"), usd));
+    			publisher.applyTick(aud, usd, 8000000000L, 8L);
+    			assertEquals(new BigDecimal("80.00"), CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), usd));
+    		}finally{
+    			LiveRateStore.setSharedInstance(previous);
+    			RateBooks.dropBook("testShared");
+    		}
+    		assertEquals(new BigDecimal("83.71"), CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), usd));
+    		/*
+    		 * A new publisher starts with the current rates, written in place for the readers.
+    		 */
+    		publisher.close();
+    		long restarted = System.currentTimeMillis();
+    		publisher = LiveRateStore.publishShared(matrix, storeFile);
+    		assertEquals(8371000000L, reader.getQuotedRate(aud, usd));
+    		assertTrue(reader.getLastUpdate(aud, usd) >= restarted);
+    		assertEquals(0L, reader.getLastUpdate(usd, CurrencyCalculatorUtil.getCurrencyId("JPY")));
+    	}finally{
+    		publisher.close();
+    	}
+    }
+    @Test
+    public void testSharedRateStoreReplaced() throws Exception{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	int aud = CurrencyCalculatorUtil.getCurrencyId("AUD");
+    	int usd = CurrencyCalculatorUtil.getCurrencyId("USD");
+    	File storeFile = new File(System.getProperty("java.io.tmpdir"), "currency-rates-"+System.nanoTime()+".store");
+    	storeFile.deleteOnExit();
+    	LiveRateStore.publishShared(matrix, storeFile).close();
+    	LiveRateStore reader = LiveRateStore.openShared(matrix, storeFile);
+    	/*
+    	 * A rate scale other than the one of this build gives the file another layout, the next publisher replaces it.
+    	 */
+    	RandomAccessFile file = new RandomAccessFile(storeFile, "rw");
+    	try{
+    		file.seek(12);
+    		file.write(new byte[] { 99, 0, 0, 0 });
+    	}finally{
+    		file.close();
+    	}
+    	assertFalse(reader.isRetired());
+    	LiveRateStore previous = LiveRateStore.setSharedInstance(reader);
+    	LiveRateStore publisher = LiveRateStore.publishShared(matrix, storeFile);
+    	try{
+    		assertTrue(reader.isRetired());
+    		assertFalse(publisher.isRetired());
+    		publisher.applyTick(aud, usd, 9000000000L, 1L);
+    		/*
+    		 * The shared instance opens the new file, conversions follow the ticks of the new publisher.
+    		 */
+    		assertEquals(new BigDecimal("90.00"), CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), usd));
+    		LiveRateStore reopened = LiveRateStore.getSharedInstance(matrix);
+    		assertNotSame(reader, reopened);
+    		assertFalse(reopened.isRetired());
+    		publisher.applyTick(aud, usd, 8000000000L, 2L);
+    		assertEquals(new BigDecimal("80.00"), CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), usd));
+    		assertFalse(new File(storeFile.getPath()+".tmp").exists());
+    		try{
+    			LiveRateStore.publishShared(matrix, storeFile);
+    			fail("Shared rate store has a publisher already");
+    		}catch (CurrencyException e) {
+    			assertThat(e.getMessage(), is("Shared rate store has a publisher already"));
+    		}
+    	}finally{
+    		LiveRateStore.setSharedInstance(previous);
+    		publisher.close();
+    	}
+    }
+    @Test
+    public void testSharedRateStorePublishMode() throws Exception{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	File storeFile = new File(System.getProperty("java.io.tmpdir"), "currency-rates-"+System.nanoTime()+".store");
+    	storeFile.deleteOnExit();
+    	File tickFile = File.createTempFile("ticks", ".txt");
+    	tickFile.deleteOnExit();
+    	FileWriter writer = new FileWriter(tickFile);
+    	writer.write("AUDUSD 0.95 10\nAUDXXX 1.0\n");
+    	writer.close();
+    	assertEquals(-1L, CurrencyCalculatorMainApp.runPublishMode(new String[] { "--publish-rates", " " }));
+    	System.setProperty(CurrencyCalculatorConstant.TICK_FEED_PROPERTY, tickFile.getPath());
+    	try{
+    		assertEquals(1L, CurrencyCalculatorMainApp.runPublishMode(new String[] { "--publish-rates", storeFile.getPath() }));
+    	}finally{
+    		System.clearProperty(CurrencyCalculatorConstant.TICK_FEED_PROPERTY);
+    	}
+    	LiveRateStore reader = LiveRateStore.openShared(matrix, storeFile);
+    	assertEquals(9500000000L, reader.getQuotedRate(CurrencyCalculatorUtil.getCurrencyId("AUD"), CurrencyCalculatorUtil.getCurrencyId("USD")));
+    	assertEquals(10L, reader.getLastUpdate(CurrencyCalculatorUtil.getCurrencyId("AUD"), CurrencyCalculatorUtil.getCurrencyId("USD")));
+    	/*
+    	 * The publisher has closed the store, another one may open it.
+    	 */
+    	LiveRateStore.publishShared(matrix, storeFile).close();
+    	File invalidFile = File.createTempFile("currency-rates", ".store");
+    	invalidFile.deleteOnExit();
+    	try{
+    		LiveRateStore.openShared(matrix, invalidFile);
+    		fail("Shared rate store provided is not valid");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Shared rate store provided is not valid"));
+    	}
+    }
+    @Test
+    public void testSharedRateStoreAfterReload() throws Exception{
+    	CurrencyRateMatrix before = CurrencyRateMatrix.getInstance();
+    	int aud = CurrencyCalculatorUtil.getCurrencyId("AUD");
+    	int usd = CurrencyCalculatorUtil.getCurrencyId("USD");
+    	LiveRateStore store = new LiveRateStore(before);
+    	store.applyTick(aud, usd, 9000000000L, 1L);
+    	LiveRateStore previous = LiveRateStore.setSharedInstance(store);
+    	try{
+    		assertEquals(new BigDecimal("90.00"), CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), usd));
+    		/*
+    		 * The store is attached to the reloaded matrix and keeps following the ticks, the previous matrix keeps its rates.
+    		 */
+    		CurrencyRateMatrix reloaded = CurrencyRateMatrix.reload();
+    		assertEquals(new BigDecimal("90.00"), CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), usd));
+    		assertEquals(9000L, FixedPointCurrencyCalculator.calculateCurrencyValue(aud, 10000L, usd));
+    		LiveRateStore attached = LiveRateStore.getSharedInstance(reloaded);
+    		assertSame(reloaded, attached.getMatrix());
+    		store.applyTick(aud, usd, 8000000000L, 2L);
+    		assertEquals(new BigDecimal("80.00"), CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), usd));
+    		assertEquals(2L, attached.getTickCount());
+    		assertEquals(2L, attached.getLastUpdate(aud, usd));
+    		assertNull(LiveRateStore.getSharedInstance(before));
+    	}finally{
+    		LiveRateStore.setSharedInstance(previous);
+    		CurrencyRateMatrix.publish(before);
+    	}
+    	assertEquals(new BigDecimal("83.71"), CurrencyCalculatorUtil.calculateCurrencyValue(aud, new BigDecimal("100.00"), usd));
+    }
+}
@@ -0,0 +1,56 @@
+package currency.calculator.app.metrics;
+
+import java.io.File;
+import java.io.OutputStream;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.CurrencyCalculatorMainApp;
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.server.ConversionHttpServerTest;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for ConversionEventLog and the production logging mode.
+ * @Developer: Singh, Sunny
+ */
+public class ConversionEventLogTest extends TestCase
+{
+    public ConversionEventLogTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for ConversionEventLog
+    @Test
+    public void testConversionEventLogProductionMode() throws Exception{
+    	assertFalse(ConversionEventLog.isProductionMode());
+    	StringBuilder events = new StringBuilder();
+    	ConversionEventLog.dump(events);
+    	assertEquals("", events.toString());
+    	/*
+    	 * The logging mode is fixed when the JVM starts, production mode is tested in bulk mode of a new JVM.
+    	 */
+    	ProcessBuilder builder = new ProcessBuilder(System.getProperty("java.home")+File.separator+"bin"+File.separator+"java", "-cp",
+    			System.getProperty("java.class.path"), "-D"+CurrencyCalculatorConstant.LOGGING_MODE_PROPERTY+"="+CurrencyCalculatorConstant.LOGGING_MODE_PRODUCTION,
+    			"-D"+CurrencyCalculatorConstant.FIXED_POINT_PROPERTY+"=true", CurrencyCalculatorMainApp.class.getName(), CurrencyCalculatorConstant.BULK_MODE_ARGUMENT, "-", "-");
+    	builder.redirectErrorStream(true);
+    	Process process = builder.start();
+    	OutputStream input = process.getOutputStream();
+    	input.write("AUD 100.00 in USD\nJPY 100 in AUD\nAUD 9000000000000000000 in USD\n".getBytes("US-ASCII"));
+    	input.close();
+    	String output = ConversionHttpServerTest.readResponse(process.getInputStream());
+    	assertEquals(0, process.waitFor());
+    	assertThat(output, containsString("AUD 100.00 = USD 83.71"));
+    	/*
+    	 * The amount too large for the fixed point engine is logged with the recent conversions of the thread, then converted with BigDecimal.
+    	 */
+    	assertThat(output, containsString("Amount provided is too large, recent conversions of thread main :"));
+    	assertThat(output, containsString("] JPY 100 = AUD 0.99\n"));
+    	assertThat(output, containsString("AUD 9000000000000000000 = USD 7533900000000000000.00"));
+    	assertFalse(output, output.contains("Exiting with value"));
+    }
+}
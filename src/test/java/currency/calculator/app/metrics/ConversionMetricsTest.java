@@ -0,0 +1,85 @@
+package currency.calculator.app.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import javax.management.ObjectName;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.server.ConversionHttpServer;
+import currency.calculator.app.server.ConversionHttpServerTest;
+import currency.calculator.app.util.CurrencyCalculatorUtil;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for ConversionMetrics.
+ * @Developer: Singh, Sunny
+ */
+public class ConversionMetricsTest extends TestCase
+{
+    public ConversionMetricsTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for ConversionMetrics
+    @Test
+    public void testConversionMetrics() throws Exception{
+    	ConversionMetrics metrics = ConversionMetrics.getInstance();
+    	long direct = metrics.getConversionCount(ConversionMetrics.ROUTE_DIRECT);
+    	long inversion = metrics.getConversionCount(ConversionMetrics.ROUTE_INVERSION);
+    	long unity = metrics.getConversionCount(ConversionMetrics.ROUTE_UNITY);
+    	long viaUsd = metrics.getConversionCount(ConversionMetrics.ROUTE_VIA_USD);
+    	long latencies = metrics.getLatencyHistogram(ConversionMetrics.ROUTE_DIRECT).getCount();
+    	CurrencyCalculatorUtil.calculateCurrencyValue("AUD", "100.00", "USD");
+    	long pair = metrics.getConversionCount("AUDUSD");
+    	CurrencyCalculatorUtil.calculateCurrencyValue("AUD", "100.00", "USD");
+    	CurrencyCalculatorUtil.calculateCurrencyValue("USD", "100.00", "AUD");
+    	CurrencyCalculatorUtil.calculateCurrencyValue("AUD", "100.00", "AUD");
+    	CurrencyCalculatorUtil.calculateCurrencyValue("AUD", "100.00", "JPY");
+    	assertEquals(direct + 2, metrics.getConversionCount(ConversionMetrics.ROUTE_DIRECT));
+    	assertEquals(inversion + 1, metrics.getConversionCount(ConversionMetrics.ROUTE_INVERSION));
+    	assertEquals(unity + 1, metrics.getConversionCount(ConversionMetrics.ROUTE_UNITY));
+    	assertEquals(viaUsd + 1, metrics.getConversionCount(ConversionMetrics.ROUTE_VIA_USD));
+    	assertEquals(latencies + 2, metrics.getLatencyHistogram(ConversionMetrics.ROUTE_DIRECT).getCount());
+    	assertEquals(pair + 1, metrics.getConversionCount("AUDUSD"));
+    	long errors = metrics.getErrorCount();
+    	try{
+    		CurrencyCalculatorUtil.calculateCurrencyValue("KRW", "100", "FJD");
+    		fail("Expected CurrencyException");
+    	}catch(CurrencyException e){
+    		assertThat(e.getMessage(), is("Currency details are not found in currency matrix table"));
+    	}
+    	assertEquals(errors + 1, metrics.getErrorCount());
+    	assertThat(metrics.getErrorCountByMessage().get("Currency details are not found in currency matrix table") > 0L, is(true));
+    	StringBuilder output = new StringBuilder();
+    	metrics.writePrometheus(output);
+    	assertThat(output.toString(), containsString("currency_conversions_total{route=\"D\"} "+metrics.getConversionCount(ConversionMetrics.ROUTE_DIRECT)+"\n"));
+    	assertThat(output.toString(), containsString("currency_conversion_pair_total{pair=\"AUDUSD\"} "));
+    	assertThat(output.toString(), containsString("currency_conversion_latency_seconds_bucket{route=\"via-USD\",le=\"+Inf\"} "));
+    	assertThat(output.toString(), containsString("currency_conversion_errors_total{message=\"Currency details are not found in currency matrix table\"} "));
+    	/*
+    	 * JMX and GET /metrics
+    	 */
+    	ConversionMetrics.registerMBean();
+    	Object count = ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(ConversionMetrics.MBEAN_NAME), "ConversionCount");
+    	assertThat(((Long) count) >= direct + 2, is(true));
+    	ConversionHttpServer server = new ConversionHttpServer(new InetSocketAddress("127.0.0.1", 0), 1024);
+    	server.start();
+    	try{
+    		HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:"+server.getPort()+"/metrics").openConnection();
+    		assertEquals(200, connection.getResponseCode());
+    		assertThat(connection.getContentType(), containsString("version=0.0.4"));
+    		assertThat(ConversionHttpServerTest.readResponse(connection), containsString("# TYPE currency_conversion_latency_seconds histogram"));
+    	}finally{
+    		server.stop(0);
+    	}
+    }
+}
@@ -0,0 +1,47 @@
+package currency.calculator.app.metrics;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for LatencyHistogram.
+ * @Developer: Singh, Sunny
+ */
+public class LatencyHistogramTest extends TestCase
+{
+    public LatencyHistogramTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for LatencyHistogram
+    @Test
+    public void testLatencyHistogram(){
+    	assertEquals(0, LatencyHistogram.getBucketIndex(-5L));
+    	assertEquals(7, LatencyHistogram.getBucketIndex(7L));
+    	assertEquals(8, LatencyHistogram.getBucketIndex(8L));
+    	assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.getBucketIndex(Long.MAX_VALUE));
+    	assertEquals(Long.MAX_VALUE, LatencyHistogram.getBucketUpperBound(LatencyHistogram.BUCKET_COUNT - 1));
+    	Random random = new Random(7L);
+    	for (int i = 0; i < 10000; i++) {
+    		long value = random.nextLong() >>> random.nextInt(64);
+    		int index = LatencyHistogram.getBucketIndex(value);
+    		assertThat(value <= LatencyHistogram.getBucketUpperBound(index), is(true));
+    		assertThat(index == 0 || value > LatencyHistogram.getBucketUpperBound(index - 1), is(true));
+    	}
+    	LatencyHistogram histogram = new LatencyHistogram(4);
+    	for (long value = 1; value <= 1000; value++) {
+    		histogram.record(value);
+    	}
+    	assertEquals(1000L, histogram.getCount());
+    	assertEquals(500500L, histogram.getSum());
+    	assertEquals(511L, histogram.getValueAtPercentile(50.0));
+    	assertEquals(1023L, histogram.getValueAtPercentile(100.0));
+    	assertEquals(0L, new LatencyHistogram(1).getValueAtPercentile(99.0));
+    }
+}
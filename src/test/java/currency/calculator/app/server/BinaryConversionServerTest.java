@@ -0,0 +1,92 @@
+package currency.calculator.app.server;
+
+import java.net.InetSocketAddress;
+import java.util.Random;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.util.CurrencyRateMatrix;
+import currency.calculator.app.util.CurrencyRegistry;
+import currency.calculator.app.util.FixedPointCurrencyCalculator;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for BinaryConversionServer and BinaryConversionClient.
+ * @Developer: Singh, Sunny
+ */
+public class BinaryConversionServerTest extends TestCase
+{
+    public BinaryConversionServerTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for BinaryConversionServer and BinaryConversionClient
+    @Test
+    public void testBinaryConversionServerMatchesFixedPointEngine() throws Exception{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	int size = matrix.getSize();
+    	BinaryConversionServer server = new BinaryConversionServer(new InetSocketAddress("127.0.0.1", 0));
+    	server.start();
+    	BinaryConversionClient client = new BinaryConversionClient(new InetSocketAddress("127.0.0.1", server.getPort()));
+    	try{
+    		CurrencyRegistry registry = matrix.getRegistry();
+    		assertEquals(8371L, client.convert(registry.getCurrencyId("AUD"), 10000L, 2, registry.getCurrencyId("USD")));
+    		/*
+    		 * More requests than fit into one pipeline window.
+    		 */
+    		int count = 5000;
+    		int[] sources = new int[count];
+    		long[] amounts = new long[count];
+    		int[] scales = new int[count];
+    		int[] destinations = new int[count];
+    		Random random = new Random(7);
+    		for (int i = 0; i < count; i++) {
+    			sources[i] = random.nextInt(size + 1) - 1;
+    			destinations[i] = random.nextInt(size);
+    			amounts[i] = random.nextInt(10000000);
+    			scales[i] = random.nextInt(4);
+    		}
+    		long[] results = new long[count];
+    		byte[] statuses = new byte[count];
+    		int converted = client.convert(sources, amounts, scales, destinations, results, statuses, count);
+    		int expectedConverted = 0;
+    		for (int i = 0; i < count; i++) {
+    			if(sources[i] >= 0 && matrix.getRouteType(sources[i], destinations[i]) != CurrencyCalculatorConstant.ROUTE_TYPE_NONE){
+    				expectedConverted++;
+    				assertEquals(BinaryConversionProtocol.STATUS_OK, statuses[i]);
+    				assertEquals(FixedPointCurrencyCalculator.calculateCurrencyValue(matrix, sources[i], amounts[i], scales[i], destinations[i]), results[i]);
+    			}else{
+    				assertEquals(BinaryConversionProtocol.STATUS_RATE_NOT_FOUND, statuses[i]);
+    			}
+    		}
+    		assertEquals(expectedConverted, converted);
+    		assertEquals(count + 1L, server.getRequestCount());
+    	}finally{
+    		client.close();
+    		server.close();
+    	}
+    }
+    @Test
+    public void testBinaryConversionClientFailedConversion() throws Exception{
+    	CurrencyRegistry registry = CurrencyRateMatrix.getInstance().getRegistry();
+    	BinaryConversionServer server = new BinaryConversionServer(new InetSocketAddress("127.0.0.1", 0));
+    	server.start();
+    	BinaryConversionClient client = new BinaryConversionClient(new InetSocketAddress("127.0.0.1", server.getPort()));
+    	try{
+    		client.convert(registry.getCurrencyId("KRW"), 100L, 0, registry.getCurrencyId("FJD"));
+    		fail("Currency details are not found in currency matrix table");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Currency details are not found in currency matrix table"));
+    		assertEquals(0L, client.convert(registry.getCurrencyId("KRW"), 0L, 0, registry.getCurrencyId("KRW")));
+    	}finally{
+    		client.close();
+    		server.close();
+    	}
+    }
+}
@@ -0,0 +1,112 @@
+package currency.calculator.app.server;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.ServerSocket;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.CurrencyCalculatorMainApp;
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for ConversionDaemon and ConversionDaemonClient.
+ * @Developer: Singh, Sunny
+ */
+public class ConversionDaemonTest extends TestCase
+{
+    public ConversionDaemonTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for ConversionDaemon and ConversionDaemonClient
+    @Test
+    public void testConversionDaemonSession() throws Exception{
+    	StringWriter output = new StringWriter();
+    	long converted = ConversionDaemon.serve(new BufferedReader(new StringReader("AUD 100.00 in USD\n\nKRW 100 in FJD\nbook\nAUD 1e2 in USD\nquit\nAUD 1 in USD\n")),
+    			output, false, true);
+    	assertEquals(2L, converted);
+    	assertEquals("AUD 100.00 = USD 83.71\n"+CurrencyCalculatorConstant.RATE_NOT_FOUND_MESSAGE+"KRW/FJD\nUsing rate book default\nAUD 1e2 = USD 83.71\n", output.toString());
+    	output = new StringWriter();
+    	ConversionDaemon.serve(new BufferedReader(new StringReader("book testMissing\nAUD in USD\n")), output, true, false);
+    	assertEquals("> Rate book not found testMissing\n> "+CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE+"\n> ", output.toString());
+    }
+    @Test
+    public void testConversionDaemonOverSocketFile() throws Exception{
+    	File socketFile = new File(System.getProperty("java.io.tmpdir"), "currency-test-"+System.nanoTime()+".sock");
+    	ConversionDaemon daemon = new ConversionDaemon(socketFile.getPath(), false);
+    	daemon.start();
+    	try{
+    		ConversionDaemonClient client = new ConversionDaemonClient(socketFile.getPath());
+    		try{
+    			assertEquals("AUD 100.00 = USD 83.71", client.convert("AUD 100.00 in USD"));
+    			StringBuilder requests = new StringBuilder();
+    			for (int i = 1; i <= 1000; i++) {
+    				requests.append("AUD ").append(i).append(".00 in USD\n");
+    			}
+    			requests.append("quit\nAUD 1.00 in USD\n");
+    			StringWriter responses = new StringWriter();
+    			assertEquals(1000L, client.convert(new BufferedReader(new StringReader(requests.toString())), responses));
+    			assertThat(responses.toString(), containsString("AUD 1000.00 = USD 837.10\n"));
+    		}finally{
+    			client.close();
+    		}
+    		/*
+    		 * The check for a running daemon below connects as well, hence the sessions are counted before.
+    		 */
+    		assertEquals(1L, daemon.getSessionCount());
+    		try{
+    			new ConversionDaemon(socketFile.getPath(), false);
+    			fail("Conversion daemon already running");
+    		}catch (CurrencyException e) {
+    			assertThat(e.getMessage(), is("Conversion daemon already running"));
+    		}
+    	}finally{
+    		daemon.close();
+    	}
+    	assertFalse(socketFile.exists());
+    }
+    @Test
+    public void testConversionDaemonOverPort() throws Exception{
+    	ServerSocket freePort = new ServerSocket(0);
+    	String port = Integer.toString(freePort.getLocalPort());
+    	freePort.close();
+    	ConversionDaemon daemon = new ConversionDaemon(port, true);
+    	daemon.start();
+    	try{
+    		ConversionDaemonClient client = new ConversionDaemonClient(port);
+    		try{
+    			assertEquals("JPY 100 = USD 0.83", client.convert("JPY 100 in USD"));
+    		}finally{
+    			client.close();
+    		}
+    	}finally{
+    		daemon.close();
+    	}
+    }
+    @Test
+    public void testConversionDaemonWithInvalidArgs() throws CurrencyException{
+    	assertEquals(null, CurrencyCalculatorMainApp.runDaemonMode(new String[] { "--daemon", "a", "b" }));
+    	try{
+    		new ConversionDaemonClient(new File(System.getProperty("java.io.tmpdir"), "currency-missing-"+System.nanoTime()+".sock").getPath());
+    		fail("IOException Exception occured while connecting to the conversion daemon");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("IOException Exception occured while connecting to the conversion daemon"));
+    	}
+    	try{
+    		ConversionDaemon.getAddress(" ");
+    		fail("Input field provided is not valid ");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Input field provided is not valid "));
+    	}
+    }
+}
@@ -0,0 +1,125 @@
+package currency.calculator.app.server;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.CurrencyCalculatorMainApp;
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for ConversionHttpServer and the server mode of Currency Calculator Application.
+ * @Developer: Singh, Sunny
+ */
+public class ConversionHttpServerTest extends TestCase
+{
+    public ConversionHttpServerTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for ConversionHttpServer
+    /**
+     * The following operation reads the response of a connection, the error response for a status of 400 or above.
+     */
+    public static String readResponse(HttpURLConnection connection) throws Exception{
+    	return readResponse(connection.getResponseCode() < 400 ? connection.getInputStream() : connection.getErrorStream());
+    }
+    /**
+     * The following operation reads a stream until its end and closes it.
+     */
+    public static String readResponse(InputStream input) throws Exception{
+    	StringBuilder response = new StringBuilder();
+    	int character;
+    	while((character = input.read()) >= 0){
+    		response.append((char) character);
+    	}
+    	input.close();
+    	return response.toString();
+    }
+    @Test
+    public void testConversionHttpServerConvert() throws Exception{
+    	ConversionHttpServer server = new ConversionHttpServer(new InetSocketAddress("127.0.0.1", 0), 1024);
+    	server.start();
+    	try{
+    		String base = "http://127.0.0.1:"+server.getPort();
+    		HttpURLConnection connection = (HttpURLConnection) new URL(base+"/convert?from=AUD&amount=100.00&to=USD").openConnection();
+    		assertEquals(200, connection.getResponseCode());
+    		assertEquals("{\"from\":\"AUD\",\"amount\":\"100.00\",\"to\":\"USD\",\"result\":\"83.71\"}", readResponse(connection));
+    		connection = (HttpURLConnection) new URL(base+"/convert?from=KRW&amount=100&to=FJD").openConnection();
+    		assertEquals(404, connection.getResponseCode());
+    		assertThat(readResponse(connection), containsString(CurrencyCalculatorConstant.RATE_NOT_FOUND_MESSAGE+"KRW/FJD"));
+    		connection = (HttpURLConnection) new URL(base+"/convert?from=AUD&amount=abc&to=USD").openConnection();
+    		assertEquals(400, connection.getResponseCode());
+    		readResponse(connection);
+    		connection = (HttpURLConnection) new URL(base+"/convert?from=AUD").openConnection();
+    		assertEquals(400, connection.getResponseCode());
+    		readResponse(connection);
+    		connection = (HttpURLConnection) new URL(base+"/convert?from=AUD&amount=&to=USD").openConnection();
+    		assertEquals(400, connection.getResponseCode());
+    		assertThat(readResponse(connection), containsString(CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE));
+    		StringBuilder output = new StringBuilder();
+    		assertEquals(400, ConversionHttpServer.convert("AUD", "", "USD", output));
+    		assertEquals("{\"from\":\"AUD\",\"amount\":\"\",\"to\":\"USD\",\"error\":\""+CurrencyCalculatorConstant.INVALID_INPUT_MESSAGE+"\"}", output.toString());
+    	}finally{
+    		server.stop(0);
+    	}
+    }
+    @Test
+    public void testConversionHttpServerBatch() throws Exception{
+    	ConversionHttpServer server = new ConversionHttpServer(new InetSocketAddress("127.0.0.1", 0), 1024);
+    	server.start();
+    	try{
+    		URL url = new URL("http://127.0.0.1:"+server.getPort()+"/convert/batch");
+    		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    		connection.setRequestMethod("POST");
+    		connection.setDoOutput(true);
+    		OutputStream output = connection.getOutputStream();
+    		output.write("AUD 100.00 in USD\n\nJPY 100 in USD\nAUD 100.00 to USD\n".getBytes("UTF-8"));
+    		output.close();
+    		assertEquals(200, connection.getResponseCode());
+    		String response = readResponse(connection);
+    		assertThat(response, containsString("\"result\":\"83.71\""));
+    		assertThat(response, containsString("\"converted\":2,\"failed\":1}"));
+    		assertThat(response, containsString("\"detail\":\"Expected 'in' at position 11\",\"position\":11}"));
+    		connection = (HttpURLConnection) url.openConnection();
+    		connection.setRequestMethod("POST");
+    		connection.setDoOutput(true);
+    		output = connection.getOutputStream();
+    		output.write(new byte[2048]);
+    		output.close();
+    		assertEquals(413, connection.getResponseCode());
+    		connection = (HttpURLConnection) url.openConnection();
+    		assertEquals(405, connection.getResponseCode());
+    		/*
+    		 * A negative Content-Length is refused, it never sizes a buffer.
+    		 */
+    		Socket socket = new Socket("127.0.0.1", server.getPort());
+    		try{
+    			socket.getOutputStream().write("POST /convert/batch HTTP/1.1\r\nHost: 127.0.0.1\r\nContent-Length: -1\r\n\r\n".getBytes("UTF-8"));
+    			socket.getOutputStream().flush();
+    			socket.shutdownOutput();
+    			assertThat(readResponse(socket.getInputStream()), startsWith("HTTP/1.1 400"));
+    		}finally{
+    			socket.close();
+    		}
+    	}finally{
+    		server.stop(0);
+    	}
+    }
+    @Test
+    public void testConversionServerModeInvalidPort() throws CurrencyException{
+    	assertEquals(null, CurrencyCalculatorMainApp.runServerMode(new String[] { "--server", "port" }));
+    }
+}
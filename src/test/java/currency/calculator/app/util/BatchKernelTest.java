@@ -0,0 +1,60 @@
+package currency.calculator.app.util;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * This class contains test cases for BatchKernel.
+ * @Developer: Singh, Sunny
+ */
+public class BatchKernelTest extends TestCase
+{
+    public BatchKernelTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for BatchKernel
+    @Test
+    public void testBatchKernelMatchesScalarKernel(){
+    	BatchKernel kernel = BatchKernel.getInstance();
+    	BatchKernel scalar = BatchKernel.getScalarInstance();
+    	Random random = new Random(25);
+    	long[] amounts = new long[1003];
+    	long[] results = new long[amounts.length];
+    	long[] expected = new long[amounts.length];
+    	double[] doubleAmounts = new double[amounts.length];
+    	double[] doubleResults = new double[amounts.length];
+    	double[] doubleExpected = new double[amounts.length];
+    	for (int run = 0; run < 200; run++) {
+    		long rate = 1L + (long) (random.nextDouble() * FixedPointMath.getPowerOfTen(random.nextInt(14)));
+    		int exponent = random.nextInt(19);
+    		long limit = Long.MAX_VALUE / rate;
+    		for (int i = 0; i < amounts.length; i++) {
+    			switch (random.nextInt(4)) {
+    			case 0:
+    				amounts[i] = random.nextBoolean() ? limit - random.nextInt(2) : random.nextInt(2) - limit;
+    				break;
+    			case 1:
+    				amounts[i] = FixedPointMath.getPowerOfTen(exponent) * random.nextInt(1000) / rate;
+    				break;
+    			default:
+    				amounts[i] = random.nextLong() % (limit + 1L);
+    			}
+    			doubleAmounts[i] = amounts[i] / 100.0;
+    		}
+    		assertEquals(scalar.multiplyDivideDown(amounts, expected, 1, amounts.length - 2, rate, exponent),
+    				kernel.multiplyDivideDown(amounts, results, 1, amounts.length - 2, rate, exponent));
+    		assertArrayEquals(expected, results);
+    		scalar.multiply(doubleAmounts, doubleExpected, 1, amounts.length - 2, rate / 1e10);
+    		kernel.multiply(doubleAmounts, doubleResults, 1, amounts.length - 2, rate / 1e10);
+    		assertArrayEquals(doubleExpected, doubleResults, 0.0);
+    	}
+    	amounts[500] = Long.MAX_VALUE;
+    	assertEquals(500, kernel.multiplyDivideDown(amounts, results, 0, amounts.length, 20000000000L, 10));
+    }
+}
@@ -0,0 +1,68 @@
+package currency.calculator.app.util;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+/**
+ * This class contains test cases for ConversionRequestParser.
+ * @Developer: Singh, Sunny
+ */
+public class ConversionRequestParserTest extends TestCase
+{
+    public ConversionRequestParserTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for ConversionRequestParser
+    @Test
+    public void testConversionRequestParser() throws Exception{
+    	CurrencyRegistry registry = CurrencyRateMatrix.getInstance().getRegistry();
+    	ConversionRequestParser parser = new ConversionRequestParser();
+    	String request = "  aud -1,000.25 IN Usd ";
+    	assertEquals(true, parser.parse(registry, request, 0, request.length()));
+    	assertEquals(registry.getCurrencyId("AUD"), parser.getSourceCurrencyId());
+    	assertEquals(registry.getCurrencyId("USD"), parser.getDestinationCurrencyId());
+    	assertEquals(-100025L, parser.getAmount());
+    	assertEquals(2, parser.getScale());
+    	assertEquals("-1,000.25", request.substring(parser.getAmountStart(), parser.getAmountEnd()));
+    	assertEquals(ConversionRequestParser.ERROR_NONE, parser.getErrorCode());
+    	byte[] bytes = "xxJPY 100 in NOKxx".getBytes("US-ASCII");
+    	assertEquals(true, parser.parse(registry, bytes, 2, bytes.length - 4));
+    	assertEquals(registry.getCurrencyId("NOK"), parser.getDestinationCurrencyId());
+    	assertEquals(100L, parser.getAmount());
+    	assertEquals(0, parser.getScale());
+    	ByteBuffer buffer = ByteBuffer.allocateDirect(32);
+    	buffer.put("EUR 0.5 in XYZ".getBytes("US-ASCII")).flip();
+    	assertEquals(true, parser.parse(registry, buffer));
+    	assertEquals(-1, parser.getDestinationCurrencyId());
+    	assertEquals(5L, parser.getAmount());
+    	assertEquals(0, buffer.position());
+    	/*
+    	 * Errors and their positions
+    	 */
+    	String[] invalid = { "", "AUD", "AUD 100 to USD", "AUD 1x0 in USD", "AUD 100 in USD more", "AUD 99999999999999999999 in USD", "AUD 100 in", "AUD . in USD" };
+    	int[] codes = { ConversionRequestParser.ERROR_MISSING_TOKEN, ConversionRequestParser.ERROR_MISSING_TOKEN, ConversionRequestParser.ERROR_MISSING_IN,
+    			ConversionRequestParser.ERROR_INVALID_AMOUNT, ConversionRequestParser.ERROR_UNEXPECTED_TOKEN, ConversionRequestParser.ERROR_AMOUNT_TOO_LARGE,
+    			ConversionRequestParser.ERROR_MISSING_TOKEN, ConversionRequestParser.ERROR_INVALID_AMOUNT };
+    	int[] positions = { 0, 3, 8, 5, 15, 22, 10, 4 };
+    	for (int i = 0; i < invalid.length; i++) {
+    		assertFalse(invalid[i], parser.parse(registry, invalid[i], 0, invalid[i].length()));
+    		assertEquals(invalid[i], codes[i], parser.getErrorCode());
+    		assertEquals(invalid[i], positions[i], parser.getErrorPosition());
+    	}
+    	assertEquals("Invalid amount at position 4", parser.getErrorMessage());
+    	/*
+    	 * Amounts parse to the same value as BigDecimal
+    	 */
+    	String[] amounts = { "0", "-0.001", "9223372036854775807", "-9223372036854775808", "1,234,567.891", "+.5", "7." };
+    	for (String amount : amounts) {
+    		String line = "AUD "+amount+" in USD";
+    		assertEquals(amount, true, parser.parse(registry, line, 0, line.length()));
+    		assertEquals(amount, new BigDecimal(amount.replace(",", "")), BigDecimal.valueOf(parser.getAmount(), parser.getScale()));
+    	}
+    }
+}
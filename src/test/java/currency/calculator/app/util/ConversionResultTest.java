@@ -0,0 +1,49 @@
+package currency.calculator.app.util;
+
+import java.math.BigDecimal;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.exception.CurrencyException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for ConversionResult.
+ * @Developer: Singh, Sunny
+ */
+public class ConversionResultTest extends TestCase
+{
+    public ConversionResultTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for ConversionResult
+    @Test
+    public void testConversionResult() throws CurrencyException{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	int aud = CurrencyCalculatorUtil.getCurrencyId("AUD");
+    	int usd = CurrencyCalculatorUtil.getCurrencyId("USD");
+    	ConversionResult result = new ConversionResult();
+    	assertThat(FixedPointCurrencyCalculator.convert(matrix, aud, 10000L, 2, usd, result), is(true));
+    	assertEquals(ConversionResult.STATUS_OK, result.getStatus());
+    	assertEquals(8371L, result.getScaledValue());
+    	assertEquals(new BigDecimal("83.71"), result.getValue());
+    	assertEquals(null, result.getMessage());
+    	assertThat(FixedPointCurrencyCalculator.convert(matrix, CurrencyCalculatorUtil.getCurrencyId("KRW"), 100L, 0, CurrencyCalculatorUtil.getCurrencyId("FJD"), result), is(false));
+    	assertEquals(ConversionResult.STATUS_RATE_NOT_FOUND, result.getStatus());
+    	assertEquals(null, result.getValue());
+    	assertThat(result.getMessage(), is("Currency details are not found in currency matrix table"));
+    	assertThat(FixedPointCurrencyCalculator.convert(matrix, usd, Long.MAX_VALUE, 0, CurrencyCalculatorUtil.getCurrencyId("JPY"), result), is(false));
+    	assertEquals(ConversionResult.STATUS_AMOUNT_TOO_LARGE, result.getStatus());
+    	assertThat(result.getMessage(), is("Amount provided is too large"));
+    	assertThat(CurrencyCalculatorUtil.convert(aud, new BigDecimal("100.00"), usd, result), is(true));
+    	assertEquals(new BigDecimal("83.71"), result.getValue());
+    	assertThat(CurrencyCalculatorUtil.convert(aud, null, usd, result), is(false));
+    	assertEquals(ConversionResult.STATUS_INVALID_INPUT, result.getStatus());
+    	assertThat(result.getMessage(), is("Input field provided is not valid "));
+    }
+}
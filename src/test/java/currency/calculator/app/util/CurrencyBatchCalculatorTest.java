@@ -0,0 +1,74 @@
+package currency.calculator.app.util;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.exception.CurrencyException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for CurrencyBatchCalculator.
+ * @Developer: Singh, Sunny
+ */
+public class CurrencyBatchCalculatorTest extends TestCase
+{
+    public CurrencyBatchCalculatorTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for the conversion statuses of CurrencyBatchCalculator
+    @Test
+    public void testCalculateCurrencyValuesWithStatuses() throws CurrencyException{
+    	int[] sourceCurrencyIds = { CurrencyCalculatorUtil.getCurrencyId("AUD"), CurrencyCalculatorUtil.getCurrencyId("KRW"), CurrencyCalculatorUtil.getCurrencyId("USD"), CurrencyCalculatorUtil.getCurrencyId("AUD") };
+    	int[] destinationCurrencyIds = { CurrencyCalculatorUtil.getCurrencyId("USD"), CurrencyCalculatorUtil.getCurrencyId("FJD"), CurrencyCalculatorUtil.getCurrencyId("JPY"), CurrencyCalculatorUtil.getCurrencyId("USD") };
+    	long[] amounts = { 10000L, 100L, Long.MAX_VALUE, 20000L };
+    	long[] results = new long[4];
+    	byte[] statuses = new byte[4];
+    	assertEquals(2, CurrencyBatchCalculator.calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, amounts, results, statuses, 0, 4));
+    	assertEquals(8371L, results[0]);
+    	assertEquals(ConversionResult.STATUS_OK, statuses[0]);
+    	assertEquals(ConversionResult.STATUS_RATE_NOT_FOUND, statuses[1]);
+    	assertEquals(ConversionResult.STATUS_AMOUNT_TOO_LARGE, statuses[2]);
+    	assertEquals(16742L, results[3]);
+    	try{
+    		CurrencyBatchCalculator.calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, amounts, results, new byte[3], 0, 4);
+    		fail("Input field provided is not valid ");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Input field provided is not valid "));
+    	}
+    }
+
+    //Test cases for the grouped runs of CurrencyBatchCalculator
+    @Test
+    public void testCalculateCurrencyValuesInGroupedRuns() throws CurrencyException{
+    	int[] sourceCurrencyIds = new int[100];
+    	int[] destinationCurrencyIds = new int[100];
+    	long[] amounts = new long[100];
+    	long[] results = new long[100];
+    	byte[] statuses = new byte[100];
+    	for (int i = 0; i < amounts.length; i++) {
+    		sourceCurrencyIds[i] = CurrencyCalculatorUtil.getCurrencyId(i < 60 ? "AUD" : "EUR");
+    		destinationCurrencyIds[i] = CurrencyCalculatorUtil.getCurrencyId(i < 60 ? "USD" : "JPY");
+    		amounts[i] = 10000L + i;
+    	}
+    	amounts[80] = Long.MAX_VALUE;
+    	assertEquals(1, CurrencyBatchCalculator.calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, amounts, results, statuses, 0, 100));
+    	assertEquals(ConversionResult.STATUS_AMOUNT_TOO_LARGE, statuses[80]);
+    	assertEquals(0L, results[80]);
+    	for (int i = 0; i < amounts.length; i++) {
+    		if(i != 80){
+    			assertEquals(ConversionResult.STATUS_OK, statuses[i]);
+    			assertEquals(FixedPointCurrencyCalculator.calculateCurrencyValue(sourceCurrencyIds[i], amounts[i], destinationCurrencyIds[i]), results[i]);
+    		}
+    	}
+    	try{
+    		CurrencyBatchCalculator.calculateCurrencyValues(sourceCurrencyIds, destinationCurrencyIds, amounts, results);
+    		fail("Amount provided is too large");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Amount provided is too large"));
+    	}
+    }
+}
@@ -0,0 +1,62 @@
+package currency.calculator.app.util;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.exception.CurrencyException;
+
+/**
+ * This class contains test cases for the reload of rates and routes of CurrencyRateMatrix.
+ * @Developer: Singh, Sunny
+ */
+public class CurrencyRateMatrixReloadTest extends TestCase
+{
+    public CurrencyRateMatrixReloadTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for reload of rates and routes
+    @Test
+    public void testCurrencyRateMatrixReload() throws CurrencyException{
+    	CurrencyRateMatrix before = CurrencyRateMatrix.getInstance();
+    	CurrencyRateMatrix reloaded = CurrencyRateMatrix.reload();
+    	assertNotSame(before, reloaded);
+    	assertSame(reloaded, CurrencyRateMatrix.getInstance());
+    	assertEquals("505.76", CurrencyCalculatorUtil.calculateCurrencyValue("AUD", "100.00", "DKK").toPlainString());
+    	assertEquals("USD", CurrencyCalculatorUtil.fetchCrossCurrencyValue("NOK", "JPY"));
+    	assertSame(reloaded, CurrencyRateMatrix.publish(before));
+    	assertSame(before, CurrencyRateMatrix.getInstance());
+    }
+    @Test
+    public void testCurrencyRateMatrixReloadWhileConverting() throws Exception{
+    	final CurrencyRateMatrix before = CurrencyRateMatrix.getInstance();
+    	final AtomicReference<String> failure = new AtomicReference<String>();
+    	final AtomicBoolean running = new AtomicBoolean(true);
+    	Thread reader = new Thread(new Runnable() {
+			public void run() {
+				try {
+					while(running.get()){
+						String result = CurrencyCalculatorUtil.calculateCurrencyValue("NOK", "100", "JPY").toPlainString();
+						if(!"1704".equals(result)){
+							failure.set(result);
+						}
+					}
+				} catch (CurrencyException e) {
+					failure.set(e.getMessage());
+				}
+			}
+		});
+    	reader.start();
+    	for (int i = 0; i < 20; i++) {
+    		CurrencyRateMatrix.reload();
+    	}
+    	running.set(false);
+    	reader.join();
+    	CurrencyRateMatrix.publish(before);
+    	assertNull(failure.get());
+    }
+}
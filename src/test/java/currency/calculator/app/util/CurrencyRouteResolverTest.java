@@ -0,0 +1,90 @@
+package currency.calculator.app.util;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+
+/**
+ * This class contains test cases for CurrencyRouteResolver.
+ * @Developer: Singh, Sunny
+ */
+public class CurrencyRouteResolverTest extends TestCase
+{
+    public CurrencyRouteResolverTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for CurrencyRouteResolver
+    @Test
+    public void testCurrencyRouteResolverMatchesPropertyFile() throws CurrencyException{
+    	CurrencyRegistry registry = CurrencyRegistry.getInstance();
+    	HashMap<String, String> rates = LoadProperty.getFXRateValue();
+    	int[] quotedPairs = new int[rates.size()];
+    	int index = 0;
+    	for (String pair : rates.keySet()) {
+    		quotedPairs[index++] = CurrencyRegistry.packCurrencyPair(pair);
+    	}
+    	CurrencyRouteResolver resolver = new CurrencyRouteResolver(registry, quotedPairs, new String[] { "USD", "EUR" });
+    	HashMap<String, String> routes = LoadProperty.getFXPropValue();
+    	for (String pair : routes.keySet()) {
+    		int source = registry.getCurrencyId(pair.substring(0, 3));
+    		int destination = registry.getCurrencyId(pair.substring(3));
+    		String route = routes.get(pair).trim();
+    		switch(resolver.getRouteType(source, destination)){
+    			case CurrencyCalculatorConstant.ROUTE_TYPE_DIRECT:
+    				assertEquals(pair, "D", route);
+    				break;
+    			case CurrencyCalculatorConstant.ROUTE_TYPE_INVERSION:
+    				assertEquals(pair, "I", route);
+    				break;
+    			case CurrencyCalculatorConstant.ROUTE_TYPE_UNITY:
+    				assertEquals(pair, "U", route);
+    				break;
+    			default:
+    				assertEquals(pair, route, registry.getCurrencyCode(resolver.getCrossCurrencyId(source, destination)));
+    		}
+    	}
+    	assertEquals(3, resolver.getLegCount(registry.getCurrencyId("NOK"), registry.getCurrencyId("JPY")));
+    	assertEquals(CurrencyRouteResolver.UNREACHABLE, resolver.getLegCount(registry.getCurrencyId("KRW"), registry.getCurrencyId("FJD")));
+    	assertEquals(CurrencyCalculatorConstant.ROUTE_TYPE_UNITY, resolver.getRouteType(registry.getCurrencyId("KRW"), registry.getCurrencyId("KRW")));
+    }
+    @Test
+    public void testCurrencyRouteResolverWithoutPropertyFile() throws CurrencyException{
+    	CurrencyRegistry registry = CurrencyRegistry.getInstance();
+    	HashMap<String, String> rates = new HashMap<String, String>();
+    	rates.put("AUDUSD", "0.8371");
+    	rates.put("EURUSD", "1.2315");
+    	rates.put("EURNOK", "8.6651");
+    	rates.put("KRWJPY", "0.1085");
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.compile(registry, new HashMap<String, String>(), rates);
+    	int aud = registry.getCurrencyId("AUD");
+    	int nok = registry.getCurrencyId("NOK");
+    	int jpy = registry.getCurrencyId("JPY");
+    	int krw = registry.getCurrencyId("KRW");
+    	assertEquals(CurrencyCalculatorConstant.ROUTE_TYPE_CROSS, matrix.getRouteType(aud, nok));
+    	assertEquals("USD", registry.getCurrencyCode(matrix.getCrossCurrencyId(aud, nok)));
+    	assertEquals(CurrencyCalculatorConstant.ROUTE_TYPE_CROSS, matrix.getRouteType(nok, aud));
+    	assertEquals("USD", registry.getCurrencyCode(matrix.getCrossCurrencyId(nok, aud)));
+    	assertEquals(CurrencyCalculatorConstant.ROUTE_TYPE_INVERSION, matrix.getRouteType(jpy, krw));
+    	assertEquals(CurrencyCalculatorConstant.ROUTE_TYPE_NONE, matrix.getRouteType(aud, jpy));
+    	BigDecimal expected = CurrencyRateMatrix.getInstance().getExactRate(aud, nok);
+    	assertEquals(0, expected.compareTo(matrix.getExactRate(aud, nok)));
+    }
+    @Test
+    public void testCurrencyRateMatrixWithCyclicRoutes() throws CurrencyException{
+    	CurrencyRegistry registry = CurrencyRegistry.getInstance();
+    	HashMap<String, String> routes = new HashMap<String, String>(LoadProperty.getFXPropValue());
+    	routes.put("AUDCAD", "NZD");
+    	routes.put("AUDNZD", "CAD");
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.compile(registry, routes, LoadProperty.getFXRateValue());
+    	assertEquals(CurrencyCalculatorConstant.ROUTE_TYPE_NONE, matrix.getRouteType(registry.getCurrencyId("AUD"), registry.getCurrencyId("CAD")));
+    	assertEquals(CurrencyCalculatorConstant.ROUTE_TYPE_NONE, matrix.getRouteType(registry.getCurrencyId("AUD"), registry.getCurrencyId("NZD")));
+    	assertEquals(CurrencyCalculatorConstant.ROUTE_TYPE_CROSS, matrix.getRouteType(registry.getCurrencyId("AUD"), registry.getCurrencyId("JPY")));
+    }
+}
@@ -0,0 +1,100 @@
+package currency.calculator.app.util;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for FixedPointCurrencyCalculator and the decimal parsing of FixedPointMath.
+ * @Developer: Singh, Sunny
+ */
+public class FixedPointCurrencyCalculatorTest extends TestCase
+{
+    public FixedPointCurrencyCalculatorTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for FixedPointCurrencyCalculator
+    @Test
+    public void testFixedPointCurrencyCalculatorMatchesBigDecimal() throws CurrencyException{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	CurrencyRegistry registry = matrix.getRegistry();
+    	Random random = new Random(8);
+    	StringBuilder output = new StringBuilder();
+    	int compared = 0;
+    	for (int source = 0; source < matrix.getSize(); source++) {
+    		for (int destination = 0; destination < matrix.getSize(); destination++) {
+    			if(matrix.getRouteType(source, destination) == CurrencyCalculatorConstant.ROUTE_TYPE_NONE){
+    				continue;
+    			}
+    			for (int i = 0; i < 200; i++) {
+    				int scale = random.nextInt(7);
+    				long value = i < 3 ? i - 1 : random.nextLong() % (FixedPointMath.getPowerOfTen(random.nextInt(16)) + 1);
+    				BigDecimal expected = CurrencyCalculatorUtil.calculateCurrencyValue(source, BigDecimal.valueOf(value, scale), destination);
+    				long result = FixedPointCurrencyCalculator.calculateCurrencyValue(source, value, scale, destination);
+    				assertEquals(expected, BigDecimal.valueOf(result, registry.getDecimalPlace(destination)));
+    				output.setLength(0);
+    				assertEquals(expected.toPlainString(), FixedPointMath.appendDecimal(output, result, registry.getDecimalPlace(destination)).toString());
+    				compared++;
+    			}
+    			long minorUnits = random.nextInt(1000000) - 500000;
+    			assertEquals(CurrencyCalculatorUtil.calculateCurrencyValue(source, BigDecimal.valueOf(minorUnits, registry.getDecimalPlace(source)), destination),
+    					BigDecimal.valueOf(FixedPointCurrencyCalculator.calculateCurrencyValue(source, minorUnits, destination), registry.getDecimalPlace(destination)));
+    		}
+    	}
+    	assertTrue(compared > 0);
+    }
+    @Test
+    public void testFixedPointCurrencyCalculatorWithInvalidArgs() throws CurrencyException{
+    	try{
+    		FixedPointCurrencyCalculator.calculateCurrencyValue(CurrencyCalculatorUtil.getCurrencyId("KRW"), 100L, CurrencyCalculatorUtil.getCurrencyId("FJD"));
+    		fail("Currency details are not found in currency matrix table");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Currency details are not found in currency matrix table"));
+        }
+    	try{
+    		FixedPointCurrencyCalculator.calculateCurrencyValue(CurrencyCalculatorUtil.getCurrencyId("USD"), Long.MAX_VALUE, 0, CurrencyCalculatorUtil.getCurrencyId("JPY"));
+    		fail("Amount provided is too large");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Amount provided is too large"));
+        }
+    }
+    @Test
+    public void testFixedPointMathParseDecimal() {
+    	String[] inputs = { "0", "-0", "100.00", "1,000.25", "-.5", "5.", "+12.3456", "9223372036854775807", "-9223372036854775808", "0.000001" };
+    	for (String input : inputs) {
+    		BigDecimal expected = new BigDecimal(input.replace(",", ""));
+    		int scale = FixedPointMath.getScale(input, 0, input.length());
+    		assertEquals(expected.scale(), scale);
+    		assertEquals(expected, BigDecimal.valueOf(FixedPointMath.parseDecimal(input, 0, input.length(), scale), scale));
+    	}
+    	assertEquals(123450L, FixedPointMath.parseDecimal("12.345", 0, 6, 4));
+    	String[] invalid = { "", "-", ".", "1.2.3", "1E3", "12a", "1.234" };
+    	for (String input : invalid) {
+    		try{
+    			FixedPointMath.parseDecimal(input, 0, input.length(), 2);
+    			fail("Invalid decimal number "+input);
+    		}catch (NumberFormatException e) {
+    			assertThat(e.getMessage(), is("Invalid decimal number"));
+    		}
+    	}
+    	try{
+    		FixedPointMath.parseDecimal("9223372036854775808", 0, 19, 0);
+    		fail("long overflow");
+    	}catch (ArithmeticException e) {
+    		assertThat(e.getMessage(), is("long overflow"));
+    	}
+    	assertEquals("-9223372036854775.808", FixedPointMath.appendDecimal(new StringBuilder(), Long.MIN_VALUE, 3).toString());
+    	assertEquals("0.0000", FixedPointMath.appendDecimal(new StringBuilder(), 0L, 4).toString());
+    	assertEquals("-0.05", FixedPointMath.appendDecimal(new StringBuilder(), -5L, 2).toString());
+    }
+}
@@ -0,0 +1,129 @@
+package currency.calculator.app.util;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.constant.CurrencyCalculatorConstant;
+import currency.calculator.app.exception.CurrencyException;
+import currency.calculator.app.server.ConversionHttpServer;
+import currency.calculator.app.server.ConversionHttpServerTest;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for RateBooks.
+ * @Developer: Singh, Sunny
+ */
+public class RateBooksTest extends TestCase
+{
+    public RateBooksTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for RateBooks
+    @Test
+    public void testRateBooks() throws Exception{
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	int aud = CurrencyCalculatorUtil.getCurrencyId("AUD");
+    	int usd = CurrencyCalculatorUtil.getCurrencyId("USD");
+    	int jpy = CurrencyCalculatorUtil.getCurrencyId("JPY");
+    	HashMap<String, String> rates = new HashMap<String, String>();
+    	rates.put("AUDUSD", "0.9");
+    	CurrencyRateMatrix book = RateBooks.addBook("testEod", rates);
+    	assertTrue(book.hasRoutePlanOf(matrix));
+    	assertEquals(new BigDecimal("90.00"), CurrencyCalculatorUtil.calculateCurrencyValue("testEod", aud, new BigDecimal("100.00"), usd));
+    	assertEquals(new BigDecimal("83.71"), CurrencyCalculatorUtil.calculateCurrencyValue(CurrencyCalculatorConstant.RATE_BOOK_DEFAULT, aud, new BigDecimal("100.00"), usd));
+    	assertEquals(matrix.getScaledRate(usd, jpy), book.getScaledRate(usd, jpy));
+    	/*
+    	 * A book gives the rates of a matrix compiled from scratch with its quoted rates.
+    	 */
+    	HashMap<String, String> allRates = new HashMap<String, String>(LoadProperty.getFXRateValue());
+    	allRates.putAll(rates);
+    	CurrencyRateMatrix compiled = CurrencyRateMatrix.compile(matrix.getRegistry(), LoadProperty.getFXPropValue(), allRates);
+    	for (int source = 0; source < matrix.getSize(); source++) {
+    		for (int destination = 0; destination < matrix.getSize(); destination++) {
+    			assertEquals(compiled.getScaledRate(source, destination), book.getScaledRate(source, destination));
+    		}
+    	}
+    	assertFalse(book.getScaledRate(aud, jpy) == matrix.getScaledRate(aud, jpy));
+    	assertEquals(matrix.getQuotedRate(usd, jpy), book.getQuotedRate(usd, jpy));
+    	assertEquals(0.8371, matrix.getQuotedRate(aud, usd));
+    	assertSame(book, RateBooks.getBook("testEod"));
+    	assertTrue(Arrays.asList(RateBooks.getBookNames()).contains("testEod"));
+    	/*
+    	 * A book of a rate file given by system property is loaded on first use.
+    	 */
+    	File rateFile = File.createTempFile("ratebook", ".properties");
+    	rateFile.deleteOnExit();
+    	FileWriter writer = new FileWriter(rateFile);
+    	writer.write("AUDUSD=0.5\n");
+    	writer.close();
+    	System.setProperty(CurrencyCalculatorConstant.RATE_BOOK_PROPERTY_PREFIX+"testFile", rateFile.getPath());
+    	try{
+    		assertEquals(new BigDecimal("50.00"), CurrencyCalculatorUtil.calculateCurrencyValue("testFile", aud, new BigDecimal("100.00"), usd));
+    		assertTrue(RateBooks.getBook("testFile").hasRoutePlanOf(matrix));
+    	}finally{
+    		System.clearProperty(CurrencyCalculatorConstant.RATE_BOOK_PROPERTY_PREFIX+"testFile");
+    		RateBooks.dropBook("testFile");
+    	}
+    	ConversionHttpServer server = new ConversionHttpServer(new InetSocketAddress("127.0.0.1", 0), 1024);
+    	server.start();
+    	try{
+    		String base = "http://127.0.0.1:"+server.getPort();
+    		HttpURLConnection connection = (HttpURLConnection) new URL(base+"/convert?from=AUD&amount=100.00&to=USD&book=testEod").openConnection();
+    		assertEquals(200, connection.getResponseCode());
+    		assertEquals("{\"from\":\"AUD\",\"amount\":\"100.00\",\"to\":\"USD\",\"result\":\"90.00\"}", ConversionHttpServerTest.readResponse(connection));
+    		connection = (HttpURLConnection) new URL(base+"/convert/batch?book=testEod").openConnection();
+    		connection.setRequestMethod("POST");
+    		connection.setDoOutput(true);
+    		OutputStream output = connection.getOutputStream();
+    		output.write("AUD 100.00 in USD\n".getBytes("UTF-8"));
+    		output.close();
+    		assertThat(ConversionHttpServerTest.readResponse(connection), containsString("\"result\":\"90.00\""));
+    		connection = (HttpURLConnection) new URL(base+"/convert?from=AUD&amount=100.00&to=USD&book=testMissing").openConnection();
+    		assertEquals(404, connection.getResponseCode());
+    		assertThat(ConversionHttpServerTest.readResponse(connection), containsString("Rate book not found"));
+    	}finally{
+    		server.stop(0);
+    	}
+    	assertTrue(RateBooks.dropBook("testEod"));
+    	assertFalse(RateBooks.dropBook("testEod"));
+    }
+    @Test
+    public void testRateBooksWithInvalidArgs() throws CurrencyException{
+    	try{
+    		RateBooks.getBook("testMissing");
+    		fail("Rate book not found");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Rate book not found"));
+    	}
+    	HashMap<String, String> rates = new HashMap<String, String>();
+    	rates.put("AUDUSD", "-1");
+    	try{
+    		RateBooks.addBook("testInvalid", rates);
+    		fail("Invalid FX rate found in rate file");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Invalid FX rate found in rate file"));
+    	}
+    	try{
+    		RateBooks.addBook(CurrencyCalculatorConstant.RATE_BOOK_DEFAULT, new HashMap<String, String>());
+    		fail("Input field provided is not valid ");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Input field provided is not valid "));
+    	}
+    	assertFalse(Arrays.asList(RateBooks.getBookNames()).contains("testInvalid"));
+    }
+}
@@ -0,0 +1,54 @@
+package currency.calculator.app.util;
+
+import java.io.File;
+import java.io.FileWriter;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+/**
+ * This class contains test cases for RateFileWatcher.
+ * @Developer: Singh, Sunny
+ */
+public class RateFileWatcherTest extends TestCase
+{
+    public RateFileWatcherTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for RateFileWatcher
+    @Test
+    public void testRateFileWatcherReloadsOnChange() throws Exception{
+    	File directory = new File(System.getProperty("java.io.tmpdir"), "rates"+System.nanoTime());
+    	assertTrue(directory.mkdir());
+    	File watched = new File(directory, "fxrates.properties");
+    	CurrencyRateMatrix before = CurrencyRateMatrix.getInstance();
+    	RateFileWatcher watcher = new RateFileWatcher(directory, "fxrates.properties");
+    	Thread thread = new Thread(watcher);
+    	thread.start();
+    	try{
+    		FileWriter fileWriter = new FileWriter(new File(directory, "other.properties"));
+    		fileWriter.write("AUDUSD=1.0\n");
+    		fileWriter.close();
+    		fileWriter = new FileWriter(watched);
+    		fileWriter.write("AUDUSD=0.8371\n");
+    		fileWriter.close();
+    		long deadline = System.currentTimeMillis() + 10000;
+    		while(watcher.getReloadCount() == 0 && System.currentTimeMillis() < deadline){
+    			Thread.sleep(20);
+    		}
+    		assertEquals(1, watcher.getReloadCount());
+    		assertEquals(0, watcher.getFailedReloadCount());
+    		assertNotSame(before, CurrencyRateMatrix.getInstance());
+    	}finally{
+    		watcher.close();
+    		thread.join(5000);
+    		CurrencyRateMatrix.publish(before);
+    		new File(directory, "other.properties").delete();
+    		watched.delete();
+    		directory.delete();
+    	}
+    	assertFalse(thread.isAlive());
+    }
+}
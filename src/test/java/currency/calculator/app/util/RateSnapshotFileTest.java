@@ -0,0 +1,98 @@
+package currency.calculator.app.util;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import currency.calculator.app.CurrencyCalculatorMainApp;
+import currency.calculator.app.exception.CurrencyException;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * This class contains test cases for RateSnapshotFile and the snapshot mode of Currency Calculator Application.
+ * @Developer: Singh, Sunny
+ */
+public class RateSnapshotFileTest extends TestCase
+{
+    public RateSnapshotFileTest( String testName )
+    {
+        super( testName );
+    }
+
+    //Test cases for RateSnapshotFile
+    @Test
+    public void testRateSnapshotFileRoundTrip() throws Exception{
+    	File snapshot = File.createTempFile("rates", ".snapshot");
+    	snapshot.deleteOnExit();
+    	CurrencyRateMatrix matrix = CurrencyRateMatrix.getInstance();
+    	RateSnapshotFile.write(matrix, snapshot);
+    	CurrencyRateMatrix loaded = RateSnapshotFile.load(snapshot);
+    	assertEquals(matrix.getSize(), loaded.getSize());
+    	for (int source = 0; source < matrix.getSize(); source++) {
+    		assertEquals(matrix.getRegistry().getCurrencyCode(source), loaded.getRegistry().getCurrencyCode(source));
+    		assertEquals(matrix.getRegistry().getDecimalPlace(source), loaded.getRegistry().getDecimalPlace(source));
+    		for (int destination = 0; destination < matrix.getSize(); destination++) {
+    			assertEquals(matrix.getRouteType(source, destination), loaded.getRouteType(source, destination));
+    			assertEquals(matrix.getCrossCurrencyId(source, destination), loaded.getCrossCurrencyId(source, destination));
+    			assertEquals(matrix.getScaledRate(source, destination), loaded.getScaledRate(source, destination));
+    			assertEquals(Double.doubleToLongBits(matrix.getRate(source, destination)), Double.doubleToLongBits(loaded.getRate(source, destination)));
+    		}
+    	}
+    	assertEquals(loaded.getRegistry().getCurrencyId("KWD"), matrix.getRegistry().getCurrencyId("kwd"));
+    	assertEquals(0.8371, loaded.getQuotedRate(CurrencyRegistry.packCurrencyPair("AUDUSD")));
+    	assertEquals(8.6651, loaded.getQuotedRate(CurrencyRegistry.packCurrencyPair("eur nok")));
+    	assertEquals(0.0, loaded.getQuotedRate(CurrencyRegistry.packCurrencyPair("USDAUD")));
+    }
+    @Test
+    public void testRateSnapshotFileWithCorruptedPayload() throws Exception{
+    	File snapshot = File.createTempFile("rates", ".snapshot");
+    	snapshot.deleteOnExit();
+    	RateSnapshotFile.write(CurrencyRateMatrix.getInstance(), snapshot);
+    	RandomAccessFile file = new RandomAccessFile(snapshot, "rw");
+    	file.seek(file.length() - 1);
+    	int last = file.read();
+    	file.seek(file.length() - 1);
+    	file.write(last ^ 0x01);
+    	file.close();
+    	try{
+    		RateSnapshotFile.load(snapshot);
+    		fail("Corrupted snapshot must not be loaded");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getMessage(), is("Rate snapshot provided is not valid"));
+    		assertThat(e.getDetailedMessage(), containsString("checksum"));
+        }
+    }
+    @Test
+    public void testRateSnapshotFileWithWrongFile() throws Exception{
+    	File snapshot = File.createTempFile("rates", ".snapshot");
+    	snapshot.deleteOnExit();
+    	FileWriter fileWriter = new FileWriter(snapshot);
+    	fileWriter.write("AUDUSD=D\nUSDAUD=I\nAUDAUD=U\n");
+    	fileWriter.close();
+    	try{
+    		RateSnapshotFile.load(snapshot);
+    		fail("Property file must not be loaded as snapshot");
+    	}catch (CurrencyException e) {
+    		assertThat(e.getDetailedMessage(), containsString("not a rate snapshot"));
+        }
+    }
+    @Test
+    public void testCurrencyCalculatorMainAppSnapshotMode() throws Exception{
+    	File snapshot = File.createTempFile("rates", ".snapshot");
+    	snapshot.deleteOnExit();
+    	CurrencyCalculatorMainApp.main(new String[] { "--snapshot", snapshot.getPath() });
+    	CurrencyRateMatrix loaded = RateSnapshotFile.load(snapshot);
+    	CurrencyRegistry registry = loaded.getRegistry();
+    	BigDecimal rate = loaded.getExactRate(registry.getCurrencyId("NOK"), registry.getCurrencyId("JPY"));
+    	assertEquals("1704", rate.multiply(new BigDecimal("100")).setScale(registry.getDecimalPlace(registry.getCurrencyId("JPY")), RoundingMode.DOWN).toPlainString());
+    	assertNull(loaded.getExactRate(registry.getCurrencyId("KRW"), registry.getCurrencyId("FJD")));
+    }
+}
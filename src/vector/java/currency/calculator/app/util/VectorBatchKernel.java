@@ -0,0 +1,153 @@
+package currency.calculator.app.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class is the vectorized batch kernel using jdk.incubator.vector, it is compiled with the vector profile only and loaded by
+ * BatchKernel. Its results are exactly the same as the ones of the scalar kernel : the double multiply is the same IEEE multiply per
+ * lane, the truncated division of a product which fits into 63 bits is estimated in double, multiplied by the reciprocal of the divisor, and corrected by its remainder in long. A
+ * vector with a value which does not fit, e.g. a very large amount, is converted by the scalar kernel.
+ * @Operations: getName, getRunEnd, multiplyDivideDown, multiply
+ * @Developer: Singh, Sunny
+ */
+public final class VectorBatchKernel extends BatchKernel {
+
+	private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+
+	private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+
+	private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	//Quotients below 2^50 are estimated in double with an error below 1 after rounding
+	private static final long ESTIMATE_LIMIT = (1L << 50) - 1L;
+
+	//2^52, a double whose last bit has the value 1
+	private static final double ROUNDING_BIAS = 4503599627370496.0;
+	private static final long ROUNDING_BIAS_BITS = Double.doubleToRawLongBits(ROUNDING_BIAS);
+
+	/**
+	 * The constructor, it fails when the vector species has a single lane as the scalar kernel is faster then
+	 */
+	public VectorBatchKernel() {
+		if(LONG_SPECIES.length() < 2 || DOUBLE_SPECIES.length() < 2){
+			throw new UnsupportedOperationException("Vector species has a single lane");
+		}
+	}
+
+	/**
+	 * The following operation returns the name of the kernel.
+	 * @Input - N/A
+	 * @Response - String, vector with the number of long lanes
+	 */
+	@Override
+	public String getName(){
+		return "vector " + LONG_SPECIES.length() + "x64";
+	}
+
+	/**
+	 * The following operation returns the end (exclusive) of the run of amounts starting at index from which have the same currency pair,
+	 * comparing the currency ids vector by vector.
+	 * @Input - sourceCurrencyIds, destinationCurrencyIds, from, to
+	 * @Response - int
+	 */
+	@Override
+	public int getRunEnd(int[] sourceCurrencyIds, int[] destinationCurrencyIds, int from, int to){
+		int source = sourceCurrencyIds[from];
+		int destination = destinationCurrencyIds[from];
+		int lanes = INT_SPECIES.length();
+		int index = from + 1;
+		for (; index <= to - lanes; index += lanes) {
+			if(!IntVector.fromArray(INT_SPECIES, sourceCurrencyIds, index).compare(VectorOperators.EQ, source)
+					.and(IntVector.fromArray(INT_SPECIES, destinationCurrencyIds, index).compare(VectorOperators.EQ, destination)).allTrue()){
+				break;
+			}
+		}
+		while(index < to && sourceCurrencyIds[index] == source && destinationCurrencyIds[index] == destination){
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * The following operation calculates values * multiplier / 10^exponent truncated towards zero vector by vector. A vector having a value
+	 * above the limit of getLimit is converted by the scalar kernel, as well as a run shorter than a vector and the remaining values after
+	 * the last full vector.
+	 * @Input - values, results, from, to, multiplier, exponent
+	 * @Response - int, index of the first value which could not be converted, to when all values are converted
+	 */
+	@Override
+	public int multiplyDivideDown(long[] values, long[] results, int from, int to, long multiplier, int exponent){
+		int lanes = LONG_SPECIES.length();
+		if(to - from < lanes || multiplier <= 0L || exponent < 0 || exponent > FixedPointMath.MAX_POWER_OF_TEN){
+			return super.multiplyDivideDown(values, results, from, to, multiplier, exponent);
+		}
+		long divisor = FixedPointMath.getPowerOfTen(exponent);
+		double reciprocal = 1.0 / divisor;
+		long limit = getLimit(multiplier, divisor);
+		long range = 2L * limit;
+		int index = from;
+		for (; index <= to - lanes; index += lanes) {
+			LongVector value = LongVector.fromArray(LONG_SPECIES, values, index);
+			/*
+			 * -limit <= value <= limit, as one unsigned comparison
+			 */
+			if(!value.add(limit).compare(VectorOperators.UNSIGNED_LE, range).allTrue()){
+				int converted = super.multiplyDivideDown(values, results, index, index + lanes, multiplier, exponent);
+				if(converted < index + lanes){
+					return converted;
+				}
+				continue;
+			}
+			LongVector sign = value.lanewise(VectorOperators.ASHR, 63);
+			LongVector product = value.lanewise(VectorOperators.ABS).mul(multiplier);
+			/*
+			 * Adding 2^52 rounds the estimate to an integer in the low bits of the double, which is faster than the conversion D2L.
+			 */
+			LongVector quotient = ((DoubleVector) product.convert(VectorOperators.L2D, 0)).mul(reciprocal).add(ROUNDING_BIAS)
+					.reinterpretAsLongs().sub(ROUNDING_BIAS_BITS);
+			/*
+			 * The estimate is at most 1 off, the remainder is then negative or not below the divisor.
+			 */
+			LongVector remainder = product.sub(quotient.mul(divisor));
+			quotient = quotient.sub(remainder.lanewise(VectorOperators.LSHR, 63))
+					.add(remainder.neg().add(divisor - 1L).lanewise(VectorOperators.LSHR, 63));
+			quotient.lanewise(VectorOperators.XOR, sign).sub(sign).intoArray(results, index);
+		}
+		return super.multiplyDivideDown(values, results, index, to, multiplier, exponent);
+	}
+
+	/**
+	 * The following operation returns the largest absolute value whose product with multiplier fits into 63 bits and whose quotient by
+	 * divisor is below 2^50, the rounded double estimate of the quotient is then at most 1 off. It is at most Long.MAX_VALUE / 2 for the range check.
+	 * @Input - multiplier, divisor
+	 * @Response - long
+	 */
+	private static long getLimit(long multiplier, long divisor){
+		long limit = Long.MAX_VALUE / Math.max(multiplier, 2L);
+		long quotientLimit = ESTIMATE_LIMIT / multiplier;
+		if(quotientLimit <= limit / divisor){
+			limit = quotientLimit * divisor;
+		}
+		return limit;
+	}
+
+	/**
+	 * The following operation calculates values * multiplier vector by vector, the remaining values after the last full vector are
+	 * calculated by the scalar kernel.
+	 * @Input - values, results, from, to, multiplier
+	 * @Response - N/A, results are written into results
+	 */
+	@Override
+	public void multiply(double[] values, double[] results, int from, int to, double multiplier){
+		int lanes = DOUBLE_SPECIES.length();
+		int index = from;
+		for (; index <= to - lanes; index += lanes) {
+			DoubleVector.fromArray(DOUBLE_SPECIES, values, index).mul(multiplier).intoArray(results, index);
+		}
+		super.multiply(values, results, index, to, multiplier);
+	}
+}